@@ -0,0 +1,333 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+import us.gov.dod.standard.ssrf.validator.ValidatorRegistry;
+
+/**
+ * Abstract base class for compile-time generated SSRF validators.
+ * <p>
+ * Implementations are generated by
+ * {@link us.gov.dod.standard.ssrf.processor.SSRFValidatorProcessor} and are
+ * discovered by {@link ValidatorRegistry}. A validator implements the same
+ * checks as the reflective {@link SSRFUtility#validate(Object, ListCCL)} and
+ * {@link SSRFUtility#evaluate(Object)} methods for exactly one class type and
+ * produces identical error messages. Nested objects are validated by calling
+ * back into SSRFUtility, which dispatches to their own validator.
+ * <p>
+ * Evaluation results are reported to an {@link Evaluation}: each
+ * configuration error and each child value, which the receiver then visits.
+ * This lets the {@link SSRFAssembler} prepare and check each child in the same
+ * traversal.
+ * <p>
+ * Both paths share the {@link #isMissing(Object)} rule: a required field is
+ * reported as missing if it is null OR an empty collection. (An empty
+ * collection is not written to XML and so does not satisfy the schema.)
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @param <T> the SSRF class type
+ * @since 3.1.0
+ */
+public abstract class AValidator<T> {
+
+  private static final Logger logger = Logger.getLogger(AValidator.class.getName());
+
+  /**
+   * The class type validated by this instance.
+   */
+  private final Class<T> type;
+
+  /**
+   * Construct a new validator for the indicated class type.
+   *
+   * @param type the class type
+   */
+  protected AValidator(Class<T> type) {
+    this.type = type;
+  }
+
+  /**
+   * Get the class type validated by this instance.
+   *
+   * @return the class type
+   */
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * Validate an object instance. Throws on the first error.
+   *
+   * @param instance the object instance to validate
+   * @param cls      the parent (maximum) classification. May be null.
+   * @throws Exception if the object instance fails to validate
+   */
+  public abstract void validate(T instance, ListCCL cls) throws Exception;
+
+  /**
+   * Evaluate an object instance and record every configuration error.
+   *
+   * @param instance        the object instance to evaluate
+   * @param cls             the parent (maximum) classification. May be null.
+   * @param parentPath      the parent class and field name (e.g.
+   *                        "Assignment.configuration"). Null for the top-level
+   *                        instance.
+   * @param collectionEntry TRUE if the instance is a collection entry
+   * @param messages        a collection of pretty-print error messages
+   */
+  public void evaluate(T instance, ListCCL cls, String parentPath, boolean collectionEntry, Set<String> messages) {
+    evaluate(instance, cls, parentPath, collectionEntry, new MessageEvaluation(messages));
+  }
+
+  /**
+   * Evaluate the fields of an object instance. Configuration errors and
+   * non-null child values are reported to the evaluation; children are NOT
+   * evaluated here.
+   *
+   * @param instance        the object instance to evaluate
+   * @param cls             the parent (maximum) classification. May be null.
+   * @param parentPath      the parent class and field name (e.g.
+   *                        "Assignment.configuration"). Null for the top-level
+   *                        instance.
+   * @param collectionEntry TRUE if the instance is a collection entry
+   * @param evaluation      the receiver of errors and child values
+   * @return the classification applied to the instance children
+   */
+  public abstract ListCCL evaluate(T instance, ListCCL cls, String parentPath, boolean collectionEntry, Evaluation evaluation);
+
+  /**
+   * Get the shared XmlAdapter instance for use by a generated validator.
+   *
+   * @param clazz the XmlAdapter class
+   * @return the shared XmlAdapter instance
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected static XmlAdapter<Object, Object> adapter(Class<? extends XmlAdapter> clazz) {
+    return (XmlAdapter<Object, Object>) XmlAdapterRegistry.getAdapter((Class) clazz);
+  }
+
+  /**
+   * Determine if a required field value is not configured.
+   *
+   * @param value the field value
+   * @return TRUE if the value is null or an empty collection
+   */
+  protected static boolean isMissing(Object value) {
+    return SSRFUtility.isMissing(value);
+  }
+
+  /**
+   * Build the exception thrown when a required field is not configured.
+   *
+   * @param fieldName the field name
+   * @return a new exception
+   */
+  protected static Exception required(String fieldName) {
+    return new Exception(fieldName + " is required.");
+  }
+
+  /**
+   * Build the message recorded when a required field is not configured.
+   *
+   * @param instance        the object instance
+   * @param parentPath      the parent class and field name
+   * @param collectionEntry TRUE if the instance is a collection entry
+   * @param fieldType       the field type simple name
+   * @param fieldName       the field name
+   * @return the error message
+   */
+  protected static String required(Object instance, String parentPath, boolean collectionEntry, String fieldType, String fieldName) {
+    return parentPath + SSRFUtility.getErrorLabel(instance, collectionEntry) + " (" + fieldType + ") " + fieldName + " is required";
+  }
+
+  /**
+   * Validate a field classification against the parent classification.
+   *
+   * @param cls   the parent classification
+   * @param value the field classification
+   * @throws Exception if the field classification is more restrictive than
+   *                   the parent
+   */
+  protected static void validateClassification(ListCCL cls, ListCCL value) throws Exception {
+    if (cls.compareTo(value) < 0) {
+      throw new Exception("Field classification \"" + value + "\" is less than parent \"" + cls + "\"");
+    }
+  }
+
+  /**
+   * Evaluate a field classification against the parent classification.
+   *
+   * @param cls        the parent classification
+   * @param value      the field classification
+   * @param parentPath the parent class and field name
+   * @param fieldName  the field name
+   * @param evaluation the receiver of errors
+   */
+  protected void evaluateClassification(ListCCL cls, ListCCL value, String parentPath, String fieldName, Evaluation evaluation) {
+    if (cls.compareTo(value) < 0) {
+      evaluation.error(type.getSimpleName() + "." + fieldName, parentPath + "." + fieldName + " classification \"" + value + "\" is less restrictive than parent classification \"" + cls + "\"");
+    }
+  }
+
+  /**
+   * Recursively validate a field value.
+   *
+   * @param value the field value
+   * @param cls   the classification
+   * @throws Exception if the field value fails to validate
+   */
+  protected static void validateValue(Object value, ListCCL cls) throws Exception {
+    SSRFUtility.validate(value, cls);
+  }
+
+  /**
+   * Recursively validate each non-null entry of a collection field.
+   *
+   * @param values the collection field value
+   * @param cls    the classification
+   * @throws Exception if an entry fails to validate
+   */
+  protected static void validateEntries(Collection<?> values, ListCCL cls) throws Exception {
+    for (Object entry : values) {
+      if (entry != null) {
+        SSRFUtility.validate(entry, cls);
+      }
+    }
+  }
+
+  /**
+   * Validate a field value against its XmlAdapter.
+   *
+   * @param adapter the XmlAdapter
+   * @param value   the field value
+   * @throws Exception the XmlAdapter marshal error, thrown ONLY if the field
+   *                   value is not valid
+   */
+  protected static void validateAdapter(XmlAdapter<Object, Object> adapter, Object value) throws Exception {
+    XmlAdapterRegistry.validate(adapter, value);
+  }
+
+  /**
+   * Report a field value to be evaluated.
+   *
+   * @param value      the field value
+   * @param cls        the classification
+   * @param path       the class and field name
+   * @param evaluation the receiver of child values
+   */
+  protected static void evaluateValue(Object value, ListCCL cls, String path, Evaluation evaluation) {
+    evaluation.visit(value, cls, path, false);
+  }
+
+  /**
+   * Report each non-null entry of a collection field to be evaluated. The
+   * entries are copied first: the receiver may prepare an entry, and a
+   * prepare() method may modify the collection.
+   *
+   * @param values     the collection field value
+   * @param cls        the classification
+   * @param path       the class and field name
+   * @param evaluation the receiver of child values
+   */
+  protected static void evaluateEntries(Collection<?> values, ListCCL cls, String path, Evaluation evaluation) {
+    for (Object entry : values.toArray()) {
+      if (entry != null) {
+        evaluation.visit(entry, cls, path, true);
+      }
+    }
+  }
+
+  /**
+   * Evaluate a field value against its XmlAdapter.
+   *
+   * @param adapter    the XmlAdapter
+   * @param value      the field value
+   * @param parentPath the parent class and field name
+   * @param fieldName  the field name
+   * @param evaluation the receiver of errors
+   */
+  protected void evaluateAdapter(XmlAdapter<Object, Object> adapter, Object value, String parentPath, String fieldName, Evaluation evaluation) {
+    try {
+      XmlAdapterRegistry.validate(adapter, value);
+    } catch (Exception exception) {
+      /**
+       * If there is a null pointer error then dump the output.
+       */
+      if (exception instanceof NullPointerException) {
+        logger.log(Level.SEVERE, null, exception);
+      }
+      evaluation.error(type.getSimpleName() + "." + fieldName, parentPath + "." + fieldName + " (" + type.getSimpleName() + ") :  " + exception.getMessage());
+    }
+  }
+
+  /**
+   * The receiver of the evaluation of a single object instance: its
+   * configuration errors and its child values.
+   */
+  public interface Evaluation {
+
+    /**
+     * Record a configuration error.
+     *
+     * @param field   the class and field name (e.g. "Location.name")
+     * @param message the pretty-print error message
+     */
+    void error(String field, String message);
+
+    /**
+     * Visit a non-null child value.
+     *
+     * @param value           the child value
+     * @param cls             the classification applied to the child
+     * @param path            the class and field name where the child lives
+     * @param collectionEntry TRUE if the child is a collection entry
+     */
+    void visit(Object value, ListCCL cls, String path, boolean collectionEntry);
+  }
+
+  /**
+   * Evaluation recording pretty-print error messages and evaluating child
+   * values recursively through {@link SSRFUtility}.
+   */
+  private static class MessageEvaluation implements Evaluation {
+
+    /**
+     * A collection of pretty-print error messages.
+     */
+    private final Set<String> messages;
+
+    public MessageEvaluation(Set<String> messages) {
+      this.messages = messages;
+    }
+
+    @Override
+    public void error(String field, String message) {
+      messages.add(message);
+    }
+
+    @Override
+    public void visit(Object value, ListCCL cls, String path, boolean collectionEntry) {
+      SSRFUtility.evaluate(value, cls, path, collectionEntry, messages);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An InputStream view over a ByteBuffer.
+ * <p>
+ * Reads proceed from the buffer's current position to its limit without
+ * copying the buffer contents. This supports reading SSRF documents from
+ * memory-mapped files and direct buffers.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+class ByteBufferInputStream extends InputStream {
+
+  /**
+   * The source buffer. A duplicate is held so the caller's position is not
+   * changed.
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Construct a new input stream over the remaining bytes of a buffer.
+   *
+   * @param buffer the source buffer
+   */
+  ByteBufferInputStream(ByteBuffer buffer) {
+    this.buffer = buffer.duplicate();
+  }
+
+  @Override
+  public int read() {
+    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) {
+    if (length == 0) {
+      return 0;
+    }
+    if (!buffer.hasRemaining()) {
+      return -1;
+    }
+    int count = Math.min(length, buffer.remaining());
+    buffer.get(bytes, offset, count);
+    return count;
+  }
+
+  @Override
+  public long skip(long n) {
+    int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+    buffer.position(buffer.position() + count);
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return buffer.remaining();
+  }
+}
@@ -0,0 +1,494 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import us.gov.dod.standard.ssrf._3_1.ChannelPlan;
+import us.gov.dod.standard.ssrf._3_1.TOA;
+import us.gov.dod.standard.ssrf._3_1.channelplan.Channel;
+import us.gov.dod.standard.ssrf._3_1.toa.Allocation;
+import us.gov.dod.standard.ssrf._3_1.toa.FreqBand;
+
+/**
+ * Compiled channel plan lookup.
+ * <p>
+ * A ChannelPlan holds its Channel entries, and each Channel its ChannelFreq
+ * values, as nested sets. This table compiles a ChannelPlan into primitive
+ * arrays: channels are numbered 0 to {@link #size()} - 1 in order of their
+ * lowest frequency, the frequencies of each channel are held in one flat
+ * array for direct channel to frequency access, and all frequencies are held
+ * in one sorted <code>long</code> array (millihertz, see
+ * {@link FrequencyIndex}) for frequency to channel lookup by binary search.
+ * <p>
+ * A frequency may be snapped to the nearest channel frequency within a
+ * tolerance. Where two channel frequencies are equally near the lower one is
+ * chosen; where two channels share a frequency the lower numbered channel is
+ * chosen. Channels without a ChannelFreq value are numbered after all others
+ * and are never matched by frequency.
+ * <p>
+ * Channel numbers are positions in this table only. They are NOT SSRF
+ * identifiers: SSRF identifies a channel by its Name within the ChannelPlan,
+ * and the numbering changes whenever the plan is edited and recompiled. Use
+ * {@link #findChannel(String)} to locate a channel by Name, and
+ * {@link #getChannel(int)} to recover the Channel (and its Name) from a
+ * channel number before storing or exchanging a result.
+ * <p>
+ * The table is a snapshot: changes to the ChannelPlan afterwards are not
+ * reflected until the table is rebuilt. It is immutable and may be shared
+ * between threads.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class ChannelPlanTable {
+
+  /**
+   * The source channel plan.
+   */
+  private final ChannelPlan channelPlan;
+  /**
+   * The channels, by channel number.
+   */
+  private final Channel[] channels;
+  /**
+   * The start of the frequencies of each channel in the channel frequency
+   * arrays. Channel c owns positions offsets[c] to offsets[c + 1] - 1.
+   */
+  private final int[] offsets;
+  /**
+   * The channel frequencies (millihertz), in channel number then ascending
+   * frequency order.
+   */
+  private final long[] channelFreqs;
+  /**
+   * The channel frequencies (MHz), parallel to channelFreqs.
+   */
+  private final double[] channelFreqsMHz;
+  /**
+   * All channel frequencies (millihertz), in ascending order.
+   */
+  private final long[] sortedFreqs;
+  /**
+   * The channel number of each sorted frequency.
+   */
+  private final int[] sortedChannels;
+  /**
+   * The lowest channel number of each channel Name.
+   */
+  private final Map<String, Integer> names;
+
+  /**
+   * Compile a channel plan. Use {@link #of(ChannelPlan)}.
+   *
+   * @param channelPlan the channel plan
+   */
+  private ChannelPlanTable(ChannelPlan channelPlan) {
+    this.channelPlan = channelPlan;
+    /**
+     * Read the frequencies of each channel, then number the channels by their
+     * lowest frequency.
+     */
+    List<Channel> source = channelPlan.isSetChannel() ? new ArrayList<>(channelPlan.getChannel()) : Collections.<Channel>emptyList();
+    List<long[]> freqs = new ArrayList<>(source.size());
+    long[] lowest = new long[source.size()];
+    for (int i = 0; i < source.size(); i++) {
+      long[] channelFreq = readFreqs(source.get(i));
+      freqs.add(channelFreq);
+      lowest[i] = channelFreq.length > 0 ? channelFreq[0] : Long.MAX_VALUE;
+    }
+    int[] order = sortIndex(lowest);
+    this.channels = new Channel[order.length];
+    this.offsets = new int[order.length + 1];
+    for (int c = 0; c < order.length; c++) {
+      channels[c] = source.get(order[c]);
+      offsets[c + 1] = offsets[c] + freqs.get(order[c]).length;
+    }
+    int count = offsets[order.length];
+    this.channelFreqs = new long[count];
+    this.channelFreqsMHz = new double[count];
+    for (int c = 0; c < order.length; c++) {
+      long[] channelFreq = freqs.get(order[c]);
+      System.arraycopy(channelFreq, 0, channelFreqs, offsets[c], channelFreq.length);
+    }
+    for (int i = 0; i < count; i++) {
+      channelFreqsMHz[i] = FrequencyIndex.toFreq(channelFreqs[i]).doubleValue();
+    }
+    /**
+     * Sort the (frequency, channel) pairs by frequency then channel number.
+     * Positions are in channel number order, so a stable sort by frequency
+     * keeps equal frequencies in channel number order.
+     */
+    int[] owner = new int[count];
+    for (int c = 0; c < order.length; c++) {
+      for (int p = offsets[c]; p < offsets[c + 1]; p++) {
+        owner[p] = c;
+      }
+    }
+    int[] positions = sortIndex(channelFreqs);
+    this.sortedFreqs = new long[count];
+    this.sortedChannels = new int[count];
+    for (int i = 0; i < count; i++) {
+      sortedFreqs[i] = channelFreqs[positions[i]];
+      sortedChannels[i] = owner[positions[i]];
+    }
+    Map<String, Integer> nameMap = new HashMap<>();
+    for (int c = 0; c < channels.length; c++) {
+      if (channels[c].isSetName()) {
+        nameMap.putIfAbsent(channels[c].getName().getValue(), c);
+      }
+    }
+    this.names = nameMap;
+  }
+
+  /**
+   * Compile a channel plan.
+   *
+   * @param channelPlan the channel plan
+   * @return a new channel plan table
+   */
+  public static ChannelPlanTable of(ChannelPlan channelPlan) {
+    return new ChannelPlanTable(Objects.requireNonNull(channelPlan, "Null channel plan"));
+  }
+
+  /**
+   * Compile the channel plans referenced by a TOA and by the Allocation
+   * entries of its FreqBand entries.
+   *
+   * @param toa the TOA
+   * @return a new list of the channel plan tables, one for each distinct
+   *         channel plan in reference order
+   */
+  public static List<ChannelPlanTable> of(TOA toa) {
+    Set<ChannelPlan> channelPlans = Collections.newSetFromMap(new IdentityHashMap<ChannelPlan, Boolean>());
+    List<ChannelPlanTable> tables = new ArrayList<>();
+    if (toa.isSetChannelPlan()) {
+      addAll(toa.getChannelPlan(), channelPlans, tables);
+    }
+    if (toa.isSetFreqBand()) {
+      for (FreqBand freqBand : toa.getFreqBand()) {
+        if (freqBand.isSetAllocation()) {
+          for (Allocation allocation : freqBand.getAllocation()) {
+            if (allocation.isSetChannelPlan()) {
+              addAll(allocation.getChannelPlan(), channelPlans, tables);
+            }
+          }
+        }
+      }
+    }
+    return tables;
+  }
+
+  /**
+   * Compile the channel plans referenced by an Allocation.
+   *
+   * @param allocation the Allocation
+   * @return a new list of the channel plan tables
+   */
+  public static List<ChannelPlanTable> of(Allocation allocation) {
+    List<ChannelPlanTable> tables = new ArrayList<>();
+    if (allocation.isSetChannelPlan()) {
+      addAll(allocation.getChannelPlan(), Collections.newSetFromMap(new IdentityHashMap<ChannelPlan, Boolean>()), tables);
+    }
+    return tables;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Channel to frequency">
+  /**
+   * Get the source channel plan.
+   *
+   * @return the ChannelPlan
+   */
+  public ChannelPlan getChannelPlan() {
+    return channelPlan;
+  }
+
+  /**
+   * Get the number of channels.
+   *
+   * @return the channel count
+   */
+  public int size() {
+    return channels.length;
+  }
+
+  /**
+   * Get a channel.
+   *
+   * @param channel the channel number
+   * @return the Channel
+   * @throws IndexOutOfBoundsException if the channel number is out of range
+   */
+  public Channel getChannel(int channel) {
+    return channels[channel];
+  }
+
+  /**
+   * Get the number of frequencies of a channel.
+   *
+   * @param channel the channel number
+   * @return the number of distinct ChannelFreq values
+   * @throws IndexOutOfBoundsException if the channel number is out of range
+   */
+  public int getFreqCount(int channel) {
+    return offsets[channel + 1] - offsets[channel];
+  }
+
+  /**
+   * Get the lowest frequency of a channel.
+   *
+   * @param channel the channel number
+   * @return the frequency (MHz), NULL if the channel has no frequency
+   * @throws IndexOutOfBoundsException if the channel number is out of range
+   */
+  public BigDecimal getFreq(int channel) {
+    return getFreqCount(channel) > 0 ? getFreq(channel, 0) : null;
+  }
+
+  /**
+   * Get a frequency of a channel.
+   *
+   * @param channel the channel number
+   * @param n       the frequency number within the channel, in ascending
+   *                frequency order
+   * @return the frequency (MHz)
+   * @throws IndexOutOfBoundsException if the channel or frequency number is
+   *                                   out of range
+   */
+  public BigDecimal getFreq(int channel, int n) {
+    return FrequencyIndex.toFreq(channelFreqs[position(channel, n)]);
+  }
+
+  /**
+   * Get a frequency of a channel as a primitive value. Use in tight loops.
+   *
+   * @param channel the channel number
+   * @param n       the frequency number within the channel, in ascending
+   *                frequency order
+   * @return the frequency (MHz)
+   * @throws IndexOutOfBoundsException if the channel or frequency number is
+   *                                   out of range
+   */
+  public double getFreqMHz(int channel, int n) {
+    return channelFreqsMHz[position(channel, n)];
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Name to channel">
+  /**
+   * Find a channel by its Name.
+   *
+   * @param name the channel Name
+   * @return the channel number, -1 if no channel has the Name. If several
+   *         channels share the Name the lowest channel number is returned.
+   */
+  public int findChannel(String name) {
+    Integer channel = name != null ? names.get(name) : null;
+    return channel != null ? channel : -1;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Frequency to channel">
+  /**
+   * Find the channel having exactly a frequency.
+   *
+   * @param freq the frequency (MHz)
+   * @return the channel number, -1 if no channel has the frequency
+   */
+  public int findChannel(BigDecimal freq) {
+    return snap(FrequencyIndex.toIndexUnits(freq, RoundingMode.HALF_EVEN), 0);
+  }
+
+  /**
+   * Snap a frequency to the nearest channel frequency within a tolerance.
+   *
+   * @param freq      the frequency (MHz)
+   * @param tolerance the maximum frequency difference (MHz)
+   * @return the channel number, -1 if no channel frequency is within the
+   *         tolerance
+   */
+  public int snap(BigDecimal freq, BigDecimal tolerance) {
+    return snap(FrequencyIndex.toIndexUnits(freq, RoundingMode.HALF_EVEN),
+                FrequencyIndex.toIndexUnits(tolerance.abs(), RoundingMode.FLOOR));
+  }
+
+  /**
+   * Snap a frequency to the nearest channel frequency within a tolerance. Use
+   * in tight loops.
+   *
+   * @param freq      the frequency (MHz)
+   * @param tolerance the maximum frequency difference (MHz)
+   * @return the channel number, -1 if no channel frequency is within the
+   *         tolerance
+   */
+  public int snap(double freq, double tolerance) {
+    return snap(FrequencyIndex.toIndexUnits(freq), FrequencyIndex.toIndexUnits(Math.abs(tolerance)));
+  }
+
+  /**
+   * Snap a batch of frequencies to the nearest channel frequencies within a
+   * tolerance.
+   *
+   * @param freqs     the frequencies (MHz)
+   * @param tolerance the maximum frequency difference (MHz)
+   * @return the channel number of each frequency, -1 where no channel
+   *         frequency is within the tolerance
+   */
+  public int[] snap(double[] freqs, double tolerance) {
+    long tol = FrequencyIndex.toIndexUnits(Math.abs(tolerance));
+    int[] snapped = new int[freqs.length];
+    for (int i = 0; i < freqs.length; i++) {
+      snapped[i] = snap(FrequencyIndex.toIndexUnits(freqs[i]), tol);
+    }
+    return snapped;
+  }
+
+  /**
+   * Snap a frequency to the nearest channel frequency within a tolerance.
+   *
+   * @param freq      the frequency (MHz)
+   * @param tolerance the maximum frequency difference (MHz)
+   * @return the nearest channel frequency (MHz), NULL if no channel frequency
+   *         is within the tolerance
+   */
+  public BigDecimal snapFreq(BigDecimal freq, BigDecimal tolerance) {
+    int i = nearest(FrequencyIndex.toIndexUnits(freq, RoundingMode.HALF_EVEN),
+                    FrequencyIndex.toIndexUnits(tolerance.abs(), RoundingMode.FLOOR));
+    return i >= 0 ? FrequencyIndex.toFreq(sortedFreqs[i]) : null;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Internal methods">
+  /**
+   * Internal method to snap a frequency.
+   *
+   * @param freq      the frequency (millihertz)
+   * @param tolerance the tolerance (millihertz)
+   * @return the channel number, -1 if none
+   */
+  private int snap(long freq, long tolerance) {
+    int i = nearest(freq, tolerance);
+    return i >= 0 ? sortedChannels[i] : -1;
+  }
+
+  /**
+   * Internal method to find the nearest sorted frequency within a tolerance.
+   *
+   * @param freq      the frequency (millihertz)
+   * @param tolerance the tolerance (millihertz)
+   * @return the position in the sorted frequencies, -1 if none
+   */
+  private int nearest(long freq, long tolerance) {
+    int i = Arrays.binarySearch(sortedFreqs, freq);
+    if (i >= 0) {
+      /**
+       * Exact match: take the lowest channel number having the frequency.
+       */
+      while (i > 0 && sortedFreqs[i - 1] == freq) {
+        i--;
+      }
+      return i;
+    }
+    int above = -i - 1;
+    int below = above - 1;
+    if (below >= 0) {
+      while (below > 0 && sortedFreqs[below - 1] == sortedFreqs[below]) {
+        below--;
+      }
+    }
+    long belowDistance = below >= 0 ? freq - sortedFreqs[below] : Long.MAX_VALUE;
+    long aboveDistance = above < sortedFreqs.length ? sortedFreqs[above] - freq : Long.MAX_VALUE;
+    if (belowDistance <= aboveDistance) {
+      return belowDistance <= tolerance ? below : -1;
+    }
+    return aboveDistance <= tolerance ? above : -1;
+  }
+
+  /**
+   * Internal method to locate a channel frequency in the channel frequency
+   * arrays.
+   */
+  private int position(int channel, int n) {
+    int count = getFreqCount(channel);
+    if (n < 0 || n >= count) {
+      throw new IndexOutOfBoundsException("Frequency " + n + " of channel " + channel + " with " + count + " frequencies");
+    }
+    return offsets[channel] + n;
+  }
+
+  /**
+   * Internal method to sort positions by key. The sort is stable: positions
+   * with equal keys remain in ascending order.
+   *
+   * @param keys the sort key of each position
+   * @return the positions 0 to keys.length - 1, in ascending key order
+   */
+  private static int[] sortIndex(long[] keys) {
+    int[] index = new int[keys.length];
+    for (int i = 0; i < index.length; i++) {
+      index[i] = i;
+    }
+    int[] buffer = new int[index.length];
+    for (int width = 1; width < index.length; width *= 2) {
+      for (int from = 0; from < index.length - width; from += 2 * width) {
+        int middle = from + width;
+        int to = Math.min(from + 2 * width, index.length);
+        int i = from, j = middle, k = from;
+        while (i < middle && j < to) {
+          buffer[k++] = keys[index[j]] < keys[index[i]] ? index[j++] : index[i++];
+        }
+        while (i < middle) {
+          buffer[k++] = index[i++];
+        }
+        while (j < to) {
+          buffer[k++] = index[j++];
+        }
+        System.arraycopy(buffer, from, index, from, to - from);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Internal method to read the distinct frequencies of a channel.
+   *
+   * @param channel the channel
+   * @return the frequencies (millihertz), in ascending order
+   */
+  private static long[] readFreqs(Channel channel) {
+    if (!channel.isSetChannelFreq()) {
+      return new long[0];
+    }
+    return channel.getChannelFreq().stream()
+      .filter(f -> f != null && f.isSetValue())
+      .mapToLong(f -> FrequencyIndex.toIndexUnits(f.getValue(), RoundingMode.HALF_EVEN))
+      .distinct().sorted().toArray();
+  }
+
+  /**
+   * Internal method to compile channel plans not yet compiled.
+   */
+  private static void addAll(Collection<ChannelPlan> source, Set<ChannelPlan> compiled, List<ChannelPlanTable> tables) {
+    for (ChannelPlan channelPlan : source) {
+      if (channelPlan != null && compiled.add(channelPlan)) {
+        tables.add(new ChannelPlanTable(channelPlan));
+      }
+    }
+  }//</editor-fold>
+
+  @Override
+  public String toString() {
+    return "ChannelPlanTable size [" + channels.length + "] frequencies [" + sortedFreqs.length + "]";
+  }
+}
@@ -132,6 +132,22 @@ public enum EDatasetType {
    */
   TX(Transmitter.class);
 
+  /**
+   * The serial number data types, keyed by class type. Classes that are not a
+   * dataset type map to a NULL value.
+   */
+  private static final ClassValue<EDatasetType> BY_CLASS = new ClassValue<EDatasetType>() {
+    @Override
+    protected EDatasetType computeValue(Class<?> type) {
+      for (EDatasetType eSerialType : EDatasetType.values()) {
+        if (eSerialType.getClazz().equals(type)) {
+          return eSerialType;
+        }
+      }
+      return null;
+    }
+  };
+
   /**
    * The class type.
    */
@@ -165,14 +181,25 @@ public enum EDatasetType {
   /**
    * Get a serial number data type from an object instance. This method is used
    * within the {@link Common} constructor to automatically build a serial
-   * number.
+   * number. The result is cached per class type.
    *
    * @param clazz the object instance class type
    * @return the serial number data type code
    */
   public static EDatasetType fromInstance(Class<?> clazz) {
+    return BY_CLASS.get(clazz);
+  }
+
+  /**
+   * Get a serial number data type from a class simple name. SSRF dataset
+   * element names (e.g. "Assignment") match the class simple name.
+   *
+   * @param simpleName the class simple name or SSRF element name
+   * @return the serial number data type code, null if not matched
+   */
+  public static EDatasetType fromClassSimpleName(String simpleName) {
     for (EDatasetType eSerialType : EDatasetType.values()) {
-      if (eSerialType.getClazz().equals(clazz)) {
+      if (eSerialType.getClassSimpleName().equals(simpleName)) {
         return eSerialType;
       }
     }
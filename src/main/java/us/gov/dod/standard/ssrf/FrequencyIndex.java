@@ -0,0 +1,575 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.stream.Stream;
+import us.gov.dod.standard.ssrf._3_1.*;
+import us.gov.dod.standard.ssrf._3_1.allotment.AllotFreq;
+import us.gov.dod.standard.ssrf._3_1.assignment.Configuration;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntry;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.FreqM;
+import us.gov.dod.standard.ssrf._3_1.multiple.ConfigFreq;
+import us.gov.dod.standard.ssrf._3_1.toa.FreqBand;
+
+/**
+ * Frequency interval index of the datasets in a SSRF message.
+ * <p>
+ * This index holds one row for each frequency range declared by a dataset:
+ * <ul>
+ * <li>Assignment, RFSystem, SSRequest and SSReply: Configuration /
+ * ConfigFreq</li>
+ * <li>Allotment: AllotFreq</li>
+ * <li>JRFL: JRFLEntry</li>
+ * <li>TOA: FreqBand</li>
+ * </ul>
+ * and answers overlap, point and nearest-neighbour queries with the owning
+ * dataset. A row without a FreqMax value is a single frequency.
+ * <p>
+ * Frequencies are held as primitive <code>long</code> values in millihertz,
+ * which is exact for the SSRF FreqM format (UN(16,9) MHz). The rows are sorted
+ * by minimum frequency and each row also carries the greatest maximum
+ * frequency of its implicit sub-tree (the sorted array is read as a binary
+ * search tree), so an overlap query visits O(log n + k) rows for k matches.
+ * <p>
+ * The index is a snapshot: datasets added, removed or changed afterwards are
+ * not reflected until the index is rebuilt. It is immutable and may be shared
+ * between threads.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class FrequencyIndex {
+
+  /**
+   * 9. The decimal scale of the index units (millihertz) relative to MHz.
+   */
+  private static final int SCALE = 9;
+  /**
+   * 3. Sub-trees of this depth or less are scanned instead of descended.
+   */
+  private static final int LEAF_DEPTH = 3;
+
+  /**
+   * The row minimum frequencies (millihertz), in ascending order.
+   */
+  private final long[] min;
+  /**
+   * The row maximum frequencies (millihertz).
+   */
+  private final long[] max;
+  /**
+   * The greatest maximum frequency of each implicit sub-tree.
+   */
+  private final long[] subtreeMax;
+  /**
+   * The row holding the greatest maximum frequency of rows 0 through i.
+   */
+  private final int[] prefixMax;
+  /**
+   * The rows.
+   */
+  private final Entry[] entries;
+  /**
+   * The depth of the implicit tree root.
+   */
+  private final int depth;
+
+  /**
+   * Build a new index of rows. Use {@link #of(SchemaRoot)} or
+   * {@link #of(Stream)}.
+   *
+   * @param rows the index rows, in any order
+   */
+  private FrequencyIndex(List<Entry> rows) {
+    rows.sort(Comparator.comparingLong((Entry e) -> e.min).thenComparingLong(e -> e.max));
+    int n = rows.size();
+    this.entries = rows.toArray(new Entry[n]);
+    this.min = new long[n];
+    this.max = new long[n];
+    this.subtreeMax = new long[n];
+    this.prefixMax = new int[n];
+    for (int i = 0; i < n; i++) {
+      min[i] = entries[i].min;
+      max[i] = entries[i].max;
+      prefixMax[i] = i > 0 && max[prefixMax[i - 1]] >= max[i] ? prefixMax[i - 1] : i;
+    }
+    this.depth = buildSubtreeMax();
+  }
+
+  /**
+   * Build an index of the frequency ranges of all the datasets in a SSRF
+   * (SchemaRoot) instance.
+   *
+   * @param root the SSRF root instance
+   * @return a new frequency index
+   */
+  public static FrequencyIndex of(SchemaRoot<?> root) {
+    List<Entry> rows = new ArrayList<>();
+    /**
+     * Read the dataset collections directly; the SchemaRoot getters create
+     * empty collections for datasets that are not present.
+     */
+    for (SSRFClassModel.FieldModel field : SSRFClassModel.getModel(root.getClass()).getFields()) {
+      Object fieldValue = field.get(root);
+      if (fieldValue instanceof Collection) {
+        for (Object entry : (Collection<?>) fieldValue) {
+          if (entry instanceof Common) {
+            addRows(rows, (Common<?>) entry);
+          }
+        }
+      }
+    }
+    return new FrequencyIndex(rows);
+  }
+
+  /**
+   * Build an index of the frequency ranges of a stream of datasets; for
+   * example the records read by {@link SSRFRecordReader#stream()}.
+   *
+   * @param records the datasets
+   * @return a new frequency index
+   */
+  public static FrequencyIndex of(Stream<? extends Common<?>> records) {
+    List<Entry> rows = new ArrayList<>();
+    records.forEachOrdered(record -> addRows(rows, record));
+    return new FrequencyIndex(rows);
+  }
+
+  /**
+   * Build an index of the frequency ranges of a collection of datasets.
+   *
+   * @param records the datasets
+   * @return a new frequency index
+   */
+  public static FrequencyIndex of(Collection<? extends Common<?>> records) {
+    return of(records.stream());
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Query">
+  /**
+   * Find the rows whose frequency range overlaps a frequency range. Ranges are
+   * closed: a range ending exactly where the query starts overlaps it.
+   *
+   * @param freqMin the range minimum frequency (MHz)
+   * @param freqMax the range maximum frequency (MHz)
+   * @return a new list of the overlapping rows, in ascending order of minimum
+   *         frequency
+   */
+  public List<Entry> findOverlapping(BigDecimal freqMin, BigDecimal freqMax) {
+    List<Entry> found = new ArrayList<>();
+    long from = toIndexUnits(freqMin, RoundingMode.FLOOR);
+    long to = toIndexUnits(freqMax, RoundingMode.CEILING);
+    if (from > to) {
+      long swap = from;
+      from = to;
+      to = swap;
+    }
+    query(from, to, found);
+    return found;
+  }
+
+  /**
+   * Find the datasets having a frequency range that overlaps a frequency
+   * range.
+   *
+   * @param freqMin the range minimum frequency (MHz)
+   * @param freqMax the range maximum frequency (MHz)
+   * @return a new set of the datasets, in ascending order of (first)
+   *         overlapping minimum frequency
+   */
+  public Set<Common<?>> findOverlappingRecords(BigDecimal freqMin, BigDecimal freqMax) {
+    Set<Common<?>> records = new LinkedHashSet<>();
+    for (Entry entry : findOverlapping(freqMin, freqMax)) {
+      records.add(entry.getRecord());
+    }
+    return records;
+  }
+
+  /**
+   * Find the rows whose frequency range contains a frequency.
+   *
+   * @param freq the frequency (MHz)
+   * @return a new list of the rows containing the frequency, in ascending
+   *         order of minimum frequency
+   */
+  public List<Entry> findContaining(BigDecimal freq) {
+    return findOverlapping(freq, freq);
+  }
+
+  /**
+   * Find the row whose frequency range is nearest to a frequency. The distance
+   * to a range containing the frequency is zero.
+   *
+   * @param freq the frequency (MHz)
+   * @return the nearest row, NULL if the index is empty
+   */
+  public Entry findNearest(BigDecimal freq) {
+    if (entries.length == 0) {
+      return null;
+    }
+    long point = toIndexUnits(freq, RoundingMode.HALF_EVEN);
+    /**
+     * Rows starting at or below the frequency: the nearest is the one reaching
+     * highest. Rows starting above: the nearest is the first.
+     */
+    int above = upperBound(point);
+    Entry below = above > 0 ? entries[prefixMax[above - 1]] : null;
+    if (above == entries.length) {
+      return below;
+    }
+    if (below == null || Math.max(0, point - below.max) > min[above] - point) {
+      return entries[above];
+    }
+    return below;
+  }
+
+  /**
+   * Get all the index rows.
+   *
+   * @return an unmodifiable list of the rows, in ascending order of minimum
+   *         frequency
+   */
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(Arrays.asList(entries));
+  }
+
+  /**
+   * Get the number of index rows.
+   *
+   * @return the number of frequency ranges
+   */
+  public int size() {
+    return entries.length;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Implicit Interval Tree">
+  /**
+   * Internal method to compute the greatest maximum frequency of each implicit
+   * sub-tree. Row i sits at tree depth k where k is the number of trailing one
+   * bits of i; its children are i - 2^(k-1) and i + 2^(k-1). Children beyond
+   * the last row take the greatest maximum frequency of the rows that exist.
+   *
+   * @return the depth of the tree root
+   */
+  private int buildSubtreeMax() {
+    int n = entries.length;
+    if (n == 0) {
+      return 0;
+    }
+    int lastRow = 0;
+    long last = 0;
+    for (int i = 0; i < n; i += 2) {
+      lastRow = i;
+      last = subtreeMax[i] = max[i];
+    }
+    int k = 1;
+    for (; 1 << k <= n; k++) {
+      int x = 1 << (k - 1);
+      int step = x << 2;
+      for (int i = (x << 1) - 1; i < n; i += step) {
+        long left = subtreeMax[i - x];
+        long right = i + x < n ? subtreeMax[i + x] : last;
+        subtreeMax[i] = Math.max(max[i], Math.max(left, right));
+      }
+      lastRow = ((lastRow >> k) & 1) != 0 ? lastRow - x : lastRow + x;
+      if (lastRow < n && subtreeMax[lastRow] > last) {
+        last = subtreeMax[lastRow];
+      }
+    }
+    return k - 1;
+  }
+
+  /**
+   * Internal method to collect the rows overlapping the closed range [from,
+   * to].
+   *
+   * @param from  the range minimum (millihertz)
+   * @param to    the range maximum (millihertz)
+   * @param found the collection of overlapping rows
+   */
+  private void query(long from, long to, List<Entry> found) {
+    int n = entries.length;
+    if (n == 0) {
+      return;
+    }
+    /**
+     * Each stack frame is {row, depth, left sub-tree visited}.
+     */
+    int[] stack = new int[3 * (depth + 2) * 2];
+    int top = 0;
+    stack[top++] = (1 << depth) - 1;
+    stack[top++] = depth;
+    stack[top++] = 0;
+    while (top > 0) {
+      int visited = stack[--top];
+      int k = stack[--top];
+      int x = stack[--top];
+      if (k <= LEAF_DEPTH) {
+        int first = x >> k << k;
+        int end = Math.min(first + (1 << (k + 1)) - 1, n);
+        for (int i = first; i < end && min[i] <= to; i++) {
+          if (max[i] >= from) {
+            found.add(entries[i]);
+          }
+        }
+      } else if (visited == 0) {
+        int y = x - (1 << (k - 1));
+        stack[top++] = x;
+        stack[top++] = k;
+        stack[top++] = 1;
+        if (y >= n || subtreeMax[y] >= from) {
+          stack[top++] = y;
+          stack[top++] = k - 1;
+          stack[top++] = 0;
+        }
+      } else if (x < n && min[x] <= to) {
+        if (max[x] >= from) {
+          found.add(entries[x]);
+        }
+        stack[top++] = x + (1 << (k - 1));
+        stack[top++] = k - 1;
+        stack[top++] = 0;
+      }
+    }
+  }
+
+  /**
+   * Internal method to find the first row whose minimum frequency is greater
+   * than a value.
+   *
+   * @param value the value (millihertz)
+   * @return the row number, or the number of rows if none is greater
+   */
+  private int upperBound(long value) {
+    int low = 0;
+    int high = min.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (min[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Row Extraction">
+  /**
+   * Internal method to add the frequency ranges of a dataset.
+   *
+   * @param rows   the index rows
+   * @param record the dataset
+   */
+  private static void addRows(List<Entry> rows, Common<?> record) {
+    if (record instanceof Assignment) {
+      Assignment assignment = (Assignment) record;
+      if (assignment.isSetConfiguration()) {
+        addConfigurations(rows, record, assignment.getConfiguration());
+      }
+    } else if (record instanceof RFSystem) {
+      RFSystem rfSystem = (RFSystem) record;
+      if (rfSystem.isSetConfiguration()) {
+        addConfigurations(rows, record, rfSystem.getConfiguration());
+      }
+    } else if (record instanceof SSRequest) {
+      SSRequest ssRequest = (SSRequest) record;
+      if (ssRequest.isSetConfiguration()) {
+        addConfigurations(rows, record, ssRequest.getConfiguration());
+      }
+    } else if (record instanceof SSReply) {
+      SSReply ssReply = (SSReply) record;
+      if (ssReply.isSetConfiguration()) {
+        addConfigurations(rows, record, ssReply.getConfiguration());
+      }
+    } else if (record instanceof Allotment) {
+      Allotment allotment = (Allotment) record;
+      if (allotment.isSetAllotFreq()) {
+        for (AllotFreq allotFreq : allotment.getAllotFreq()) {
+          addRow(rows, record, allotFreq, allotFreq.getFreqMin(), allotFreq.getFreqMax());
+        }
+      }
+    } else if (record instanceof JRFL) {
+      JRFL jrfl = (JRFL) record;
+      if (jrfl.isSetJRFLEntry()) {
+        for (JRFLEntry jrflEntry : jrfl.getJRFLEntry()) {
+          addRow(rows, record, jrflEntry, jrflEntry.getFreqMin(), jrflEntry.getFreqMax());
+        }
+      }
+    } else if (record instanceof TOA) {
+      TOA toa = (TOA) record;
+      if (toa.isSetFreqBand()) {
+        for (FreqBand freqBand : toa.getFreqBand()) {
+          addRow(rows, record, freqBand, freqBand.getFreqMin(), freqBand.getFreqMax());
+        }
+      }
+    }
+  }
+
+  /**
+   * Internal method to add the ConfigFreq ranges of a set of Configurations.
+   *
+   * @param rows           the index rows
+   * @param record         the dataset
+   * @param configurations the dataset configurations
+   */
+  private static void addConfigurations(List<Entry> rows, Common<?> record, Collection<Configuration> configurations) {
+    for (Configuration configuration : configurations) {
+      if (configuration.isSetConfigFreq()) {
+        for (ConfigFreq configFreq : configuration.getConfigFreq()) {
+          addRow(rows, record, configFreq, configFreq.getFreqMin(), configFreq.getFreqMax());
+        }
+      }
+    }
+  }
+
+  /**
+   * Internal method to add a frequency range. Ranges without a minimum
+   * frequency are ignored; ranges without a maximum frequency are a single
+   * frequency.
+   *
+   * @param rows    the index rows
+   * @param record  the dataset
+   * @param element the dataset element declaring the range
+   * @param freqMin the minimum frequency
+   * @param freqMax the maximum frequency. Can be null.
+   */
+  private static void addRow(List<Entry> rows, Common<?> record, Object element, FreqM freqMin, FreqM freqMax) {
+    if (freqMin == null || freqMin.getValue() == null) {
+      return;
+    }
+    long low = toIndexUnits(freqMin.getValue(), RoundingMode.FLOOR);
+    long high = freqMax != null && freqMax.getValue() != null ? toIndexUnits(freqMax.getValue(), RoundingMode.CEILING) : low;
+    rows.add(new Entry(Math.min(low, high), Math.max(low, high), record, element));
+  }
+
+  /**
+   * Convert a frequency to index units. Also used by the other compiled
+   * frequency tables in this package.
+   *
+   * @param freq     the frequency (MHz)
+   * @param rounding the rounding applied to values finer than one millihertz
+   * @return the frequency in millihertz, clamped to the long value range
+   */
+  static long toIndexUnits(BigDecimal freq, RoundingMode rounding) {
+    BigDecimal units = freq.setScale(SCALE, rounding).movePointRight(SCALE);
+    if (units.unscaledValue().bitLength() < 64) {
+      return units.longValue();
+    }
+    return units.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+  }
+
+  /**
+   * Convert a frequency to index units, rounding to the nearest millihertz.
+   *
+   * @param freq the frequency (MHz)
+   * @return the frequency in millihertz
+   */
+  static long toIndexUnits(double freq) {
+    return Math.round(freq * 1e9);
+  }
+
+  /**
+   * Convert index units to a frequency.
+   *
+   * @param units the frequency in millihertz
+   * @return the frequency (MHz)
+   */
+  static BigDecimal toFreq(long units) {
+    return BigDecimal.valueOf(units, SCALE).stripTrailingZeros();
+  }//</editor-fold>
+
+  @Override
+  public String toString() {
+    return "FrequencyIndex size [" + entries.length + "]";
+  }
+
+  /**
+   * A frequency index row: one frequency range of a dataset.
+   */
+  public static final class Entry {
+
+    /**
+     * The minimum frequency (millihertz).
+     */
+    private final long min;
+    /**
+     * The maximum frequency (millihertz).
+     */
+    private final long max;
+    /**
+     * The dataset declaring the range.
+     */
+    private final Common<?> record;
+    /**
+     * The dataset element declaring the range: a ConfigFreq, AllotFreq,
+     * JRFLEntry or FreqBand instance.
+     */
+    private final Object element;
+
+    private Entry(long min, long max, Common<?> record, Object element) {
+      this.min = min;
+      this.max = max;
+      this.record = record;
+      this.element = element;
+    }
+
+    /**
+     * Get the minimum frequency.
+     *
+     * @return the minimum frequency (MHz)
+     */
+    public BigDecimal getFreqMin() {
+      return toFreq(min);
+    }
+
+    /**
+     * Get the maximum frequency. This is the minimum frequency if the range is
+     * a single frequency.
+     *
+     * @return the maximum frequency (MHz)
+     */
+    public BigDecimal getFreqMax() {
+      return toFreq(max);
+    }
+
+    /**
+     * Get the dataset declaring the range.
+     *
+     * @return the dataset (e.g. an Assignment)
+     */
+    public Common<?> getRecord() {
+      return record;
+    }
+
+    /**
+     * Get the dataset element declaring the range.
+     *
+     * @return a ConfigFreq, AllotFreq, JRFLEntry or FreqBand instance
+     */
+    public Object getElement() {
+      return element;
+    }
+
+    @Override
+    public String toString() {
+      return "Entry [" + getFreqMin().toPlainString() + ", " + getFreqMax().toPlainString() + "] MHz " + record.getSerial();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigInteger;
+
+/**
+ * Service provider interface for SSRF serial identifier and index generation.
+ * <p>
+ * A generator supplies part 4 (the Serial Identifier) of new dataset SERIAL
+ * numbers "CCY:ORG:DS:serial" and the "idx" values of new indexed elements.
+ * The active generator is set with
+ * {@link SSRFUtility#setSerialGenerator(ISerialGenerator)}; otherwise the
+ * first implementation registered with {@link java.util.ServiceLoader} (in
+ * <code>META-INF/services/us.gov.dod.standard.ssrf.ISerialGenerator</code>) is
+ * used, or {@link SequenceSerialGenerator} if none is registered.
+ * <p>
+ * Implementations MUST be thread safe.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public interface ISerialGenerator {
+
+  /**
+   * Get the next unique Serial Identifier for a new dataset.
+   *
+   * @param datasetType the dataset type (part 3 of the SERIAL number)
+   * @return one to fifteen non-whitespace characters
+   */
+  String nextSerial(EDatasetType datasetType);
+
+  /**
+   * Get the next index compatible with SSRF "idx" fields (UN6).
+   *
+   * @return a positive index value below 1,000,000
+   */
+  BigInteger nextIndex();
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import us.gov.dod.standard.ssrf._3_1.Assignment;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.IntfReport;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.EmsDes;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.FreqM;
+
+/**
+ * Interference candidate search: find the Assignments that may be the source
+ * of the interference described by an IntfReport.
+ * <p>
+ * A candidate is an Assignment having a ConfigFreq range within the guard band
+ * of the reported frequency range and a StationLoc (or service volume)
+ * Location within the search radius of the reported position:
+ * <ul>
+ * <li>The frequency range is the SourceFreqMin / SourceFreqMax range if
+ * reported, otherwise the VictimFreqMin / VictimFreqMax range. It is widened
+ * by the guard band plus half of the source emission bandwidth (SourceEmsBw,
+ * or the necessary bandwidth of SourceEmsClass).</li>
+ * <li>The position is the SourceLat / SourceLon position if reported,
+ * otherwise the VictimLat / VictimLon position.</li>
+ * </ul>
+ * If a report has no frequency (or no position) the candidates are matched on
+ * position (or frequency) alone. The victim Assignment is never a candidate.
+ * <p>
+ * Candidates are ranked by score: the frequency separation as a fraction of
+ * the frequency widening plus the distance as a fraction of the search
+ * radius. Lower scores rank first.
+ * <p>
+ * The search holds a {@link FrequencyIndex} and a {@link SpatialIndex} of the
+ * Assignments, so no report scans the Assignments: the frequency index
+ * selects the candidates of reports having a frequency and the spatial index
+ * those of reports having only a position. Both
+ * indexes are immutable: once configured, a search instance may serve many
+ * threads and {@link #search(Collection)} processes batches of reports in
+ * parallel.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class InterferenceSearch {
+
+  /**
+   * 0.025 MHz (25 kHz). The default frequency guard band.
+   */
+  public static final BigDecimal DEFAULT_GUARD_BAND = new BigDecimal("0.025");
+  /**
+   * 50 km. The default search radius.
+   */
+  public static final double DEFAULT_RADIUS_KM = 50;
+  /**
+   * 50. The default maximum number of candidates returned per report.
+   */
+  public static final int DEFAULT_MAX_CANDIDATES = 50;
+
+  /**
+   * The Assignment frequency ranges.
+   */
+  private final FrequencyIndex frequencyIndex;
+  /**
+   * The Assignment locations.
+   */
+  private final SpatialIndex spatialIndex;
+  /**
+   * The Assignment locations, by Assignment.
+   */
+  private final Map<Common<?>, List<SpatialIndex.Entry>> locations = new IdentityHashMap<>();
+  /**
+   * The frequency guard band (MHz).
+   */
+  private BigDecimal guardBand = DEFAULT_GUARD_BAND;
+  /**
+   * The search radius (km).
+   */
+  private double radiusKm = DEFAULT_RADIUS_KM;
+  /**
+   * The maximum number of candidates returned per report.
+   */
+  private int maxCandidates = DEFAULT_MAX_CANDIDATES;
+
+  /**
+   * Construct a new search over a set of Assignments. Use
+   * {@link #of(SchemaRoot)} or {@link #of(Stream)}.
+   *
+   * @param assignments the Assignments
+   * @param serialIndex the serial index used to resolve service volume
+   *                    references. Can be null.
+   */
+  private InterferenceSearch(List<Assignment> assignments, SerialIndex serialIndex) {
+    this.frequencyIndex = FrequencyIndex.of(assignments);
+    this.spatialIndex = SpatialIndex.of(assignments, serialIndex);
+    for (SpatialIndex.Entry entry : spatialIndex.getEntries()) {
+      locations.computeIfAbsent(entry.getRecord(), r -> new ArrayList<>(1)).add(entry);
+    }
+  }
+
+  /**
+   * Build a search over the Assignments in a SSRF (SchemaRoot) instance.
+   *
+   * @param root the SSRF root instance
+   * @return a new interference candidate search
+   */
+  public static InterferenceSearch of(SchemaRoot<?> root) {
+    List<Assignment> assignments = root.isSetAssignment() ? new ArrayList<>(root.getAssignment()) : new ArrayList<>();
+    return new InterferenceSearch(assignments, root instanceof SSRF ? ((SSRF) root).getSerialIndex() : SerialIndex.of(root));
+  }
+
+  /**
+   * Build a search over the Assignments in a stream of datasets; for example
+   * the records read by {@link SSRFRecordReader#stream()}. Other datasets are
+   * ignored.
+   *
+   * @param records the datasets
+   * @return a new interference candidate search
+   */
+  public static InterferenceSearch of(Stream<? extends Common<?>> records) {
+    List<Assignment> assignments = records
+      .filter(Assignment.class::isInstance)
+      .map(Assignment.class::cast)
+      .collect(Collectors.toList());
+    return new InterferenceSearch(assignments, null);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  /**
+   * Get the frequency guard band.
+   *
+   * @return the guard band (MHz)
+   */
+  public BigDecimal getGuardBand() {
+    return guardBand;
+  }
+
+  /**
+   * Set the frequency guard band: the separation below and above the reported
+   * frequency range within which Assignments are candidates.
+   *
+   * @param guardBand the guard band (MHz). Zero matches overlapping ranges
+   *                  only.
+   * @return the current InterferenceSearch instance
+   */
+  public InterferenceSearch withGuardBand(BigDecimal guardBand) {
+    if (guardBand == null || guardBand.signum() < 0) {
+      throw new IllegalArgumentException("Guard band must be zero or positive.");
+    }
+    this.guardBand = guardBand;
+    return this;
+  }
+
+  /**
+   * Get the search radius.
+   *
+   * @return the search radius (km)
+   */
+  public double getRadiusKm() {
+    return radiusKm;
+  }
+
+  /**
+   * Set the search radius around the reported position.
+   *
+   * @param radiusKm the search radius (km)
+   * @return the current InterferenceSearch instance
+   */
+  public InterferenceSearch withRadiusKm(double radiusKm) {
+    if (!(radiusKm >= 0)) {
+      throw new IllegalArgumentException("Search radius must be zero or positive.");
+    }
+    this.radiusKm = radiusKm;
+    return this;
+  }
+
+  /**
+   * Get the maximum number of candidates returned per report.
+   *
+   * @return the maximum number of candidates
+   */
+  public int getMaxCandidates() {
+    return maxCandidates;
+  }
+
+  /**
+   * Set the maximum number of candidates returned per report.
+   *
+   * @param maxCandidates the maximum number of candidates
+   * @return the current InterferenceSearch instance
+   */
+  public InterferenceSearch withMaxCandidates(int maxCandidates) {
+    if (maxCandidates < 1) {
+      throw new IllegalArgumentException("Maximum candidates must be positive.");
+    }
+    this.maxCandidates = maxCandidates;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Find the candidate sources of the interference described by a report.
+   *
+   * @param report the interference report
+   * @return a new list of candidates, best (lowest score) first. Empty if the
+   *         report has neither a frequency nor a position.
+   */
+  public List<Candidate> search(IntfReport report) {
+    Map<Common<?>, Candidate> candidates = new IdentityHashMap<>();
+    /**
+     * Frequency: the reported range widened by the guard band plus half the
+     * emission bandwidth.
+     */
+    BigDecimal[] range = getFrequencyRange(report);
+    BigDecimal widening = null;
+    if (range != null) {
+      widening = guardBand.add(getHalfBandwidth(report));
+      for (FrequencyIndex.Entry entry : frequencyIndex.findOverlapping(range[0].subtract(widening), range[1].add(widening))) {
+        BigDecimal separation = entry.getFreqMax().compareTo(range[0]) < 0 ? range[0].subtract(entry.getFreqMax())
+                                : entry.getFreqMin().compareTo(range[1]) > 0 ? entry.getFreqMin().subtract(range[1])
+                                  : BigDecimal.ZERO;
+        Candidate candidate = candidates.computeIfAbsent(entry.getRecord(), r -> new Candidate((Assignment) r));
+        if (candidate.freqSeparation == null || separation.compareTo(candidate.freqSeparation) < 0) {
+          candidate.freqSeparation = separation;
+        }
+      }
+    }
+    /**
+     * Position: keep the frequency candidates within the search radius or,
+     * without a frequency, collect the Assignments within the search radius.
+     * The spatial results are nearest first.
+     */
+    double[] position = getPosition(report);
+    if (position != null && range != null) {
+      for (Iterator<Candidate> iterator = candidates.values().iterator(); iterator.hasNext();) {
+        Candidate candidate = iterator.next();
+        for (SpatialIndex.Entry entry : locations.getOrDefault(candidate.assignment, Collections.<SpatialIndex.Entry>emptyList())) {
+          double distance = entry.distanceKm(position[0], position[1]);
+          if (distance <= radiusKm && !(distance >= candidate.distanceKm)) {
+            candidate.distanceKm = distance;
+          }
+        }
+        if (Double.isNaN(candidate.distanceKm)) {
+          iterator.remove();
+        }
+      }
+    } else if (position != null) {
+      for (SpatialIndex.Entry entry : spatialIndex.findWithin(position[0], position[1], radiusKm)) {
+        candidates.computeIfAbsent(entry.getRecord(), r -> new Candidate((Assignment) r).withDistanceKm(entry.distanceKm(position[0], position[1])));
+      }
+    }
+    candidates.remove(report.getVictimAssignment());
+    /**
+     * Score and rank.
+     */
+    List<Candidate> ranked = new ArrayList<>(candidates.values());
+    for (Candidate candidate : ranked) {
+      double score = 0;
+      if (candidate.freqSeparation != null && widening.signum() > 0) {
+        score += candidate.freqSeparation.doubleValue() / widening.doubleValue();
+      }
+      if (!Double.isNaN(candidate.distanceKm) && radiusKm > 0) {
+        score += candidate.distanceKm / radiusKm;
+      }
+      candidate.score = score;
+    }
+    ranked.sort(Comparator.comparingDouble(Candidate::getScore).thenComparingDouble(Candidate::getDistanceKm));
+    return ranked.size() > maxCandidates ? new ArrayList<>(ranked.subList(0, maxCandidates)) : ranked;
+  }
+
+  /**
+   * Find the candidate sources of the interference described by each of a
+   * batch of reports. Reports are processed in parallel.
+   *
+   * @param reports the interference reports
+   * @return a new list of the candidate lists, in report order
+   */
+  public List<List<Candidate>> search(Collection<IntfReport> reports) {
+    return reports.parallelStream().map(this::search).collect(Collectors.toList());
+  }
+
+  /**
+   * Internal method to read the reported frequency range: the source range if
+   * reported, otherwise the victim range.
+   *
+   * @param report the interference report
+   * @return the {min, max} range (MHz), NULL if no frequency is reported
+   */
+  private static BigDecimal[] getFrequencyRange(IntfReport report) {
+    if (isSet(report.getSourceFreqMin())) {
+      return toRange(report.getSourceFreqMin(), report.getSourceFreqMax());
+    } else if (isSet(report.getVictimFreqMin())) {
+      return toRange(report.getVictimFreqMin(), report.getVictimFreqMax());
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to build a frequency range.
+   */
+  private static BigDecimal[] toRange(FreqM freqMin, FreqM freqMax) {
+    BigDecimal min = freqMin.getValue();
+    BigDecimal max = isSet(freqMax) ? freqMax.getValue() : min;
+    return min.compareTo(max) <= 0 ? new BigDecimal[]{min, max} : new BigDecimal[]{max, min};
+  }
+
+  /**
+   * Internal method to read half the source emission bandwidth: the
+   * SourceEmsBw value if reported, otherwise the necessary bandwidth of the
+   * SourceEmsClass emission designator.
+   *
+   * @param report the interference report
+   * @return half the bandwidth (MHz), zero if unknown
+   */
+  private static BigDecimal getHalfBandwidth(IntfReport report) {
+    BigDecimal bandwidth = isSet(report.getSourceEmsBw()) ? report.getSourceEmsBw().getValue() : getNecessaryBandwidth(report.getSourceEmsClass());
+    return bandwidth != null ? bandwidth.abs().divide(BigDecimal.valueOf(2)) : BigDecimal.ZERO;
+  }
+
+  /**
+   * Internal method to decode the necessary bandwidth of an emission
+   * designator. The first four characters are three digits and a unit letter
+   * (H, K, M or G) marking the decimal point; e.g. "16K0" is 16 kHz and "2M50"
+   * is 2.5 MHz.
+   *
+   * @param emsDes the emission designator. Can be null.
+   * @return the necessary bandwidth (MHz), NULL if not decoded
+   */
+  private static BigDecimal getNecessaryBandwidth(EmsDes emsDes) {
+    String value = emsDes != null ? emsDes.getValue() : null;
+    if (value == null || value.length() < 4) {
+      return null;
+    }
+    StringBuilder digits = new StringBuilder(4);
+    int unitScale = 0;
+    boolean unit = false;
+    for (int i = 0; i < 4; i++) {
+      char c = Character.toUpperCase(value.charAt(i));
+      if (c >= '0' && c <= '9') {
+        digits.append(c);
+      } else if (!unit && "HKMG".indexOf(c) >= 0) {
+        unit = true;
+        digits.append('.');
+        unitScale = c == 'H' ? -6 : c == 'K' ? -3 : c == 'M' ? 0 : 3;
+      } else {
+        return null;
+      }
+    }
+    return unit ? new BigDecimal(digits.toString()).movePointRight(unitScale) : null;
+  }
+
+  /**
+   * Internal method to read the reported position: the source position if
+   * reported, otherwise the victim position.
+   *
+   * @param report the interference report
+   * @return the {lat, lon} position (decimal degrees), NULL if no position is
+   *         reported
+   */
+  private static double[] getPosition(IntfReport report) {
+    if (report.isSetSourceLat() && report.isSetSourceLon()
+        && report.getSourceLat().isSetValue() && report.getSourceLon().isSetValue()) {
+      return new double[]{report.getSourceLat().getValue().doubleValue(), report.getSourceLon().getValue().doubleValue()};
+    } else if (report.isSetVictimLat() && report.isSetVictimLon()
+               && report.getVictimLat().isSetValue() && report.getVictimLon().isSetValue()) {
+      return new double[]{report.getVictimLat().getValue().doubleValue(), report.getVictimLon().getValue().doubleValue()};
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to determine if a frequency value is set.
+   */
+  private static boolean isSet(FreqM freq) {
+    return freq != null && freq.getValue() != null;
+  }
+
+  @Override
+  public String toString() {
+    return "InterferenceSearch frequencies [" + frequencyIndex.size() + "] locations [" + spatialIndex.size()
+           + "] guardBand [" + guardBand + "] radiusKm [" + radiusKm + "]";
+  }
+
+  /**
+   * A candidate interference source.
+   */
+  public static final class Candidate {
+
+    /**
+     * The candidate Assignment.
+     */
+    private final Assignment assignment;
+    /**
+     * The smallest separation between the Assignment frequency ranges and the
+     * reported frequency range (MHz). Null if not matched on frequency.
+     */
+    private BigDecimal freqSeparation;
+    /**
+     * The distance from the reported position (km). NaN if not matched on
+     * position.
+     */
+    private double distanceKm = Double.NaN;
+    /**
+     * The rank score.
+     */
+    private double score;
+
+    private Candidate(Assignment assignment) {
+      this.assignment = assignment;
+    }
+
+    private Candidate withDistanceKm(double distanceKm) {
+      this.distanceKm = distanceKm;
+      return this;
+    }
+
+    /**
+     * Get the candidate Assignment.
+     *
+     * @return the Assignment
+     */
+    public Assignment getAssignment() {
+      return assignment;
+    }
+
+    /**
+     * Get the smallest separation between the Assignment frequency ranges and
+     * the reported frequency range.
+     *
+     * @return the separation (MHz), zero if they overlap, NULL if the report
+     *         has no frequency
+     */
+    public BigDecimal getFreqSeparation() {
+      return freqSeparation;
+    }
+
+    /**
+     * Get the distance from the reported position to the Assignment location.
+     *
+     * @return the distance (km), NaN if the report has no position
+     */
+    public double getDistanceKm() {
+      return distanceKm;
+    }
+
+    /**
+     * Get the rank score: the frequency separation as a fraction of the
+     * frequency widening plus the distance as a fraction of the search radius.
+     *
+     * @return the score, from zero (best)
+     */
+    public double getScore() {
+      return score;
+    }
+
+    @Override
+    public String toString() {
+      return "Candidate " + assignment.getSerial() + " score [" + score + "] freqSeparation [" + freqSeparation + "] distanceKm [" + distanceKm + "]";
+    }
+  }
+}
@@ -0,0 +1,823 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.JRFL;
+import us.gov.dod.standard.ssrf._3_1.Loadset;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntry;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntryLocation;
+import us.gov.dod.standard.ssrf._3_1.loadset.JammingChannelProfile;
+import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Duration_UN4;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.FreqM;
+
+/**
+ * Joint Restricted Frequency List (JRFL) checker: find the JRFLEntry records
+ * protecting a proposed frequency use.
+ * <p>
+ * A proposal is a frequency range, a time window and a position with a
+ * radius, each optional. A JRFLEntry conflicts with a proposal when all of the
+ * following hold:
+ * <ul>
+ * <li>Frequency: the FreqMin / FreqMax range, widened by half the Bandwidth,
+ * overlaps the proposed range. Entries without a FreqMin are ignored.</li>
+ * <li>Time: an activity period of the entry overlaps the proposed window (see
+ * below) within the JRFL EffectiveDateTime / ExpirationDateTime period.</li>
+ * <li>Geography: a JRFLEntryLocation Location is within the proposed radius of
+ * the proposed position. Entries without a JRFLEntryLocation are protected
+ * everywhere.</li>
+ * </ul>
+ * A JRFLEntryLocation whose Location is not resolved (e.g. the referenced
+ * Location dataset is not in the message) or has no coordinates has no area
+ * and is ignored. An entry none of whose locations resolve is therefore
+ * protected everywhere, the conservative reading. Such entries are listed by
+ * {@link #getUnresolvedEntries()} so that the caller can report or supply the
+ * missing Location datasets.
+ * The time pattern of an entry is its Seconds, Minutes, Hours, DaysOfMonth,
+ * DaysOfWeek, Months and Years values or, if none is set, those of the JRFL.
+ * Each value is a comma separated list of numbers, ranges (<code>5-8</code>),
+ * stepped ranges (<code>3-12/3</code>) and steps (<code>*&#47;2</code>). An
+ * activity period starts at every UTC instant matching all the values, down
+ * to the finest value set, and lasts Duration minutes or, without a Duration,
+ * one unit of the finest value set. For example Hours <code>9-17</code> alone
+ * is active from 09h00Z to 18h00Z every day. A pattern value that cannot be
+ * read, or lies outside its range (Years 1900 to 2100), is treated as
+ * unrestricted, so that the entry remains protected.
+ * <p>
+ * The checker holds a {@link FrequencyIndex} and a {@link SpatialIndex} of the
+ * JRFL entries and the compiled time pattern of each entry. A proposal with a
+ * frequency range is matched through the frequency index; a proposal with
+ * only a position through the spatial index. It is a snapshot
+ * of the JRFL datasets when built and is immutable: one instance may serve
+ * many threads, and {@link #check(Loadset, Proposal)} checks the
+ * JammingChannelProfile entries of a Loadset in parallel.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class JRFLChecker {
+
+  /**
+   * The JRFL entry frequency ranges.
+   */
+  private final FrequencyIndex frequencyIndex;
+  /**
+   * The JRFL entry locations.
+   */
+  private final SpatialIndex spatialIndex;
+  /**
+   * The compiled JRFL entries, by JRFLEntry.
+   */
+  private final Map<JRFLEntry, Rule> rules = new IdentityHashMap<>();
+  /**
+   * The compiled JRFL entries, by JRFLEntryLocation.
+   */
+  private final Map<JRFLEntryLocation, Rule> byLocation = new IdentityHashMap<>();
+  /**
+   * The compiled JRFL entries without a resolved location, protected
+   * everywhere.
+   */
+  private final List<Rule> everywhere = new ArrayList<>();
+  /**
+   * The JRFL entries having a JRFLEntryLocation that does not resolve.
+   */
+  private final List<JRFLEntry> unresolved = new ArrayList<>();
+  /**
+   * The largest half Bandwidth of any entry (millihertz).
+   */
+  private long maxHalfBandwidth;
+
+  /**
+   * Compile a set of JRFL datasets. Use {@link #of(SchemaRoot)} or
+   * {@link #of(Stream)}.
+   *
+   * @param jrfls the JRFL datasets
+   */
+  private JRFLChecker(List<JRFL> jrfls) {
+    this.frequencyIndex = FrequencyIndex.of(jrfls);
+    this.spatialIndex = SpatialIndex.of(jrfls);
+    for (JRFL jrfl : jrfls) {
+      if (jrfl.isSetJRFLEntry()) {
+        for (JRFLEntry jrflEntry : jrfl.getJRFLEntry()) {
+          Rule rule = new Rule(jrfl, jrflEntry);
+          rules.put(jrflEntry, rule);
+          maxHalfBandwidth = Math.max(maxHalfBandwidth, rule.halfBandwidth);
+          if (jrflEntry.isSetJRFLEntryLocation()) {
+            for (JRFLEntryLocation jrflEntryLocation : jrflEntry.getJRFLEntryLocation()) {
+              byLocation.put(jrflEntryLocation, rule);
+            }
+          }
+        }
+      }
+    }
+    Set<Object> resolved = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    for (SpatialIndex.Entry entry : spatialIndex.getEntries()) {
+      Rule rule = byLocation.get(entry.getElement());
+      if (rule != null) {
+        rule.locations.add(entry);
+        resolved.add(entry.getElement());
+      }
+    }
+    for (JRFL jrfl : jrfls) {
+      if (jrfl.isSetJRFLEntry()) {
+        for (JRFLEntry jrflEntry : jrfl.getJRFLEntry()) {
+          Rule rule = rules.get(jrflEntry);
+          if (rule.locations.isEmpty()) {
+            everywhere.add(rule);
+          }
+          if (jrflEntry.isSetJRFLEntryLocation() && !resolved.containsAll(jrflEntry.getJRFLEntryLocation())) {
+            unresolved.add(jrflEntry);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Build a checker of the JRFL datasets in a SSRF (SchemaRoot) instance.
+   *
+   * @param root the SSRF root instance
+   * @return a new JRFL checker
+   */
+  public static JRFLChecker of(SchemaRoot<?> root) {
+    return new JRFLChecker(root.isSetJRFL() ? new ArrayList<>(root.getJRFL()) : new ArrayList<>());
+  }
+
+  /**
+   * Build a checker of the JRFL datasets in a stream of datasets; for example
+   * the records read by {@link SSRFRecordReader#stream()}. Other datasets are
+   * ignored.
+   *
+   * @param records the datasets
+   * @return a new JRFL checker
+   */
+  public static JRFLChecker of(Stream<? extends Common<?>> records) {
+    return new JRFLChecker(records.filter(JRFL.class::isInstance).map(JRFL.class::cast).collect(Collectors.toList()));
+  }
+
+  /**
+   * Find the JRFL entries protecting a proposed frequency use.
+   *
+   * @param proposal the proposed frequency use
+   * @return a new list of the conflicts, in ascending entry frequency order.
+   *         Empty if there is no conflict.
+   */
+  public List<Conflict> check(Proposal proposal) {
+    List<Conflict> conflicts = new ArrayList<>();
+    if (proposal.freqMin != null) {
+      long min = FrequencyIndex.toIndexUnits(proposal.freqMin, RoundingMode.FLOOR);
+      long max = FrequencyIndex.toIndexUnits(proposal.freqMax, RoundingMode.CEILING);
+      for (FrequencyIndex.Entry entry : frequencyIndex.findOverlapping(FrequencyIndex.toFreq(min - maxHalfBandwidth),
+                                                                       FrequencyIndex.toFreq(max + maxHalfBandwidth))) {
+        Rule rule = rules.get(entry.getElement());
+        if (rule != null && rule.min <= max && rule.max >= min) {
+          addConflict(conflicts, rule, proposal);
+        }
+      }
+    } else {
+      /**
+       * Without a frequency range, a position limits the candidates to the
+       * entries located near it and those protected everywhere.
+       */
+      Collection<Rule> candidates = rules.values();
+      if (proposal.hasPosition) {
+        candidates = Collections.newSetFromMap(new IdentityHashMap<Rule, Boolean>());
+        for (SpatialIndex.Entry entry : spatialIndex.findWithin(proposal.lat, proposal.lon, proposal.radiusKm)) {
+          Rule rule = byLocation.get(entry.getElement());
+          if (rule != null) {
+            candidates.add(rule);
+          }
+        }
+        candidates.addAll(everywhere);
+      }
+      for (Rule rule : candidates) {
+        if (rule.hasFrequency) {
+          addConflict(conflicts, rule, proposal);
+        }
+      }
+      conflicts.sort(Comparator.comparingLong((Conflict c) -> c.rule.min).thenComparingLong(c -> c.rule.max));
+    }
+    return conflicts;
+  }
+
+  /**
+   * Find the JRFL entries protecting each JammingChannelProfile of a Loadset.
+   * Profiles are checked in parallel.
+   *
+   * @param loadset  the Loadset
+   * @param proposal the proposed time window and position of the Loadset. Its
+   *                 frequency range applies to profiles having no FreqMin or
+   *                 CenterFreq.
+   * @return a new map of the conflicts of each profile
+   */
+  public Map<JammingChannelProfile, List<Conflict>> check(Loadset loadset, Proposal proposal) {
+    return check(loadset.isSetJammingChannelProfile() ? loadset.getJammingChannelProfile() : Collections.<JammingChannelProfile>emptySet(), proposal);
+  }
+
+  /**
+   * Find the JRFL entries protecting each of a set of JammingChannelProfile
+   * entries. Profiles are checked in parallel. The frequency range of a
+   * profile is its FreqMin / FreqMax range or, without a FreqMin, its
+   * CenterFreq.
+   *
+   * @param profiles the jamming channel profiles
+   * @param proposal the proposed time window and position of the profiles.
+   *                 Its frequency range applies to profiles having no FreqMin
+   *                 or CenterFreq.
+   * @return a new map of the conflicts of each profile, in profile iteration
+   *         order
+   */
+  public Map<JammingChannelProfile, List<Conflict>> check(Collection<JammingChannelProfile> profiles, Proposal proposal) {
+    List<JammingChannelProfile> source = new ArrayList<>(profiles);
+    List<List<Conflict>> results = source.parallelStream()
+      .map(profile -> check(proposal.forProfile(profile)))
+      .collect(Collectors.toList());
+    Map<JammingChannelProfile, List<Conflict>> conflicts = new LinkedHashMap<>();
+    for (int i = 0; i < source.size(); i++) {
+      conflicts.put(source.get(i), results.get(i));
+    }
+    return conflicts;
+  }
+
+  /**
+   * Get the number of compiled JRFL entries.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return rules.size();
+  }
+
+  /**
+   * Get the JRFL entries having a JRFLEntryLocation whose Location does not
+   * resolve to an area. These entries are protected only around their
+   * resolved locations or, if none resolves, everywhere.
+   *
+   * @return an unmodifiable list of the entries, in JRFL order. Empty if every
+   *         location resolves.
+   */
+  public List<JRFLEntry> getUnresolvedEntries() {
+    return Collections.unmodifiableList(unresolved);
+  }
+
+  /**
+   * Internal method to add a conflict if an entry matches the proposed time
+   * window and position.
+   */
+  private static void addConflict(List<Conflict> conflicts, Rule rule, Proposal proposal) {
+    if (!rule.isActive(proposal.start, proposal.end)) {
+      return;
+    }
+    double distance = Double.NaN;
+    if (proposal.hasPosition && !rule.locations.isEmpty()) {
+      for (SpatialIndex.Entry entry : rule.locations) {
+        double d = entry.distanceKm(proposal.lat, proposal.lon);
+        if (d <= proposal.radiusKm && !(d >= distance)) {
+          distance = d;
+        }
+      }
+      if (Double.isNaN(distance)) {
+        return;
+      }
+    }
+    conflicts.add(new Conflict(rule, distance));
+  }
+
+  @Override
+  public String toString() {
+    return "JRFLChecker size [" + rules.size() + "]";
+  }
+
+  /**
+   * A proposed frequency use: a frequency range, a time window and a position
+   * with a radius. Unset parts match every entry.
+   */
+  public static final class Proposal {
+
+    /**
+     * The frequency range (MHz).
+     */
+    private BigDecimal freqMin, freqMax;
+    /**
+     * The time window, end exclusive.
+     */
+    private Instant start, end;
+    /**
+     * TRUE if a position is set.
+     */
+    private boolean hasPosition;
+    /**
+     * The position (decimal degrees) and radius (km).
+     */
+    private double lat, lon, radiusKm;
+
+    /**
+     * Set the proposed frequency range.
+     *
+     * @param freqMin the minimum frequency (MHz)
+     * @param freqMax the maximum frequency (MHz). Can be null for a single
+     *                frequency.
+     * @return the current Proposal instance
+     */
+    public Proposal withFreq(BigDecimal freqMin, BigDecimal freqMax) {
+      if (freqMin == null) {
+        throw new IllegalArgumentException("Minimum frequency is required.");
+      }
+      BigDecimal max = freqMax != null ? freqMax : freqMin;
+      this.freqMin = freqMin.min(max);
+      this.freqMax = freqMin.max(max);
+      return this;
+    }
+
+    /**
+     * Set the proposed time window.
+     *
+     * @param start the window start
+     * @param end   the window end (exclusive)
+     * @return the current Proposal instance
+     */
+    public Proposal withTime(Instant start, Instant end) {
+      if (start == null || end == null || !start.isBefore(end)) {
+        throw new IllegalArgumentException("Time window start must be before its end.");
+      }
+      this.start = start;
+      this.end = end;
+      return this;
+    }
+
+    /**
+     * Set the proposed position and radius.
+     *
+     * @param lat      the latitude (decimal degrees)
+     * @param lon      the longitude (decimal degrees)
+     * @param radiusKm the radius of the proposed use (km)
+     * @return the current Proposal instance
+     */
+    public Proposal withPosition(double lat, double lon, double radiusKm) {
+      if (!(radiusKm >= 0)) {
+        throw new IllegalArgumentException("Radius must be zero or positive.");
+      }
+      this.hasPosition = true;
+      this.lat = lat;
+      this.lon = lon;
+      this.radiusKm = radiusKm;
+      return this;
+    }
+
+    /**
+     * Internal method to copy this proposal with the frequency range of a
+     * jamming channel profile.
+     */
+    private Proposal forProfile(JammingChannelProfile profile) {
+      Proposal proposal = new Proposal();
+      proposal.freqMin = freqMin;
+      proposal.freqMax = freqMax;
+      proposal.start = start;
+      proposal.end = end;
+      proposal.hasPosition = hasPosition;
+      proposal.lat = lat;
+      proposal.lon = lon;
+      proposal.radiusKm = radiusKm;
+      if (isSet(profile.getFreqMin())) {
+        proposal.withFreq(profile.getFreqMin().getValue(), isSet(profile.getFreqMax()) ? profile.getFreqMax().getValue() : null);
+      } else if (isSet(profile.getCenterFreq())) {
+        proposal.withFreq(profile.getCenterFreq().getValue(), null);
+      }
+      return proposal;
+    }
+
+    @Override
+    public String toString() {
+      return "Proposal freq [" + freqMin + ", " + freqMax + "] time [" + start + ", " + end + ")"
+             + (hasPosition ? " position [" + lat + ", " + lon + "] radius [" + radiusKm + "]" : "");
+    }
+  }
+
+  /**
+   * A JRFL entry protecting a proposed frequency use.
+   */
+  public static final class Conflict {
+
+    /**
+     * The compiled entry.
+     */
+    private final Rule rule;
+    /**
+     * The distance from the proposed position to the entry (km).
+     */
+    private final double distanceKm;
+
+    private Conflict(Rule rule, double distanceKm) {
+      this.rule = rule;
+      this.distanceKm = distanceKm;
+    }
+
+    /**
+     * Get the JRFL holding the entry.
+     *
+     * @return the JRFL dataset
+     */
+    public JRFL getJRFL() {
+      return rule.jrfl;
+    }
+
+    /**
+     * Get the protecting entry.
+     *
+     * @return the JRFLEntry
+     */
+    public JRFLEntry getEntry() {
+      return rule.jrflEntry;
+    }
+
+    /**
+     * Get the protection code of the entry.
+     *
+     * @return the ProtectionCode value (e.g. "T" for Taboo), NULL if not set
+     */
+    public String getProtectionCode() {
+      return rule.jrflEntry.isSetProtectionCode() ? rule.jrflEntry.getProtectionCode().getValue() : null;
+    }
+
+    /**
+     * Get the distance from the proposed position to the nearest entry
+     * location.
+     *
+     * @return the distance (km), NaN if the proposal has no position or the
+     *         entry has no location
+     */
+    public double getDistanceKm() {
+      return distanceKm;
+    }
+
+    @Override
+    public String toString() {
+      return "Conflict [" + getProtectionCode() + "] " + rule.jrflEntry.getFreqMin() + " MHz" + (Double.isNaN(distanceKm) ? "" : " " + distanceKm + " km");
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Compiled entries">
+  /**
+   * A compiled JRFL entry.
+   */
+  private static final class Rule {
+
+    private final JRFL jrfl;
+    private final JRFLEntry jrflEntry;
+    /**
+     * TRUE if the entry has a FreqMin.
+     */
+    private final boolean hasFrequency;
+    /**
+     * The frequency range widened by half the bandwidth (millihertz).
+     */
+    private final long min, max, halfBandwidth;
+    /**
+     * The JRFL effective and expiration date times. Can be null.
+     */
+    private final Instant effective, expiration;
+    /**
+     * The time pattern. NULL if the entry is always active.
+     */
+    private final TimePattern pattern;
+    /**
+     * The entry locations.
+     */
+    private final List<SpatialIndex.Entry> locations = new ArrayList<>(1);
+
+    private Rule(JRFL jrfl, JRFLEntry jrflEntry) {
+      this.jrfl = jrfl;
+      this.jrflEntry = jrflEntry;
+      this.hasFrequency = isSet(jrflEntry.getFreqMin());
+      this.halfBandwidth = isSet(jrflEntry.getBandwidth())
+                           ? (FrequencyIndex.toIndexUnits(jrflEntry.getBandwidth().getValue(), RoundingMode.CEILING) + 1) / 2
+                           : 0;
+      if (hasFrequency) {
+        long freqMin = FrequencyIndex.toIndexUnits(jrflEntry.getFreqMin().getValue(), RoundingMode.FLOOR);
+        long freqMax = isSet(jrflEntry.getFreqMax()) ? FrequencyIndex.toIndexUnits(jrflEntry.getFreqMax().getValue(), RoundingMode.CEILING) : freqMin;
+        this.min = Math.min(freqMin, freqMax) - halfBandwidth;
+        this.max = Math.max(freqMin, freqMax) + halfBandwidth;
+      } else {
+        this.min = 0;
+        this.max = -1;
+      }
+      this.effective = jrfl.isSetEffectiveDateTime() ? jrfl.getEffectiveDateTime().getInstant() : null;
+      this.expiration = jrfl.isSetExpirationDateTime() ? jrfl.getExpirationDateTime().getInstant() : null;
+      /**
+       * Use the entry time frame if it has one, otherwise the JRFL time frame.
+       */
+      TimePattern entryPattern = TimePattern.of(jrflEntry.getSeconds(), jrflEntry.getMinutes(), jrflEntry.getHours(),
+                                                jrflEntry.getDaysOfMonth(), jrflEntry.getDaysOfWeek(), jrflEntry.getMonths(),
+                                                jrflEntry.getYears(), jrflEntry.getDuration());
+      this.pattern = entryPattern != null ? entryPattern
+                     : TimePattern.of(jrfl.getSeconds(), jrfl.getMinutes(), jrfl.getHours(),
+                                      jrfl.getDaysOfMonth(), jrfl.getDaysOfWeek(), jrfl.getMonths(),
+                                      jrfl.getYears(), jrfl.getDuration());
+    }
+
+    /**
+     * Determine if the entry is active during a time window.
+     *
+     * @param start the window start. NULL for any time.
+     * @param end   the window end (exclusive)
+     * @return TRUE if the entry is active at some time in the window
+     */
+    private boolean isActive(Instant start, Instant end) {
+      if (start == null) {
+        return true;
+      }
+      Instant from = effective != null && effective.isAfter(start) ? effective : start;
+      Instant to = expiration != null && expiration.isBefore(end) ? expiration : end;
+      return from.isBefore(to) && (pattern == null || pattern.overlaps(from, to));
+    }
+  }
+
+  /**
+   * A compiled SSRF time frame: the Seconds, Minutes, Hours, DaysOfMonth,
+   * DaysOfWeek, Months and Years patterns and the Duration.
+   */
+  private static final class TimePattern {
+
+    /**
+     * The time units of the pattern fields, finest first.
+     */
+    private static final ChronoUnit[] UNITS = {ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS,
+                                               ChronoUnit.DAYS, ChronoUnit.MONTHS, ChronoUnit.YEARS};
+
+    /**
+     * The allowed values of each field. Bit n is set if value n is allowed;
+     * days of week are numbered 0 (Sunday) to 6.
+     */
+    private final long seconds, minutes, hours, daysOfMonth, daysOfWeek, months;
+    /**
+     * The allowed years. NULL for any year.
+     */
+    private final BitSet years;
+    /**
+     * The unit of the finest field set.
+     */
+    private final ChronoUnit unit;
+    /**
+     * The activity duration (minutes). Zero for one unit.
+     */
+    private final long duration;
+
+    private TimePattern(long seconds, long minutes, long hours, long daysOfMonth, long daysOfWeek, long months,
+                        BitSet years, ChronoUnit unit, long duration) {
+      this.seconds = seconds;
+      this.minutes = minutes;
+      this.hours = hours;
+      this.daysOfMonth = daysOfMonth;
+      this.daysOfWeek = daysOfWeek;
+      this.months = months;
+      this.years = years;
+      this.unit = unit;
+      this.duration = duration;
+    }
+
+    /**
+     * Compile a time frame.
+     *
+     * @return the time pattern, NULL if no pattern field is set
+     */
+    private static TimePattern of(AMetadata<?> seconds, AMetadata<?> minutes, AMetadata<?> hours,
+                                  AMetadata<?> daysOfMonth, AMetadata<?> daysOfWeek, AMetadata<?> months,
+                                  AMetadata<?> years, Duration_UN4 duration) {
+      String[] values = {toString(seconds), toString(minutes), toString(hours),
+                         toString(daysOfMonth) != null || toString(daysOfWeek) != null ? "" : null, toString(months), toString(years)};
+      int finest = 0;
+      while (finest < values.length && values[finest] == null) {
+        finest++;
+      }
+      if (finest == values.length) {
+        return null;
+      }
+      /**
+       * Fields finer than the finest field set are fixed at their first
+       * value; other fields not set allow every value.
+       */
+      long secondMask = finest > 0 ? 1L : parse(values[0], 0, 59);
+      long minuteMask = finest > 1 ? 1L : parse(values[1], 0, 59);
+      long hourMask = finest > 2 ? 1L : parse(values[2], 0, 23);
+      long dayOfMonthMask = finest > 3 ? 1L << 1 : parse(toString(daysOfMonth), 1, 31);
+      long dayOfWeekMask = finest > 3 ? parse(null, 0, 6) : parse(toString(daysOfWeek), 0, 7);
+      if ((dayOfWeekMask & 1L << 7) != 0) {
+        dayOfWeekMask = (dayOfWeekMask | 1L) & ~(1L << 7);
+      }
+      long monthMask = finest > 4 ? 1L << 1 : parse(values[4], 1, 12);
+      /**
+       * Years that cannot be read or lie outside 1900 to 2100 allow any year.
+       */
+      BitSet yearSet = null;
+      if (values[5] != null) {
+        long[] words = new long[2101 / 64 + 1];
+        if (parse(values[5], 1900, 2100, words)) {
+          yearSet = BitSet.valueOf(words);
+        }
+      }
+      long minutesDuration = duration != null && duration.isSetValue() ? duration.getValue().longValue() : 0;
+      return new TimePattern(secondMask, minuteMask, hourMask, dayOfMonthMask, dayOfWeekMask, monthMask,
+                             yearSet, UNITS[finest], Math.max(0, minutesDuration));
+    }
+
+    /**
+     * Determine if an activity period overlaps a time window.
+     *
+     * @param from the window start
+     * @param to   the window end (exclusive)
+     * @return TRUE if an activity period overlaps the window
+     */
+    private boolean overlaps(Instant from, Instant to) {
+      LocalDateTime windowStart = LocalDateTime.ofInstant(from, ZoneOffset.UTC);
+      LocalDateTime windowEnd = LocalDateTime.ofInstant(to, ZoneOffset.UTC);
+      /**
+       * Periods starting up to one period length before the window may still
+       * be active in the window.
+       */
+      LocalDateTime start = next(lengthen(windowStart, -1).plusSeconds(1), windowEnd);
+      while (start != null) {
+        if (lengthen(start, 1).isAfter(windowStart)) {
+          return true;
+        }
+        start = next(start.plusSeconds(1), windowEnd);
+      }
+      return false;
+    }
+
+    /**
+     * Internal method to add (or subtract) one activity period length.
+     */
+    private LocalDateTime lengthen(LocalDateTime time, int sign) {
+      return duration > 0 ? time.plusMinutes(sign * duration) : time.plus(sign, unit);
+    }
+
+    /**
+     * Internal method to find the first matching instant at or after a time.
+     *
+     * @param time  the time
+     * @param limit the search limit (exclusive)
+     * @return the first matching time before the limit, NULL if none
+     */
+    private LocalDateTime next(LocalDateTime time, LocalDateTime limit) {
+      LocalDateTime t = time.truncatedTo(ChronoUnit.SECONDS);
+      while (t.isBefore(limit)) {
+        int year = t.getYear();
+        if (years != null && !years.get(year)) {
+          int nextYear = year >= 0 ? years.nextSetBit(year + 1) : years.nextSetBit(0);
+          if (nextYear < 0) {
+            return null;
+          }
+          t = LocalDateTime.of(nextYear, 1, 1, 0, 0);
+          continue;
+        }
+        int month = nextValue(months, t.getMonthValue());
+        if (month != t.getMonthValue()) {
+          t = month < 0 ? LocalDateTime.of(year + 1, 1, 1, 0, 0) : LocalDateTime.of(year, month, 1, 0, 0);
+          continue;
+        }
+        if ((daysOfMonth & 1L << t.getDayOfMonth()) == 0 || (daysOfWeek & 1L << t.getDayOfWeek().getValue() % 7) == 0) {
+          t = t.toLocalDate().plusDays(1).atStartOfDay();
+          continue;
+        }
+        int hour = nextValue(hours, t.getHour());
+        if (hour != t.getHour()) {
+          t = hour < 0 ? t.toLocalDate().plusDays(1).atStartOfDay() : t.toLocalDate().atTime(hour, 0);
+          continue;
+        }
+        int minute = nextValue(minutes, t.getMinute());
+        if (minute != t.getMinute()) {
+          t = minute < 0 ? t.truncatedTo(ChronoUnit.HOURS).plusHours(1) : t.truncatedTo(ChronoUnit.HOURS).withMinute(minute);
+          continue;
+        }
+        int second = nextValue(seconds, t.getSecond());
+        if (second != t.getSecond()) {
+          t = second < 0 ? t.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1) : t.withSecond(second);
+          continue;
+        }
+        return t;
+      }
+      return null;
+    }
+
+    /**
+     * Internal method to find the first allowed value at or after a value.
+     *
+     * @return the value, -1 if none
+     */
+    private static int nextValue(long mask, int value) {
+      long remaining = value < 64 ? mask >>> value << value : 0;
+      return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Internal method to parse a pattern field into a bit mask.
+     *
+     * @param value the field value. NULL for every value.
+     * @param min   the minimum value
+     * @param max   the maximum value (at most 63)
+     * @return the bit mask of the allowed values
+     */
+    private static long parse(String value, int min, int max) {
+      long[] words = new long[1];
+      parse(value, min, max, words);
+      return words[0];
+    }
+
+    /**
+     * Internal method to parse a pattern field into a bit set. A field that
+     * cannot be read allows every value.
+     *
+     * @param value the field value. NULL for every value.
+     * @param min   the minimum value
+     * @param max   the maximum value
+     * @param words the bit set words
+     * @return TRUE if the field value was read, FALSE if it is NULL or cannot
+     *         be read
+     */
+    private static boolean parse(String value, int min, int max, long[] words) {
+      boolean valid = value != null && !value.trim().isEmpty();
+      long[] parsed = new long[words.length];
+      if (valid) {
+        for (String token : value.replace("star", "*").split(",")) {
+          try {
+            String range = token.trim();
+            int step = 1;
+            int slash = range.indexOf('/');
+            if (slash >= 0) {
+              step = Integer.parseInt(range.substring(slash + 1).trim());
+              range = range.substring(0, slash).trim();
+            }
+            int from, to;
+            if (range.equals("*")) {
+              from = min;
+              to = max;
+            } else if (range.indexOf('-') > 0) {
+              from = Integer.parseInt(range.substring(0, range.indexOf('-')).trim());
+              to = Integer.parseInt(range.substring(range.indexOf('-') + 1).trim());
+            } else {
+              from = Integer.parseInt(range);
+              to = slash >= 0 ? max : from;
+            }
+            if (step < 1 || from < min || to > max || from > to) {
+              valid = false;
+              break;
+            }
+            for (int n = from; n <= to; n += step) {
+              parsed[n >> 6] |= 1L << n;
+            }
+          } catch (NumberFormatException ex) {
+            valid = false;
+            break;
+          }
+        }
+      }
+      if (valid) {
+        System.arraycopy(parsed, 0, words, 0, words.length);
+      } else {
+        for (int n = min; n <= max; n++) {
+          words[n >> 6] |= 1L << n;
+        }
+      }
+      return valid;
+    }
+
+    /**
+     * Internal method to read a pattern field value. The pattern types wrap a
+     * String value returned by toString().
+     */
+    private static String toString(AMetadata<?> field) {
+      return field != null ? field.toString() : null;
+    }
+  }//</editor-fold>
+
+  /**
+   * Internal method to determine if a frequency is set.
+   */
+  private static boolean isSet(FreqM freq) {
+    return freq != null && freq.isSetValue();
+  }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+import us.gov.dod.standard.ssrf.validator.ValidatorRegistry;
+
+/**
+ * Parallel validation and evaluation of a SSRF message.
+ * <p>
+ * The top-level records of a SSRF message (each Assignment, Transmitter,
+ * Receiver, etc. in the {@link SchemaRoot} collections) depend upon their
+ * parent only for the classification ceiling. This class therefore inspects
+ * the root instance itself on the calling thread, then validates the
+ * top-level records as independent fork/join tasks.
+ * <p>
+ * Results are deterministic and identical to the sequential methods:
+ * <ul>
+ * <li>{@link #evaluate(SchemaRoot)} merges the messages of every task into a
+ * sorted set, returning the same set as
+ * {@link SSRFUtility#evaluate(Object)}.</li>
+ * <li>{@link #validate(SchemaRoot)} throws the error of the first invalid
+ * record in root iteration order, i.e. the same error as
+ * {@link SSRFUtility#validate(Object)}. Tasks after a known failure are
+ * skipped.</li>
+ * </ul>
+ * As with the sequential methods the SSRF message should be assembled
+ * (prepared) before it is validated; the records are read, not modified.
+ * <p>
+ * The parallelism level is set in the constructor. The no-argument
+ * constructor uses the system property
+ * <code>us.gov.dod.standard.ssrf.parallelism</code> if set, otherwise the
+ * common fork/join pool.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class ParallelValidator {
+
+  private static final Logger logger = Logger.getLogger(ParallelValidator.class.getName());
+
+  /**
+   * "us.gov.dod.standard.ssrf.parallelism". The system property used to set
+   * the default parallelism level.
+   */
+  public static final String PARALLELISM_PROPERTY = "us.gov.dod.standard.ssrf.parallelism";
+
+  /**
+   * The number of tasks created per worker thread. Records vary in size; more
+   * (smaller) tasks than threads balances the load.
+   */
+  private static final int TASKS_PER_THREAD = 8;
+
+  /**
+   * The fork/join pool.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Construct a new parallel validator with the default parallelism level.
+   */
+  public ParallelValidator() {
+    Integer parallelism = Integer.getInteger(PARALLELISM_PROPERTY);
+    this.pool = parallelism != null && parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+  }
+
+  /**
+   * Construct a new parallel validator with the indicated parallelism level.
+   *
+   * @param parallelism the number of worker threads. Must be positive.
+   */
+  public ParallelValidator(int parallelism) {
+    this(new ForkJoinPool(parallelism));
+  }
+
+  /**
+   * Construct a new parallel validator using the indicated fork/join pool.
+   *
+   * @param pool the fork/join pool
+   */
+  public ParallelValidator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Get the parallelism level.
+   *
+   * @return the number of worker threads
+   */
+  public int getParallelism() {
+    return pool.getParallelism();
+  }
+
+  /**
+   * Shut down the fork/join pool. Has no effect on the common pool.
+   */
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Evaluate a SSRF message; record and report any configuration errors.
+   *
+   * @param root the SSRF message
+   * @return a non-null, sorted set of error messages. The set is EMPTY if the
+   *         SSRF message validates OK.
+   */
+  public Set<String> evaluate(SchemaRoot<?> root) {
+    if (ValidatorRegistry.getValidator(root.getClass()) != null) {
+      return SSRFUtility.evaluate(root);
+    }
+    RootWork work = new RootWork(root);
+    return pool.invoke(new EvaluateTask(work, 0, work.items.size(), work.threshold(getParallelism())));
+  }
+
+  /**
+   * Validate a SSRF message.
+   *
+   * @param root the SSRF message
+   * @throws Exception the error of the first invalid record, if any
+   */
+  public void validate(SchemaRoot<?> root) throws Exception {
+    if (ValidatorRegistry.getValidator(root.getClass()) != null) {
+      SSRFUtility.validate(root);
+      return;
+    }
+    RootWork work = new RootWork(root);
+    Failure failure = new Failure();
+    pool.invoke(new ValidateTask(work, 0, work.items.size(), work.threshold(getParallelism()), failure));
+    if (failure.exception != null) {
+      throw failure.exception;
+    }
+  }
+
+  /**
+   * Determine if a SSRF message validates OK.
+   *
+   * @param root the SSRF message
+   * @return TRUE if the SSRF message validates OK
+   */
+  public boolean isValid(SchemaRoot<?> root) {
+    try {
+      validate(root);
+      return true;
+    } catch (Exception exception) {
+      return false;
+    }
+  }
+
+  /**
+   * The root instance inspection: the classification ceiling and the list of
+   * field values to validate.
+   */
+  private static final class RootWork {
+
+    /**
+     * The root class simple name; also the root path in error messages.
+     */
+    private final String rootName;
+    /**
+     * The classification ceiling.
+     */
+    private ListCCL cls;
+    /**
+     * The field values (top-level records and other root fields), in
+     * sequential validation order. A required field that is not configured is
+     * listed with a NULL value.
+     */
+    private final List<Item> items = new ArrayList<>();
+
+    /**
+     * Inspect the root instance.
+     *
+     * @param root the root instance
+     */
+    private RootWork(Object root) {
+      SSRFClassModel classModel = SSRFClassModel.getModel(root.getClass());
+      this.rootName = classModel.getType().getSimpleName();
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        cls = (ListCCL) field.get(root);
+      }
+      for (SSRFClassModel.FieldModel field : classModel.getFields()) {
+        Object fieldValue = field.get(root);
+        if (SSRFUtility.isMissing(fieldValue)) {
+          if (field.isRequired()) {
+            items.add(new Item(field, null, false));
+          }
+          continue;
+        }
+        if (fieldValue instanceof Collection) {
+          for (Object entry : (Collection<?>) fieldValue) {
+            if (entry != null) {
+              items.add(new Item(field, entry, true));
+            }
+          }
+        } else {
+          items.add(new Item(field, fieldValue, false));
+        }
+      }
+    }
+
+    /**
+     * Get the number of items evaluated sequentially by one task.
+     *
+     * @param parallelism the number of worker threads
+     * @return the task size
+     */
+    private int threshold(int parallelism) {
+      return Math.max(1, items.size() / (parallelism * TASKS_PER_THREAD));
+    }
+
+    /**
+     * Evaluate a single item.
+     *
+     * @param item     the item
+     * @param messages the error messages
+     */
+    private void evaluate(Item item, Set<String> messages) {
+      if (item.value == null) {
+        messages.add(rootName + " (" + item.field.getType().getSimpleName() + ") " + item.field.getName() + " is required");
+        return;
+      }
+      String fieldPath = rootName + "." + item.field.getName();
+      SSRFUtility.evaluate(item.value, cls, fieldPath, item.collectionEntry, messages);
+      if (!item.collectionEntry && item.field.getAdapter() != null) {
+        try {
+          XmlAdapterRegistry.validate(item.field.getAdapter(), item.value);
+        } catch (Exception exception) {
+          if (exception instanceof NullPointerException) {
+            logger.log(Level.SEVERE, null, exception);
+          }
+          messages.add(fieldPath + " (" + rootName + ") :  " + exception.getMessage());
+        }
+      }
+    }
+
+    /**
+     * Validate a single item.
+     *
+     * @param item the item
+     * @throws Exception if the item fails to validate
+     */
+    private void validate(Item item) throws Exception {
+      if (item.value == null) {
+        throw new Exception(item.field.getName() + " is required.");
+      }
+      SSRFUtility.validate(item.value, cls);
+      if (!item.collectionEntry && item.field.getAdapter() != null) {
+        XmlAdapterRegistry.validate(item.field.getAdapter(), item.value);
+      }
+    }
+  }
+
+  /**
+   * A root field value or collection entry.
+   */
+  private static final class Item {
+
+    private final SSRFClassModel.FieldModel field;
+    private final Object value;
+    private final boolean collectionEntry;
+
+    private Item(SSRFClassModel.FieldModel field, Object value, boolean collectionEntry) {
+      this.field = field;
+      this.value = value;
+      this.collectionEntry = collectionEntry;
+    }
+  }
+
+  /**
+   * The first (lowest index) validation failure.
+   */
+  private static final class Failure {
+
+    private int index = Integer.MAX_VALUE;
+    private Exception exception;
+
+    /**
+     * Record a failure if it precedes the current first failure.
+     *
+     * @param failureIndex the item index
+     * @param failure      the validation error
+     */
+    private synchronized void record(int failureIndex, Exception failure) {
+      if (failureIndex < index) {
+        this.index = failureIndex;
+        this.exception = failure;
+      }
+    }
+
+    /**
+     * Get the index of the first failure.
+     *
+     * @return the item index, MAX_VALUE if none
+     */
+    private synchronized int getIndex() {
+      return index;
+    }
+  }
+
+  /**
+   * Evaluate a range of items, splitting the range across tasks.
+   */
+  private static final class EvaluateTask extends RecursiveTask<Set<String>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RootWork work;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private EvaluateTask(RootWork work, int from, int to, int threshold) {
+      this.work = work;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected Set<String> compute() {
+      if (to - from <= threshold) {
+        Set<String> messages = new TreeSet<>();
+        for (int i = from; i < to; i++) {
+          work.evaluate(work.items.get(i), messages);
+        }
+        return messages;
+      }
+      int middle = (from + to) >>> 1;
+      EvaluateTask left = new EvaluateTask(work, from, middle, threshold);
+      left.fork();
+      Set<String> messages = new EvaluateTask(work, middle, to, threshold).compute();
+      messages.addAll(left.join());
+      return messages;
+    }
+  }
+
+  /**
+   * Validate a range of items, splitting the range across tasks.
+   */
+  private static final class ValidateTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RootWork work;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final Failure failure;
+
+    private ValidateTask(RootWork work, int from, int to, int threshold, Failure failure) {
+      this.work = work;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+      this.failure = failure;
+    }
+
+    @Override
+    protected void compute() {
+      if (from > failure.getIndex()) {
+        return;
+      }
+      if (to - from <= threshold) {
+        for (int i = from; i < to && i < failure.getIndex(); i++) {
+          try {
+            work.validate(work.items.get(i));
+          } catch (Exception exception) {
+            failure.record(i, exception);
+            return;
+          }
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new ValidateTask(work, from, middle, threshold, failure),
+                new ValidateTask(work, middle, to, threshold, failure));
+    }
+  }
+}
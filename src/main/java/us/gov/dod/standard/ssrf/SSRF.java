@@ -15,9 +15,23 @@
  */
 package us.gov.dod.standard.ssrf;
 
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import javax.xml.bind.annotation.*;
 import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf.validator.SSRFError;
+import us.gov.dod.standard.ssrf.validator.SSRFValidationException;
 
 /**
  * Standard Spectrum Resource Format (SSRF).
@@ -54,6 +68,12 @@ import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
 @XmlType(name = "SSRF")
 public class SSRF extends SchemaRoot<SSRF> {
 
+  /**
+   * 1 MB. Files larger than this are read through a memory-mapped FileChannel
+   * by {@link #fromXml(Path)}.
+   */
+  public static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+
   //<editor-fold defaultstate="collapsed" desc="Property Configuration">
   /**
    * SSRF Properties associated with this SSRF instance.
@@ -167,22 +187,61 @@ public class SSRF extends SchemaRoot<SSRF> {
     return ssrfProperties != null ? ssrfProperties.getProperty(propertyName) : null;
   }//</editor-fold>
 
-  //<editor-fold defaultstate="collapsed" desc="Export to XML">
+  //<editor-fold defaultstate="collapsed" desc="Serial Index">
   /**
-   * Assemble the SSRF instance. This method applies properties and invokes
-   * prepare() methods. This method supports the {@link #build()},
-   * {@link #isValid()} and {@link #evaluate()} methods.
-   * <p>
-   * This method does not perform any validation. Call {@link #prepare()} to
-   * validate.
+   * Serial number index of the datasets in this SSRF instance. Used to resolve
+   * dataset references after reading from XML.
    *
    * @since 3.1.0
    */
-  private void assemble() {
-    if (ssrfProperties != null) {
-      SSRFUtility.setProperties(ssrfProperties, this);
+  @XmlTransient
+  private SerialIndex serialIndex;
+
+  /**
+   * Get the serial number index of the datasets in this SSRF instance. The
+   * index is built on first use, rebuilt by {@link SSRFUtility#postLoad(SSRF)}
+   * and rebuilt whenever datasets have been added to or removed from this
+   * instance since it was built.
+   *
+   * @return the serial index
+   * @since 3.1.0
+   */
+  public SerialIndex getSerialIndex() {
+    if (serialIndex == null || !serialIndex.isCurrent(this)) {
+      serialIndex = SerialIndex.of(this);
     }
-    SSRFUtility.prepare(this);
+    return serialIndex;
+  }
+
+  /**
+   * (Re)build the serial number index of the datasets in this SSRF instance.
+   * Call this after replacing datasets (removing one and adding another) to
+   * have references resolve against the current content; additions and
+   * removals alone are picked up by {@link #getSerialIndex()}.
+   *
+   * @return the new serial index
+   * @since 3.1.0
+   */
+  public SerialIndex buildSerialIndex() {
+    serialIndex = SerialIndex.of(this);
+    return serialIndex;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Export to XML">
+  /**
+   * Assemble the SSRF instance. This method applies properties, then invokes
+   * prepare() methods and validates the SSRF object hierarchy in a single
+   * traversal (see {@link SSRFAssembler}). The XML output is written in a
+   * further pass over the assembled hierarchy. This method supports the
+   * {@link #toXML()}, {@link #writeXml(OutputStream)}, {@link #isValid()} and
+   * {@link #evaluate()} methods.
+   *
+   * @return a non-null, sorted list of configuration errors. The list is EMPTY
+   *         if the SSRF instance validates OK.
+   * @since 3.1.0
+   */
+  private List<SSRFError> assemble() {
+    return SSRFAssembler.assemble(this, ssrfProperties);
   }
 
   /**
@@ -190,10 +249,11 @@ public class SSRF extends SchemaRoot<SSRF> {
    * <p>
    * This method prepares the SSRF object hierarchy, copying all required data
    * objects into their proper location, preparing the SSRF destination instance
-   * for export, then marshals the data type into an XML document.
+   * for export, then marshals the data type into a compact (unformatted) XML
+   * document.
    * <p>
-   * If the object instance is NOT valid then call {@link #evaluate()} to
-   * re-inspect the SSRF object instance and retrieve a list of specific
+   * If the object instance is NOT valid then a
+   * {@link SSRFValidationException} is thrown carrying the list of specific
    * validation errors.
    *
    * @return This SSRF instance as an XML document
@@ -201,13 +261,77 @@ public class SSRF extends SchemaRoot<SSRF> {
    * @since 3.1.0
    */
   public String toXML() throws Exception {
-    if (isValid()) {
-      assemble();
-      SSRFUtility.validate(this);
-      return SSRFUtility.marshal(this);
-    } else {
-      throw new Exception("Invalid SSRF configuration. Evaluate for details.");
+    return toXML(SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Export this SSRF source instance as an XML document with the indicated
+   * output options.
+   * <p>
+   * This method prepares the SSRF object hierarchy in the same manner as
+   * {@link #toXML()}. Use {@link SSRFMarshalOptions#getFormatted()} for
+   * human-readable output.
+   *
+   * @param options the marshal output options
+   * @return This SSRF instance as an XML document
+   * @throws Exception If this SSRF configuration fails to validate
+   * @since 3.1.0
+   */
+  public String toXML(SSRFMarshalOptions options) throws Exception {
+    List<SSRFError> errors = assemble();
+    if (!errors.isEmpty()) {
+      throw new SSRFValidationException(errors);
     }
+    return SSRFUtility.marshal(this, options);
+  }
+
+  /**
+   * Export this SSRF source instance as a compact, UTF-8 encoded XML document
+   * written directly to an output stream.
+   * <p>
+   * This method prepares and validates the SSRF object hierarchy in the same
+   * manner as {@link #toXML()} but does not build the document as a String.
+   * The output stream is NOT closed.
+   *
+   * @param outputStream the output stream
+   * @throws Exception If this SSRF configuration fails to validate or cannot
+   *                   be written
+   * @since 3.1.0
+   */
+  public void writeXml(OutputStream outputStream) throws Exception {
+    writeXml(outputStream, SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Export this SSRF source instance as an XML document written directly to an
+   * output stream with the indicated output options. The output stream is NOT
+   * closed.
+   *
+   * @param outputStream the output stream
+   * @param options      the marshal output options
+   * @throws Exception If this SSRF configuration fails to validate or cannot
+   *                   be written
+   * @since 3.1.0
+   */
+  public void writeXml(OutputStream outputStream, SSRFMarshalOptions options) throws Exception {
+    List<SSRFError> errors = assemble();
+    if (!errors.isEmpty()) {
+      throw new SSRFValidationException(errors);
+    }
+    SSRFUtility.marshal(this, outputStream, options);
+  }
+
+  /**
+   * Export this SSRF source instance as a compact, UTF-8 encoded XML document
+   * written directly to a byte channel. The channel is NOT closed.
+   *
+   * @param channel the output channel
+   * @throws Exception If this SSRF configuration fails to validate or cannot
+   *                   be written
+   * @since 3.1.0
+   */
+  public void writeXml(WritableByteChannel channel) throws Exception {
+    writeXml(Channels.newOutputStream(channel));
   }
 
   /**
@@ -229,17 +353,7 @@ public class SSRF extends SchemaRoot<SSRF> {
    * @since 3.1.0
    */
   public boolean isValid() {
-    try {
-      /**
-       * Call assemble() twice to add parameters and then to add metadata (if
-       * configured) to those parameters.
-       */
-      assemble();
-      SSRFUtility.validate(this);
-      return true;
-    } catch (Exception exception) {
-      return false;
-    }
+    return assemble().isEmpty();
   }
 
   /**
@@ -262,8 +376,26 @@ public class SSRF extends SchemaRoot<SSRF> {
    * @since 3.1.0
    */
   public Set<String> evaluate() {
-    assemble();
-    return SSRFUtility.evaluate(this);
+    Set<String> messages = new TreeSet<>();
+    for (SSRFError error : assemble()) {
+      messages.add(error.getMessage());
+    }
+    return messages;
+  }
+
+  /**
+   * Evaluate a SSRF Object instance; record and report any configuration
+   * errors with the serial number of the record and the field in which they
+   * occur.
+   * <p>
+   * This method performs the same inspection as {@link #evaluate()}.
+   *
+   * @return a non-null, sorted list of configuration errors. The list is EMPTY
+   *         if the object instance validates OK.
+   * @since 3.1.0
+   */
+  public List<SSRFError> evaluateErrors() {
+    return assemble();
   }//</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="Import from XML">
@@ -301,6 +433,77 @@ public class SSRF extends SchemaRoot<SSRF> {
     SSRF ssrf = SSRFUtility.unmarshal(xml, SSRF.class);
     SSRFUtility.postLoad(ssrf);
     return ssrf;
+  }
+
+  /**
+   * Parse and import an XML document from an input stream into a SSRF object
+   * hierarchy.
+   * <p>
+   * The document character encoding is read from the XML declaration (UTF-8
+   * if not declared). The input stream is NOT closed.
+   *
+   * @param inputStream A SSRF XML document stream
+   * @return A SSRF software object instance
+   * @throws Exception If this SSRF XML document fails to unmarshal; typically
+   *                   because the document is invalid or incomplete
+   * @since 3.1.0
+   */
+  public static SSRF fromXml(InputStream inputStream) throws Exception {
+    SSRF ssrf = SSRFUtility.unmarshal(inputStream, SSRF.class);
+    SSRFUtility.postLoad(ssrf);
+    return ssrf;
+  }
+
+  /**
+   * Parse and import an XML document from a byte buffer into a SSRF object
+   * hierarchy. The document is read from the buffer position to its limit;
+   * the buffer position is not changed.
+   *
+   * @param buffer A SSRF XML document buffer (e.g. a memory-mapped file)
+   * @return A SSRF software object instance
+   * @throws Exception If this SSRF XML document fails to unmarshal; typically
+   *                   because the document is invalid or incomplete
+   * @since 3.1.0
+   */
+  public static SSRF fromXml(ByteBuffer buffer) throws Exception {
+    return fromXml(new ByteBufferInputStream(buffer));
+  }
+
+  /**
+   * Parse and import an XML document from a byte channel into a SSRF object
+   * hierarchy. The channel is NOT closed.
+   *
+   * @param channel A SSRF XML document channel
+   * @return A SSRF software object instance
+   * @throws Exception If this SSRF XML document fails to unmarshal; typically
+   *                   because the document is invalid or incomplete
+   * @since 3.1.0
+   */
+  public static SSRF fromXml(ReadableByteChannel channel) throws Exception {
+    return fromXml(new BufferedInputStream(Channels.newInputStream(channel)));
+  }
+
+  /**
+   * Parse and import an XML file into a SSRF object hierarchy.
+   * <p>
+   * Files larger than {@link #MAPPED_READ_THRESHOLD} bytes are read through a
+   * memory-mapped {@link FileChannel}; smaller files are read through a
+   * buffered stream.
+   *
+   * @param path A SSRF XML document file
+   * @return A SSRF software object instance
+   * @throws Exception If this SSRF XML document fails to unmarshal; typically
+   *                   because the document is invalid or incomplete
+   * @since 3.1.0
+   */
+  public static SSRF fromXml(Path path) throws Exception {
+    try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = fileChannel.size();
+      if (size > MAPPED_READ_THRESHOLD && size <= Integer.MAX_VALUE) {
+        return fromXml(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+      }
+      return fromXml((ReadableByteChannel) fileChannel);
+    }
   }//</editor-fold>
 
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Factory of fast accessors for SSRF class methods and fields.
+ * <p>
+ * The SSRFUtility tree walkers call getters, SET and WITH setters, prepare()
+ * and postLoad() on every object in a SSRF message. Invoking these through
+ * {@link Method#invoke(Object, Object...)} pays for argument boxing into an
+ * array, access checks and exception wrapping on each call. This class
+ * instead spins a small functional class per method with
+ * {@link LambdaMetafactory}: the result is a plain {@link Function},
+ * {@link Consumer} or {@link BiConsumer} whose implementation calls the
+ * target method directly, and which the JIT compiler inlines like any other
+ * call site.
+ * <p>
+ * Accessors are built from public methods with this class' own
+ * {@link MethodHandles.Lookup}, so no access checks are suppressed and no
+ * <code>--add-opens</code> is required under the module system. Fields are
+ * read through their public getter in the same way; private fields are never
+ * opened reflectively.
+ * <p>
+ * If a method cannot be bound (e.g. it is declared in a non-public class)
+ * the accessor falls back to reflection.
+ * <p>
+ * Accessors are not cached here; callers (see {@link SSRFClassModel}) hold
+ * them for the life of the class.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SSRFAccessors {
+
+  private static final Logger logger = Logger.getLogger(SSRFAccessors.class.getName());
+
+  /**
+   * The lookup used to bind accessors. LambdaMetafactory requires a lookup
+   * with private access to the caller class, i.e. this class.
+   */
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  /**
+   * Static utility class; do not instantiate.
+   */
+  private SSRFAccessors() {
+  }
+
+  /**
+   * Build an accessor for a no-argument instance method that returns a value;
+   * typically a GET getter.
+   *
+   * @param method the method
+   * @return a function accepting the object instance and returning the method
+   *         return value
+   */
+  @SuppressWarnings("unchecked")
+  public static Function<Object, Object> getter(final Method method) {
+    try {
+      MethodHandle target = LOOKUP.unreflect(method);
+      CallSite callSite = LambdaMetafactory.metafactory(LOOKUP,
+                                                        "apply",
+                                                        MethodType.methodType(Function.class),
+                                                        MethodType.methodType(Object.class, Object.class),
+                                                        target,
+                                                        MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+      return (Function<Object, Object>) callSite.getTarget().invoke();
+    } catch (Throwable ex) {
+      logger.log(Level.FINE, "Reflective getter for {0}:  {1}", new Object[]{method, ex.getMessage()});
+      return new Function<Object, Object>() {
+        @Override
+        public Object apply(Object instance) {
+          try {
+            return method.invoke(instance);
+          } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw unchecked(method, ex);
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Build an accessor for a single-argument instance method; typically a SET
+   * or WITH setter. The method return value (if any) is discarded.
+   *
+   * @param method the method
+   * @return a consumer accepting the object instance and the method argument
+   */
+  @SuppressWarnings("unchecked")
+  public static BiConsumer<Object, Object> setter(final Method method) {
+    try {
+      MethodHandle target = LOOKUP.unreflect(method);
+      CallSite callSite = LambdaMetafactory.metafactory(LOOKUP,
+                                                        "accept",
+                                                        MethodType.methodType(BiConsumer.class),
+                                                        MethodType.methodType(void.class, Object.class, Object.class),
+                                                        target,
+                                                        MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+      return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+    } catch (Throwable ex) {
+      logger.log(Level.FINE, "Reflective setter for {0}:  {1}", new Object[]{method, ex.getMessage()});
+      return new BiConsumer<Object, Object>() {
+        @Override
+        public void accept(Object instance, Object value) {
+          try {
+            method.invoke(instance, value);
+          } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw unchecked(method, ex);
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Build an accessor for a no-argument instance method whose return value is
+   * not needed; typically prepare() or postLoad().
+   *
+   * @param method the method
+   * @return a consumer accepting the object instance
+   */
+  @SuppressWarnings("unchecked")
+  public static Consumer<Object> action(final Method method) {
+    try {
+      MethodHandle target = LOOKUP.unreflect(method);
+      CallSite callSite = LambdaMetafactory.metafactory(LOOKUP,
+                                                        "accept",
+                                                        MethodType.methodType(Consumer.class),
+                                                        MethodType.methodType(void.class, Object.class),
+                                                        target,
+                                                        MethodType.methodType(void.class, method.getDeclaringClass()));
+      return (Consumer<Object>) callSite.getTarget().invoke();
+    } catch (Throwable ex) {
+      logger.log(Level.FINE, "Reflective action for {0}:  {1}", new Object[]{method, ex.getMessage()});
+      return new Consumer<Object>() {
+        @Override
+        public void accept(Object instance) {
+          try {
+            method.invoke(instance);
+          } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw unchecked(method, ex);
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Build an accessor to read an instance field value through its public
+   * getter.
+   * <p>
+   * SSRF collection getters lazily create an empty collection. If an "isSet"
+   * method is provided the getter is called only when it returns TRUE, so
+   * reading an unset (or empty) collection returns NULL and does not modify
+   * the instance.
+   *
+   * @param getMethod   the public getter returning the field type
+   * @param isSetMethod the public "isSet" method guarding the getter. May be
+   *                    null.
+   * @return a function accepting the object instance and returning the field
+   *         value
+   */
+  public static Function<Object, Object> reader(Method getMethod, Method isSetMethod) {
+    final Function<Object, Object> getter = getter(getMethod);
+    if (isSetMethod == null) {
+      return getter;
+    }
+    final Function<Object, Object> isSet = getter(isSetMethod);
+    return new Function<Object, Object>() {
+      @Override
+      public Object apply(Object instance) {
+        return Boolean.TRUE.equals(isSet.apply(instance)) ? getter.apply(instance) : null;
+      }
+    };
+  }
+
+  /**
+   * Internal method to convert a reflective invocation error into an
+   * unchecked exception. Errors thrown by the target method are rethrown
+   * as-is when unchecked.
+   *
+   * @param method the method
+   * @param ex     the reflective invocation error
+   * @return an unchecked exception to throw
+   */
+  private static RuntimeException unchecked(Method method, ReflectiveOperationException ex) {
+    Throwable cause = ex instanceof InvocationTargetException ? ex.getCause() : ex;
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IllegalStateException(method.getName() + " failed:  " + cause.getMessage(), cause);
+  }
+
+  /**
+   * Internal method to get the wrapper type for a primitive type.
+   *
+   * @param type the class type
+   * @return the wrapper type if the type is primitive, otherwise the type
+   */
+  private static Class<?> wrap(Class<?> type) {
+    return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+  }
+}
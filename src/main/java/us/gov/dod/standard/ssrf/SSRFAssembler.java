@@ -0,0 +1,290 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Serial;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+import us.gov.dod.standard.ssrf.validator.SSRFError;
+import us.gov.dod.standard.ssrf.validator.ValidatorRegistry;
+
+/**
+ * SSRF export assembler.
+ * <p>
+ * Exporting a SSRF message requires that properties be applied
+ * ({@link SSRFUtility#setProperties(SSRFProperties, Object)}), that each
+ * object be prepared ({@link SSRFUtility#prepare(SSRF)}) and that the result
+ * be validated ({@link SSRFUtility#evaluate(Object)}). Run separately each of
+ * these is a full traversal of the object tree. This class fuses the last
+ * two: each object is visited once, and on that visit its prepare() method is
+ * invoked, its fields are checked, and its children are visited in turn. Each
+ * field value is read once and serves both purposes. The fields are checked
+ * by the compile-time generated validator of the class, if available (see
+ * {@link ValidatorRegistry}), which reports each child back to this assembler
+ * through an {@link AValidator.Evaluation}; otherwise they are inspected by
+ * reflection.
+ * <p>
+ * Properties are applied to the entire tree in a separate first pass, as
+ * before. A prepare() method may read fields of its descendants (e.g. to copy
+ * serial numbers into reference containers) and must see their configured
+ * property values. Preparation itself remains in pre-order: each object is
+ * prepared before its children, as in {@link SSRFUtility#prepare(SSRF)}.
+ * <p>
+ * Preparation copies referenced records (e.g. a Contact referenced by an
+ * Assignment) into the SSRF root. Records added to the root after the root
+ * collection was visited are visited again as root entries once the first
+ * pass is complete, so the reported errors match those of a separate
+ * prepare-then-evaluate sequence.
+ * <p>
+ * Only preparation and validation are fused. Marshalling remains a separate
+ * pass over the assembled tree: MOXy writes the document from the JAXB
+ * mappings, and a record may only be written once prepare() has run on every
+ * record that references it (prepare copies serial numbers into reference
+ * containers and adds referenced records to the root collections, which
+ * precede the referencing records in the document).
+ * <p>
+ * Errors are reported as {@link SSRFError} instances carrying the containing
+ * record serial number, the field and the same pretty-print message produced
+ * by {@link SSRFUtility#evaluate(Object)}.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SSRFAssembler {
+
+  private static final Logger logger = Logger.getLogger(SSRFAssembler.class.getName());
+
+  /**
+   * The SSRF root instance into which referenced records are copied.
+   */
+  private final SSRF root;
+  /**
+   * The properties configuration. Null if none.
+   */
+  private final SSRFProperties properties;
+  /**
+   * The configuration errors found.
+   */
+  private final Set<SSRFError> errors = new TreeSet<>();
+  /**
+   * The root collection entries already visited (by identity).
+   */
+  private final Set<Object> rootEntries = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+  /**
+   * Construct a new assembler.
+   *
+   * @param root       the SSRF root instance
+   * @param properties the properties configuration. May be null.
+   */
+  private SSRFAssembler(SSRF root, SSRFProperties properties) {
+    this.root = root;
+    this.properties = properties;
+  }
+
+  /**
+   * Assemble a SSRF instance for export: apply properties, then invoke
+   * prepare() methods and validate in a single traversal.
+   *
+   * @param ssrf       the SSRF instance
+   * @param properties the properties configuration. May be null.
+   * @return a non-null, sorted list of configuration errors. The list is EMPTY
+   *         if the SSRF instance validates OK.
+   */
+  public static List<SSRFError> assemble(SSRF ssrf, SSRFProperties properties) {
+    SSRFAssembler assembler = new SSRFAssembler(ssrf, properties);
+    assembler.assemble();
+    return new ArrayList<>(assembler.errors);
+  }
+
+  /**
+   * Internal method to assemble the root instance.
+   */
+  private void assemble() {
+    if (properties != null) {
+      SSRFUtility.setProperties(properties, root);
+    }
+    SSRFClassModel rootModel = SSRFClassModel.getModel(root.getClass());
+    String rootName = rootModel.getType().getSimpleName();
+    ListCCL cls = visit(root, null, rootName, false, new RecordEvaluation(null), true);
+    /**
+     * Visit the records copied into the root by prepare() after the root
+     * collections were visited. Repeat until no more are added.
+     */
+    boolean visited = true;
+    while (visited) {
+      visited = false;
+      for (SSRFClassModel.FieldModel field : rootModel.getFields()) {
+        Object fieldValue = field.isCollection() ? field.get(root) : null;
+        if (fieldValue == null) {
+          continue;
+        }
+        for (Object entry : new ArrayList<>((Collection<?>) fieldValue)) {
+          if (entry != null && rootEntries.add(entry)) {
+            visit(entry, cls, rootName + "." + field.getName(), true, new RecordEvaluation(null), false);
+            visited = true;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Internal method to assemble an object instance. (recursive)
+   *
+   * @param instance        the object instance
+   * @param cls             the parent (maximum) classification. May be null.
+   * @param parentPath      the parent class and field where the object instance
+   *                        lives (e.g. "Assignment.configuration")
+   * @param collectionEntry TRUE if the object instance is a collection entry
+   * @param evaluation      the evaluation of the top-level record containing
+   *                        the object instance
+   * @param top             TRUE for the root instance
+   * @return the classification applied to the instance children
+   */
+  @SuppressWarnings({"AssignmentToMethodParameter", "unchecked"})
+  private ListCCL visit(Object instance, ListCCL cls, String parentPath, boolean collectionEntry, RecordEvaluation evaluation, boolean top) {
+    SSRFClassModel classModel = SSRFClassModel.getModel(instance.getClass());
+    if (!classModel.isInspectable()) {
+      return cls;
+    }
+    Class<?> clazz = classModel.getType();
+    String className = clazz.getSimpleName();
+    /**
+     * Prepare the instance before its children. The root instance is not
+     * prepared.
+     */
+    if (!top) {
+      classModel.invokePrepare(instance);
+    }
+    if (classModel.isDataset()) {
+      evaluation = new RecordEvaluation((Common<?>) instance);
+    }
+    /**
+     * Check the fields with the compile-time generated validator, if
+     * available. Children are reported back to the evaluation and visited
+     * there. The root instance is always inspected by reflection.
+     */
+    AValidator<Object> validator = top ? null : (AValidator<Object>) ValidatorRegistry.getValidator(clazz);
+    if (validator != null) {
+      return validator.evaluate(instance, cls, parentPath, collectionEntry, evaluation);
+    }
+    /**
+     * Test the classification order. SSRF requires that subordinate objects
+     * have a classification less than or equal to their parents.
+     */
+    if (cls != null) {
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        ListCCL fieldCls = (ListCCL) field.get(instance);
+        if (cls.compareTo(fieldCls) < 0) {
+          evaluation.error(className + "." + field.getName(), parentPath + "." + field.getName() + " classification \"" + fieldCls + "\" is less restrictive than parent classification \"" + cls + "\"");
+        }
+      }
+    } else {
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        cls = (ListCCL) field.get(instance);
+      }
+    }
+    for (SSRFClassModel.FieldModel field : classModel.getFields()) {
+      Object fieldValue = field.get(instance);
+      /**
+       * A required collection is missing if it is null or empty. (See
+       * SSRFUtility.isMissing.)
+       */
+      if (field.isRequired() && SSRFUtility.isMissing(fieldValue)) {
+        evaluation.error(className + "." + field.getName(), parentPath + SSRFUtility.getErrorLabel(instance, collectionEntry) + " (" + field.getType().getSimpleName() + ") " + field.getName() + " is required");
+      }
+      if (fieldValue == null) {
+        continue;
+      }
+      String fieldPath = className + "." + field.getName();
+      if (fieldValue instanceof Collection) {
+        /**
+         * Prepare may add records to the root collections, and a prepare()
+         * method may modify the collections of its own instance; iterate a
+         * copy.
+         */
+        for (Object entry : new ArrayList<>((Collection<?>) fieldValue)) {
+          if (entry == null) {
+            continue;
+          }
+          if (top) {
+            rootEntries.add(entry);
+            visit(entry, cls, fieldPath, true, evaluation, false);
+          } else {
+            evaluation.visit(entry, cls, fieldPath, true);
+          }
+        }
+      } else {
+        if (top) {
+          visit(fieldValue, cls, fieldPath, false, evaluation, false);
+        } else {
+          evaluation.visit(fieldValue, cls, fieldPath, false);
+        }
+        if (field.getAdapter() != null) {
+          try {
+            XmlAdapterRegistry.validate(field.getAdapter(), fieldValue);
+          } catch (Exception exception) {
+            if (exception instanceof NullPointerException) {
+              logger.log(Level.SEVERE, null, exception);
+            }
+            evaluation.error(className + "." + field.getName(), parentPath + "." + field.getName() + " (" + className + ") :  " + exception.getMessage());
+          }
+        }
+      }
+    }
+    return cls;
+  }
+
+  /**
+   * The evaluation of a top-level record: errors are recorded with the record
+   * serial number, and each child is assembled and then copied into the SSRF
+   * root if it is a record.
+   */
+  private final class RecordEvaluation implements AValidator.Evaluation {
+
+    /**
+     * The top-level record. Null if none.
+     */
+    private final Common<?> record;
+
+    public RecordEvaluation(Common<?> record) {
+      this.record = record;
+    }
+
+    @Override
+    public void error(String field, String message) {
+      Serial serial = record != null ? record.getSerial() : null;
+      errors.add(new SSRFError(serial != null ? serial.toString() : null, field, message));
+    }
+
+    @Override
+    public void visit(Object value, ListCCL cls, String path, boolean collectionEntry) {
+      SSRFAssembler.this.visit(value, cls, path, collectionEntry, this, false);
+      SSRFUtility.addValueToDestinationInstance(value, root);
+    }
+  }
+}
@@ -0,0 +1,683 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+
+/**
+ * Cached reflective description of a SSRF class type.
+ * <p>
+ * The SSRFUtility tree walkers (validate, evaluate, prepare, postLoad and
+ * setProperties) visit every object in a SSRF message. Previously each visit
+ * re-read the class hierarchy to list declared and inherited fields, scanned
+ * field annotations and looked up the prepare() and postLoad() methods. A
+ * class model holds the result of that inspection; it is built once per class
+ * type on first use and shared by all walkers and threads.
+ * <p>
+ * A class model contains:
+ * <ul>
+ * <li>the declared and inherited instance fields (most derived class first,
+ * in declaration order) of the class and its SSRF superclasses that have a
+ * public getter;</li>
+ * <li>for each field: the required flag, the XmlJavaTypeAdapter instance,
+ * collection and classification (ListCCL) flags, a field reader (bound to
+ * the public getter) and the SET setter;</li>
+ * <li>the resolved prepare() and postLoad(SSRF) / postLoad() methods.</li>
+ * </ul>
+ * Methods are invoked through {@link SSRFAccessors} functional accessors
+ * rather than {@link Method#invoke(Object, Object...)}.
+ * Classes outside the SSRF package and enumerated classes are not inspected;
+ * their model is empty.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SSRFClassModel {
+
+  private static final Logger logger = Logger.getLogger(SSRFClassModel.class.getName());
+
+  /**
+   * "us.gov.dod.standard.ssrf". The SSRF top level package.
+   */
+  private static final String SSRF_PACKAGE = "us.gov.dod.standard.ssrf";
+  /**
+   * "us.gov.dod.standard.ssrf._3_1". The SSRF data model package.
+   */
+  private static final String MODEL_PACKAGE = SSRF_PACKAGE + "._3_1.";
+
+  /**
+   * Class models, keyed by class type.
+   */
+  private static final ClassValue<SSRFClassModel> MODELS = new ClassValue<SSRFClassModel>() {
+    @Override
+    protected SSRFClassModel computeValue(Class<?> type) {
+      return new SSRFClassModel(type);
+    }
+  };
+
+  /**
+   * The class type.
+   */
+  private final Class<?> type;
+  /**
+   * Indicator that the class type is a SSRF (non-enumerated) type and should
+   * be inspected by the tree walkers.
+   */
+  private final boolean inspectable;
+  /**
+   * Indicator that the class directly extends Common (i.e. is a top-level SSRF
+   * dataset such as Assignment or Location).
+   */
+  private final boolean dataset;
+  /**
+   * The declared and inherited methods of the class and its SSRF
+   * superclasses.
+   */
+  private final List<Method> methods;
+  /**
+   * The declared and inherited instance fields.
+   */
+  private final List<FieldModel> fields;
+  /**
+   * The subset of fields of type ListCCL.
+   */
+  private final List<FieldModel> classificationFields;
+  /**
+   * The public prepare() method accessor. Null if not implemented.
+   */
+  private final Consumer<Object> prepareAction;
+  /**
+   * The public postLoad(SSRF) or postLoad() method accessor. Null if not
+   * implemented.
+   */
+  private final BiConsumer<Object, SSRF> postLoadAction;
+  /**
+   * The "with" collection setters of this (root) class type, keyed by the
+   * dataset class type they accept.
+   */
+  private final ConcurrentMap<Class<?>, BiConsumer<Object, Object>> withCollectionSetters = new ConcurrentHashMap<>();
+
+  /**
+   * Build a new class model.
+   *
+   * @param type the class type
+   */
+  private SSRFClassModel(Class<?> type) {
+    this.type = type;
+    String className = type.getName();
+    this.inspectable = !type.isEnum() && className.startsWith(SSRF_PACKAGE);
+    this.dataset = Common.class.equals(type.getSuperclass());
+    if (!inspectable) {
+      this.methods = Collections.emptyList();
+      this.fields = Collections.emptyList();
+      this.classificationFields = Collections.emptyList();
+      this.prepareAction = null;
+      this.postLoadAction = null;
+      return;
+    }
+    /**
+     * Inspect the declared and inherited methods once; these are searched by
+     * each field for its SET setter. Superclasses outside the SSRF package
+     * (e.g. the Properties parent of SSRFProperties) hold no SSRF content and
+     * are not inspected.
+     */
+    List<Method> methodList = new ArrayList<>();
+    for (Class<?> clazzType = type; isSSRFType(clazzType); clazzType = clazzType.getSuperclass()) {
+      methodList.addAll(Arrays.asList(clazzType.getDeclaredMethods()));
+    }
+    this.methods = Collections.unmodifiableList(methodList);
+    List<FieldModel> fieldList = new ArrayList<>();
+    List<FieldModel> classificationList = new ArrayList<>();
+    for (Class<?> clazzType = type; isSSRFType(clazzType); clazzType = clazzType.getSuperclass()) {
+      for (Field field : clazzType.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+          continue;
+        }
+        /**
+         * Transient fields of the library classes outside the data model (the
+         * SSRF properties configuration and serial index cache) are not SSRF
+         * content. Their getters may also build the value on demand.
+         */
+        if (!clazzType.getName().startsWith(MODEL_PACKAGE) && SSRFUtility.isTransient(field)) {
+          continue;
+        }
+        FieldModel fieldModel = new FieldModel(field, methodList);
+        if (fieldModel.getMethod == null) {
+          /**
+           * Fields are read through their public getter. A field without one
+           * (e.g. the SSRF properties configuration) is not SSRF content.
+           */
+          logger.log(Level.FINE, "{0}.{1} has no public getter and is not inspected.", new Object[]{type.getSimpleName(), field.getName()});
+          continue;
+        }
+        fieldList.add(fieldModel);
+        if (fieldModel.isClassification()) {
+          classificationList.add(fieldModel);
+        }
+      }
+    }
+    this.fields = Collections.unmodifiableList(fieldList);
+    this.classificationFields = Collections.unmodifiableList(classificationList);
+    /**
+     * Only SSRF classes implement prepare(); ignore ADAPTER and METADATA
+     * helpers. postLoad() is likewise ignored in ADAPTER and LIST helpers.
+     */
+    Method prepareMethod = className.contains(".adapter.") || className.contains(".metadata.")
+                           ? null
+                           : findPublicMethod(type, "prepare");
+    this.prepareAction = prepareMethod != null ? SSRFAccessors.action(prepareMethod) : null;
+    this.postLoadAction = className.contains(".adapter.") || className.contains(".metadata.lists")
+                          ? null
+                          : buildPostLoadAction(type);
+  }
+
+  /**
+   * Internal method to build the postLoad accessor. postLoad(SSRF) is
+   * preferred over postLoad().
+   *
+   * @param type the class type
+   * @return the postLoad accessor, NULL if not implemented
+   */
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, SSRF> buildPostLoadAction(Class<?> type) {
+    Method method = findPublicMethod(type, "postLoad", SSRF.class);
+    if (method != null) {
+      return (BiConsumer<Object, SSRF>) (BiConsumer<?, ?>) SSRFAccessors.setter(method);
+    }
+    method = findPublicMethod(type, "postLoad");
+    if (method != null) {
+      final Consumer<Object> action = SSRFAccessors.action(method);
+      return new BiConsumer<Object, SSRF>() {
+        @Override
+        public void accept(Object instance, SSRF root) {
+          action.accept(instance);
+        }
+      };
+    }
+    return null;
+  }
+
+  /**
+   * Get the class model for a class type. The model is built on first use and
+   * cached for the life of the class.
+   *
+   * @param type the class type
+   * @return the class model
+   */
+  public static SSRFClassModel getModel(Class<?> type) {
+    return MODELS.get(type);
+  }
+
+  /**
+   * Get the class type.
+   *
+   * @return the class type
+   */
+  public Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * Determine if the class type should be inspected by the tree walkers.
+   * Classes outside the SSRF package and enumerated classes are not.
+   *
+   * @return TRUE for SSRF, non-enumerated class types
+   */
+  public boolean isInspectable() {
+    return inspectable;
+  }
+
+  /**
+   * Determine if the class type is a top-level SSRF dataset (i.e. directly
+   * extends Common).
+   *
+   * @return TRUE for top-level SSRF datasets
+   */
+  public boolean isDataset() {
+    return dataset;
+  }
+
+  /**
+   * Get the declared and inherited methods of the class and its SSRF
+   * superclasses.
+   *
+   * @return a non-null, unmodifiable list of methods
+   */
+  public List<Method> getMethods() {
+    return methods;
+  }
+
+  /**
+   * Get the declared and inherited instance fields, most derived class first.
+   *
+   * @return a non-null, unmodifiable list of fields
+   */
+  public List<FieldModel> getFields() {
+    return fields;
+  }
+
+  /**
+   * Get the declared and inherited fields of type ListCCL.
+   *
+   * @return a non-null, unmodifiable list of fields
+   */
+  public List<FieldModel> getClassificationFields() {
+    return classificationFields;
+  }
+
+  /**
+   * Determine if the class implements prepare().
+   *
+   * @return TRUE if prepare() should be invoked
+   */
+  public boolean implementsPrepare() {
+    return prepareAction != null;
+  }
+
+  /**
+   * Determine if the class implements postLoad(SSRF) or postLoad().
+   *
+   * @return TRUE if postLoad() should be invoked
+   */
+  public boolean implementsPostLoad() {
+    return postLoadAction != null;
+  }
+
+  /**
+   * Invoke the prepare() method on an instance of this class type. Fails
+   * gracefully if the class does not implement prepare() or the method throws
+   * an error.
+   *
+   * @param instance the object instance
+   */
+  public void invokePrepare(Object instance) {
+    if (prepareAction == null || instance == null) {
+      return;
+    }
+    try {
+      prepareAction.accept(instance);
+    } catch (Exception ex) {
+      /**
+       * prepare() is not accessible or failed.
+       */
+    }
+  }
+
+  /**
+   * Invoke the postLoad(SSRF) or postLoad() method on an instance of this
+   * class type. Fails gracefully if the class does not implement postLoad()
+   * or the method throws an error.
+   *
+   * @param instance the object instance
+   * @param root     the SSRF root instance
+   */
+  public void invokePostLoad(Object instance, SSRF root) {
+    if (postLoadAction == null || instance == null) {
+      return;
+    }
+    try {
+      postLoadAction.accept(instance, root);
+    } catch (Exception ex) {
+      /**
+       * postLoad() is not accessible or failed.
+       */
+    }
+  }
+
+  /**
+   * Get the "with" setter of this (root) class type that accepts a Collection
+   * of the indicated dataset type. e.g. for SSRF and Assignment
+   * <code>SSRF.withAssignment(Collection)</code>.
+   *
+   * @param datasetType the dataset class type
+   * @return the "with" collection setter accessor, accepting the (root)
+   *         instance and a Collection
+   * @throws NoSuchMethodException if this class type has no matching method
+   */
+  public BiConsumer<Object, Object> getWithCollectionSetter(Class<?> datasetType) throws NoSuchMethodException {
+    BiConsumer<Object, Object> setter = withCollectionSetters.get(datasetType);
+    if (setter == null) {
+      setter = SSRFAccessors.setter(type.getMethod("with" + datasetType.getSimpleName(), Collection.class));
+      withCollectionSetters.putIfAbsent(datasetType, setter);
+    }
+    return setter;
+  }
+
+  /**
+   * Internal method to determine if a class type is within the SSRF package.
+   *
+   * @param clazz the class type. May be null.
+   * @return TRUE if the class type is a SSRF class
+   */
+  private static boolean isSSRFType(Class<?> clazz) {
+    return clazz != null && clazz.getName().startsWith(SSRF_PACKAGE);
+  }
+
+  /**
+   * Internal method to find a public (declared or inherited) method.
+   *
+   * @param clazz          the class type
+   * @param name           the method name
+   * @param parameterTypes the method parameter types
+   * @return the method, NULL if not found
+   */
+  private static Method findPublicMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+    try {
+      return clazz.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException | SecurityException ex) {
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SSRFClassModel " + type.getName() + " fields [" + fields.size() + "]";
+  }
+
+  /**
+   * Cached reflective description of a single class field.
+   */
+  public static final class FieldModel {
+
+    /**
+     * The field.
+     */
+    private final Field field;
+    /**
+     * The field reader.
+     */
+    private final Function<Object, Object> reader;
+    /**
+     * The public getter returning the field type. Null if not found.
+     */
+    private final Method getMethod;
+    /**
+     * Indicator that the field is required.
+     */
+    private final boolean required;
+    /**
+     * Indicator that the field type is a Collection.
+     */
+    private final boolean collection;
+    /**
+     * Indicator that the field type is ListCCL.
+     */
+    private final boolean classification;
+    /**
+     * The shared XmlJavaTypeAdapter instance. Null if not annotated.
+     */
+    private final XmlAdapter<Object, Object> adapter;
+    /**
+     * The SET setter. Null if not found.
+     */
+    private final Method setMethod;
+    /**
+     * The SET setter accessor. Null if not found.
+     */
+    private final BiConsumer<Object, Object> setter;
+
+    /**
+     * Build a new field model.
+     *
+     * @param field   the field
+     * @param methods the declared and inherited methods of the containing
+     *                class
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private FieldModel(Field field, List<Method> methods) {
+      this.field = field;
+      this.required = SSRFUtility.isRequired(field);
+      this.collection = Collection.class.isAssignableFrom(field.getType());
+      this.getMethod = findGetMethod(field, methods);
+      this.reader = getMethod != null
+                    ? SSRFAccessors.reader(getMethod, collection ? findIsSetMethod(field, methods) : null)
+                    : null;
+      this.classification = field.getType().equals(ListCCL.class);
+      XmlAdapter<Object, Object> adapterInstance = null;
+      XmlJavaTypeAdapter xmlJavaTypeAdapter = field.getAnnotation(XmlJavaTypeAdapter.class);
+      if (xmlJavaTypeAdapter != null) {
+        try {
+          adapterInstance = (XmlAdapter<Object, Object>) XmlAdapterRegistry.getAdapter((Class) xmlJavaTypeAdapter.value());
+        } catch (IllegalStateException ex) {
+          logger.log(Level.WARNING, "XmlJavaTypeAdapter failed to instantiate: {0}", ex.getMessage());
+        }
+      }
+      this.adapter = adapterInstance;
+      this.setMethod = findSetMethod(field, methods);
+      this.setter = setMethod != null && setMethod.getParameterTypes().length == 1
+                    ? SSRFAccessors.setter(setMethod)
+                    : null;
+    }
+
+    /**
+     * Internal method to find the public getter for a field: the GET method
+     * named for the field (case-insensitive) returning the field type.
+     * <p>
+     * If the named getter returns a different type (e.g. the TDateTime value
+     * is an Instant exposed as a Calendar by getValue()) then the only public
+     * GET method declared with the field that returns the field type (e.g.
+     * getInstant()) is used instead.
+     *
+     * @param field   the field
+     * @param methods the declared and inherited methods
+     * @return the getter, NULL if not found
+     */
+    private static Method findGetMethod(Field field, List<Method> methods) {
+      String name = "get" + field.getName().toLowerCase();
+      boolean named = false;
+      Method typeMatch = null;
+      int typeMatches = 0;
+      for (Method method : methods) {
+        if (!isPublicGetter(method)) {
+          continue;
+        }
+        boolean sameType = method.getReturnType().equals(field.getType());
+        if (method.getName().toLowerCase().equals(name)) {
+          if (sameType) {
+            return method;
+          }
+          named = true;
+        } else if (sameType && method.getName().startsWith("get") && method.getDeclaringClass().equals(field.getDeclaringClass())) {
+          typeMatch = method;
+          typeMatches++;
+        }
+      }
+      return named && typeMatches == 1 ? typeMatch : null;
+    }
+
+    /**
+     * Internal method to find the public "isSet" method of a collection field.
+     * Collection getters lazily create an empty collection; the getter is only
+     * called once this method confirms that the collection is set.
+     *
+     * @param field   the field
+     * @param methods the declared and inherited methods
+     * @return the "isSet" method, NULL if not found
+     */
+    private static Method findIsSetMethod(Field field, List<Method> methods) {
+      String name = "isset" + field.getName().toLowerCase();
+      for (Method method : methods) {
+        if (isPublicGetter(method) && method.getReturnType().equals(boolean.class) && method.getName().toLowerCase().equals(name)) {
+          return method;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Internal method to determine if a method is a public, no-argument
+     * instance method of a public class.
+     *
+     * @param method the method
+     * @return TRUE if the method may be used as a getter
+     */
+    private static boolean isPublicGetter(Method method) {
+      return method.getParameterTypes().length == 0
+             && Modifier.isPublic(method.getModifiers())
+             && !Modifier.isStatic(method.getModifiers())
+             && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * Internal method to find the SET setter for a field. An exact
+     * (case-insensitive) name match is preferred; otherwise the first method
+     * whose name starts with "set" plus the field name is returned, matching
+     * {@link SSRFUtility#findSetMethod(Class, Field)}.
+     *
+     * @param field   the field
+     * @param methods the declared and inherited methods
+     * @return the SET setter, NULL if not found
+     */
+    private static Method findSetMethod(Field field, List<Method> methods) {
+      String name = "set" + field.getName().toLowerCase();
+      Method prefixMatch = null;
+      for (Method method : methods) {
+        String methodName = method.getName().toLowerCase();
+        if (methodName.equals(name) && method.getParameterTypes().length == 1) {
+          return method;
+        }
+        if (prefixMatch == null && methodName.startsWith(name)) {
+          prefixMatch = method;
+        }
+      }
+      return prefixMatch;
+    }
+
+    /**
+     * Get the field value from an object instance. The value is read through
+     * the public getter. An empty collection is read as NULL; the getter is
+     * not called.
+     *
+     * @param instance the object instance
+     * @return the field value. May be null.
+     */
+    public Object get(Object instance) {
+      return reader.apply(instance);
+    }
+
+    /**
+     * Set the field value on an object instance using the SET setter.
+     *
+     * @param instance the object instance
+     * @param value    the field value
+     * @throws IllegalStateException if the field has no single-argument SET
+     *                               setter
+     */
+    public void set(Object instance, Object value) {
+      if (setter == null) {
+        throw new IllegalStateException("Field " + field.getName() + " has no SET setter.");
+      }
+      setter.accept(instance, value);
+    }
+
+    /**
+     * Get the field.
+     *
+     * @return the field
+     */
+    public Field getField() {
+      return field;
+    }
+
+    /**
+     * Get the field name.
+     *
+     * @return the field name
+     */
+    public String getName() {
+      return field.getName();
+    }
+
+    /**
+     * Get the field type.
+     *
+     * @return the field type
+     */
+    public Class<?> getType() {
+      return field.getType();
+    }
+
+    /**
+     * Determine if the field is required.
+     *
+     * @return TRUE if the field is required
+     */
+    public boolean isRequired() {
+      return required;
+    }
+
+    /**
+     * Determine if the field type is a Collection.
+     *
+     * @return TRUE if the field type is a Collection
+     */
+    public boolean isCollection() {
+      return collection;
+    }
+
+    /**
+     * Determine if the field type is ListCCL.
+     *
+     * @return TRUE if the field is a classification
+     */
+    public boolean isClassification() {
+      return classification;
+    }
+
+    /**
+     * Get the shared XmlJavaTypeAdapter instance. See
+     * {@link XmlAdapterRegistry}.
+     *
+     * @return the adapter, NULL if the field is not annotated
+     */
+    public XmlAdapter<Object, Object> getAdapter() {
+      return adapter;
+    }
+
+    /**
+     * Get the SET setter.
+     *
+     * @return the SET setter, NULL if not found
+     */
+    public Method getSetMethod() {
+      return setMethod;
+    }
+
+    @Override
+    public String toString() {
+      return field.getDeclaringClass().getSimpleName() + "." + field.getName();
+    }
+  }
+}
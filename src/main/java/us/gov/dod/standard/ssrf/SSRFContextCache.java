@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
+
+/**
+ * Process-wide cache of JAXB contexts and pooled marshaller / unmarshaller
+ * instances.
+ * <p>
+ * Building a JAXB context requires a reflective scan of the entire SSRF class
+ * hierarchy (about 700 classes) and is by far the most expensive step when
+ * reading or writing a SSRF document. A {@link JAXBContext} is thread safe and
+ * is therefore built once per root class type (e.g. {@link SSRF},
+ * {@link SMADEF} or any Common subtype) and shared.
+ * <p>
+ * {@link Marshaller} and {@link Unmarshaller} instances are NOT thread safe.
+ * They are cheap compared to the context but not free, so a bounded pool of
+ * each is kept per root class. Threads check out an instance with
+ * {@link #acquireMarshaller(Class)} and MUST return it with
+ * {@link #releaseMarshaller(Class, Marshaller)} when finished (typically in a
+ * finally block). If the pool is empty a new instance is created; if the pool
+ * is full a returned instance is simply discarded.
+ * <p>
+ * New marshaller and unmarshaller instances are configured with the shared
+ * XmlAdapter instances of the {@link XmlAdapterRegistry}.
+ * <p>
+ * The pool size defaults to twice the number of available processors and may
+ * be set with the system property
+ * <code>us.gov.dod.standard.ssrf.poolSize</code>.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SSRFContextCache {
+
+  /**
+   * "us.gov.dod.standard.ssrf.poolSize". The system property used to override
+   * the default marshaller / unmarshaller pool size.
+   */
+  public static final String POOL_SIZE_PROPERTY = "us.gov.dod.standard.ssrf.poolSize";
+
+  /**
+   * The maximum number of idle marshaller (and unmarshaller) instances retained
+   * for each root class type.
+   */
+  private static final int POOL_SIZE = Integer.getInteger(POOL_SIZE_PROPERTY, 2 * Runtime.getRuntime().availableProcessors());
+
+  /**
+   * JAXB contexts, keyed by root class type.
+   */
+  private static final ConcurrentMap<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+  /**
+   * Idle marshaller instances, keyed by root class type.
+   */
+  private static final ConcurrentMap<Class<?>, BlockingQueue<Marshaller>> MARSHALLERS = new ConcurrentHashMap<>();
+  /**
+   * Idle unmarshaller instances, keyed by root class type.
+   */
+  private static final ConcurrentMap<Class<?>, BlockingQueue<Unmarshaller>> UNMARSHALLERS = new ConcurrentHashMap<>();
+
+  /**
+   * Static utility class; do not instantiate.
+   */
+  private SSRFContextCache() {
+  }
+
+  /**
+   * Get the shared JAXB context for the indicated root class type, building it
+   * on first use.
+   * <p>
+   * Contexts are built with the EclipseLink MOXy
+   * {@link org.eclipse.persistence.jaxb.JAXBContextFactory}.
+   *
+   * @param clazz the root class type (e.g. SSRF.class)
+   * @return a thread safe JAXB context
+   * @throws JAXBException if the context cannot be created
+   */
+  public static JAXBContext getContext(Class<?> clazz) throws JAXBException {
+    JAXBContext jaxbContext = CONTEXTS.get(clazz);
+    if (jaxbContext == null) {
+      /**
+       * Two threads may race to build the same context on first use. That is
+       * harmless: both contexts are valid and only the first is retained.
+       */
+      jaxbContext = org.eclipse.persistence.jaxb.JAXBContextFactory.createContext(new Class<?>[]{clazz}, null, null);
+      JAXBContext existing = CONTEXTS.putIfAbsent(clazz, jaxbContext);
+      if (existing != null) {
+        jaxbContext = existing;
+      }
+    }
+    return jaxbContext;
+  }
+
+  /**
+   * Check out a marshaller for the indicated root class type. The returned
+   * instance is owned exclusively by the caller until it is released.
+   *
+   * @param clazz the root class type
+   * @return a marshaller instance
+   * @throws JAXBException if a new marshaller cannot be created
+   */
+  public static Marshaller acquireMarshaller(Class<?> clazz) throws JAXBException {
+    Marshaller marshaller = getQueue(MARSHALLERS, clazz).poll();
+    if (marshaller == null) {
+      marshaller = getContext(clazz).createMarshaller();
+      XmlAdapterRegistry.register(marshaller, clazz);
+    }
+    return marshaller;
+  }
+
+  /**
+   * Return a marshaller to the pool. Null values are ignored.
+   *
+   * @param clazz      the root class type the marshaller was acquired for
+   * @param marshaller the marshaller instance
+   */
+  public static void releaseMarshaller(Class<?> clazz, Marshaller marshaller) {
+    if (marshaller != null) {
+      getQueue(MARSHALLERS, clazz).offer(marshaller);
+    }
+  }
+
+  /**
+   * Check out an unmarshaller for the indicated root class type. The returned
+   * instance is owned exclusively by the caller until it is released.
+   *
+   * @param clazz the root class type
+   * @return an unmarshaller instance
+   * @throws JAXBException if a new unmarshaller cannot be created
+   */
+  public static Unmarshaller acquireUnmarshaller(Class<?> clazz) throws JAXBException {
+    Unmarshaller unmarshaller = getQueue(UNMARSHALLERS, clazz).poll();
+    if (unmarshaller == null) {
+      unmarshaller = getContext(clazz).createUnmarshaller();
+      XmlAdapterRegistry.register(unmarshaller, clazz);
+    }
+    return unmarshaller;
+  }
+
+  /**
+   * Return an unmarshaller to the pool. Null values are ignored.
+   *
+   * @param clazz        the root class type the unmarshaller was acquired for
+   * @param unmarshaller the unmarshaller instance
+   */
+  public static void releaseUnmarshaller(Class<?> clazz, Unmarshaller unmarshaller) {
+    if (unmarshaller != null) {
+      getQueue(UNMARSHALLERS, clazz).offer(unmarshaller);
+    }
+  }
+
+  /**
+   * Clear all cached contexts and pooled instances. Subsequent calls will
+   * rebuild contexts on demand.
+   */
+  public static void clear() {
+    CONTEXTS.clear();
+    MARSHALLERS.clear();
+    UNMARSHALLERS.clear();
+  }
+
+  /**
+   * Internal helper to get (or create) the bounded pool for a class type.
+   *
+   * @param <T>   the pooled instance type
+   * @param pools the pool map
+   * @param clazz the root class type
+   * @return a non-null bounded queue
+   */
+  private static <T> BlockingQueue<T> getQueue(ConcurrentMap<Class<?>, BlockingQueue<T>> pools, Class<?> clazz) {
+    BlockingQueue<T> queue = pools.get(clazz);
+    if (queue == null) {
+      queue = new ArrayBlockingQueue<>(Math.max(1, POOL_SIZE));
+      BlockingQueue<T> existing = pools.putIfAbsent(clazz, queue);
+      if (existing != null) {
+        queue = existing;
+      }
+    }
+    return queue;
+  }
+}
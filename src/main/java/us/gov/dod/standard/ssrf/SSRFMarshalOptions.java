@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+/**
+ * SSRF XML output configuration.
+ * <p>
+ * Marshal options control the layout of the XML produced by
+ * {@link SSRF#toXML(SSRFMarshalOptions)},
+ * {@link SSRF#writeXml(java.io.OutputStream, SSRFMarshalOptions)} and
+ * {@link SSRFUtility#marshal(Object, SSRFMarshalOptions)}.
+ * <p>
+ * The default configuration produces compact (unformatted), UTF-8 encoded
+ * output with an XML declaration. Compact output is roughly 30% smaller than
+ * formatted output and is preferred for machine-to-machine exchange. Use
+ * {@link #getFormatted()} for human-readable output.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFMarshalOptions {
+
+  /**
+   * 8 KB. The default output buffer size.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * Indicator that the output should be formatted with line feeds and
+   * indentation. Default is FALSE (compact).
+   */
+  private boolean formatted;
+  /**
+   * The output character encoding. Default is UTF-8.
+   */
+  private String encoding = "UTF-8";
+  /**
+   * Indicator that the output should begin with an XML declaration. Default is
+   * TRUE.
+   */
+  private boolean xmlDeclaration = true;
+  /**
+   * The initial output buffer size in bytes (or characters for String output).
+   */
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+  /**
+   * Get an instance of the default (compact) marshal options.
+   *
+   * @return a new compact, UTF-8 marshal options instance
+   */
+  public static SSRFMarshalOptions getDefault() {
+    return new SSRFMarshalOptions();
+  }
+
+  /**
+   * Get an instance of formatted (pretty-print) marshal options.
+   *
+   * @return a new formatted, UTF-8 marshal options instance
+   */
+  public static SSRFMarshalOptions getFormatted() {
+    return new SSRFMarshalOptions().withFormatted(true);
+  }
+
+  /**
+   * Determine if the output is formatted with line feeds and indentation.
+   *
+   * @return TRUE if formatted, FALSE if compact
+   */
+  public boolean isFormatted() {
+    return formatted;
+  }
+
+  /**
+   * Set the output formatting.
+   *
+   * @param formatted TRUE for formatted output, FALSE for compact output
+   */
+  public void setFormatted(boolean formatted) {
+    this.formatted = formatted;
+  }
+
+  /**
+   * Get the output character encoding.
+   *
+   * @return the character encoding name
+   */
+  public String getEncoding() {
+    return encoding;
+  }
+
+  /**
+   * Set the output character encoding (e.g. "UTF-8").
+   *
+   * @param encoding the character encoding name
+   */
+  public void setEncoding(String encoding) {
+    this.encoding = encoding;
+  }
+
+  /**
+   * Determine if the output begins with an XML declaration.
+   *
+   * @return TRUE if an XML declaration is written
+   */
+  public boolean isXmlDeclaration() {
+    return xmlDeclaration;
+  }
+
+  /**
+   * Set whether the output begins with an XML declaration.
+   *
+   * @param xmlDeclaration TRUE to write an XML declaration
+   */
+  public void setXmlDeclaration(boolean xmlDeclaration) {
+    this.xmlDeclaration = xmlDeclaration;
+  }
+
+  /**
+   * Get the initial output buffer size.
+   *
+   * @return the buffer size
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Set the initial output buffer size. For String output this pre-sizes the
+   * character buffer; for stream output this sets the write buffer size.
+   *
+   * @param bufferSize the buffer size. Must be positive.
+   */
+  public void setBufferSize(int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive.");
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Set the output formatting.
+   *
+   * @param formatted TRUE for formatted output, FALSE for compact output
+   * @return the current SSRFMarshalOptions instance
+   */
+  public SSRFMarshalOptions withFormatted(boolean formatted) {
+    setFormatted(formatted);
+    return this;
+  }
+
+  /**
+   * Set the output character encoding (e.g. "UTF-8").
+   *
+   * @param encoding the character encoding name
+   * @return the current SSRFMarshalOptions instance
+   */
+  public SSRFMarshalOptions withEncoding(String encoding) {
+    setEncoding(encoding);
+    return this;
+  }
+
+  /**
+   * Set whether the output begins with an XML declaration.
+   *
+   * @param xmlDeclaration TRUE to write an XML declaration
+   * @return the current SSRFMarshalOptions instance
+   */
+  public SSRFMarshalOptions withXmlDeclaration(boolean xmlDeclaration) {
+    setXmlDeclaration(xmlDeclaration);
+    return this;
+  }
+
+  /**
+   * Set the initial output buffer size.
+   *
+   * @param bufferSize the buffer size. Must be positive.
+   * @return the current SSRFMarshalOptions instance
+   */
+  public SSRFMarshalOptions withBufferSize(int bufferSize) {
+    setBufferSize(bufferSize);
+    return this;
+  }
+
+  /**
+   * Apply these options to a marshaller. All affected properties are set
+   * explicitly so that pooled marshaller instances do not carry settings
+   * between uses.
+   *
+   * @param marshaller the marshaller to configure
+   * @throws JAXBException if a property cannot be set
+   */
+  void configure(Marshaller marshaller) throws JAXBException {
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+    marshaller.setProperty(Marshaller.JAXB_ENCODING, encoding);
+    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, !xmlDeclaration);
+  }
+
+  @Override
+  public String toString() {
+    return "SSRFMarshalOptions formatted [" + formatted + "] encoding [" + encoding + "] xmlDeclaration [" + xmlDeclaration + "] bufferSize [" + bufferSize + "]";
+  }
+}
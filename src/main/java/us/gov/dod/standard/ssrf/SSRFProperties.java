@@ -49,6 +49,11 @@ public class SSRFProperties extends Properties {
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The "Class.field" property key pattern.
+   */
+  private static final Pattern CLASS_FIELD = Pattern.compile("^(\\w+)\\.(\\w+)$");
+
   /**
    * Get an instance of the default SSRF properties configuration.
    * <p>
@@ -84,9 +89,8 @@ public class SSRFProperties extends Properties {
    * @return TRUE if the properties contains a setting for the indicated class
    */
   public boolean containsClass(Class<?> clazz) {
-    Pattern p = Pattern.compile("^(\\w+)\\.(\\w+)$");
     for (Map.Entry<Object, Object> entry : entrySet()) {
-      Matcher m = p.matcher(entry.getKey().toString());
+      Matcher m = CLASS_FIELD.matcher(entry.getKey().toString());
       if (m.find()) {
         return true;
       }
@@ -140,13 +144,24 @@ public class SSRFProperties extends Properties {
    */
   public String getProperty(String classPath, String fieldName, String defaultValue) {
     /**
-     * First try a specific match for the full class path PLUS field.
+     * First try a specific match for the full class path PLUS field. The match
+     * is the REGEX pattern [classPath]\.[fieldName]$, where each dot in the
+     * class path matches any character. Plain class path and field names are
+     * matched by hand; anything else is compiled.
      */
-    Pattern p = Pattern.compile(classPath + "\\." + fieldName + "$");
-    for (Map.Entry<Object, Object> entry : entrySet()) {
-      Matcher m = p.matcher(entry.getKey().toString());
-      if (m.find()) {
-        return (String) entry.getValue();
+    if (isPlain(classPath, true) && isPlain(fieldName, false)) {
+      for (Map.Entry<Object, Object> entry : entrySet()) {
+        if (endsWith(entry.getKey().toString(), classPath, fieldName)) {
+          return (String) entry.getValue();
+        }
+      }
+    } else {
+      Pattern p = Pattern.compile(classPath + "\\." + fieldName + "$");
+      for (Map.Entry<Object, Object> entry : entrySet()) {
+        Matcher m = p.matcher(entry.getKey().toString());
+        if (m.find()) {
+          return (String) entry.getValue();
+        }
       }
     }
     /**
@@ -156,6 +171,84 @@ public class SSRFProperties extends Properties {
     return getProperty(fieldName) != null ? getProperty(fieldName) : defaultValue;
   }
 
+  /**
+   * Internal method to determine if a name contains only word characters
+   * (and, if allowed, dots), so that it has no special meaning in a REGEX
+   * pattern other than the dot wildcard.
+   *
+   * @param name      the class path or field name
+   * @param allowDots TRUE if dots are allowed
+   * @return TRUE if the name is plain
+   */
+  private static boolean isPlain(String name, boolean allowDots) {
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || (allowDots && c == '.'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Internal method to match a property key against the REGEX pattern
+   * [classPath]\.[fieldName]$ with the semantics of {@link Matcher#find()}.
+   * The "$" boundary also matches before a final line terminator.
+   *
+   * @param key       the property key
+   * @param classPath the plain class path
+   * @param fieldName the plain field name
+   * @return TRUE if the key matches
+   */
+  private static boolean endsWith(String key, String classPath, String fieldName) {
+    int length = key.length();
+    if (endsWith(key, length, classPath, fieldName)) {
+      return true;
+    }
+    if (key.endsWith("\r\n")) {
+      return endsWith(key, length - 2, classPath, fieldName);
+    }
+    return length > 0 && isLineTerminator(key.charAt(length - 1)) && endsWith(key, length - 1, classPath, fieldName);
+  }
+
+  /**
+   * Internal method to match the end of a property key against the REGEX
+   * pattern [classPath]\.[fieldName].
+   *
+   * @param key       the property key
+   * @param end       the match end index (exclusive)
+   * @param classPath the plain class path
+   * @param fieldName the plain field name
+   * @return TRUE if the key matches
+   */
+  private static boolean endsWith(String key, int end, String classPath, String fieldName) {
+    int start = end - classPath.length() - 1 - fieldName.length();
+    if (start < 0
+        || key.charAt(end - fieldName.length() - 1) != '.'
+        || !key.startsWith(fieldName, end - fieldName.length())) {
+      return false;
+    }
+    for (int i = 0; i < classPath.length(); i++) {
+      char c = classPath.charAt(i);
+      char k = key.charAt(start + i);
+      if (c == '.' ? isLineTerminator(k) : c != k) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Internal method to identify a line terminator, which is not matched by the
+   * REGEX dot wildcard.
+   *
+   * @param c the character
+   * @return TRUE if the character is a line terminator
+   */
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
   /**
    * Read a property list (key and element pairs) from the input propertie file.
    * <p>
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import us.gov.dod.standard.ssrf._3_1.Common;
+
+/**
+ * Pull-style reader returning the top-level records of a SSRF message one at a
+ * time.
+ * <p>
+ * {@link SSRF#fromXml(String)} reads the entire document into memory before
+ * returning. This reader instead walks the document with a StAX
+ * {@link XMLStreamReader} and unmarshals each child element of the
+ * <code>&lt;SSRF&gt;</code> (or <code>&lt;SMADEF&gt;</code>) root element
+ * independently, so memory use is bounded by the largest single record and
+ * not by the document size. Example:
+ * <pre>
+ * try (SSRFRecordReader reader = new SSRFRecordReader(path)) {
+ *   while (reader.hasNext()) {
+ *     Common&lt;?&gt; record = reader.next();
+ *     ...
+ *   }
+ * }
+ * </pre> or using a {@link Stream}:
+ * <pre>
+ * try (Stream&lt;Common&lt;?&gt;&gt; records = new SSRFRecordReader(path).stream()) {
+ *   records.filter(r -&gt; r instanceof Assignment).forEach(...);
+ * }
+ * </pre>
+ * <p>
+ * Each record is post-loaded with {@link SSRFUtility#postLoadRecord(Common, SSRF)}
+ * against a reference root instance. By default the reference root is empty
+ * and cross references between records (e.g. Assignment to Role) are left as
+ * serial numbers. Provide a reference root containing previously loaded
+ * records to resolve them.
+ * <p>
+ * Child elements that are not SSRF datasets are skipped. This class is not
+ * thread safe.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFRecordReader implements Iterator<Common<?>>, Closeable {
+
+  private static final Logger logger = Logger.getLogger(SSRFRecordReader.class.getName());
+
+  /**
+   * The input stream. Closed when this reader is closed.
+   */
+  private final InputStream inputStream;
+  /**
+   * The StAX reader. Always positioned at the start of the next record (or at
+   * the end of the root element) between calls.
+   */
+  private final XMLStreamReader xmlStreamReader;
+  /**
+   * The unmarshaller checked out of the {@link SSRFContextCache} for the life
+   * of this reader.
+   */
+  private Unmarshaller unmarshaller;
+  /**
+   * The SSRF root instance used to resolve record cross references.
+   */
+  private final SSRF referenceRoot;
+  /**
+   * The root element local name (SSRF or SMADEF).
+   */
+  private final String rootName;
+  /**
+   * The next record class type; NULL if the document is exhausted.
+   */
+  private EDatasetType nextType;
+
+  /**
+   * Construct a new record reader on the indicated file.
+   *
+   * @param path a SSRF XML document
+   * @throws IOException        if the file cannot be opened
+   * @throws XMLStreamException if the document root element cannot be read
+   * @throws JAXBException      if the JAXB context cannot be created
+   */
+  public SSRFRecordReader(Path path) throws IOException, XMLStreamException, JAXBException {
+    this(new BufferedInputStream(Files.newInputStream(path)), null);
+  }
+
+  /**
+   * Construct a new record reader on the indicated input stream. The stream
+   * character encoding is read from the XML declaration (UTF-8 if not
+   * declared).
+   *
+   * @param inputStream a SSRF XML document stream
+   * @throws XMLStreamException if the document root element cannot be read
+   * @throws JAXBException      if the JAXB context cannot be created
+   */
+  public SSRFRecordReader(InputStream inputStream) throws XMLStreamException, JAXBException {
+    this(inputStream, null);
+  }
+
+  /**
+   * Construct a new record reader on the indicated input stream. The stream is
+   * closed if the reader cannot be constructed.
+   *
+   * @param inputStream   a SSRF XML document stream
+   * @param referenceRoot a SSRF instance containing reference records (e.g.
+   *                      Roles) used to resolve cross references. May be
+   *                      null.
+   * @throws XMLStreamException if the document root element cannot be read
+   * @throws JAXBException      if the JAXB context cannot be created
+   */
+  public SSRFRecordReader(InputStream inputStream, SSRF referenceRoot) throws XMLStreamException, JAXBException {
+    this.inputStream = inputStream;
+    this.referenceRoot = referenceRoot != null ? referenceRoot : new SSRF();
+    XMLStreamReader reader = null;
+    try {
+      XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+      /**
+       * SSRF documents do not use DTDs. Disable them to prevent external
+       * entity expansion.
+       */
+      xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+      reader = xmlInputFactory.createXMLStreamReader(inputStream);
+      this.xmlStreamReader = reader;
+      /**
+       * Advance to the root element.
+       */
+      while (xmlStreamReader.hasNext() && !xmlStreamReader.isStartElement()) {
+        xmlStreamReader.next();
+      }
+      if (!xmlStreamReader.isStartElement()) {
+        throw new XMLStreamException("SSRF root element not found.");
+      }
+      this.rootName = xmlStreamReader.getLocalName();
+      if (!"SSRF".equals(rootName) && !"SMADEF".equals(rootName)) {
+        throw new XMLStreamException("Unexpected root element \"" + rootName + "\". SSRF or SMADEF required.", xmlStreamReader.getLocation());
+      }
+      this.unmarshaller = SSRFContextCache.acquireUnmarshaller(SSRF.class);
+      xmlStreamReader.next();
+      advance();
+    } catch (XMLStreamException | JAXBException | RuntimeException exception) {
+      /**
+       * The caller never receives this reader to close. Release the
+       * unmarshaller and close the StAX reader and the input stream here.
+       */
+      if (unmarshaller != null) {
+        SSRFContextCache.releaseUnmarshaller(SSRF.class, unmarshaller);
+        unmarshaller = null;
+      }
+      try {
+        if (reader != null) {
+          reader.close();
+        }
+      } catch (XMLStreamException ex) {
+        exception.addSuppressed(ex);
+      }
+      try {
+        inputStream.close();
+      } catch (IOException ex) {
+        exception.addSuppressed(ex);
+      }
+      throw exception;
+    }
+  }
+
+  /**
+   * Internal method to position the StAX reader at the start of the next
+   * dataset record. Non-dataset elements are skipped.
+   *
+   * @throws XMLStreamException if the document is malformed
+   */
+  private void advance() throws XMLStreamException {
+    nextType = null;
+    while (xmlStreamReader.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+      if (xmlStreamReader.isStartElement()) {
+        nextType = EDatasetType.fromClassSimpleName(xmlStreamReader.getLocalName());
+        if (nextType != null) {
+          return;
+        }
+        logger.log(Level.WARNING, "Skipping unrecognized SSRF element {0}", xmlStreamReader.getLocalName());
+        skipElement();
+      } else if (xmlStreamReader.isEndElement() && rootName.equals(xmlStreamReader.getLocalName())) {
+        return;
+      } else {
+        xmlStreamReader.next();
+      }
+    }
+  }
+
+  /**
+   * Internal method to skip the current element, including all of its
+   * children. The reader is left positioned after the element end tag.
+   *
+   * @throws XMLStreamException if the document is malformed
+   */
+  private void skipElement() throws XMLStreamException {
+    int depth = 0;
+    do {
+      if (xmlStreamReader.isStartElement()) {
+        depth++;
+      } else if (xmlStreamReader.isEndElement()) {
+        depth--;
+      }
+      xmlStreamReader.next();
+    } while (depth > 0);
+  }
+
+  /**
+   * Determine if another record is available.
+   *
+   * @return TRUE if {@link #next()} will return a record
+   */
+  @Override
+  public boolean hasNext() {
+    return nextType != null;
+  }
+
+  /**
+   * Read and return the next record.
+   *
+   * @return the next top-level SSRF record
+   * @throws NoSuchElementException if the document is exhausted
+   * @throws IllegalStateException  if the record cannot be read
+   */
+  @Override
+  public Common<?> next() {
+    if (nextType == null) {
+      throw new NoSuchElementException();
+    }
+    try {
+      Common<?> record = unmarshaller.unmarshal(xmlStreamReader, nextType.getClazz()).getValue();
+      advance();
+      return SSRFUtility.postLoadRecord(record, referenceRoot);
+    } catch (JAXBException | XMLStreamException exception) {
+      throw new IllegalStateException("Failed to read SSRF " + nextType.getClassSimpleName() + " record: " + exception.getMessage(), exception);
+    }
+  }
+
+  /**
+   * Get a sequential stream of the records remaining in this reader. Closing
+   * the stream closes this reader.
+   *
+   * @return a sequential, ordered stream of records
+   */
+  public Stream<Common<?>> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+              try {
+                close();
+              } catch (IOException ex) {
+                logger.log(Level.WARNING, "Failed to close SSRF record reader: {0}", ex.getMessage());
+              }
+            });
+  }
+
+  /**
+   * Close this reader and the underlying input stream. The unmarshaller is
+   * returned to the {@link SSRFContextCache} pool.
+   *
+   * @throws IOException if the input stream cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    nextType = null;
+    SSRFContextCache.releaseUnmarshaller(SSRF.class, unmarshaller);
+    unmarshaller = null;
+    try {
+      xmlStreamReader.close();
+    } catch (XMLStreamException ex) {
+      logger.log(Level.WARNING, "Failed to close XML stream: {0}", ex.getMessage());
+    }
+    inputStream.close();
+  }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+import javax.xml.namespace.QName;
+import org.eclipse.persistence.jaxb.MarshallerProperties;
+import org.eclipse.persistence.oxm.NamespacePrefixMapper;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+
+/**
+ * Incremental writer producing a SSRF message one record at a time.
+ * <p>
+ * {@link SSRF#toXML()} assembles, validates and marshals the entire SSRF
+ * object hierarchy in memory. This writer instead opens the
+ * <code>&lt;SSRF&gt;</code> root element on an output stream and then accepts
+ * top-level records (Assignment, Transmitter, Location, etc.) one by one. Each
+ * record is assembled (properties and prepare) and validated on its own, then
+ * written directly to the output. Memory use is therefore bounded by the
+ * largest single record. The namespace prefixes are declared once, on the root
+ * element, and are not repeated on each record. Example:
+ * <pre>
+ * try (SSRFRecordWriter writer = new SSRFRecordWriter(outputStream, SSRFProperties.getDefault(), SSRFMarshalOptions.getDefault())) {
+ *   writer.write(location);
+ *   for (Assignment assignment : assignments) {
+ *     writer.write(assignment);
+ *   }
+ * }
+ * </pre>
+ * <p>
+ * SSRF requires that records appear in the order declared by
+ * {@link SchemaRoot} (Contact, Role, Organisation, ... RadiationPlan). Records
+ * may be written in any order within a dataset type, but writing a record of a
+ * type that precedes a type already written raises an
+ * {@link IllegalStateException}.
+ * <p>
+ * Records referenced by a written record (e.g. an Assignment Role) are NOT
+ * written automatically; they must be written separately in their proper
+ * position. This class is not thread safe.
+ * <p>
+ * The output layout (formatting, encoding and XML declaration) is set by
+ * {@link SSRFMarshalOptions}. The default is compact, UTF-8 output with an XML
+ * declaration, as for {@link SSRF#writeXml(OutputStream)}.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFRecordWriter implements Closeable, Flushable {
+
+  /**
+   * "urn:us:gov:dod:standard:ssrf:3.1.0". The SSRF namespace.
+   */
+  private static final String NAMESPACE = "urn:us:gov:dod:standard:ssrf:3.1.0";
+
+  /**
+   * The root element start tag, matching the namespace prefixes declared in
+   * the package-info.
+   */
+  private static final String ROOT_START = "<s:SSRF xmlns:s=\"" + NAMESPACE + "\""
+                                           + " xmlns:xs=\"" + XMLConstants.W3C_XML_SCHEMA_NS_URI + "\""
+                                           + " xmlns:xsi=\"" + XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI + "\">";
+  /**
+   * The root element end tag.
+   */
+  private static final String ROOT_END = "</s:SSRF>";
+  /**
+   * A prefix mapper informing the marshaller that the root element namespace
+   * prefixes are already in scope, so that each record is written without
+   * repeating the declarations (about 150 bytes per record).
+   */
+  private static final NamespacePrefixMapper ROOT_NAMESPACES = new NamespacePrefixMapper() {
+
+    @Override
+    public String getPreferredPrefix(String namespaceUri, String suggestion, boolean requirePrefix) {
+      return suggestion;
+    }
+
+    @Override
+    public String[] getContextualNamespaceDecls() {
+      return new String[]{"s", NAMESPACE,
+                          "xs", XMLConstants.W3C_XML_SCHEMA_NS_URI,
+                          "xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI};
+    }
+  };
+
+  /**
+   * The SSRF dataset types in {@link SchemaRoot} child-element order.
+   */
+  private static final List<EDatasetType> RECORD_ORDER = buildRecordOrder();
+
+  /**
+   * The buffered output stream. Closed when this writer is closed.
+   */
+  private final OutputStream outputStream;
+  /**
+   * Optional SSRF properties applied to each record before it is prepared.
+   */
+  private final SSRFProperties ssrfProperties;
+  /**
+   * The output options.
+   */
+  private final SSRFMarshalOptions options;
+  /**
+   * The output character encoding, read from the output options.
+   */
+  private final Charset charset;
+  /**
+   * The marshaller checked out of the {@link SSRFContextCache} for the life of
+   * this writer.
+   */
+  private Marshaller marshaller;
+  /**
+   * The position in {@link #RECORD_ORDER} of the last record written.
+   */
+  private int lastOrder = -1;
+  /**
+   * The number of records written.
+   */
+  private long count;
+
+  /**
+   * Construct a new record writer on the indicated channel.
+   *
+   * @param channel the output channel
+   * @throws IOException   if the root element cannot be written
+   * @throws JAXBException if the JAXB context cannot be created
+   */
+  public SSRFRecordWriter(WritableByteChannel channel) throws IOException, JAXBException {
+    this(Channels.newOutputStream(channel), null, SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Construct a new record writer on the indicated channel.
+   *
+   * @param channel the output channel
+   * @param options the marshal output options
+   * @throws IOException   if the root element cannot be written
+   * @throws JAXBException if the JAXB context cannot be created
+   */
+  public SSRFRecordWriter(WritableByteChannel channel, SSRFMarshalOptions options) throws IOException, JAXBException {
+    this(Channels.newOutputStream(channel), null, options);
+  }
+
+  /**
+   * Construct a new record writer on the indicated output stream.
+   *
+   * @param outputStream the output stream
+   * @throws IOException   if the root element cannot be written
+   * @throws JAXBException if the JAXB context cannot be created
+   */
+  public SSRFRecordWriter(OutputStream outputStream) throws IOException, JAXBException {
+    this(outputStream, null, SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Construct a new record writer on the indicated output stream.
+   *
+   * @param outputStream   the output stream
+   * @param ssrfProperties SSRF properties applied to each record before it is
+   *                       prepared (e.g. "TSerial.organisation"). May be null.
+   * @throws IOException   if the root element cannot be written
+   * @throws JAXBException if the JAXB context cannot be created
+   */
+  public SSRFRecordWriter(OutputStream outputStream, SSRFProperties ssrfProperties) throws IOException, JAXBException {
+    this(outputStream, ssrfProperties, SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Construct a new record writer on the indicated output stream. The stream
+   * is closed if the root element cannot be written.
+   *
+   * @param outputStream   the output stream
+   * @param ssrfProperties SSRF properties applied to each record before it is
+   *                       prepared (e.g. "TSerial.organisation"). May be null.
+   * @param options        the marshal output options
+   * @throws IOException   if the root element cannot be written
+   * @throws JAXBException if the JAXB context cannot be created
+   */
+  public SSRFRecordWriter(OutputStream outputStream, SSRFProperties ssrfProperties, SSRFMarshalOptions options) throws IOException, JAXBException {
+    this.options = options;
+    this.charset = Charset.forName(options.getEncoding());
+    this.outputStream = new BufferedOutputStream(outputStream, options.getBufferSize());
+    this.ssrfProperties = ssrfProperties;
+    this.marshaller = SSRFContextCache.acquireMarshaller(SSRF.class);
+    try {
+      /**
+       * Records are written as fragments of the root element whatever the XML
+       * declaration setting; the declaration is written here.
+       */
+      options.configure(marshaller);
+      marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+      marshaller.setProperty(MarshallerProperties.NAMESPACE_PREFIX_MAPPER, ROOT_NAMESPACES);
+      StringBuilder rootStart = new StringBuilder();
+      if (options.isXmlDeclaration()) {
+        rootStart.append("<?xml version=\"1.0\" encoding=\"").append(options.getEncoding()).append("\"?>").append(lineSeparator());
+      }
+      rootStart.append(ROOT_START).append(lineSeparator());
+      this.outputStream.write(rootStart.toString().getBytes(charset));
+    } catch (IOException | JAXBException | RuntimeException exception) {
+      /**
+       * Return the marshaller to the pool and close the stream if the root
+       * element cannot be written.
+       */
+      releaseMarshaller();
+      try {
+        this.outputStream.close();
+      } catch (IOException ex) {
+        exception.addSuppressed(ex);
+      }
+      throw exception;
+    }
+  }
+
+  /**
+   * Assemble, validate and write a record.
+   *
+   * @param record a top-level SSRF record
+   * @throws IllegalStateException if the record type precedes a type already
+   *                               written, or if this writer is closed
+   * @throws Exception             if the record fails to validate or cannot be
+   *                               written
+   */
+  @SuppressWarnings("unchecked")
+  public void write(Common<?> record) throws Exception {
+    if (marshaller == null) {
+      throw new IllegalStateException("SSRF record writer is closed.");
+    }
+    EDatasetType datasetType = EDatasetType.fromInstance(record);
+    if (datasetType == null) {
+      throw new IllegalArgumentException(record.getClass().getSimpleName() + " is not a SSRF dataset.");
+    }
+    int order = RECORD_ORDER.indexOf(datasetType);
+    if (order < 0) {
+      throw new IllegalArgumentException(datasetType.getClassSimpleName() + " is not a SSRF top-level record.");
+    }
+    if (order < lastOrder) {
+      throw new IllegalStateException(datasetType.getClassSimpleName() + " records must be written before " + RECORD_ORDER.get(lastOrder).getClassSimpleName() + " records.");
+    }
+    /**
+     * Assemble the record (apply properties then prepare) and validate. This
+     * matches the SSRF.toXML() procedure but is scoped to the single record.
+     */
+    if (ssrfProperties != null) {
+      SSRFUtility.setProperties(ssrfProperties, record);
+    }
+    SSRFUtility.prepareRecord(record, new SSRF());
+    SSRFUtility.validate(record);
+    Class<Common<?>> clazz = (Class<Common<?>>) datasetType.getClazz();
+    marshaller.marshal(new JAXBElement<>(new QName(NAMESPACE, datasetType.getClassSimpleName()), clazz, record), outputStream);
+    outputStream.write(lineSeparator().getBytes(charset));
+    lastOrder = order;
+    count++;
+  }
+
+  /**
+   * Assemble, validate and write a collection of records.
+   *
+   * @param records top-level SSRF records
+   * @throws Exception if a record fails to validate or cannot be written
+   */
+  public void writeAll(Iterable<? extends Common<?>> records) throws Exception {
+    for (Common<?> record : records) {
+      write(record);
+    }
+  }
+
+  /**
+   * Get the number of records written.
+   *
+   * @return the number of records written
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Flush buffered output to the underlying stream.
+   *
+   * @throws IOException if the stream cannot be flushed
+   */
+  @Override
+  public void flush() throws IOException {
+    outputStream.flush();
+  }
+
+  /**
+   * Write the root element end tag and close the underlying stream. The
+   * marshaller is returned to the {@link SSRFContextCache} pool.
+   *
+   * @throws IOException if the stream cannot be written or closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (marshaller == null) {
+      return;
+    }
+    releaseMarshaller();
+    try {
+      outputStream.write((ROOT_END + lineSeparator()).getBytes(charset));
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  /**
+   * Internal method to restore the default (compact document) mode and return
+   * the marshaller to the {@link SSRFContextCache} pool. The marshaller is
+   * discarded if it cannot be reset.
+   */
+  private void releaseMarshaller() {
+    try {
+      SSRFMarshalOptions.getDefault().configure(marshaller);
+      marshaller.setProperty(MarshallerProperties.NAMESPACE_PREFIX_MAPPER, null);
+      SSRFContextCache.releaseMarshaller(SSRF.class, marshaller);
+    } catch (JAXBException ex) {
+      /**
+       * Discard the marshaller if it cannot be reset.
+       */
+    }
+    marshaller = null;
+  }
+
+  /**
+   * Internal method to get the separator written between records: a line feed
+   * for formatted output, nothing for compact output.
+   *
+   * @return the record separator
+   */
+  private String lineSeparator() {
+    return options.isFormatted() ? "\n" : "";
+  }
+
+  /**
+   * Internal method to read the dataset element order from the
+   * {@link SchemaRoot} XmlType propOrder declaration.
+   *
+   * @return the dataset types in schema order
+   */
+  private static List<EDatasetType> buildRecordOrder() {
+    List<EDatasetType> order = new ArrayList<>();
+    for (String propertyName : SchemaRoot.class.getAnnotation(XmlType.class).propOrder()) {
+      try {
+        Field field = SchemaRoot.class.getDeclaredField(propertyName);
+        order.add(EDatasetType.fromClassSimpleName(field.getAnnotation(XmlElement.class).name()));
+      } catch (NoSuchFieldException ex) {
+        throw new IllegalStateException("SchemaRoot property " + propertyName + " not found.", ex);
+      }
+    }
+    return Collections.unmodifiableList(order);
+  }
+}
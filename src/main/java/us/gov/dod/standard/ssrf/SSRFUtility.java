@@ -15,18 +15,19 @@
  */
 package us.gov.dod.standard.ssrf;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
@@ -34,16 +35,20 @@ import javax.xml.bind.annotation.*;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
 import us.gov.dod.standard.ssrf._3_1.common.ExtReferenceRef;
 import us.gov.dod.standard.ssrf._3_1.common.Remarks;
 import us.gov.dod.standard.ssrf._3_1.location.Ellipse;
 import us.gov.dod.standard.ssrf._3_1.location.Point;
 import us.gov.dod.standard.ssrf._3_1.location.Polygon;
 import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListLookup;
 import us.gov.dod.standard.ssrf._3_1.multiple.ConfigFreq;
 import us.gov.dod.standard.ssrf._3_1.receiver.Curve;
 import us.gov.dod.standard.ssrf._3_1.ssreply.Comment;
 import us.gov.dod.standard.ssrf._3_1.toa.Footnote;
+import us.gov.dod.standard.ssrf.validator.ValidatorRegistry;
 
 /**
  * A collection of useful SSRF and JAXB Utility classes.
@@ -69,45 +74,59 @@ public class SSRFUtility {
   private static final int MAX_STRING_LENGTH = 33;
 
   /**
-   * "us.gov.dod.standard.ssrf". The SSRF top level package.
+   * The active serial and index generator. Set on first use; see
+   * {@link #getSerialGenerator()}.
    */
-  private static final String SSRF_PACKAGE = "us.gov.dod.standard.ssrf";
+  private static volatile ISerialGenerator serialGenerator;
 
   /**
-   * A randomly seeded AtomicInteger used to provide guaranteed unique index
-   * values for SSRF classes requiring an index.
+   * Get the active serial and index generator.
    * <p>
-   * This implementation provides a unique sequence of Integer values
-   * incrementing from one (1).
+   * If no generator has been set with
+   * {@link #setSerialGenerator(ISerialGenerator)} the first implementation
+   * registered with {@link ServiceLoader} is used, otherwise a new
+   * {@link SequenceSerialGenerator}.
+   *
+   * @return the serial generator
    */
-  private static final AtomicInteger atomicIndex = new AtomicInteger();
+  public static ISerialGenerator getSerialGenerator() {
+    ISerialGenerator generator = serialGenerator;
+    if (generator == null) {
+      synchronized (SSRFUtility.class) {
+        generator = serialGenerator;
+        if (generator == null) {
+          Iterator<ISerialGenerator> providers = ServiceLoader.load(ISerialGenerator.class).iterator();
+          generator = providers.hasNext() ? providers.next() : new SequenceSerialGenerator();
+          serialGenerator = generator;
+        }
+      }
+    }
+    return generator;
+  }
 
   /**
-   * Get the next guaranteed unique index compatible with SSRF "idx" fields. *
-   * The returned value is monotonically incremented by one from the previously
-   * provided value.
-   * <p>
-   * All values increment from a randomly selected start value unique to each
-   * SSRFUtility instantiation.
+   * Set the serial and index generator used by new SSRF datasets and indexed
+   * elements.
+   *
+   * @param generator the serial generator. NULL restores the default.
+   */
+  public static void setSerialGenerator(ISerialGenerator generator) {
+    serialGenerator = generator;
+  }
+
+  /**
+   * Get the next guaranteed unique index compatible with SSRF "idx" fields.
+   * With the default {@link SequenceSerialGenerator} the returned value is
+   * incremented by one from the previously provided value.
    * <p>
    * This method is required by the following 9 classes which set an index in
    * their constructors:
    * {@link Comment}, {@link ConfigFreq}, {@link Curve}, {@link Ellipse}, {@link ExtReferenceRef}, {@link Footnote}, {@link Point}, {@link Polygon}, {@link Remarks},
    *
-   * @return an {@link AtomicInteger}, wrapped inside a {@link BigInteger}
-   *         instance.
+   * @return the next index value from the active {@link ISerialGenerator}
    */
   public static BigInteger nextIndex() {
-    /**
-     * Index values are UN6 and must remain below 100,000. Reset the atomic
-     * index counter to zero if the index value climbs above 10,000. This is
-     * somewhat conservative, but we NEVER expect to see more than a few indices
-     * in any given SSRF document.
-     */
-    if (atomicIndex.get() >= 1e4) {
-      atomicIndex.set(0);
-    }
-    return new BigInteger(String.valueOf(Math.abs(atomicIndex.incrementAndGet())));
+    return getSerialGenerator().nextIndex();
   }
 
   /**
@@ -130,6 +149,31 @@ public class SSRFUtility {
     validate(instance, null);
   }
 
+  /**
+   * Validate a SSRF message in parallel.
+   * <p>
+   * The top-level records of the message are validated as independent
+   * fork/join tasks (see {@link ParallelValidator}). The error thrown, if any,
+   * is the same as that thrown by {@link #validate(Object)}.
+   *
+   * @param root        the SSRF message
+   * @param parallelism the number of worker threads. A value of one or less
+   *                    validates on the calling thread.
+   * @throws java.lang.Exception if the SSRF instance fails to validate
+   */
+  public static void validate(SchemaRoot<?> root, int parallelism) throws Exception {
+    if (parallelism <= 1) {
+      validate(root);
+      return;
+    }
+    ParallelValidator parallelValidator = new ParallelValidator(parallelism);
+    try {
+      parallelValidator.validate(root);
+    } finally {
+      parallelValidator.shutdown();
+    }
+  }
+
   /**
    * Validate a SSRF object instance. (internal, recursive)
    * <p>
@@ -137,6 +181,10 @@ public class SSRFUtility {
    * within that parent instance where the current object instance is set. These
    * are tracked to help produce a set of legible error messages.
    * <p>
+   * If a compile-time generated validator is available for the instance class
+   * type (see {@link ValidatorRegistry}) it is used; otherwise the instance is
+   * inspected by reflection.
+   * <p>
    * Developer note: For more information about Java reflection see
    * <a href="http://docs.oracle.com/javase/tutorial/reflect/index.html">The
    * Reflection API</a> and <a
@@ -152,37 +200,38 @@ public class SSRFUtility {
   @SuppressWarnings({"AssignmentToMethodParameter"})
   public static void validate(Object instance, ListCCL cls) throws Exception {
     /**
-     * Assign the class type under study to a local variable for convenience.
-     */
-    Class<?> clazz = instance.getClass();
-    /**
+     * Get the (cached) class model for the class type under study.
+     * <p>
      * Important: NO NOT inspect classes that are not within the SSRF package.
      * Also and equally important: DO NOT inspect or try to validate enumerated
      * classes.
      */
-    if (clazz.isEnum() || !clazz.getName().startsWith(SSRF_PACKAGE)) {
+    SSRFClassModel classModel = SSRFClassModel.getModel(instance.getClass());
+    if (!classModel.isInspectable()) {
+      return;
+    }
+    /**
+     * Dispatch to the compile-time generated validator, if available.
+     */
+    AValidator<Object> validator = (AValidator<Object>) ValidatorRegistry.getValidator(classModel.getType());
+    if (validator != null) {
+      validator.validate(instance, cls);
       return;
     }
     /**
      * Test the classification order. SSRF requires that subordinate objects
      * have a classification less than or equal to their parents.
      */
-    Set<Field> fields = findDeclaredAndInheritedFields(clazz);
     if (cls != null) {
-      for (Field field : fields) {
-        if (field.getType().equals(ListCCL.class)) {
-          field.setAccessible(true);
-          if (cls.compareTo((ListCCL) field.get(instance)) < 0) {
-            throw new Exception("Field classification \"" + field.get(instance) + "\" is less than parent \"" + cls + "\"");
-          }
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        ListCCL fieldCls = (ListCCL) field.get(instance);
+        if (cls.compareTo(fieldCls) < 0) {
+          throw new Exception("Field classification \"" + fieldCls + "\" is less than parent \"" + cls + "\"");
         }
       }
     } else {
-      for (Field field : fields) {
-        if (field.getType().equals(ListCCL.class)) {
-          field.setAccessible(true);
-          cls = (ListCCL) field.get(instance);
-        }
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        cls = (ListCCL) field.get(instance);
       }
     }
 
@@ -191,28 +240,15 @@ public class SSRFUtility {
      * private) and inspect each according to its annotated configuration and
      * state.
      */
-    for (Field field : fields) {
-      /**
-       * Important: Enable access to the Object instance fields (public,
-       * protected and private).
-       */
-      field.setAccessible(true);
+    for (SSRFClassModel.FieldModel field : classModel.getFields()) {
       /**
-       * Get the instance field value. Skip (do not check and fail gracefully)
-       * if the field value is null (e.g. not configured) or (somehow) not
-       * accessible.
+       * Get the instance field value.
        */
-      Object fieldValue;
-      try {
-        fieldValue = field.get(instance);
-      } catch (IllegalArgumentException | IllegalAccessException ex) {
-//        Logger.getLogger(SSRFUtility.class.getName()).log(Level.SEVERE, null, ex);
-        continue;
-      }
+      Object fieldValue = field.get(instance);
       /**
        * Report an ERROR if the field is required and not configured.
        */
-      if (isRequired(field) && fieldValue == null) {
+      if (field.isRequired() && isMissing(fieldValue)) {
         throw new Exception(field.getName() + " is required.");
       }
       /**
@@ -265,15 +301,44 @@ public class SSRFUtility {
    *         the object instance validates OK.
    */
   public static Set<String> evaluate(Object instance) {
-    return evaluate(instance, null, null, null, null);
+    Set<String> messages = new TreeSet<>();
+    evaluate(instance, null, null, false, messages);
+    return messages;
   }
 
   /**
-   * Internal method to recursively validate an object instance.
+   * Evaluate a SSRF message in parallel; record and report any configuration
+   * errors.
    * <p>
-   * This method keeps track of the instance parent instance, plus the field
-   * within that parent instance where the current object instance is set. These
-   * are tracked to help produce a set of legible error messages.
+   * The top-level records of the message are evaluated as independent
+   * fork/join tasks (see {@link ParallelValidator}). The result is identical
+   * to {@link #evaluate(Object)}.
+   *
+   * @param root        the SSRF message
+   * @param parallelism the number of worker threads. A value of one or less
+   *                    evaluates on the calling thread.
+   * @return a non-null Collection of error messages. The collection is EMPTY if
+   *         the object instance validates OK.
+   */
+  public static Set<String> evaluate(SchemaRoot<?> root, int parallelism) {
+    if (parallelism <= 1) {
+      return evaluate(root);
+    }
+    ParallelValidator parallelValidator = new ParallelValidator(parallelism);
+    try {
+      return parallelValidator.evaluate(root);
+    } finally {
+      parallelValidator.shutdown();
+    }
+  }
+
+  /**
+   * Recursively evaluate an object instance. (internal, recursive)
+   * <p>
+   * This method keeps track of the parent class and field where the current
+   * object instance is set. These are tracked to help produce a set of legible
+   * error messages. Compile-time generated validators call back into this
+   * method to evaluate nested objects.
    * <p>
    * Developer note: For more information about Java reflection see
    * <a href="http://docs.oracle.com/javase/tutorial/reflect/index.html">The
@@ -281,64 +346,57 @@ public class SSRFUtility {
    * href="http://tutorials.jenkov.com/java-reflection/index.html">Java
    * Reflection Tutorial</a>.
    *
-   * @param instance       the object instance to validate
-   * @param parentInstance the parent object instance
-   * @param parentField    the parent field where the object instance lives
-   * @param messages       a collection of pretty-print error messages
-   * @return a non-null Collection of error messages. The collection is EMPTY if
-   *         the object instance validates OK.
+   * @param instance        the object instance to validate
+   * @param cls             The parent (maximum) classification. If set all
+   *                        subordinate classifications in the class tree must
+   *                        be less than or equal to this value.
+   * @param parentPath      the parent class and field where the object instance
+   *                        lives (e.g. "Assignment.configuration"). Null for
+   *                        the top-level instance.
+   * @param collectionEntry TRUE if the object instance is a collection entry
+   * @param messages        a collection of pretty-print error messages. Use a
+   *                        TreeSet to eliminate duplicates and provide a
+   *                        pretty-print output.
    */
   @SuppressWarnings({"AssignmentToMethodParameter"})
-  private static Set<String> evaluate(Object instance, ListCCL cls, Object parentInstance, Field parentField, Set<String> messages) {
-    /**
-     * Initialize the messages collection if required. Use a TreeSet to
-     * eliminate duplicates and provide a pretty-print output.
-     */
-    if (messages == null) {
-      messages = new TreeSet<>();
-    }
-    /**
-     * Assign the class type under study to a local variable for convenience.
-     */
-    Class<?> clazz = instance.getClass();
+  static void evaluate(Object instance, ListCCL cls, String parentPath, boolean collectionEntry, Set<String> messages) {
     /**
+     * Get the (cached) class model for the class type under study.
+     * <p>
      * Important: NO NOT inspect classes that are not within the SSRF package.
      * Also and equally important: DO NOT inspect or try to validate enumerated
      * classes.
      */
-    if (clazz.isEnum() || !clazz.getName().startsWith(SSRF_PACKAGE)) {
-      return messages;
+    SSRFClassModel classModel = SSRFClassModel.getModel(instance.getClass());
+    if (!classModel.isInspectable()) {
+      return;
+    }
+    Class<?> clazz = classModel.getType();
+    /**
+     * Dispatch to the compile-time generated validator, if available.
+     */
+    AValidator<Object> validator = (AValidator<Object>) ValidatorRegistry.getValidator(clazz);
+    if (validator != null) {
+      validator.evaluate(instance, cls, parentPath, collectionEntry, messages);
+      return;
+    }
+    if (parentPath == null) {
+      parentPath = clazz.getSimpleName();
     }
     /**
      * Test the classification order. SSRF requires that subordinate objects
      * have a classification less than or equal to their parents.
      */
-    Set<Field> fields = findDeclaredAndInheritedFields(clazz);
     if (cls != null) {
-      for (Field field : fields) {
-        if (field.getType().equals(ListCCL.class)) {
-          try {
-            field.setAccessible(true);
-            if (cls.compareTo((ListCCL) field.get(instance)) < 0) {
-              messages.add(parentInstance.getClass().getSimpleName() + "." + parentField.getName() + "." + field.getName() + " classification \"" + field.get(instance) + "\" is less restrictive than parent classification \"" + cls + "\"");
-            }
-          } catch (SecurityException | IllegalArgumentException | IllegalAccessException exception) {
-            logger.log(Level.WARNING, "CLS comparison failed for {0}", instance.getClass().getSimpleName());
-            logger.log(Level.SEVERE, null, exception);
-          }
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        ListCCL fieldCls = (ListCCL) field.get(instance);
+        if (cls.compareTo(fieldCls) < 0) {
+          messages.add(parentPath + "." + field.getName() + " classification \"" + fieldCls + "\" is less restrictive than parent classification \"" + cls + "\"");
         }
       }
     } else {
-      for (Field field : fields) {
-        if (field.getType().equals(ListCCL.class)) {
-          try {
-            field.setAccessible(true);
-            cls = (ListCCL) field.get(instance);
-          } catch (SecurityException | IllegalArgumentException | IllegalAccessException exception) {
-            logger.log(Level.WARNING, "CLS comparison failed for {0}", instance.getClass().getSimpleName());
-            logger.log(Level.SEVERE, null, exception);
-          }
-        }
+      for (SSRFClassModel.FieldModel field : classModel.getClassificationFields()) {
+        cls = (ListCCL) field.get(instance);
       }
     }
     /**
@@ -346,28 +404,16 @@ public class SSRFUtility {
      * private) and inspect each according to its annotated configuration and
      * state.
      */
-    for (Field field : fields) {
-      /**
-       * Important: Enable access to the Object instance fields (public,
-       * protected and private).
-       */
-      field.setAccessible(true);
+    for (SSRFClassModel.FieldModel field : classModel.getFields()) {
       /**
-       * Get the instance field value. Skip (do not check and fail gracefully)
-       * if the field value is null (e.g. not configured) or (somehow) not
-       * accessible.
+       * Get the instance field value.
        */
-      Object fieldValue;
-      try {
-        fieldValue = field.get(instance);
-      } catch (IllegalArgumentException | IllegalAccessException ex) {
-        continue;
-      }
+      Object fieldValue = field.get(instance);
       /**
        * Report an ERROR if the field is required and not configured.
        */
-      if (isRequired(field) && fieldValue == null) {
-        messages.add(parentInstance.getClass().getSimpleName() + "." + parentField.getName() + getErrorLabel(parentField, parentInstance) + " (" + field.getType().getSimpleName() + ") " + field.getName() + " is required");
+      if (field.isRequired() && isMissing(fieldValue)) {
+        messages.add(parentPath + getErrorLabel(instance, collectionEntry) + " (" + field.getType().getSimpleName() + ") " + field.getName() + " is required");
       }
       /**
        * If the field value is not required and NULL then DO NOT try to validate
@@ -381,14 +427,15 @@ public class SSRFUtility {
        * collection to recursively validate each entry object instance,
        * otherwise recurse to validate the field value object instance directly.
        */
+      String fieldPath = clazz.getSimpleName() + "." + field.getName();
       if (fieldValue instanceof Collection) {
         for (Object entry : (Iterable<? extends Object>) fieldValue) {
           if (entry != null) {
-            evaluate(entry, cls, instance, field, messages);
+            evaluate(entry, cls, fieldPath, true, messages);
           }
         }
       } else {
-        evaluate(fieldValue, cls, instance, field, messages);
+        evaluate(fieldValue, cls, fieldPath, false, messages);
         /**
          * After the field validation status is completed try to validate the
          * object instance configuration against an XmlTypeValidator, if
@@ -403,21 +450,18 @@ public class SSRFUtility {
           if (exception instanceof NullPointerException) {
             logger.log(Level.SEVERE, null, exception);
           }
-//          logger.log(Level.WARNING, "{0}.{1} failed XML type validation: {2}", new Object[]{instance.getClass().getSimpleName(), field.getName(), exception.getMessage()});
-//          messages.add(instance.getClass().getSimpleName() + "." + field.getName() + "  " + exception.getMessage());
-          messages.add(parentInstance.getClass().getSimpleName() + "." + parentField.getName() + "." + field.getName() + " (" + instance.getClass().getSimpleName() + ") :  " + exception.getMessage());
+          messages.add(parentPath + "." + field.getName() + " (" + clazz.getSimpleName() + ") :  " + exception.getMessage());
         }
       }
     }
-    return messages;
   }
 
   /**
    * Validate a field setting.
    * <p>
-   * This method inspects the field annotation for an XmlTypeValidator. If found
-   * then the XmlTypeValidator is instantiated and called against the provided
-   * field value.
+   * This method inspects the field model for an XmlTypeValidator (an
+   * XmlJavaTypeAdapter instance). If found then the XmlTypeValidator is called
+   * against the provided field value.
    * <p>
    * If no XmlTypeValidator annotation is found then the field value is assumed
    * to be valid.
@@ -430,61 +474,56 @@ public class SSRFUtility {
    * @throws Exception the XmlTypeValidator marshal error, thrown ONLY if the
    *                   field value is not valid
    */
-  private static void validateField(Field field, Object fieldValue) throws Exception {
+  private static void validateField(SSRFClassModel.FieldModel field, Object fieldValue) throws Exception {
     /**
-     * Do not validate fields with null values.
+     * Do not validate fields with null values or fields without an
+     * XmlJavaTypeAdapter.
      */
-    if (fieldValue == null) {
+    if (fieldValue == null || field.getAdapter() == null) {
       return;
     }
     /**
-     * Scan the field annotations looking for an XmlJavaTypeAdapter instance.
+     * Validate the field value with the (shared) XmlAdapter instance referred
+     * to in the XmlJavaTypeAdapter annotation. This action will complete
+     * silently if the field value is valid and throw an exception if the field
+     * value is not valid (as determined by the marshal method).
      */
-    for (Annotation annotation : field.getAnnotations()) {
-      if (annotation instanceof XmlJavaTypeAdapter) {
-        /**
-         * If an XmlJavaTypeAdapter annotation is found then instantiate the
-         * XmlAdapter class referred to in the "value" field and attempt to
-         * marshal the field value. This action will complete silently if the
-         * field value is valid and throw an exception if the field value is not
-         * valid (as determined by the marshal method).
-         */
-        try {
-          XmlAdapter<Object, Object> adapterInstance = ((XmlJavaTypeAdapter) annotation).value().getConstructor().newInstance();
-          adapterInstance.marshal(fieldValue);
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException ex) {
-          logger.log(Level.WARNING, "XmlJavaTypeAdapter failed to instantiate: {0}", ex.getMessage());
-          logger.log(Level.SEVERE, null, ex);
-        }
-      }
-    }
+    XmlAdapterRegistry.validate(field.getAdapter(), fieldValue);
   }
 
   /**
-   * Inspect the field and field type to get a user-friendly error label.
+   * Determine if a required field value is not configured. A required
+   * collection must hold at least one entry: an empty collection is not
+   * written to XML and so does not satisfy the schema.
    * <p>
-   * If the field is an end-type then the field value (trimmed to 25 characters)
-   * is returned. Otherwise if the field is an object type then the work
-   * "instance" is returned.
+   * This rule is shared by the reflective validator, the generated validators
+   * ({@link AValidator}) and the {@link SSRFAssembler}.
    *
-   * @param field    the field to get the value from
-   * @param instance the object instance to query
-   * @return either the field value or the string "instance"
+   * @param fieldValue the field value
+   * @return TRUE if the value is null or an empty collection
    */
-  private static String getErrorLabel(Field field, Object instance) {
-    try {
-      field.setAccessible(true);
-      Object fieldValue = field.get(instance);
-      /**
-       * If the object instance is a String or a "metaData.domain" instance then
-       * get the value. Else return the word "instance" to indicate a
-       * class-level instance.
-       */
-      if (fieldValue.getClass().getName().contains("metadata.domains") || fieldValue.getClass().getName().equals("java.lang.String")) {
-        return " \"" + trimString(fieldValue.toString(), MAX_STRING_LENGTH) + "\"";
-      }
-    } catch (IllegalArgumentException | IllegalAccessException ex) {
-      Logger.getLogger(SSRFUtility.class.getName()).log(Level.SEVERE, null, ex);
+  static boolean isMissing(Object fieldValue) {
+    return fieldValue == null || (fieldValue instanceof Collection && ((Collection<?>) fieldValue).isEmpty());
+  }
+
+  /**
+   * Inspect an object instance to get a user-friendly error label.
+   * <p>
+   * If the instance is an end-type (a String or "metadata.domains" instance)
+   * then the value (trimmed to 33 characters) is returned in quotes. Otherwise
+   * (a class-level or collection entry instance) an empty string is returned.
+   *
+   * @param instance        the object instance
+   * @param collectionEntry TRUE if the instance is a collection entry
+   * @return either the quoted instance value or an empty string
+   */
+  static String getErrorLabel(Object instance, boolean collectionEntry) {
+    if (collectionEntry || instance == null) {
+      return "";
+    }
+    String className = instance.getClass().getName();
+    if (className.contains("metadata.domains") || className.equals("java.lang.String")) {
+      return " \"" + trimString(instance.toString(), MAX_STRING_LENGTH) + "\"";
     }
     return "";
   }
@@ -624,15 +663,14 @@ public class SSRFUtility {
       rootInstance = sourceInstance;
     }
     /**
-     * Assign the class type under study to a local variable for convenience.
-     */
-    Class<?> clazz = sourceInstance.getClass();
-    /**
+     * Get the (cached) class model for the class type under study.
+     * <p>
      * Important: NO NOT inspect classes that are not within the SSRF package.
      * Also and equally important: DO NOT inspect or try to validate enumerated
      * classes.
      */
-    if (clazz.isEnum() || !clazz.getName().startsWith(SSRF_PACKAGE)) {
+    SSRFClassModel classModel = SSRFClassModel.getModel(sourceInstance.getClass());
+    if (!classModel.isInspectable()) {
       return;
     }
     /**
@@ -640,23 +678,11 @@ public class SSRFUtility {
      * private) and inspect each according to its annotated configuration and
      * state.
      */
-    for (Field field : findDeclaredAndInheritedFields(clazz)) {
-      /**
-       * Important: Enable access to the Object instance fields (public,
-       * protected and private).
-       */
-      field.setAccessible(true);
+    for (SSRFClassModel.FieldModel field : classModel.getFields()) {
       /**
-       * Get the instance field value. Skip (do not check and fail gracefully)
-       * if the field value is null (e.g. not configured) or (somehow) not
-       * accessible.
+       * Get the instance field value.
        */
-      Object fieldValue;
-      try {
-        fieldValue = field.get(sourceInstance);
-      } catch (IllegalArgumentException | IllegalAccessException ex) {
-        continue;
-      }
+      Object fieldValue = field.get(sourceInstance);
       /**
        * If the field value is not required and NULL then DO NOT try to validate
        * it.
@@ -738,6 +764,33 @@ public class SSRFUtility {
      */
   }
 
+  /**
+   * Process a single top-level SSRF record for export.
+   * <p>
+   * This method invokes the record prepare method, then examines the record
+   * class tree in the same manner as {@link #prepare(SSRF)}. It supports
+   * streaming writers that marshal each record independently of the
+   * containing SSRF message.
+   * <p>
+   * Referenced records discovered during preparation are collected into the
+   * provided root instance but are NOT written; the caller is responsible for
+   * writing referenced records separately.
+   *
+   * @param <T>    the record type
+   * @param record a top-level SSRF record (e.g. an Assignment)
+   * @param root   a (possibly empty) SSRF instance to receive referenced
+   *               records
+   * @return The input record after preparation. The live object is returned to
+   *         support method chaining.
+   */
+  public static <T extends Common<?>> T prepareRecord(T record, SSRF root) {
+    if (implementsPrepare(record)) {
+      invokePrepare(record);
+    }
+    prepare(record, root);
+    return record;
+  }
+
   /**
    * Try to add the source object instance to the destination object instance.
    * <p>
@@ -751,7 +804,7 @@ public class SSRFUtility {
    * @param rootInstance   the {@link Common} root instance to which the source
    *                       object instance is to be added
    */
-  private static void addValueToDestinationInstance(Object commonInstance, Object rootInstance) {
+  static void addValueToDestinationInstance(Object commonInstance, Object rootInstance) {
     /**
      * SchemaRoot only contains sets of object instances that extend Common.
      * Simplify and speed up processing by only trying to add SSRF object
@@ -761,15 +814,14 @@ public class SSRFUtility {
      * NullPointerException here just in case the sourceInstance is null.
      */
     try {
-      if (Common.class.equals(commonInstance.getClass().getSuperclass())) {
-        Method method = rootInstance.getClass().getMethod("with" + commonInstance.getClass().getSimpleName(), Collection.class);
-        method.invoke(rootInstance, Arrays.asList(new Object[]{commonInstance}));
-//        System.out.println("SSRFUtility.addValueToDestinationInstance " + commonInstance.getClass().getSimpleName());
+      SSRFClassModel classModel = SSRFClassModel.getModel(commonInstance.getClass());
+      if (classModel.isDataset()) {
+        SSRFClassModel.getModel(rootInstance.getClass())
+          .getWithCollectionSetter(classModel.getType())
+          .accept(rootInstance, Collections.singletonList(commonInstance));
       }
-    } catch (NullPointerException | NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+    } catch (RuntimeException | NoSuchMethodException ex) {
       logger.log(Level.WARNING, "Failed to add {0} value to SSRF root instance:  {1}", new Object[]{commonInstance.getClass().getSimpleName(), ex.getMessage()});
-//      System.err.println("ERROR SSRFUtility.addValueToDestinationInstance " + commonInstance.getClass().getSimpleName() + "  " + ex.getMessage());
-//      Logger.getLogger(SSRFUtility.class.getName()).log(Level.SEVERE, null, ex);
     }
   }
 
@@ -781,26 +833,11 @@ public class SSRFUtility {
    * @return true if the object class implements the prepare() method.
    */
   private static boolean implementsPrepare(Object instance) {
-    if (instance == null) {
-      return false;
-    }
-    String className = instance.getClass().getName();
     /**
-     * Only inspect SSRF classes, but ignore ADAPTER and METADATA helpers.
+     * Only SSRF classes are inspected; ADAPTER and METADATA helpers are
+     * ignored. See {@link SSRFClassModel#implementsPrepare()}.
      */
-    if (className.startsWith(SSRF_PACKAGE)
-        && !className.contains(".adapter.")
-        && !className.contains(".metadata.")) {
-      try {
-        return instance.getClass().getMethod("prepare") != null;
-      } catch (NoSuchMethodException | SecurityException ex) {
-        /**
-         * Does not implement prepare().
-         */
-//      Logger.getLogger(SSRFUtility.class.getName()).log(Level.SEVERE, null, ex);
-      }
-    }
-    return false;
+    return instance != null && SSRFClassModel.getModel(instance.getClass()).implementsPrepare();
   }
 
   /**
@@ -817,17 +854,7 @@ public class SSRFUtility {
      * Try to invoke the prepare() method. Fail gracefully if the instance class
      * does not implement the prepare() method.
      */
-    try {
-      instance.getClass().getMethod("prepare").invoke(instance);
-    } catch (NoSuchMethodException | SecurityException ex) {
-      /**
-       * Does not implement prepare().
-       */
-    } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-      /**
-       * prepare() is not accessible (e.g. private).
-       */
-    }
+    SSRFClassModel.getModel(instance.getClass()).invokePrepare(instance);
   }
 
   /**
@@ -836,16 +863,47 @@ public class SSRFUtility {
    * This method examines the class tree and copies all required data objects
    * into their proper location and preparing the SSRF software class hierarchy
    * for working.
+   * <p>
+   * A {@link SerialIndex} of the SSRF datasets is built first; the record
+   * postLoad(SSRF) methods resolve their SERIAL number references through it.
    *
    * @param ssrf a {@link SSRF} instance
    * @return The input SSRF instance after post-load. The live object is
    *         returned to support method chaining.
    */
   public static SSRF postLoad(SSRF ssrf) {
+    ssrf.buildSerialIndex();
     postLoad(ssrf, ssrf);
     return ssrf;
   }
 
+  /**
+   * Process a single top-level SSRF record after reading from XML.
+   * <p>
+   * This method invokes the record postLoad method, then examines the record
+   * class tree in the same manner as {@link #postLoad(SSRF)}. It supports
+   * streaming readers that unmarshal each record independently of the
+   * containing SSRF message.
+   * <p>
+   * Cross references between records are resolved against the provided root
+   * instance only, through its {@link SSRF#getSerialIndex() serial index}.
+   * References to records not present in the root instance are left
+   * unresolved.
+   *
+   * @param <T>    the record type
+   * @param record a top-level SSRF record (e.g. an Assignment)
+   * @param root   a (possibly empty) SSRF instance containing reference data
+   * @return The input record after post-load. The live object is returned to
+   *         support method chaining.
+   */
+  public static <T extends Common<?>> T postLoadRecord(T record, SSRF root) {
+    if (implementsPostLoad(record)) {
+      invokePostLoad(record, root);
+    }
+    postLoad(record, root);
+    return record;
+  }
+
   /**
    * Process a SSRF instance object after reading from XML.
    * <p>
@@ -866,15 +924,14 @@ public class SSRFUtility {
       return;
     }
     /**
-     * Assign the class type under study to a local variable for convenience.
-     */
-    Class<?> clazz = sourceInstance.getClass();
-    /**
+     * Get the (cached) class model for the class type under study.
+     * <p>
      * Important: NO NOT inspect classes that are not within the SSRF package.
      * Also and equally important: DO NOT inspect or try to validate enumerated
      * classes.
      */
-    if (clazz.isEnum() || !clazz.getName().startsWith(SSRF_PACKAGE)) {
+    SSRFClassModel classModel = SSRFClassModel.getModel(sourceInstance.getClass());
+    if (!classModel.isInspectable()) {
       return;
     }
     /**
@@ -882,24 +939,11 @@ public class SSRFUtility {
      * private) and inspect each according to its annotated configuration and
      * state.
      */
-    for (Field field : findDeclaredAndInheritedFields(clazz)) {
-      /**
-       * Important: Enable access to the Object instance fields (public,
-       * protected and private).
-       */
-      field.setAccessible(true);
+    for (SSRFClassModel.FieldModel field : classModel.getFields()) {
       /**
-       * Get the instance field value. Skip (do not check and fail gracefully)
-       * if the field value is null (e.g. not configured) or (somehow) not
-       * accessible.
+       * Get the instance field value.
        */
-      Object fieldValue;
-      try {
-        fieldValue = field.get(sourceInstance);
-      } catch (IllegalArgumentException | IllegalAccessException ex) {
-//        Logger.getLogger(SSRFUtility.class.getName()).log(Level.SEVERE, null, ex);
-        continue;
-      }
+      Object fieldValue = field.get(sourceInstance);
       /**
        * If the field value is not set then DO NOT try to test it.
        */
@@ -963,26 +1007,11 @@ public class SSRFUtility {
    *         postLoad() method.
    */
   private static boolean implementsPostLoad(Object instance) {
-    if (instance == null) {
-      return false;
-    }
-    String className = instance.getClass().getName();
     /**
-     * Only inspect SSRF classes, but ignore ADAPTER and LIST helpers.
+     * Only SSRF classes are inspected; ADAPTER and LIST helpers are ignored.
+     * See {@link SSRFClassModel#implementsPostLoad()}.
      */
-    if (className.startsWith(SSRF_PACKAGE)
-        && !className.contains(".adapter.")
-        && !className.contains(".metadata.lists")) {
-      try {
-        return instance.getClass().getMethod("postLoad", SSRF.class) != null;
-      } catch (NoSuchMethodException | SecurityException ex) {
-        try {
-          return instance.getClass().getMethod("postLoad") != null;
-        } catch (NoSuchMethodException | SecurityException ex1) {
-        }
-      }
-    }
-    return false;
+    return instance != null && SSRFClassModel.getModel(instance.getClass()).implementsPostLoad();
   }
 
   /**
@@ -997,18 +1026,9 @@ public class SSRFUtility {
     }
     /**
      * Try to invoke the postLoad(SSRF) or postLoad() methods. Fail gracefully
-     * if the instance class does not implement the prepare() method.
+     * if the instance class does not implement the postLoad() method.
      */
-    try {
-      instance.getClass().getMethod("postLoad", SSRF.class).invoke(instance, rootInstance);
-    } catch (NoSuchMethodException | SecurityException ex) {
-      try {
-        instance.getClass().getMethod("postLoad").invoke(instance);
-      } catch (NoSuchMethodException | SecurityException ex1) {
-      } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex1) {
-      }
-    } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-    }
+    SSRFClassModel.getModel(instance.getClass()).invokePostLoad(instance, rootInstance);
   }
 
   /**
@@ -1043,43 +1063,35 @@ public class SSRFUtility {
       return;
     }
     /**
-     * Assign the class type under study to a local variable for convenience.
-     */
-    Class<?> clazz = instance.getClass();
-    /**
-     * Append the object instance to the classPath.
-     */
-    String classPathInternal = classPath + "." + clazz.getSimpleName();
-    /**
+     * Get the (cached) class model for the class type under study.
+     * <p>
      * Important: NO NOT inspect classes that are not within the SSRF package.
      * Also and equally important: DO NOT inspect or try to validate enumerated
      * classes.
      */
-    if (clazz.isEnum() || !clazz.getName().startsWith(SSRF_PACKAGE)) {
+    SSRFClassModel classModel = SSRFClassModel.getModel(instance.getClass());
+    if (!classModel.isInspectable()) {
       return;
     }
+    Class<?> clazz = classModel.getType();
+    /**
+     * Append the object instance to the classPath. The property lookup key is
+     * the classPath without its leading "." separator.
+     */
+    String classPathInternal = classPath + "." + clazz.getSimpleName();
+    String propertyClassPath = classPathInternal.substring(1);
+    boolean serial = clazz.getSimpleName().equals("TSerial");
     /**
      * Iterate through the list of declared fields (public, protected and
      * private) and inspect each according to its annotated configuration and
      * state.
      */
-    for (Field field : findDeclaredAndInheritedFields(clazz)) {
-      /**
-       * Important: Enable access to the Object instance fields (public,
-       * protected and private).
-       */
-      field.setAccessible(true);
+    for (SSRFClassModel.FieldModel field : classModel.getFields()) {
       /**
        * Try to recurse into the configured field value. Get the instance field
-       * value. Skip (do not check and fail gracefully) if the field value is
-       * null (e.g. not configured) or (somehow) not accessible.
+       * value.
        */
-      Object fieldValue;
-      try {
-        fieldValue = field.get(instance);
-      } catch (IllegalArgumentException | IllegalAccessException ex) {
-        continue;
-      }
+      Object fieldValue = field.get(instance);
       /**
        * If the field value is not set then inspect the properties to determine
        * if a user-defined setting exists for this field.
@@ -1087,52 +1099,12 @@ public class SSRFUtility {
        * Special condition: Default values may be overwritten (only) in class
        * type TSerial.
        */
-      if (fieldValue == null || clazz.getSimpleName().equals("TSerial")) {
+      if (fieldValue == null || serial) {
         /**
-         * First try to get the most specific property value possible (e.g.
-         * "SSRF.Contact.TSerial.organisation"). If none is found then look for
-         * a less specific, class level value (e.g. "TSerial.organisation"). If
-         * a configured property is found for the classPath (or class) and the
-         * current field try to set the value using the WITH setter.
+         * If the field is null and no SSRF Property is configured for this
+         * field then skip it.
          */
-        String propertyValue = properties.getProperty(classPathInternal.replaceFirst("\\.", ""), field.getName());
-        if (propertyValue == null) {
-          propertyValue = properties.getProperty(clazz, field);
-        }
-        if (propertyValue != null) {
-          /**
-           * Get the SET setter.
-           */
-          Method method = findSetMethod(clazz, field);
-//          if (method == null) {            method = findSetMethod(clazz, field);          }
-          if (method != null && method.getParameterTypes().length != 0) {
-            Class<?> paramType = method.getParameterTypes()[0];
-            /**
-             * Handle the case where the class is an enumerated type.
-             */
-            Object objectValue;
-            if (paramType.isEnum()) {
-              objectValue = Enum.valueOf((Class<Enum>) paramType, propertyValue);
-            } else {
-              objectValue = propertyValue;
-            }
-            /**
-             * Try to invoke the SET setter with the user-defined properties
-             * configuration (either an ENUM or String). Ignore all errors to
-             * fail gracefully.
-             */
-            try {
-              method.invoke(instance, objectValue);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-              logger.log(Level.SEVERE, "Failed to set SSRF property {0} as {1}:  {2}",
-                         new Object[]{field, objectValue, ex.getMessage()});
-            }
-          }
-        } else {
-          /**
-           * If the field is null and no SSRF Property is configured for this
-           * field then skip it.
-           */
+        if (!applyProperty(properties, instance, propertyClassPath, field)) {
           continue;
         }
       }
@@ -1151,6 +1123,82 @@ public class SSRFUtility {
     }
   }
 
+  /**
+   * Apply a SSRF Properties configuration to a single field of a SSRF object
+   * instance. (internal)
+   * <p>
+   * First try to get the most specific property value possible (e.g.
+   * "SSRF.Contact.TSerial.organisation"). If none is found then look for a
+   * less specific, class level value (e.g. "TSerial.organisation"). If a
+   * configured property is found for the classPath (or class) and the field
+   * then try to set the value using the SET setter. Setter errors are logged
+   * and ignored.
+   *
+   * @param properties        a SSRF properties configuration
+   * @param instance          the SSRF object instance
+   * @param propertyClassPath the dot-delimited classPath of the object
+   *                          instance (e.g. "SSRF.Contact.TSerial")
+   * @param field             the field to configure
+   * @return TRUE if a property is configured for the field
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static boolean applyProperty(SSRFProperties properties, Object instance, String propertyClassPath, SSRFClassModel.FieldModel field) {
+    String propertyValue = properties.getProperty(propertyClassPath, field.getName());
+    if (propertyValue == null) {
+      propertyValue = properties.getProperty(instance.getClass(), field.getField());
+    }
+    if (propertyValue == null) {
+      return false;
+    }
+    /**
+     * Get the SET setter.
+     */
+    Method method = field.getSetMethod();
+    if (method != null && method.getParameterTypes().length != 0) {
+      Class<?> paramType = method.getParameterTypes()[0];
+      /**
+       * Handle the case where the class is an enumerated type.
+       */
+      Object objectValue;
+      if (paramType.isEnum()) {
+        /**
+         * Match the constant name, then the XML enumerated value. If neither
+         * matches Enum.valueOf throws the usual IllegalArgumentException.
+         */
+        objectValue = ListLookup.of((Class<Enum>) paramType).resolve(propertyValue);
+        if (objectValue == null) {
+          objectValue = Enum.valueOf((Class<Enum>) paramType, propertyValue);
+        }
+      } else {
+        objectValue = propertyValue;
+      }
+      /**
+       * Try to invoke the SET setter with the user-defined properties
+       * configuration (either an ENUM or String). Ignore all errors to fail
+       * gracefully.
+       */
+      try {
+        field.set(instance, objectValue);
+      } catch (RuntimeException ex) {
+        logger.log(Level.SEVERE, "Failed to set SSRF property {0} as {1}:  {2}",
+                   new Object[]{field, objectValue, ex.getMessage()});
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Internal method to get the declared and inherited methods of a class type.
+   * The methods of SSRF class types are read from the (cached) class model.
+   *
+   * @param clazz the class type to inspect
+   * @return a non-null collection of Methods
+   */
+  private static Collection<Method> findMethods(Class<?> clazz) {
+    SSRFClassModel classModel = SSRFClassModel.getModel(clazz);
+    return classModel.isInspectable() ? classModel.getMethods() : findDeclaredAndInheritedMethods(clazz);
+  }
+
   /**
    * Helper method to inspect the indicated Class to find the first declared or
    * inherited WITH setter method for the indicated field type.
@@ -1166,7 +1214,7 @@ public class SSRFUtility {
     /**
      * Push all names to lower case to perform a case-insensitive search.
      */
-    for (Method method : findDeclaredAndInheritedMethods(clazz)) {
+    for (Method method : findMethods(clazz)) {
       if (method.getName().toLowerCase().startsWith("with" + field.getName().toLowerCase())) {
         return method;
       }
@@ -1191,7 +1239,7 @@ public class SSRFUtility {
      * Push all names to lower case to perform a case-insensitive search.
      */
     Set<Method> methods = new HashSet<>();
-    for (Method method : findDeclaredAndInheritedMethods(clazz)) {
+    for (Method method : findMethods(clazz)) {
       if (method.getName().toLowerCase().startsWith("with" + field.getName().toLowerCase())
           && Arrays.asList(method.getParameterTypes()).contains(Collection.class)) {
         methods.add(method);
@@ -1224,7 +1272,7 @@ public class SSRFUtility {
     /**
      * Push all names to lower case to perform a case-insensitive search.
      */
-    for (Method method : findDeclaredAndInheritedMethods(clazz)) {
+    for (Method method : findMethods(clazz)) {
       if (method.getName().toLowerCase().startsWith("with" + field.getName().toLowerCase())) {
         for (Class<?> parameterType : method.getParameterTypes()) {
           if (parameterType.isEnum()) {
@@ -1248,7 +1296,7 @@ public class SSRFUtility {
     /**
      * Push all names to lower case to perform a case-insensitive search.
      */
-    for (Method method : findDeclaredAndInheritedMethods(clazz)) {
+    for (Method method : findMethods(clazz)) {
       if (method.getName().toLowerCase().startsWith("set" + field.getName().toLowerCase())) {
         return method;
       }
@@ -1268,7 +1316,7 @@ public class SSRFUtility {
     /**
      * Push all names to lower case to perform a case-insensitive search.
      */
-    for (Method method : findDeclaredAndInheritedMethods(clazz)) {
+    for (Method method : findMethods(clazz)) {
       if (method.getName().toLowerCase().startsWith("get" + field.getName().toLowerCase())) {
         return method;
       }
@@ -1281,6 +1329,9 @@ public class SSRFUtility {
    * <p>
    * The output of this method is typically either written to a file or sent via
    * a SOAP communication link.
+   * <p>
+   * The output is compact (unformatted). Use
+   * {@link #marshal(Object, SSRFMarshalOptions)} to configure the output.
    *
    * @param <T>   the entity class type
    * @param clazz the entity class to be written
@@ -1288,22 +1339,84 @@ public class SSRFUtility {
    * @throws JAXBException if the entity class cannot be marshaled (serialized)
    */
   public static <T> String marshal(T clazz) throws JAXBException {
-    JAXBContext jaxbContext = org.eclipse.persistence.jaxb.JAXBContextFactory.createContext(new Class<?>[]{clazz.getClass()}, null, null);
-//    JAXBContext jaxbContext = org.eclipse.persistence.jaxb.JAXBContext.newInstance(clazz.getClass());
-    Marshaller marshaller = jaxbContext.createMarshaller();
-    /**
-     * Add newlines to the output. This helps visually inspect the output.
-     */
-    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-    StringWriter stringWriter = new StringWriter();
-    marshaller.marshal(clazz, stringWriter);
-    return stringWriter.toString();
+    return marshal(clazz, SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Marshal an entity class into a XML String representation with the
+   * indicated output options.
+   * <p>
+   * The JAXB context and marshaller are provided by {@link SSRFContextCache}
+   * and are shared between calls. This method is thread safe.
+   *
+   * @param <T>     the entity class type
+   * @param clazz   the entity class to be written
+   * @param options the marshal output options
+   * @return the entity class serialized into XML form
+   * @throws JAXBException if the entity class cannot be marshaled (serialized)
+   */
+  public static <T> String marshal(T clazz, SSRFMarshalOptions options) throws JAXBException {
+    Marshaller marshaller = SSRFContextCache.acquireMarshaller(clazz.getClass());
+    try {
+      options.configure(marshaller);
+      StringWriter stringWriter = new StringWriter(options.getBufferSize());
+      marshaller.marshal(clazz, stringWriter);
+      return stringWriter.toString();
+    } finally {
+      SSRFContextCache.releaseMarshaller(clazz.getClass(), marshaller);
+    }
+  }
+
+  /**
+   * Marshal an entity class as a compact, UTF-8 encoded XML document directly
+   * to an output stream.
+   * <p>
+   * The document is written incrementally and is never held in memory as a
+   * String. The output stream is NOT closed.
+   *
+   * @param <T>          the entity class type
+   * @param clazz        the entity class to be written
+   * @param outputStream the output stream
+   * @throws JAXBException if the entity class cannot be marshaled (serialized)
+   */
+  public static <T> void marshal(T clazz, OutputStream outputStream) throws JAXBException {
+    marshal(clazz, outputStream, SSRFMarshalOptions.getDefault());
+  }
+
+  /**
+   * Marshal an entity class as a XML document directly to an output stream
+   * with the indicated output options.
+   * <p>
+   * Output is written through a buffer of the configured size and flushed on
+   * completion. The output stream is NOT closed.
+   *
+   * @param <T>          the entity class type
+   * @param clazz        the entity class to be written
+   * @param outputStream the output stream
+   * @param options      the marshal output options
+   * @throws JAXBException if the entity class cannot be marshaled (serialized)
+   */
+  public static <T> void marshal(T clazz, OutputStream outputStream, SSRFMarshalOptions options) throws JAXBException {
+    Marshaller marshaller = SSRFContextCache.acquireMarshaller(clazz.getClass());
+    try {
+      options.configure(marshaller);
+      BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream, options.getBufferSize());
+      marshaller.marshal(clazz, bufferedOutputStream);
+      bufferedOutputStream.flush();
+    } catch (IOException ex) {
+      throw new JAXBException("Failed to flush XML output: " + ex.getMessage(), ex);
+    } finally {
+      SSRFContextCache.releaseMarshaller(clazz.getClass(), marshaller);
+    }
   }
 
   /**
    * Parse an XML file into a container class. This method calls the JAXB
    * un-marshaler and returns a class containing all of the content defined in
    * the XML file.
+   * <p>
+   * The JAXB context and unmarshaller are provided by {@link SSRFContextCache}
+   * and are shared between calls. This method is thread safe.
    *
    * @param <T>   the class type to be returned
    * @param xml   the XML source content
@@ -1314,8 +1427,38 @@ public class SSRFUtility {
    *                       type
    */
   public static <T> T unmarshal(String xml, Class<T> clazz) throws JAXBException {
-    Unmarshaller unmarshaller = JAXBContext.newInstance(clazz).createUnmarshaller();
-    return clazz.cast(unmarshaller.unmarshal(new ByteArrayInputStream(xml.getBytes())));
+    Unmarshaller unmarshaller = SSRFContextCache.acquireUnmarshaller(clazz);
+    try {
+      /**
+       * Read the String directly. Encoding the String to bytes (with the
+       * platform default charset) requires a full copy of the document.
+       */
+      return clazz.cast(unmarshaller.unmarshal(new StringReader(xml)));
+    } finally {
+      SSRFContextCache.releaseUnmarshaller(clazz, unmarshaller);
+    }
+  }
+
+  /**
+   * Parse an XML document from an input stream into a container class.
+   * <p>
+   * The document character encoding is read from the XML declaration (UTF-8
+   * if not declared). The input stream is NOT closed.
+   *
+   * @param <T>         the class type to be returned
+   * @param inputStream the XML source content
+   * @param clazz       the parsed and populated class type; this is the same as
+   *                    the class type that is returned
+   * @return the XML source parsed into the identified class type
+   * @throws JAXBException if the XML source does not match the input class type
+   */
+  public static <T> T unmarshal(InputStream inputStream, Class<T> clazz) throws JAXBException {
+    Unmarshaller unmarshaller = SSRFContextCache.acquireUnmarshaller(clazz);
+    try {
+      return clazz.cast(unmarshaller.unmarshal(inputStream));
+    } finally {
+      SSRFContextCache.releaseUnmarshaller(clazz, unmarshaller);
+    }
   }
 
 }
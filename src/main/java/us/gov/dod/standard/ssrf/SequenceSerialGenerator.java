@@ -0,0 +1,245 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The default serial generator: a node identifier plus a time-seeded
+ * sequence.
+ * <p>
+ * Each Serial Identifier is fifteen upper-case base-36 characters: three for
+ * the node identifier (0 through 46,655) followed by twelve for a sequence
+ * number. The sequence starts at the current time in milliseconds multiplied
+ * by 2^20, so a restarted JVM resumes above every value it could have issued
+ * before unless it averaged more than a million serials per millisecond. The
+ * sequence range lasts until about the year 2110.
+ * <p>
+ * Serials from different nodes never collide. Set a distinct node identifier
+ * on every JVM in a cluster with the system property
+ * <code>us.gov.dod.standard.ssrf.nodeId</code>. Without it the node identifier
+ * is derived from the local host address plus the process identifier, and a
+ * WARNING is logged. JVMs on the same host then always have distinct node
+ * identifiers (process identifiers differ by less than 46,656), and a
+ * restarted JVM resumes its sequence as above. JVMs on different hosts
+ * however share a node identifier with probability 1 in 46,656 (and more
+ * likely in larger clusters), and may then issue the same serials. If the
+ * host address or process identifier cannot be read a random value is used
+ * in its place.
+ * <p>
+ * Threads take sequence numbers in blocks of {@link #BLOCK_SIZE}, so bulk
+ * creation touches the shared counter once per block and never waits on a
+ * random number generator.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SequenceSerialGenerator implements ISerialGenerator {
+
+  private static final Logger logger = Logger.getLogger(SequenceSerialGenerator.class.getName());
+
+  /**
+   * "us.gov.dod.standard.ssrf.nodeId". The system property used to set the
+   * node identifier.
+   */
+  public static final String NODE_ID_PROPERTY = "us.gov.dod.standard.ssrf.nodeId";
+  /**
+   * 46,656 (36^3). The number of node identifiers.
+   */
+  public static final int MAX_NODES = 36 * 36 * 36;
+  /**
+   * 1,024. The number of sequence numbers a thread takes at a time.
+   */
+  public static final int BLOCK_SIZE = 1024;
+  /**
+   * 10,000. Index values restart from one above this value. Index values are
+   * UN6 and need only be unique within a document.
+   */
+  public static final int MAX_INDEX = 10000;
+
+  /**
+   * 36^12. The sequence range.
+   */
+  private static final long SEQUENCE_LIMIT = 4738381338321616896L;
+  /**
+   * 20. The number of sequence bits per millisecond of start time.
+   */
+  private static final int SEQUENCE_SHIFT = 20;
+  /**
+   * "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ". The base-36 digits.
+   */
+  private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+  /**
+   * The node identifier, as three base-36 digits.
+   */
+  private final char[] node;
+  /**
+   * The next unallocated sequence block.
+   */
+  private final AtomicLong sequence;
+  /**
+   * The current sequence block of each thread: {next, limit}.
+   */
+  private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+  /**
+   * The last index value.
+   */
+  private final AtomicInteger index = new AtomicInteger();
+
+  /**
+   * Construct a new generator with the node identifier set by the
+   * <code>us.gov.dod.standard.ssrf.nodeId</code> system property, or a node
+   * identifier derived from the host address and process identifier (with a
+   * logged WARNING) if not set.
+   *
+   * @throws IllegalArgumentException if the system property is not a number
+   *                                  between 0 and 46,655
+   */
+  public SequenceSerialGenerator() {
+    this(defaultNodeId());
+  }
+
+  /**
+   * Construct a new generator with the indicated node identifier.
+   *
+   * @param nodeId the node identifier, unique within the cluster. 0 through
+   *               46,655.
+   * @throws IllegalArgumentException if the node identifier is out of range
+   */
+  public SequenceSerialGenerator(int nodeId) {
+    if (nodeId < 0 || nodeId >= MAX_NODES) {
+      throw new IllegalArgumentException("Node identifier must be between 0 and " + (MAX_NODES - 1) + ". Found " + nodeId + ".");
+    }
+    this.node = new char[]{DIGITS[nodeId / 1296], DIGITS[nodeId / 36 % 36], DIGITS[nodeId % 36]};
+    this.sequence = new AtomicLong(System.currentTimeMillis() << SEQUENCE_SHIFT);
+  }
+
+  /**
+   * Get the node identifier.
+   *
+   * @return the node identifier
+   */
+  public int getNodeId() {
+    return Character.digit(node[0], 36) * 1296 + Character.digit(node[1], 36) * 36 + Character.digit(node[2], 36);
+  }
+
+  /**
+   * Get the next Serial Identifier: the node identifier plus the next
+   * sequence number.
+   *
+   * @param datasetType the dataset type. Not used; the sequence is shared by
+   *                    all dataset types.
+   * @return a fifteen character, upper-case base-36 serial
+   */
+  @Override
+  public String nextSerial(EDatasetType datasetType) {
+    long[] current = block.get();
+    if (current[0] == current[1]) {
+      current[0] = sequence.getAndAdd(BLOCK_SIZE);
+      current[1] = current[0] + BLOCK_SIZE;
+      if (current[1] > SEQUENCE_LIMIT) {
+        throw new IllegalStateException("Serial sequence exhausted.");
+      }
+    }
+    long value = current[0]++;
+    char[] serial = new char[15];
+    serial[0] = node[0];
+    serial[1] = node[1];
+    serial[2] = node[2];
+    for (int i = 14; i > 2; i--) {
+      serial[i] = DIGITS[(int) (value % 36)];
+      value /= 36;
+    }
+    return new String(serial);
+  }
+
+  /**
+   * Get the next index value. Values increment by one from one (1) and
+   * restart from one after {@link #MAX_INDEX}.
+   *
+   * @return the next index value
+   */
+  @Override
+  public BigInteger nextIndex() {
+    return BigInteger.valueOf(index.updateAndGet(i -> i >= MAX_INDEX ? 1 : i + 1));
+  }
+
+  /**
+   * Internal method to read the node identifier system property, or derive a
+   * node identifier from the host address and process identifier. A derived
+   * node identifier is not guaranteed unique within a multi-host cluster and
+   * is therefore reported.
+   *
+   * @return the node identifier
+   */
+  private static int defaultNodeId() {
+    String nodeId = System.getProperty(NODE_ID_PROPERTY);
+    if (nodeId == null || nodeId.trim().isEmpty()) {
+      int derivedNodeId = (int) Math.floorMod((long) hostHash() + processId(), MAX_NODES);
+      logger.log(Level.WARNING, "{0} is not set. Using node identifier {1} derived from the host address and process identifier; serials may collide with JVMs on other hosts. Set a distinct {0} on each JVM.", new Object[]{NODE_ID_PROPERTY, String.valueOf(derivedNodeId)});
+      return derivedNodeId;
+    }
+    try {
+      return Integer.parseInt(nodeId.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException("Invalid " + NODE_ID_PROPERTY + " value \"" + nodeId + "\".", ex);
+    }
+  }
+
+  /**
+   * Internal method to get a hash of the local host address, or a random
+   * value if the address cannot be read.
+   *
+   * @return the host address hash
+   */
+  private static int hostHash() {
+    try {
+      return Arrays.hashCode(InetAddress.getLocalHost().getAddress());
+    } catch (UnknownHostException | SecurityException ex) {
+      return new SecureRandom().nextInt();
+    }
+  }
+
+  /**
+   * Internal method to get the process identifier, or a random value if it
+   * cannot be read. The JVM name is "pid@hostname" on the common JVMs.
+   *
+   * @return the process identifier
+   */
+  private static int processId() {
+    String name = ManagementFactory.getRuntimeMXBean().getName();
+    try {
+      return Integer.parseInt(name.substring(0, name.indexOf('@')));
+    } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+      return new SecureRandom().nextInt(MAX_NODES);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SequenceSerialGenerator node [" + new String(node) + "] blockSize [" + BLOCK_SIZE + "]";
+  }
+}
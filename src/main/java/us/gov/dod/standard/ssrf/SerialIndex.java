@@ -0,0 +1,303 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.*;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Serial;
+
+/**
+ * Serial number index of the datasets in a SSRF message.
+ * <p>
+ * SSRF datasets refer to each other by SERIAL number. After reading from XML
+ * the postLoad(SSRF) methods resolve these references to the referenced
+ * dataset instances. This index maps every dataset in a SSRF (SchemaRoot)
+ * instance by its SERIAL number value, partitioned by dataset type, so that
+ * each reference is resolved with a single hash lookup instead of a scan of
+ * the root dataset lists.
+ * <p>
+ * The index is built by {@link SSRFUtility#postLoad(SSRF)} and is available
+ * from {@link SSRF#getSerialIndex()}, which rebuilds it when datasets have
+ * been added to or removed from the root instance since (see
+ * {@link #isCurrent(SchemaRoot)}). An index obtained from {@link #of(SchemaRoot)}
+ * is otherwise a snapshot of the root content.
+ * <p>
+ * References are matched on the full SERIAL number value (e.g.
+ * "USA:ORG:AS:12345"). Where two datasets of the same type share a SERIAL
+ * number the first one indexed is kept.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SerialIndex {
+
+  /**
+   * The dataset types, keyed by two-character code.
+   */
+  private static final Map<String, EDatasetType> TYPE_CODES = new HashMap<>();
+
+  static {
+    for (EDatasetType datasetType : EDatasetType.values()) {
+      TYPE_CODES.put(datasetType.name(), datasetType);
+    }
+  }
+
+  /**
+   * The datasets keyed by SERIAL number value, partitioned by dataset type.
+   */
+  private final Map<EDatasetType, Map<String, Common<?>>> partitions = new EnumMap<>(EDatasetType.class);
+  /**
+   * The total number of indexed datasets.
+   */
+  private int size;
+  /**
+   * The number of datasets in the root instance when the index was built,
+   * including those without a SERIAL number or with a duplicate one.
+   */
+  private int datasetCount;
+
+  /**
+   * Build a new, empty index. Use {@link #of(SchemaRoot)}.
+   */
+  private SerialIndex() {
+  }
+
+  /**
+   * Build an index of all the datasets in a SSRF (SchemaRoot) instance.
+   *
+   * @param root the SSRF root instance
+   * @return a new serial index
+   */
+  public static SerialIndex of(SchemaRoot<?> root) {
+    SerialIndex index = new SerialIndex();
+    for (Collection<?> datasets : getDatasets(root)) {
+      index.datasetCount += datasets.size();
+      for (Object entry : datasets) {
+        if (entry instanceof Common) {
+          index.add((Common<?>) entry);
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Determine if this index still reflects the content of a SSRF (SchemaRoot)
+   * instance. The number of datasets in the root instance is compared with the
+   * number present when the index was built, so adding or removing datasets
+   * is detected but replacing one dataset with another is not; call
+   * {@link SSRF#buildSerialIndex()} after such a change.
+   *
+   * @param root the SSRF root instance the index was built from
+   * @return TRUE if the root instance holds as many datasets as when the index
+   *         was built
+   */
+  public boolean isCurrent(SchemaRoot<?> root) {
+    int count = 0;
+    for (Collection<?> datasets : getDatasets(root)) {
+      count += datasets.size();
+    }
+    return count == datasetCount;
+  }
+
+  /**
+   * Internal method to list the dataset collections of a SSRF (SchemaRoot)
+   * instance. The collections are read directly; the SchemaRoot getters create
+   * empty collections for datasets that are not present.
+   *
+   * @param root the SSRF root instance
+   * @return the dataset collections present in the root instance
+   */
+  private static List<Collection<?>> getDatasets(SchemaRoot<?> root) {
+    List<Collection<?>> datasets = new ArrayList<>();
+    for (SSRFClassModel.FieldModel field : SSRFClassModel.getModel(root.getClass()).getFields()) {
+      Object fieldValue = field.get(root);
+      if (fieldValue instanceof Collection) {
+        datasets.add((Collection<?>) fieldValue);
+      }
+    }
+    return datasets;
+  }
+
+  /**
+   * Internal method to add a dataset to the index.
+   *
+   * @param dataset the dataset
+   */
+  private void add(Common<?> dataset) {
+    Serial serial = dataset.getSerial();
+    EDatasetType datasetType = EDatasetType.fromInstance(dataset.getClass());
+    if (serial == null || serial.getValue() == null || datasetType == null) {
+      return;
+    }
+    if (partitions.computeIfAbsent(datasetType, t -> new HashMap<>()).putIfAbsent(serial.getValue(), dataset) == null) {
+      size++;
+    }
+  }
+
+  /**
+   * Find the dataset having a SERIAL number. The dataset type is read from the
+   * third part of the SERIAL number.
+   *
+   * @param serial the SERIAL number. Can be null.
+   * @return the dataset, NULL if not found
+   */
+  public Common<?> find(Serial serial) {
+    return serial != null ? find(serial.getValue()) : null;
+  }
+
+  /**
+   * Find the dataset having a SERIAL number value. The dataset type is read
+   * from the third part of the SERIAL number.
+   *
+   * @param serial the SERIAL number value (e.g. "USA:ORG:AS:12345"). Can be
+   *               null.
+   * @return the dataset, NULL if not found
+   */
+  public Common<?> find(String serial) {
+    if (serial == null) {
+      return null;
+    }
+    EDatasetType datasetType = getDatasetType(serial);
+    if (datasetType != null) {
+      Map<String, Common<?>> partition = partitions.get(datasetType);
+      return partition != null ? partition.get(serial) : null;
+    }
+    /**
+     * Malformed SERIAL number: try every partition.
+     */
+    for (Map<String, Common<?>> partition : partitions.values()) {
+      Common<?> dataset = partition.get(serial);
+      if (dataset != null) {
+        return dataset;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Find the dataset of a certain type having a SERIAL number.
+   *
+   * @param <T>    the dataset type
+   * @param serial the SERIAL number. Can be null.
+   * @param type   the dataset class type (e.g. Location.class)
+   * @return the dataset, NULL if not found or not of the indicated type
+   */
+  public <T extends Common<?>> T find(Serial serial, Class<T> type) {
+    return serial != null ? find(serial.getValue(), type) : null;
+  }
+
+  /**
+   * Find the dataset of a certain type having a SERIAL number value.
+   *
+   * @param <T>    the dataset type
+   * @param serial the SERIAL number value. Can be null.
+   * @param type   the dataset class type (e.g. Location.class)
+   * @return the dataset, NULL if not found or not of the indicated type
+   */
+  public <T extends Common<?>> T find(String serial, Class<T> type) {
+    if (serial == null) {
+      return null;
+    }
+    Map<String, Common<?>> partition = partitions.get(EDatasetType.fromInstance(type));
+    Common<?> dataset = partition != null ? partition.get(serial) : null;
+    return type.isInstance(dataset) ? type.cast(dataset) : null;
+  }
+
+  /**
+   * Find the datasets of a certain type having any of the indicated SERIAL
+   * numbers.
+   *
+   * @param <T>     the dataset type
+   * @param serials the SERIAL numbers. Can be null.
+   * @param type    the dataset class type (e.g. Location.class)
+   * @return a new list of the datasets found, in SERIAL number iteration order
+   */
+  public <T extends Common<?>> List<T> findAll(Collection<Serial> serials, Class<T> type) {
+    if (serials == null || serials.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<T> datasets = new ArrayList<>(serials.size());
+    for (Serial serial : serials) {
+      T dataset = find(serial, type);
+      if (dataset != null) {
+        datasets.add(dataset);
+      }
+    }
+    return datasets;
+  }
+
+  /**
+   * Find the datasets of any type having any of the indicated SERIAL numbers.
+   *
+   * @param serials the SERIAL numbers. Can be null.
+   * @return a new list of the datasets found, in SERIAL number iteration order
+   */
+  public List<Common<?>> findAll(Collection<Serial> serials) {
+    if (serials == null || serials.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Common<?>> datasets = new ArrayList<>(serials.size());
+    for (Serial serial : serials) {
+      Common<?> dataset = find(serial);
+      if (dataset != null) {
+        datasets.add(dataset);
+      }
+    }
+    return datasets;
+  }
+
+  /**
+   * Get the indexed datasets of a dataset type.
+   *
+   * @param datasetType the dataset type
+   * @return an unmodifiable view of the datasets of the indicated type, keyed
+   *         by SERIAL number value
+   */
+  public Map<String, Common<?>> getPartition(EDatasetType datasetType) {
+    Map<String, Common<?>> partition = partitions.get(datasetType);
+    return partition != null ? Collections.unmodifiableMap(partition) : Collections.<String, Common<?>>emptyMap();
+  }
+
+  /**
+   * Get the total number of indexed datasets.
+   *
+   * @return the number of datasets
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Internal method to read the dataset type code (third part) of a SERIAL
+   * number value.
+   *
+   * @param serial the SERIAL number value
+   * @return the dataset type, NULL if the value is malformed
+   */
+  private static EDatasetType getDatasetType(String serial) {
+    int first = serial.indexOf(':');
+    int second = first >= 0 ? serial.indexOf(':', first + 1) : -1;
+    int third = second >= 0 ? serial.indexOf(':', second + 1) : -1;
+    return third >= 0 ? TYPE_CODES.get(serial.substring(second + 1, third)) : null;
+  }
+
+  @Override
+  public String toString() {
+    return "SerialIndex size [" + size + "] partitions " + partitions.keySet();
+  }
+}
@@ -0,0 +1,1175 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.*;
+import java.util.stream.Stream;
+import us.gov.dod.standard.ssrf._3_1.*;
+import us.gov.dod.standard.ssrf._3_1.assignment.Station;
+import us.gov.dod.standard.ssrf._3_1.assignment.StationLoc;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntry;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntryLocation;
+import us.gov.dod.standard.ssrf._3_1.location.Ellipse;
+import us.gov.dod.standard.ssrf._3_1.location.Point;
+import us.gov.dod.standard.ssrf._3_1.location.Polygon;
+import us.gov.dod.standard.ssrf._3_1.location.PolygonPoint;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Lat;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Lon;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.TString;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCBO;
+
+/**
+ * Spatial index of the geographic areas of the datasets in a SSRF message.
+ * <p>
+ * This index holds one row for each geographic area a dataset declares or
+ * refers to:
+ * <ul>
+ * <li>Location: its Points, Polygons and Ellipses, including those of nested
+ * Locations</li>
+ * <li>Assignment: the Location of each Station StationLoc (LocSatRef, with the
+ * LocationRadius) and the service volume Location (ServiceVolumeLocRef, with
+ * the ServiceVolumeRadius)</li>
+ * <li>JRFL: the Location of each JRFLEntryLocation</li>
+ * <li>IntfReport: the victim and source positions</li>
+ * </ul>
+ * and answers radius and bounding-box queries with the owning dataset.
+ * <p>
+ * Each row is reduced to a bounding box and the boxes are bulk-loaded into a
+ * packed R-tree (Sort-Tile-Recursive), so a query visits only the tree nodes
+ * whose boxes meet the query area. Candidate rows are then refined against
+ * the exact shapes: great-circle distance to Points, point-in-polygon and
+ * distance to the edges of Polygons, and distance to the perimeter of
+ * Ellipses. Distances to Polygons and Ellipses are computed in a local
+ * equirectangular projection, which is accurate for areas up to a few hundred
+ * kilometres across.
+ * <p>
+ * Shapes marked Excluded punch holes in the included shapes of their
+ * Location: a query point inside an excluded shape is as far from the
+ * Location as from the excluded shape boundary. Bounding-box queries ignore
+ * excluded shapes. Areas crossing the 180th meridian are supported.
+ * <p>
+ * The index is a snapshot: datasets added, removed or changed afterwards are
+ * not reflected until the index is rebuilt. It is immutable and may be shared
+ * between threads.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SpatialIndex {
+
+  /**
+   * 6,371.0088 km. The mean Earth radius.
+   */
+  public static final double EARTH_RADIUS_KM = 6371.0088;
+  /**
+   * The length of one degree of a great circle (km).
+   */
+  private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+  /**
+   * 16. The number of children of each R-tree node.
+   */
+  private static final int NODE_CAPACITY = 16;
+  /**
+   * 36. The number of sides of the polygon approximating an Ellipse in
+   * bounding-box queries.
+   */
+  private static final int ELLIPSE_SIDES = 36;
+
+  /**
+   * The rows, in R-tree leaf order.
+   */
+  private final Entry[] entries;
+  /**
+   * The bounding boxes of each R-tree level {minLat, minLon, maxLat, maxLon}.
+   * Level zero holds the rows; the last level holds the root.
+   */
+  private final double[][] boxes;
+  /**
+   * The children of each R-tree node {first, end} in the level below. Level
+   * zero (the rows) has no children.
+   */
+  private final int[][] children;
+
+  /**
+   * Build a new index of rows. Use {@link #of(SchemaRoot)} or
+   * {@link #of(Stream)}.
+   *
+   * @param rows the index rows, in any order
+   */
+  private SpatialIndex(List<Entry> rows) {
+    int n = rows.size();
+    double[] rowBoxes = new double[4 * n];
+    for (int i = 0; i < n; i++) {
+      Entry entry = rows.get(i);
+      rowBoxes[4 * i] = entry.minLat;
+      rowBoxes[4 * i + 1] = entry.minLon;
+      rowBoxes[4 * i + 2] = entry.maxLat;
+      rowBoxes[4 * i + 3] = entry.maxLon;
+    }
+    int[] order = sortTileRecursive(rowBoxes, n);
+    this.entries = new Entry[n];
+    List<double[]> levelBoxes = new ArrayList<>();
+    List<int[]> levelChildren = new ArrayList<>();
+    double[] level = new double[4 * n];
+    for (int i = 0; i < n; i++) {
+      entries[i] = rows.get(order[i]);
+      System.arraycopy(rowBoxes, 4 * order[i], level, 4 * i, 4);
+    }
+    levelBoxes.add(level);
+    levelChildren.add(new int[0]);
+    /**
+     * Pack each level into parent nodes of up to NODE_CAPACITY consecutive
+     * children, then tile the parents for the next level up, until a single
+     * root node remains.
+     */
+    int count = n;
+    while (count > 1 || count == 1 && levelBoxes.size() == 1) {
+      int parents = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+      double[] parentBoxes = new double[4 * parents];
+      int[] parentChildren = new int[2 * parents];
+      for (int p = 0; p < parents; p++) {
+        int first = p * NODE_CAPACITY;
+        int end = Math.min(first + NODE_CAPACITY, count);
+        parentChildren[2 * p] = first;
+        parentChildren[2 * p + 1] = end;
+        System.arraycopy(level, 4 * first, parentBoxes, 4 * p, 4);
+        for (int c = first + 1; c < end; c++) {
+          union(parentBoxes, p, level, c);
+        }
+      }
+      int[] parentOrder = sortTileRecursive(parentBoxes, parents);
+      level = new double[4 * parents];
+      int[] levelChild = new int[2 * parents];
+      for (int p = 0; p < parents; p++) {
+        System.arraycopy(parentBoxes, 4 * parentOrder[p], level, 4 * p, 4);
+        levelChild[2 * p] = parentChildren[2 * parentOrder[p]];
+        levelChild[2 * p + 1] = parentChildren[2 * parentOrder[p] + 1];
+      }
+      levelBoxes.add(level);
+      levelChildren.add(levelChild);
+      count = parents;
+    }
+    this.boxes = levelBoxes.toArray(new double[levelBoxes.size()][]);
+    this.children = levelChildren.toArray(new int[levelChildren.size()][]);
+  }
+
+  /**
+   * Build an index of the geographic areas of all the datasets in a SSRF
+   * (SchemaRoot) instance. Assignment service volume references are resolved
+   * through the root serial index.
+   *
+   * @param root the SSRF root instance
+   * @return a new spatial index
+   */
+  public static SpatialIndex of(SchemaRoot<?> root) {
+    SerialIndex serialIndex = root instanceof SSRF ? ((SSRF) root).getSerialIndex() : SerialIndex.of(root);
+    Builder builder = new Builder(serialIndex);
+    /**
+     * Read the dataset collections directly; the SchemaRoot getters create
+     * empty collections for datasets that are not present.
+     */
+    for (SSRFClassModel.FieldModel field : SSRFClassModel.getModel(root.getClass()).getFields()) {
+      Object fieldValue = field.get(root);
+      if (fieldValue instanceof Collection) {
+        for (Object entry : (Collection<?>) fieldValue) {
+          if (entry instanceof Common) {
+            builder.addRows((Common<?>) entry);
+          }
+        }
+      }
+    }
+    return new SpatialIndex(builder.rows);
+  }
+
+  /**
+   * Build an index of the geographic areas of a stream of datasets; for
+   * example the records read by {@link SSRFRecordReader#stream()}. Only
+   * references already resolved to dataset instances (e.g. StationLoc
+   * LocSatRef) are followed.
+   *
+   * @param records the datasets
+   * @return a new spatial index
+   */
+  public static SpatialIndex of(Stream<? extends Common<?>> records) {
+    Builder builder = new Builder(null);
+    records.forEachOrdered(builder::addRows);
+    return new SpatialIndex(builder.rows);
+  }
+
+  /**
+   * Build an index of the geographic areas of a collection of datasets.
+   *
+   * @param records the datasets
+   * @return a new spatial index
+   */
+  public static SpatialIndex of(Collection<? extends Common<?>> records) {
+    return of(records.stream());
+  }
+
+  /**
+   * Build an index of the geographic areas of a collection of datasets,
+   * resolving Assignment service volume references through a serial index.
+   *
+   * @param records     the datasets
+   * @param serialIndex the serial index of the SSRF message holding the
+   *                    datasets
+   * @return a new spatial index
+   */
+  public static SpatialIndex of(Collection<? extends Common<?>> records, SerialIndex serialIndex) {
+    Builder builder = new Builder(serialIndex);
+    records.forEach(builder::addRows);
+    return new SpatialIndex(builder.rows);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Query">
+  /**
+   * Find the rows whose area lies within a distance of a position.
+   *
+   * @param lat      the position latitude (decimal degrees)
+   * @param lon      the position longitude (decimal degrees)
+   * @param radiusKm the search radius (km). Zero finds the areas containing
+   *                 the position.
+   * @return a new list of the rows found, nearest first
+   */
+  public List<Entry> findWithin(double lat, double lon, double radiusKm) {
+    double latSpan = radiusKm / KM_PER_DEGREE;
+    double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(lat) + latSpan)));
+    double lonSpan = cos * 180 > latSpan ? latSpan / cos : 180;
+    BitSet candidates = search(lat - latSpan, lon - lonSpan, lat + latSpan, lon + lonSpan);
+    List<Entry> found = new ArrayList<>();
+    List<Double> distances = new ArrayList<>();
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      double distance = entries[i].distanceKm(lat, lon);
+      if (distance <= radiusKm) {
+        found.add(entries[i]);
+        distances.add(distance);
+      }
+    }
+    Integer[] order = new Integer[found.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(distances::get));
+    List<Entry> sorted = new ArrayList<>(order.length);
+    for (Integer i : order) {
+      sorted.add(found.get(i));
+    }
+    return sorted;
+  }
+
+  /**
+   * Find the datasets having an area that lies within a distance of a
+   * position.
+   *
+   * @param lat      the position latitude (decimal degrees)
+   * @param lon      the position longitude (decimal degrees)
+   * @param radiusKm the search radius (km)
+   * @return a new set of the datasets found, nearest first
+   */
+  public Set<Common<?>> findRecordsWithin(double lat, double lon, double radiusKm) {
+    Set<Common<?>> records = new LinkedHashSet<>();
+    for (Entry entry : findWithin(lat, lon, radiusKm)) {
+      records.add(entry.getRecord());
+    }
+    return records;
+  }
+
+  /**
+   * Find the rows whose area intersects a latitude / longitude box. A box
+   * whose minimum longitude is greater than its maximum longitude crosses the
+   * 180th meridian.
+   *
+   * @param minLat the box minimum latitude (decimal degrees)
+   * @param minLon the box minimum (western) longitude (decimal degrees)
+   * @param maxLat the box maximum latitude (decimal degrees)
+   * @param maxLon the box maximum (eastern) longitude (decimal degrees)
+   * @return a new list of the rows found, in no particular order
+   */
+  public List<Entry> findIntersecting(double minLat, double minLon, double maxLat, double maxLon) {
+    double east = maxLon < minLon ? maxLon + 360 : maxLon;
+    BitSet candidates = search(minLat, minLon, maxLat, east);
+    List<Entry> found = new ArrayList<>();
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      for (int shift = -360; shift <= 360; shift += 360) {
+        if (entries[i].intersects(minLat, minLon + shift, maxLat, east + shift)) {
+          found.add(entries[i]);
+          break;
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Get all the index rows.
+   *
+   * @return an unmodifiable list of the rows
+   */
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(Arrays.asList(entries));
+  }
+
+  /**
+   * Get the number of index rows.
+   *
+   * @return the number of geographic areas
+   */
+  public int size() {
+    return entries.length;
+  }
+
+  /**
+   * Calculate the great-circle distance between two positions.
+   *
+   * @param lat1 the first latitude (decimal degrees)
+   * @param lon1 the first longitude (decimal degrees)
+   * @param lat2 the second latitude (decimal degrees)
+   * @param lon2 the second longitude (decimal degrees)
+   * @return the distance (km)
+   */
+  public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+    double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+    double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+    double h = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Packed R-tree">
+  /**
+   * Internal method to collect the rows whose bounding box intersects a query
+   * box. Row boxes may extend past the 180th meridian, so the query box is
+   * also tried one turn east and west.
+   *
+   * @return the row numbers
+   */
+  private BitSet search(double minLat, double minLon, double maxLat, double maxLon) {
+    BitSet found = new BitSet(entries.length);
+    if (entries.length == 0) {
+      return found;
+    }
+    int top = boxes.length - 1;
+    int[] stack = new int[2 * (NODE_CAPACITY * boxes.length + 1)];
+    for (int shift = -360; shift <= 360; shift += 360) {
+      double west = minLon + shift;
+      double east = maxLon + shift;
+      if (!intersects(boxes[top], 0, minLat, west, maxLat, east)) {
+        continue;
+      }
+      int size = 0;
+      stack[size++] = top;
+      stack[size++] = 0;
+      while (size > 0) {
+        int node = stack[--size];
+        int level = stack[--size];
+        if (level == 0) {
+          found.set(node);
+          continue;
+        }
+        double[] below = boxes[level - 1];
+        for (int c = children[level][2 * node]; c < children[level][2 * node + 1]; c++) {
+          if (intersects(below, c, minLat, west, maxLat, east)) {
+            if (size + 2 > stack.length) {
+              stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = level - 1;
+            stack[size++] = c;
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Internal method to order boxes for packing: sort by longitude centre into
+   * vertical slices of about sqrt(n / NODE_CAPACITY) nodes, then by latitude
+   * centre within each slice.
+   *
+   * @param boxes the boxes
+   * @param count the number of boxes
+   * @return the box numbers in packing order
+   */
+  private static int[] sortTileRecursive(double[] boxes, int count) {
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = sortKey(boxes[4 * i + 1] + boxes[4 * i + 3], i);
+    }
+    Arrays.sort(keys);
+    int nodes = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+    int sliceSize = (int) Math.ceil(Math.sqrt(nodes)) * NODE_CAPACITY;
+    for (int first = 0; first < count; first += sliceSize) {
+      int end = Math.min(first + sliceSize, count);
+      for (int j = first; j < end; j++) {
+        int i = (int) keys[j];
+        keys[j] = sortKey(boxes[4 * i] + boxes[4 * i + 2], i);
+      }
+      Arrays.sort(keys, first, end);
+    }
+    int[] order = new int[count];
+    for (int j = 0; j < count; j++) {
+      order[j] = (int) keys[j];
+    }
+    return order;
+  }
+
+  /**
+   * Internal method to pack a sort value and a box number into a primitive
+   * sort key. The value is reduced to float precision, which is ample for
+   * tiling.
+   *
+   * @param value the sort value
+   * @param index the box number
+   * @return a key ordering by value, then box number
+   */
+  private static long sortKey(double value, int index) {
+    int bits = Float.floatToIntBits((float) value);
+    bits ^= (bits >> 31) & 0x7fffffff;
+    return (long) bits << 32 | index;
+  }
+
+  /**
+   * Internal method to extend box p to include box c.
+   */
+  private static void union(double[] target, int p, double[] source, int c) {
+    target[4 * p] = Math.min(target[4 * p], source[4 * c]);
+    target[4 * p + 1] = Math.min(target[4 * p + 1], source[4 * c + 1]);
+    target[4 * p + 2] = Math.max(target[4 * p + 2], source[4 * c + 2]);
+    target[4 * p + 3] = Math.max(target[4 * p + 3], source[4 * c + 3]);
+  }
+
+  /**
+   * Internal method to determine if box i intersects a query box.
+   */
+  private static boolean intersects(double[] boxes, int i, double minLat, double minLon, double maxLat, double maxLon) {
+    return boxes[4 * i] <= maxLat && boxes[4 * i + 2] >= minLat
+           && boxes[4 * i + 1] <= maxLon && boxes[4 * i + 3] >= minLon;
+  }//</editor-fold>
+
+  /**
+   * Internal method to read a TString Yes / No value.
+   *
+   * @param value the value. Can be null.
+   * @return TRUE if the value is "Yes"
+   */
+  private static boolean isYes(TString value) {
+    return value != null && ListCBO.YES.value().equalsIgnoreCase(value.getValue());
+  }
+
+  /**
+   * Internal method to read a latitude value.
+   *
+   * @param value the latitude
+   * @return the latitude (decimal degrees)
+   */
+  private static double toDouble(Lat value) {
+    return value.getValue().doubleValue();
+  }
+
+  /**
+   * Internal method to read a longitude value.
+   *
+   * @param value the longitude
+   * @return the longitude (decimal degrees)
+   */
+  private static double toDouble(Lon value) {
+    return value.getValue().doubleValue();
+  }
+
+  /**
+   * Internal method to normalize a longitude difference to [-180, 180].
+   */
+  private static double normalize(double degrees) {
+    double d = degrees % 360;
+    return d > 180 ? d - 360 : d < -180 ? d + 360 : d;
+  }
+
+  @Override
+  public String toString() {
+    return "SpatialIndex size [" + entries.length + "] levels [" + boxes.length + "]";
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Row Extraction">
+  /**
+   * Collects the index rows, flattening each Location once.
+   */
+  private static final class Builder {
+
+    /**
+     * The serial index used to resolve service volume references. Can be
+     * null.
+     */
+    private final SerialIndex serialIndex;
+    /**
+     * The flattened shapes of each Location: {included, excluded}.
+     */
+    private final Map<Location, Shape[][]> shapes = new IdentityHashMap<>();
+    /**
+     * The index rows.
+     */
+    private final List<Entry> rows = new ArrayList<>();
+
+    private Builder(SerialIndex serialIndex) {
+      this.serialIndex = serialIndex;
+    }
+
+    /**
+     * Add the geographic areas of a dataset.
+     *
+     * @param record the dataset
+     */
+    private void addRows(Common<?> record) {
+      if (record instanceof Location) {
+        addRow(record, (Location) record, record, 0);
+      } else if (record instanceof Assignment) {
+        Assignment assignment = (Assignment) record;
+        if (assignment.isSetStation()) {
+          for (Station station : assignment.getStation()) {
+            if (station.isSetStationLoc()) {
+              for (StationLoc stationLoc : station.getStationLoc()) {
+                addStationLoc(record, stationLoc);
+              }
+            }
+          }
+        }
+      } else if (record instanceof JRFL) {
+        JRFL jrfl = (JRFL) record;
+        if (jrfl.isSetJRFLEntry()) {
+          for (JRFLEntry jrflEntry : jrfl.getJRFLEntry()) {
+            if (jrflEntry.isSetJRFLEntryLocation()) {
+              for (JRFLEntryLocation jrflEntryLocation : jrflEntry.getJRFLEntryLocation()) {
+                addRow(record, jrflEntryLocation.getLocation(), jrflEntryLocation, 0);
+              }
+            }
+          }
+        }
+      } else if (record instanceof IntfReport) {
+        IntfReport intfReport = (IntfReport) record;
+        if (intfReport.isSetVictimLat() && intfReport.isSetVictimLon()) {
+          addPoint(record, toDouble(intfReport.getVictimLat()), toDouble(intfReport.getVictimLon()));
+        }
+        if (intfReport.isSetSourceLat() && intfReport.isSetSourceLon()) {
+          addPoint(record, toDouble(intfReport.getSourceLat()), toDouble(intfReport.getSourceLon()));
+        }
+      }
+    }
+
+    /**
+     * Add the station and service volume Locations of a StationLoc. Station
+     * locations marked LocationExcluded are not indexed.
+     */
+    private void addStationLoc(Common<?> record, StationLoc stationLoc) {
+      if (stationLoc.getLocSat() instanceof Location && !isYes(stationLoc.getLocationExcluded())) {
+        double radius = stationLoc.isSetLocationRadius() ? stationLoc.getLocationRadius().getValue().doubleValue() : 0;
+        addRow(record, (Location) stationLoc.getLocSat(), stationLoc, radius);
+      }
+      if (serialIndex != null && stationLoc.isSetServiceVolumeLocRef()) {
+        double radius = stationLoc.isSetServiceVolumeRadius() ? stationLoc.getServiceVolumeRadius().getValue().doubleValue() : 0;
+        addRow(record, serialIndex.find(stationLoc.getServiceVolumeLocRef(), Location.class), stationLoc, radius);
+      }
+    }
+
+    /**
+     * Add a single position.
+     */
+    private void addPoint(Common<?> record, double lat, double lon) {
+      rows.add(new Entry(record, null, record, new Shape[]{new PointShape(false, lat, lon)}, new Shape[0], 0));
+    }
+
+    /**
+     * Add a Location area. Locations without included shapes are ignored.
+     *
+     * @param record   the dataset
+     * @param location the Location. Can be null.
+     * @param element  the dataset element referring to the Location
+     * @param radius   the radius around Points (km)
+     */
+    private void addRow(Common<?> record, Location location, Object element, double radius) {
+      if (location == null) {
+        return;
+      }
+      Shape[][] flat = shapes.computeIfAbsent(location, SpatialIndex::flatten);
+      if (flat[0].length > 0) {
+        rows.add(new Entry(record, location, element, flat[0], flat[1], radius));
+      }
+    }
+  }
+
+  /**
+   * Internal method to flatten a Location and its nested Locations into
+   * shapes.
+   *
+   * @param location the Location
+   * @return the {included, excluded} shapes
+   */
+  private static Shape[][] flatten(Location location) {
+    List<Shape> included = new ArrayList<>();
+    List<Shape> excluded = new ArrayList<>();
+    Deque<Location> pending = new ArrayDeque<>();
+    Set<Location> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    pending.push(location);
+    while (!pending.isEmpty()) {
+      Location current = pending.pop();
+      if (!visited.add(current)) {
+        continue;
+      }
+      if (current.isSetPoint()) {
+        for (Point point : current.getPoint()) {
+          if (point.isSetLat() && point.isSetLon()) {
+            boolean isExcluded = isYes(point.getExcluded());
+            (isExcluded ? excluded : included).add(new PointShape(isExcluded, toDouble(point.getLat()), toDouble(point.getLon())));
+          }
+        }
+      }
+      if (current.isSetPolygon()) {
+        for (Polygon polygon : current.getPolygon()) {
+          Shape shape = toShape(polygon);
+          if (shape != null) {
+            (shape.excluded ? excluded : included).add(shape);
+          }
+        }
+      }
+      if (current.isSetEllipse()) {
+        for (Ellipse ellipse : current.getEllipse()) {
+          if (ellipse.isSetLat() && ellipse.isSetLon() && ellipse.isSetSemiMajorAxis()) {
+            boolean isExcluded = isYes(ellipse.getExcluded());
+            double major = ellipse.getSemiMajorAxis().getValue().doubleValue();
+            double minor = ellipse.isSetSemiMinorAxis() ? ellipse.getSemiMinorAxis().getValue().doubleValue() : major;
+            double azimuth = ellipse.isSetAzimuth() ? ellipse.getAzimuth().getValue().doubleValue() : 0;
+            (isExcluded ? excluded : included).add(new EllipseShape(isExcluded, toDouble(ellipse.getLat()), toDouble(ellipse.getLon()), major, minor, azimuth));
+          }
+        }
+      }
+      if (current.isSetLocation()) {
+        for (Location nested : current.getLocation()) {
+          pending.push(nested);
+        }
+      }
+    }
+    return new Shape[][]{included.toArray(new Shape[included.size()]), excluded.toArray(new Shape[excluded.size()])};
+  }
+
+  /**
+   * Internal method to build the shape of a Polygon. The vertices are taken
+   * in PolygonPoint sequence order.
+   *
+   * @param polygon the Polygon
+   * @return the shape, NULL if the Polygon has no valid vertex
+   */
+  private static Shape toShape(Polygon polygon) {
+    if (!polygon.isSetPolygonPoint()) {
+      return null;
+    }
+    List<PolygonPoint> vertices = new ArrayList<>();
+    for (PolygonPoint polygonPoint : polygon.getPolygonPoint()) {
+      if (polygonPoint.isSetLat() && polygonPoint.isSetLon()) {
+        vertices.add(polygonPoint);
+      }
+    }
+    vertices.sort(Comparator.comparing(PolygonPoint::getSequence, Comparator.nullsLast(Comparator.naturalOrder())));
+    boolean isExcluded = isYes(polygon.getExcluded());
+    if (vertices.isEmpty()) {
+      return null;
+    } else if (vertices.size() == 1) {
+      return new PointShape(isExcluded, toDouble(vertices.get(0).getLat()), toDouble(vertices.get(0).getLon()));
+    }
+    double[] lat = new double[vertices.size()];
+    double[] lon = new double[vertices.size()];
+    for (int i = 0; i < lat.length; i++) {
+      lat[i] = toDouble(vertices.get(i).getLat());
+      lon[i] = toDouble(vertices.get(i).getLon());
+    }
+    return new PolygonShape(isExcluded, lat, lon);
+  }//</editor-fold>
+
+  /**
+   * A spatial index row: one geographic area of a dataset.
+   */
+  public static final class Entry {
+
+    /**
+     * The dataset declaring or referring to the area.
+     */
+    private final Common<?> record;
+    /**
+     * The Location describing the area. Null for IntfReport positions.
+     */
+    private final Location location;
+    /**
+     * The dataset element referring to the area.
+     */
+    private final Object element;
+    /**
+     * The included shapes.
+     */
+    private final Shape[] included;
+    /**
+     * The excluded shapes.
+     */
+    private final Shape[] excluded;
+    /**
+     * The radius around Points (km).
+     */
+    private final double radius;
+    /**
+     * The bounding box. Longitudes may extend past the 180th meridian.
+     */
+    private final double minLat, minLon, maxLat, maxLon;
+
+    private Entry(Common<?> record, Location location, Object element, Shape[] included, Shape[] excluded, double radius) {
+      this.record = record;
+      this.location = location;
+      this.element = element;
+      this.included = included;
+      this.excluded = excluded;
+      this.radius = radius;
+      double south = 90, west = Double.MAX_VALUE, north = -90, east = -Double.MAX_VALUE;
+      for (Shape shape : included) {
+        double latSpan = shape instanceof PointShape ? radius / KM_PER_DEGREE : 0;
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.max(Math.abs(shape.minLat), Math.abs(shape.maxLat)) + latSpan)));
+        double lonSpan = latSpan == 0 ? 0 : cos * 180 > latSpan ? latSpan / cos : 180;
+        south = Math.min(south, shape.minLat - latSpan);
+        north = Math.max(north, shape.maxLat + latSpan);
+        west = Math.min(west, shape.minLon - lonSpan);
+        east = Math.max(east, shape.maxLon + lonSpan);
+      }
+      this.minLat = south;
+      this.minLon = west;
+      this.maxLat = north;
+      this.maxLon = east;
+    }
+
+    /**
+     * Get the dataset declaring or referring to the area.
+     *
+     * @return the dataset (e.g. an Assignment)
+     */
+    public Common<?> getRecord() {
+      return record;
+    }
+
+    /**
+     * Get the Location describing the area.
+     *
+     * @return the Location, NULL for IntfReport positions
+     */
+    public Location getLocation() {
+      return location;
+    }
+
+    /**
+     * Get the dataset element referring to the area.
+     *
+     * @return a Location, StationLoc, JRFLEntryLocation or IntfReport instance
+     */
+    public Object getElement() {
+      return element;
+    }
+
+    /**
+     * Calculate the distance from a position to this area.
+     *
+     * @param lat the position latitude (decimal degrees)
+     * @param lon the position longitude (decimal degrees)
+     * @return the distance (km), zero if the area contains the position
+     */
+    public double distanceKm(double lat, double lon) {
+      double distance = Double.POSITIVE_INFINITY;
+      for (Shape shape : included) {
+        distance = Math.min(distance, Math.max(0, shape.distanceKm(lat, lon) - (shape instanceof PointShape ? radius : 0)));
+      }
+      for (Shape shape : excluded) {
+        if (shape.distanceKm(lat, lon) == 0) {
+          distance = Math.max(distance, shape.boundaryKm(lat, lon));
+        }
+      }
+      return distance;
+    }
+
+    /**
+     * Determine if this area intersects a box. Excluded shapes are ignored.
+     */
+    private boolean intersects(double south, double west, double north, double east) {
+      if (minLat > north || maxLat < south || minLon > east || maxLon < west) {
+        return false;
+      }
+      for (Shape shape : included) {
+        if (shape.intersects(south, west, north, east, shape instanceof PointShape ? radius : 0)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public String toString() {
+      return "Entry [" + minLat + ", " + minLon + ", " + maxLat + ", " + maxLon + "] " + record.getSerial();
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Shapes">
+  /**
+   * A flattened Location shape.
+   */
+  private static abstract class Shape {
+
+    /**
+     * Indicator that the shape is excluded from its Location.
+     */
+    protected final boolean excluded;
+    /**
+     * The bounding box. Longitudes may extend past the 180th meridian.
+     */
+    protected double minLat, minLon, maxLat, maxLon;
+
+    protected Shape(boolean excluded) {
+      this.excluded = excluded;
+    }
+
+    /**
+     * Calculate the distance from a position to the shape.
+     *
+     * @return the distance (km), zero if the shape contains the position
+     */
+    abstract double distanceKm(double lat, double lon);
+
+    /**
+     * Calculate the distance from a position to the shape boundary.
+     *
+     * @return the distance (km)
+     */
+    abstract double boundaryKm(double lat, double lon);
+
+    /**
+     * Determine if the shape, grown by a radius, intersects a box.
+     */
+    abstract boolean intersects(double south, double west, double north, double east, double radius);
+  }
+
+  /**
+   * A Point.
+   */
+  private static final class PointShape extends Shape {
+
+    private final double lat, lon;
+
+    private PointShape(boolean excluded, double lat, double lon) {
+      super(excluded);
+      this.lat = lat;
+      this.lon = lon;
+      this.minLat = this.maxLat = lat;
+      this.minLon = this.maxLon = lon;
+    }
+
+    @Override
+    double distanceKm(double lat, double lon) {
+      return SpatialIndex.distanceKm(this.lat, this.lon, lat, lon);
+    }
+
+    @Override
+    double boundaryKm(double lat, double lon) {
+      return distanceKm(lat, lon);
+    }
+
+    @Override
+    boolean intersects(double south, double west, double north, double east, double radius) {
+      double latSpan = radius / KM_PER_DEGREE;
+      double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(lat) + latSpan)));
+      double lonSpan = latSpan == 0 ? 0 : cos * 180 > latSpan ? latSpan / cos : 180;
+      return lat + latSpan >= south && lat - latSpan <= north && lon + lonSpan >= west && lon - lonSpan <= east;
+    }
+  }
+
+  /**
+   * A Polygon. Vertex longitudes are unwrapped so that consecutive vertices
+   * are never more than 180 degrees apart.
+   */
+  private static final class PolygonShape extends Shape {
+
+    private final double[] lat, lon;
+
+    private PolygonShape(boolean excluded, double[] lat, double[] lon) {
+      super(excluded);
+      this.lat = lat;
+      this.lon = lon;
+      for (int i = 1; i < lon.length; i++) {
+        lon[i] = lon[i - 1] + normalize(lon[i] - lon[i - 1]);
+      }
+      minLat = maxLat = lat[0];
+      minLon = maxLon = lon[0];
+      for (int i = 1; i < lat.length; i++) {
+        minLat = Math.min(minLat, lat[i]);
+        maxLat = Math.max(maxLat, lat[i]);
+        minLon = Math.min(minLon, lon[i]);
+        maxLon = Math.max(maxLon, lon[i]);
+      }
+    }
+
+    @Override
+    double distanceKm(double lat, double lon) {
+      return contains(lat, lon) ? 0 : boundaryKm(lat, lon);
+    }
+
+    @Override
+    double boundaryKm(double lat, double lon) {
+      int n = this.lat.length;
+      double[] x = new double[n];
+      double[] y = new double[n];
+      project(lat, lon, x, y);
+      double distance = Double.POSITIVE_INFINITY;
+      for (int i = 0, j = n - 1; i < n; j = i++) {
+        distance = Math.min(distance, segmentDistance(x[j], y[j], x[i], y[i]));
+      }
+      return distance;
+    }
+
+    /**
+     * Determine if the polygon contains a position (ray casting in the local
+     * projection).
+     */
+    private boolean contains(double lat, double lon) {
+      int n = this.lat.length;
+      if (n < 3) {
+        return false;
+      }
+      double[] x = new double[n];
+      double[] y = new double[n];
+      project(lat, lon, x, y);
+      boolean inside = false;
+      for (int i = 0, j = n - 1; i < n; j = i++) {
+        if ((y[i] > 0) != (y[j] > 0) && x[j] + (0 - y[j]) * (x[i] - x[j]) / (y[i] - y[j]) > 0) {
+          inside = !inside;
+        }
+      }
+      return inside;
+    }
+
+    /**
+     * Project the vertices to kilometres east (x) and north (y) of a
+     * position. The longitude offsets follow the unwrapped vertices from the
+     * first one, so the polygon is not split where it lies half a turn away.
+     */
+    private void project(double lat, double lon, double[] x, double[] y) {
+      double offset = normalize(this.lon[0] - lon) - this.lon[0];
+      for (int i = 0; i < x.length; i++) {
+        x[i] = (this.lon[i] + offset) * Math.cos(Math.toRadians((this.lat[i] + lat) / 2)) * KM_PER_DEGREE;
+        y[i] = (this.lat[i] - lat) * KM_PER_DEGREE;
+      }
+    }
+
+    @Override
+    boolean intersects(double south, double west, double north, double east, double radius) {
+      int n = lat.length;
+      for (int i = 0, j = n - 1; i < n; j = i++) {
+        if (clips(lon[j], lat[j], lon[i], lat[i], west, south, east, north)) {
+          return true;
+        }
+      }
+      /**
+       * No edge meets the box: the box is either outside or wholly inside.
+       */
+      double cx = (west + east) / 2;
+      double cy = (south + north) / 2;
+      boolean inside = false;
+      for (int i = 0, j = n - 1; i < n; j = i++) {
+        if ((lat[i] > cy) != (lat[j] > cy) && lon[j] + (cy - lat[j]) * (lon[i] - lon[j]) / (lat[i] - lat[j]) > cx) {
+          inside = !inside;
+        }
+      }
+      return n > 2 && inside;
+    }
+  }
+
+  /**
+   * An Ellipse, with its semi-major axis oriented at an azimuth (degrees
+   * clockwise from north).
+   */
+  private static final class EllipseShape extends Shape {
+
+    private final double lat, lon;
+    /**
+     * The semi-major and semi-minor axis lengths (km). major &gt;= minor.
+     */
+    private final double major, minor;
+    /**
+     * The azimuth of the semi-major axis (radians).
+     */
+    private final double azimuth;
+    /**
+     * The approximating polygon, for box queries.
+     */
+    private final PolygonShape outline;
+
+    private EllipseShape(boolean excluded, double lat, double lon, double major, double minor, double azimuth) {
+      super(excluded);
+      this.lat = lat;
+      this.lon = lon;
+      this.major = Math.max(major, minor);
+      this.minor = Math.min(major, minor);
+      this.azimuth = Math.toRadians(major >= minor ? azimuth : azimuth + 90);
+      double cos = Math.max(1e-9, Math.cos(Math.toRadians(lat)));
+      double[] vertexLat = new double[ELLIPSE_SIDES];
+      double[] vertexLon = new double[ELLIPSE_SIDES];
+      for (int i = 0; i < ELLIPSE_SIDES; i++) {
+        double angle = 2 * Math.PI * i / ELLIPSE_SIDES;
+        double s = this.major * Math.cos(angle);
+        double t = this.minor * Math.sin(angle);
+        double x = s * Math.sin(this.azimuth) + t * Math.cos(this.azimuth);
+        double y = s * Math.cos(this.azimuth) - t * Math.sin(this.azimuth);
+        vertexLat[i] = lat + y / KM_PER_DEGREE;
+        vertexLon[i] = lon + x / KM_PER_DEGREE / cos;
+      }
+      this.outline = new PolygonShape(excluded, vertexLat, vertexLon);
+      double latSpan = this.major / KM_PER_DEGREE;
+      double lonSpan = cos * 180 > latSpan ? latSpan / cos : 180;
+      this.minLat = lat - latSpan;
+      this.maxLat = lat + latSpan;
+      this.minLon = lon - lonSpan;
+      this.maxLon = lon + lonSpan;
+    }
+
+    @Override
+    double distanceKm(double lat, double lon) {
+      double[] st = toAxes(lat, lon);
+      if (minor > 0 && (st[0] / major) * (st[0] / major) + (st[1] / minor) * (st[1] / minor) <= 1) {
+        return 0;
+      }
+      return perimeterKm(st[0], st[1]);
+    }
+
+    @Override
+    double boundaryKm(double lat, double lon) {
+      double[] st = toAxes(lat, lon);
+      return perimeterKm(st[0], st[1]);
+    }
+
+    /**
+     * Project a position to kilometres along the semi-major (s) and
+     * semi-minor (t) axes from the centre.
+     */
+    private double[] toAxes(double lat, double lon) {
+      double x = normalize(lon - this.lon) * Math.cos(Math.toRadians((lat + this.lat) / 2)) * KM_PER_DEGREE;
+      double y = (lat - this.lat) * KM_PER_DEGREE;
+      return new double[]{x * Math.sin(azimuth) + y * Math.cos(azimuth), x * Math.cos(azimuth) - y * Math.sin(azimuth)};
+    }
+
+    /**
+     * Calculate the distance from a point (s, t) to the ellipse perimeter. See
+     * D. Eberly, "Distance from a Point to an Ellipse, an Ellipsoid, or a
+     * Hyperellipsoid".
+     */
+    private double perimeterKm(double s, double t) {
+      double y0 = Math.abs(s);
+      double y1 = Math.abs(t);
+      if (major == 0) {
+        return Math.hypot(y0, y1);
+      } else if (minor == 0) {
+        return Math.hypot(Math.max(0, y0 - major), y1);
+      }
+      if (y1 > 0) {
+        if (y0 > 0) {
+          double z0 = y0 / major;
+          double z1 = y1 / minor;
+          double g = z0 * z0 + z1 * z1 - 1;
+          if (g == 0) {
+            return 0;
+          }
+          double r0 = (major / minor) * (major / minor);
+          double root = root(r0, z0, z1, g);
+          return Math.hypot(r0 * y0 / (root + r0) - y0, y1 / (root + 1) - y1);
+        }
+        return Math.abs(y1 - minor);
+      }
+      double numerator = major * y0;
+      double denominator = major * major - minor * minor;
+      if (numerator < denominator) {
+        double xde0 = numerator / denominator;
+        return Math.hypot(major * xde0 - y0, minor * Math.sqrt(1 - xde0 * xde0));
+      }
+      return Math.abs(y0 - major);
+    }
+
+    /**
+     * Bisect for the root of the Eberly distance equation.
+     */
+    private static double root(double r0, double z0, double z1, double g) {
+      double n0 = r0 * z0;
+      double s0 = z1 - 1;
+      double s1 = g < 0 ? 0 : Math.hypot(n0, z1) - 1;
+      double s = 0;
+      for (int i = 0; i < 200; i++) {
+        s = (s0 + s1) / 2;
+        if (s == s0 || s == s1) {
+          break;
+        }
+        double ratio0 = n0 / (s + r0);
+        double ratio1 = z1 / (s + 1);
+        double value = ratio0 * ratio0 + ratio1 * ratio1 - 1;
+        if (value > 0) {
+          s0 = s;
+        } else if (value < 0) {
+          s1 = s;
+        } else {
+          break;
+        }
+      }
+      return s;
+    }
+
+    @Override
+    boolean intersects(double south, double west, double north, double east, double radius) {
+      return outline.intersects(south, west, north, east, radius);
+    }
+  }
+
+  /**
+   * Internal method to calculate the distance from the origin to a segment.
+   */
+  private static double segmentDistance(double x1, double y1, double x2, double y2) {
+    double dx = x2 - x1;
+    double dy = y2 - y1;
+    double length = dx * dx + dy * dy;
+    double t = length == 0 ? 0 : Math.max(0, Math.min(1, -(x1 * dx + y1 * dy) / length));
+    return Math.hypot(x1 + t * dx, y1 + t * dy);
+  }
+
+  /**
+   * Internal method to determine if a segment meets a box (Liang-Barsky
+   * clipping).
+   */
+  private static boolean clips(double x1, double y1, double x2, double y2, double minX, double minY, double maxX, double maxY) {
+    double dx = x2 - x1;
+    double dy = y2 - y1;
+    double[] p = {-dx, dx, -dy, dy};
+    double[] q = {x1 - minX, maxX - x1, y1 - minY, maxY - y1};
+    double enter = 0;
+    double exit = 1;
+    for (int i = 0; i < 4; i++) {
+      if (p[i] == 0) {
+        if (q[i] < 0) {
+          return false;
+        }
+      } else {
+        double r = q[i] / p[i];
+        if (p[i] < 0) {
+          enter = Math.max(enter, r);
+        } else {
+          exit = Math.min(exit, r);
+        }
+      }
+    }
+    return enter <= exit;
+  }//</editor-fold>
+}
@@ -0,0 +1,556 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.stream.Stream;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.SchemaRoot;
+import us.gov.dod.standard.ssrf._3_1.TOA;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.TString;
+import us.gov.dod.standard.ssrf._3_1.toa.*;
+
+/**
+ * Compiled Table of Allocations lookup.
+ * <p>
+ * This index compiles the FreqBand / Allocation entries of every TOA dataset
+ * into one {@link Table} per jurisdiction: each Country code of the TOA plus
+ * the TOA Administration value (e.g. "USA"). A table holds the sorted band
+ * edges as primitive <code>long</code> values (millihertz, see
+ * {@link FrequencyIndex}) and, for every edge and every gap between edges,
+ * the precomputed list of bands in force. Finding the allocations at a
+ * frequency is one binary search over the edges.
+ * <p>
+ * FreqBand ranges are closed: a frequency exactly on the edge shared by two
+ * adjacent bands is in both. Footnote references (FreqBand and Allocation
+ * footnotes idx values) are resolved to the TOA Footnote entries when the
+ * index is built.
+ * <p>
+ * Allocation and TOA effective and expiration dates are not applied; the
+ * source elements are available from each {@link Band} and {@link Service}.
+ * <p>
+ * The index is a snapshot: TOA datasets added, removed or changed afterwards
+ * are not reflected until the index is rebuilt. It is immutable and may be
+ * shared between threads.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class TOAIndex {
+
+  /**
+   * The compiled tables, keyed by jurisdiction (upper case).
+   */
+  private final Map<String, Table> tables;
+
+  /**
+   * Build a new index of compiled tables. Use {@link #of(SchemaRoot)} or
+   * {@link #of(Stream)}.
+   *
+   * @param tables the compiled tables
+   */
+  private TOAIndex(Map<String, Table> tables) {
+    this.tables = tables;
+  }
+
+  /**
+   * Build an index of the TOA datasets in a SSRF (SchemaRoot) instance.
+   *
+   * @param root the SSRF root instance
+   * @return a new Table of Allocations index
+   */
+  public static TOAIndex of(SchemaRoot<?> root) {
+    return of(root.isSetTOA() ? root.getTOA().stream() : Stream.<TOA>empty());
+  }
+
+  /**
+   * Build an index of the TOA datasets in a stream of datasets; for example
+   * the records read by {@link SSRFRecordReader#stream()}. Other datasets are
+   * ignored.
+   *
+   * @param records the datasets
+   * @return a new Table of Allocations index
+   */
+  public static TOAIndex of(Stream<? extends Common<?>> records) {
+    Map<String, List<Band>> bands = new HashMap<>();
+    records.filter(TOA.class::isInstance).map(TOA.class::cast).forEachOrdered(toa -> {
+      List<Band> toaBands = compile(toa);
+      for (String jurisdiction : getJurisdictions(toa)) {
+        bands.computeIfAbsent(jurisdiction, j -> new ArrayList<>()).addAll(toaBands);
+      }
+    });
+    Map<String, Table> tables = new HashMap<>();
+    for (Map.Entry<String, List<Band>> entry : bands.entrySet()) {
+      tables.put(entry.getKey(), new Table(entry.getKey(), entry.getValue()));
+    }
+    return new TOAIndex(Collections.unmodifiableMap(tables));
+  }
+
+  /**
+   * Get the compiled table of a jurisdiction.
+   *
+   * @param jurisdiction a TOA Country code or Administration value (e.g.
+   *                     "USA"). Not case sensitive.
+   * @return the table, NULL if no TOA applies to the jurisdiction
+   */
+  public Table getTable(String jurisdiction) {
+    return jurisdiction != null ? tables.get(jurisdiction.trim().toUpperCase(Locale.ENGLISH)) : null;
+  }
+
+  /**
+   * Get the jurisdictions having a compiled table.
+   *
+   * @return an unmodifiable set of the Country codes and Administration values
+   *         (upper case)
+   */
+  public Set<String> getJurisdictions() {
+    return tables.keySet();
+  }
+
+  /**
+   * Find the bands in force at a frequency in a jurisdiction.
+   *
+   * @param jurisdiction a TOA Country code or Administration value
+   * @param freq         the frequency (MHz)
+   * @return an unmodifiable list of the bands, empty if none
+   */
+  public List<Band> findBands(String jurisdiction, BigDecimal freq) {
+    Table table = getTable(jurisdiction);
+    return table != null ? table.findBands(freq) : Collections.<Band>emptyList();
+  }
+
+  /**
+   * Find the services allocated at a frequency in a jurisdiction.
+   *
+   * @param jurisdiction a TOA Country code or Administration value
+   * @param freq         the frequency (MHz)
+   * @return a new list of the allocated services, in band order
+   */
+  public List<Service> findServices(String jurisdiction, BigDecimal freq) {
+    List<Service> services = new ArrayList<>();
+    for (Band band : findBands(jurisdiction, freq)) {
+      services.addAll(band.getServices());
+    }
+    return services;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Compilation">
+  /**
+   * Internal method to read the jurisdictions of a TOA: its Country codes and
+   * Administration value.
+   *
+   * @param toa the TOA
+   * @return the jurisdictions (upper case)
+   */
+  private static Set<String> getJurisdictions(TOA toa) {
+    Set<String> jurisdictions = new LinkedHashSet<>();
+    if (toa.isSetCountry()) {
+      for (Country country : toa.getCountry()) {
+        if (country.isSetValue()) {
+          jurisdictions.add(country.getValue().value().toUpperCase(Locale.ENGLISH));
+        }
+      }
+    }
+    if (toa.isSetAdministration() && toa.getAdministration().getValue() != null) {
+      jurisdictions.add(toa.getAdministration().getValue().trim().toUpperCase(Locale.ENGLISH));
+    }
+    return jurisdictions;
+  }
+
+  /**
+   * Internal method to compile the FreqBand entries of a TOA, resolving their
+   * footnote references.
+   *
+   * @param toa the TOA
+   * @return the compiled bands
+   */
+  private static List<Band> compile(TOA toa) {
+    Map<BigInteger, Footnote> footnotes = new HashMap<>();
+    if (toa.isSetFootnote()) {
+      for (Footnote footnote : toa.getFootnote()) {
+        if (footnote.isSetIdx()) {
+          footnotes.putIfAbsent(footnote.getIdx(), footnote);
+        }
+      }
+    }
+    List<Band> bands = new ArrayList<>();
+    if (toa.isSetFreqBand()) {
+      for (FreqBand freqBand : toa.getFreqBand()) {
+        if (!freqBand.isSetFreqMin()) {
+          continue;
+        }
+        long min = FrequencyIndex.toIndexUnits(freqBand.getFreqMin().getValue(), RoundingMode.FLOOR);
+        long max = freqBand.isSetFreqMax() ? FrequencyIndex.toIndexUnits(freqBand.getFreqMax().getValue(), RoundingMode.CEILING) : min;
+        List<Service> services = new ArrayList<>();
+        Band band = new Band(toa, freqBand, Math.min(min, max), Math.max(min, max),
+                             resolve(footnotes, freqBand.isSetFootnotes() ? freqBand.getFootnotes() : null), services);
+        if (freqBand.isSetAllocation()) {
+          for (Allocation allocation : freqBand.getAllocation()) {
+            services.add(new Service(band, allocation, resolve(footnotes, allocation.isSetFootnotes() ? allocation.getFootnotes() : null)));
+          }
+        }
+        bands.add(band);
+      }
+    }
+    return bands;
+  }
+
+  /**
+   * Internal method to resolve footnote references.
+   *
+   * @param footnotes the TOA footnotes, by idx
+   * @param idx       the footnote idx references. Can be null.
+   * @return an unmodifiable list of the footnotes found, in reference order
+   */
+  private static List<Footnote> resolve(Map<BigInteger, Footnote> footnotes, Collection<BigInteger> idx) {
+    if (idx == null || idx.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Footnote> resolved = new ArrayList<>(idx.size());
+    for (BigInteger i : idx) {
+      Footnote footnote = footnotes.get(i);
+      if (footnote != null) {
+        resolved.add(footnote);
+      }
+    }
+    return Collections.unmodifiableList(resolved);
+  }
+
+  /**
+   * Internal method to read a TString value.
+   *
+   * @param value the value. Can be null.
+   * @return the string value, NULL if not set
+   */
+  private static String toString(TString value) {
+    return value != null ? value.getValue() : null;
+  }//</editor-fold>
+
+  @Override
+  public String toString() {
+    return "TOAIndex jurisdictions " + tables.keySet();
+  }
+
+  /**
+   * The compiled Table of Allocations of one jurisdiction.
+   * <p>
+   * Slot 2i holds the bands in force exactly at edge i; slot 2i + 1 holds the
+   * bands in force strictly between edges i and i + 1.
+   */
+  public static final class Table {
+
+    /**
+     * The jurisdiction.
+     */
+    private final String jurisdiction;
+    /**
+     * The distinct band edges (millihertz), in ascending order.
+     */
+    private final long[] edges;
+    /**
+     * The bands in force in each slot. Equal lists share one instance.
+     */
+    private final List<List<Band>> slots;
+
+    /**
+     * Compile a table.
+     *
+     * @param jurisdiction the jurisdiction
+     * @param bands        the bands of all TOAs in force in the jurisdiction
+     */
+    private Table(String jurisdiction, List<Band> bands) {
+      this.jurisdiction = jurisdiction;
+      this.edges = bands.stream().flatMapToLong(b -> Arrays.stream(new long[]{b.min, b.max})).distinct().sorted().toArray();
+      /**
+       * Sweep the slots in order, adding bands at their first edge and
+       * dropping them after their last edge.
+       */
+      List<Band> byMin = new ArrayList<>(bands);
+      byMin.sort(Comparator.comparingLong((Band b) -> b.min).thenComparingLong(b -> b.max));
+      List<List<Band>> compiled = new ArrayList<>(Math.max(0, 2 * edges.length - 1));
+      List<Band> active = new ArrayList<>();
+      List<Band> previous = Collections.emptyList();
+      int next = 0;
+      for (int i = 0; i < edges.length; i++) {
+        while (next < byMin.size() && byMin.get(next).min == edges[i]) {
+          active.add(byMin.get(next++));
+        }
+        previous = share(previous, active);
+        compiled.add(previous);
+        if (i + 1 < edges.length) {
+          long edge = edges[i];
+          active.removeIf(b -> b.max <= edge);
+          previous = share(previous, active);
+          compiled.add(previous);
+        }
+      }
+      this.slots = compiled;
+    }
+
+    /**
+     * Internal method to reuse the previous slot list when the bands in force
+     * have not changed.
+     */
+    private static List<Band> share(List<Band> previous, List<Band> active) {
+      return previous.equals(active) ? previous : Collections.unmodifiableList(new ArrayList<>(active));
+    }
+
+    /**
+     * Get the jurisdiction of this table.
+     *
+     * @return the Country code or Administration value (upper case)
+     */
+    public String getJurisdiction() {
+      return jurisdiction;
+    }
+
+    /**
+     * Find the bands in force at a frequency.
+     *
+     * @param freq the frequency (MHz)
+     * @return an unmodifiable list of the bands, empty if none
+     */
+    public List<Band> findBands(BigDecimal freq) {
+      return findBands(FrequencyIndex.toIndexUnits(freq, RoundingMode.HALF_EVEN));
+    }
+
+    /**
+     * Classify a batch of frequencies. Each frequency costs one binary search
+     * and no allocation.
+     *
+     * @param freqs the frequencies (MHz)
+     * @return the bands in force at each frequency: a list of shared,
+     *         unmodifiable lists in frequency order
+     */
+    public List<List<Band>> classify(double[] freqs) {
+      List<Band>[] classified = newArray(freqs.length);
+      for (int i = 0; i < freqs.length; i++) {
+        classified[i] = findBands(FrequencyIndex.toIndexUnits(freqs[i]));
+      }
+      return Arrays.asList(classified);
+    }
+
+    /**
+     * Internal method to find the bands in force at a frequency.
+     *
+     * @param freq the frequency (millihertz)
+     * @return the bands in force
+     */
+    private List<Band> findBands(long freq) {
+      int i = Arrays.binarySearch(edges, freq);
+      if (i >= 0) {
+        return slots.get(2 * i);
+      }
+      int insertion = -i - 1;
+      return insertion == 0 || insertion == edges.length ? Collections.<Band>emptyList() : slots.get(2 * insertion - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Band>[] newArray(int length) {
+      return (List<Band>[]) new List<?>[length];
+    }
+
+    @Override
+    public String toString() {
+      return "Table [" + jurisdiction + "] edges [" + edges.length + "]";
+    }
+  }
+
+  /**
+   * A compiled FreqBand.
+   */
+  public static final class Band {
+
+    /**
+     * The TOA holding the band.
+     */
+    private final TOA toa;
+    /**
+     * The source FreqBand.
+     */
+    private final FreqBand freqBand;
+    /**
+     * The band edges (millihertz).
+     */
+    private final long min, max;
+    /**
+     * The resolved band footnotes.
+     */
+    private final List<Footnote> footnotes;
+    /**
+     * The allocated services.
+     */
+    private final List<Service> services;
+
+    private Band(TOA toa, FreqBand freqBand, long min, long max, List<Footnote> footnotes, List<Service> services) {
+      this.toa = toa;
+      this.freqBand = freqBand;
+      this.min = min;
+      this.max = max;
+      this.footnotes = footnotes;
+      this.services = Collections.unmodifiableList(services);
+    }
+
+    /**
+     * Get the TOA holding the band.
+     *
+     * @return the TOA dataset
+     */
+    public TOA getTOA() {
+      return toa;
+    }
+
+    /**
+     * Get the source FreqBand.
+     *
+     * @return the FreqBand
+     */
+    public FreqBand getFreqBand() {
+      return freqBand;
+    }
+
+    /**
+     * Get the band minimum frequency.
+     *
+     * @return the minimum frequency (MHz)
+     */
+    public BigDecimal getFreqMin() {
+      return FrequencyIndex.toFreq(min);
+    }
+
+    /**
+     * Get the band maximum frequency.
+     *
+     * @return the maximum frequency (MHz)
+     */
+    public BigDecimal getFreqMax() {
+      return FrequencyIndex.toFreq(max);
+    }
+
+    /**
+     * Get the band footnotes.
+     *
+     * @return an unmodifiable list of the TOA footnotes referenced by the
+     *         FreqBand
+     */
+    public List<Footnote> getFootnotes() {
+      return footnotes;
+    }
+
+    /**
+     * Get the services allocated in the band.
+     *
+     * @return an unmodifiable list of the compiled Allocations
+     */
+    public List<Service> getServices() {
+      return services;
+    }
+
+    @Override
+    public String toString() {
+      return "Band [" + getFreqMin().toPlainString() + ", " + getFreqMax().toPlainString() + "] MHz services " + services;
+    }
+  }
+
+  /**
+   * A compiled Allocation: a service allocated in a band.
+   */
+  public static final class Service {
+
+    /**
+     * The band.
+     */
+    private final Band band;
+    /**
+     * The source Allocation.
+     */
+    private final Allocation allocation;
+    /**
+     * The allocated service name.
+     */
+    private final String allocatedService;
+    /**
+     * The allocation priority.
+     */
+    private final String priority;
+    /**
+     * The resolved allocation footnotes.
+     */
+    private final List<Footnote> footnotes;
+
+    private Service(Band band, Allocation allocation, List<Footnote> footnotes) {
+      this.band = band;
+      this.allocation = allocation;
+      this.allocatedService = TOAIndex.toString(allocation.getAllocatedService());
+      this.priority = TOAIndex.toString(allocation.getPriority());
+      this.footnotes = footnotes;
+    }
+
+    /**
+     * Get the band.
+     *
+     * @return the compiled band
+     */
+    public Band getBand() {
+      return band;
+    }
+
+    /**
+     * Get the source Allocation.
+     *
+     * @return the Allocation
+     */
+    public Allocation getAllocation() {
+      return allocation;
+    }
+
+    /**
+     * Get the allocated service (e.g. "Fixed Service").
+     *
+     * @return the AllocatedService value
+     */
+    public String getAllocatedService() {
+      return allocatedService;
+    }
+
+    /**
+     * Get the allocation priority (e.g. "Primary").
+     *
+     * @return the Priority value
+     */
+    public String getPriority() {
+      return priority;
+    }
+
+    /**
+     * Get the allocation footnotes.
+     *
+     * @return an unmodifiable list of the TOA footnotes referenced by the
+     *         Allocation
+     */
+    public List<Footnote> getFootnotes() {
+      return footnotes;
+    }
+
+    @Override
+    public String toString() {
+      return allocatedService + " (" + priority + ")";
+    }
+  }
+}
@@ -455,12 +455,7 @@ public class Administrative extends Common<Administrative> {
     if (messageRef == null || !messageRef.isSetValue()) {
       return;
     }
-    for (Message instance : root.getMessage()) {
-      if (messageRef.equals(instance.getSerial())) {
-        message = instance;
-        return;
-      }
-    }
+    message = root.getSerialIndex().find(messageRef, Message.class);
   }//</editor-fold>
 
 }
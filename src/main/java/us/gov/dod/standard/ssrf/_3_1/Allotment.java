@@ -1080,11 +1080,7 @@ public class Allotment extends Common<Allotment> {
     if (locationRef == null || locationRef.isEmpty()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (locationRef.contains(instance.getSerial())) {
-        getLocation().add(instance);
-      }
-    }
+    getLocation().addAll(root.getSerialIndex().findAll(locationRef, Location.class));
   }//</editor-fold>
 
 }
@@ -4249,31 +4249,11 @@ public class Assignment extends Common<Assignment> {
     if (relatedRef == null || relatedRef.isEmpty()) {
       return;
     }
-    for (Assignment instance : root.getAssignment()) {
-      if (relatedRef.contains(instance.getSerial())) {
-        getRelated().add(instance);
-      }
-    }
-    for (Allotment instance : root.getAllotment()) {
-      if (relatedRef.contains(instance.getSerial())) {
-        getRelated().add(instance);
-      }
-    }
-    for (SSReply instance : root.getSSReply()) {
-      if (relatedRef.contains(instance.getSerial())) {
-        getRelated().add(instance);
-      }
-    }
-    for (ForceElement instance : root.getForceElement()) {
-      if (relatedRef.contains(instance.getSerial())) {
-        getRelated().add(instance);
-      }
-    }
-    for (FEDeployment instance : root.getFEDeployment()) {
-      if (relatedRef.contains(instance.getSerial())) {
-        getRelated().add(instance);
-      }
-    }
+    getRelated().addAll(root.getSerialIndex().findAll(relatedRef, Assignment.class));
+    getRelated().addAll(root.getSerialIndex().findAll(relatedRef, Allotment.class));
+    getRelated().addAll(root.getSerialIndex().findAll(relatedRef, SSReply.class));
+    getRelated().addAll(root.getSerialIndex().findAll(relatedRef, ForceElement.class));
+    getRelated().addAll(root.getSerialIndex().findAll(relatedRef, FEDeployment.class));
   }//</editor-fold>
 
 }
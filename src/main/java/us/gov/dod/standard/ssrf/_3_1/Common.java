@@ -19,6 +19,7 @@ import java.math.BigInteger;
 import java.util.*;
 import javax.xml.bind.annotation.*;
 import us.gov.dod.standard.ssrf.SSRF;
+import us.gov.dod.standard.ssrf.SerialIndex;
 import us.gov.dod.standard.ssrf._3_1.common.CaseNum;
 import us.gov.dod.standard.ssrf._3_1.common.ExtReferenceRef;
 import us.gov.dod.standard.ssrf._3_1.common.Remarks;
@@ -496,7 +497,7 @@ public abstract class Common<T> implements Comparable<T> {
   @SuppressWarnings("unchecked")
   public Common() {
     this.serial = Serial.getInstance((Class<? extends Common<?>>) this.getClass());
-    this.entryDateTime = new DT(Calendar.getInstance());
+    this.entryDateTime = new DT(new Date());
   }
 
   //<editor-fold defaultstate="collapsed" desc="Getters and Setters">
@@ -2412,45 +2413,21 @@ public abstract class Common<T> implements Comparable<T> {
    * @since 3.1.0
    */
   public void postLoad(SSRF root) {
+    SerialIndex index = root.getSerialIndex();
     if (entryBy != null && entryBy.isSetValue()) {
-      for (Role instance : root.getRole()) {
-        if (entryBy.equals(instance.getSerial())) {
-          entryByRole = instance;
-          return;
-        }
-      }
+      entryByRole = index.find(entryBy, Role.class);
     }
     if (owner != null && owner.isSetValue()) {
-      for (Role instance : root.getRole()) {
-        if (owner.equals(instance.getSerial())) {
-          ownerRole = instance;
-          return;
-        }
-      }
+      ownerRole = index.find(owner, Role.class);
     }
     if (lastChangeBy != null && lastChangeBy.isSetValue()) {
-      for (Role instance : root.getRole()) {
-        if (lastChangeBy.equals(instance.getSerial())) {
-          lastChangeByRole = instance;
-          return;
-        }
-      }
+      lastChangeByRole = index.find(lastChangeBy, Role.class);
     }
     if (lastReviewBy != null && lastReviewBy.isSetValue()) {
-      for (Role instance : root.getRole()) {
-        if (lastReviewBy.equals(instance.getSerial())) {
-          lastReviewByRole = instance;
-          return;
-        }
-      }
+      lastReviewByRole = index.find(lastReviewBy, Role.class);
     }
     if (modAllowedBy != null && modAllowedBy.isSetValue()) {
-      for (Role instance : root.getRole()) {
-        if (modAllowedBy.equals(instance.getSerial())) {
-          modAllowedByRole = instance;
-          return;
-        }
-      }
+      modAllowedByRole = index.find(modAllowedBy, Role.class);
     }
   }//</editor-fold>
 
@@ -1157,23 +1157,11 @@ public class FEDeployment extends Common<FEDeployment> {
    */
   @Override
   public void postLoad(SSRF root) {
-    if (feRef == null || !feRef.isSetValue()) {
-      return;
+    if (feRef != null && feRef.isSetValue()) {
+      forceElement = root.getSerialIndex().find(feRef, ForceElement.class);
     }
-    for (ForceElement instance : root.getForceElement()) {
-      if (feRef.equals(instance.getSerial())) {
-        forceElement = instance;
-        return;
-      }
-    }
-    if (locationRef == null || !locationRef.isSetValue()) {
-      return;
-    }
-    for (Location instance : root.getLocation()) {
-      if (locationRef.equals(instance.getSerial())) {
-        location = instance;
-        return;
-      }
+    if (locationRef != null && locationRef.isSetValue()) {
+      location = root.getSerialIndex().find(locationRef, Location.class);
     }
   }//</editor-fold>
 
@@ -1049,12 +1049,7 @@ public class ForceElement extends Common<ForceElement> {
     if (owningOrganisationRef == null || !owningOrganisationRef.isSetValue()) {
       return;
     }
-    for (Organisation instance : root.getOrganisation()) {
-      if (owningOrganisationRef.equals(instance.getSerial())) {
-        owningOrganisation = instance;
-        return;
-      }
-    }
+    owningOrganisation = root.getSerialIndex().find(owningOrganisationRef, Organisation.class);
   }//</editor-fold>
 
 }
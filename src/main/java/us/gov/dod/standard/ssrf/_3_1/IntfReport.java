@@ -3010,12 +3010,7 @@ public class IntfReport extends Common<IntfReport> {
     if (victimAsgnRef == null || !victimAsgnRef.isSetValue()) {
       return;
     }
-    for (Assignment instance : root.getAssignment()) {
-      if (victimAsgnRef.equals(instance.getSerial())) {
-        victimAssignment = instance;
-        return;
-      }
-    }
+    victimAssignment = root.getSerialIndex().find(victimAsgnRef, Assignment.class);
   }//</editor-fold>
 
 }
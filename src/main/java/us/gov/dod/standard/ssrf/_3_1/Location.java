@@ -1203,11 +1203,7 @@ public class Location extends Common<Location> {
     if (locationRef == null || locationRef.isEmpty()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (locationRef.contains(instance.getSerial())) {
-        getLocation().add(instance);
-      }
-    }
+    getLocation().addAll(root.getSerialIndex().findAll(locationRef, Location.class));
   }//</editor-fold>
 
 }
@@ -15,14 +15,12 @@
  */
 package us.gov.dod.standard.ssrf._3_1;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import javax.xml.bind.annotation.*;
 import us.gov.dod.standard.ssrf.SSRF;
-import us.gov.dod.standard.ssrf.SSRFUtility;
 import us.gov.dod.standard.ssrf._3_1.metadata.domains.DT;
 import us.gov.dod.standard.ssrf._3_1.metadata.domains.S40;
 import us.gov.dod.standard.ssrf._3_1.metadata.domains.Serial;
@@ -360,38 +358,7 @@ public class Message extends Common<Message> {
     if (datasetRef == null || datasetRef.isEmpty()) {
       return;
     }
-    /**
-     * Scan ALL the data lists in the SSRF (SchemaRoot) object.
-     */
-    for (Field field : SSRFUtility.findDeclaredAndInheritedFields(root.getClass())) {
-      try {
-        field.setAccessible(true);
-        /**
-         * Ignore fields that are NOT.
-         */
-        Object fieldValue = field.get(root);
-        if (fieldValue == null) {
-          continue;
-        }
-        System.out.println("field type " + field.getType().getSimpleName());
-        if (field.getType().getSuperclass().equals(Collection.class)) {
-          System.out.println("  superclass is a collection");
-        }
-        /**
-         * Only process field values that are instance of a collection.
-         */
-        if (fieldValue instanceof Collection) {
-          for (Object entry : (Iterable<? extends Object>) fieldValue) {
-            if (entry != null) {
-              if (datasetRef.contains(((Common<?>) entry).getSerial())) {
-                data.add((Common<?>) entry);
-              }
-            }
-          }
-        }
-      } catch (SecurityException | IllegalArgumentException | IllegalAccessException securityException) {
-      }
-    }
+    getData().addAll(root.getSerialIndex().findAll(datasetRef));
   }//</editor-fold>
 
 }
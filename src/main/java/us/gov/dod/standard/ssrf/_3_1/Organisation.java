@@ -1040,11 +1040,7 @@ public class Organisation extends Common<Organisation> {
     if (roleRef == null || roleRef.isEmpty()) {
       return;
     }
-    for (Role instance : root.getRole()) {
-      if (roleRef.contains(instance.getSerial())) {
-        getRole().add(instance);
-      }
-    }
+    getRole().addAll(root.getSerialIndex().findAll(roleRef, Role.class));
   }//</editor-fold>
 
 }
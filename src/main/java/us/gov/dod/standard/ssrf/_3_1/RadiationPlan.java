@@ -845,12 +845,7 @@ public class RadiationPlan extends Common<RadiationPlan> {
     if (locationRef == null || !locationRef.isSetValue()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (locationRef.equals(instance.getSerial())) {
-        location = instance;
-        return;
-      }
-    }
+    location = root.getSerialIndex().find(locationRef, Location.class);
   }//</editor-fold>
 
 }
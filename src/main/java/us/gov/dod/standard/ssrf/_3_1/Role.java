@@ -864,11 +864,7 @@ public class Role extends Common<Role> {
     if (contactRef == null || contactRef.isEmpty()) {
       return;
     }
-    for (Contact instance : root.getContact()) {
-      if (contactRef.contains(instance.getSerial())) {
-        getContact().add(instance);
-      }
-    }
+    getContact().addAll(root.getSerialIndex().findAll(contactRef, Contact.class));
   }//</editor-fold>
 
 }
@@ -1344,12 +1344,7 @@ public class SSReply extends Common<SSReply> {
     if (ssRequestRef == null || !ssRequestRef.isSetValue()) {
       return;
     }
-    for (SSRequest instance : root.getSSRequest()) {
-      if (ssRequestRef.equals(instance.getSerial())) {
-        ssRequest = instance;
-        return;
-      }
-    }
+    ssRequest = root.getSerialIndex().find(ssRequestRef, SSRequest.class);
   }//</editor-fold>
 
 }
@@ -1521,12 +1521,7 @@ public class Satellite extends Common<Satellite> {
     if (launchLocRef == null || !launchLocRef.isSetValue()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (launchLocRef.equals(instance.getSerial())) {
-        launchLoc = instance;
-        return;
-      }
-    }
+    launchLoc = root.getSerialIndex().find(launchLocRef, Location.class);
   }//</editor-fold>
 
 }
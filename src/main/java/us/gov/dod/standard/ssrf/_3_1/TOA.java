@@ -764,11 +764,7 @@ public class TOA extends Common<TOA> {
     if (channelPlanRef == null || channelPlanRef.isEmpty()) {
       return;
     }
-    for (ChannelPlan instance : root.getChannelPlan()) {
-      if (channelPlanRef.contains(instance.getSerial())) {
-        getChannelPlan().add(instance);
-      }
-    }
+    getChannelPlan().addAll(root.getSerialIndex().findAll(channelPlanRef, ChannelPlan.class));
   }//</editor-fold>
 
 }
@@ -15,25 +15,37 @@
  */
 package us.gov.dod.standard.ssrf._3_1.adapter;
 
-import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
+import java.util.Locale;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 /**
  * Abstract Calendar type XmlAdapter. This supports Date and DataTime string
  * conversion via a simple data formatter.
+ * <p>
+ * The SSRF data types hold {@link java.time} values and use
+ * {@link XmlAdapterLocalDate} and {@link XmlAdapterInstant}; this adapter
+ * supports Calendar properties.
  *
  * @author Jesse Caulfield
  */
-public abstract class AXmlAdapterCalendar extends XmlAdapter<String, Calendar> {
+public abstract class AXmlAdapterCalendar extends XmlAdapter<String, Calendar> implements IXmlTypeValidator<Calendar> {
 
   /**
    * The date or dateTime conversion pattern.
    */
   private final String PATTERN;
+  /**
+   * The date or dateTime formatter. DateTimeFormatter is immutable and
+   * thread-safe, so a single instance is shared by all threads.
+   */
+  private final DateTimeFormatter formatter;
 
   public AXmlAdapterCalendar(String PATTERN) {
     this.PATTERN = PATTERN;
+    this.formatter = DateTimeFormatter.ofPattern(PATTERN, Locale.ROOT);
   }
 
   /**
@@ -47,9 +59,7 @@ public abstract class AXmlAdapterCalendar extends XmlAdapter<String, Calendar> {
     if (v == null) {
       return null;
     }
-    SimpleDateFormat sdf = new SimpleDateFormat(PATTERN);
-    sdf.setTimeZone(v.getTimeZone());
-    return sdf.format(v.getTime());
+    return formatter.format(ZonedDateTime.ofInstant(v.toInstant(), v.getTimeZone().toZoneId()));
   }
 
   /**
@@ -67,4 +77,14 @@ public abstract class AXmlAdapterCalendar extends XmlAdapter<String, Calendar> {
     return javax.xml.bind.DatatypeConverter.parseDate(v);
   }
 
+  /**
+   * Validate a bound type value without marshaling it. Any Calendar value
+   * may be marshalled; this method does nothing.
+   *
+   * @param v The value to be validated.
+   */
+  @Override
+  public void validate(Calendar v) {
+  }
+
 }
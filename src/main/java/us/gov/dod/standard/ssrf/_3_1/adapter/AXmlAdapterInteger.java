@@ -50,7 +50,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  *
  * @author Jesse Caulfield
  */
-public class AXmlAdapterInteger extends XmlAdapter<String, Integer> {
+public class AXmlAdapterInteger extends XmlAdapter<String, Integer> implements IXmlTypeValidator<Integer> {
 
   /**
    * "XmlAdapter". The standard adapter name prefix. This is used when
@@ -76,10 +76,15 @@ public class AXmlAdapterInteger extends XmlAdapter<String, Integer> {
    */
   private final Integer maxInclusive;
 
+  /**
+   * The plain number format used when the digit count is not configured.
+   */
+  private static final FixedPointFormat PLAIN = new FixedPointFormat(() -> new DecimalFormat("###"));
+
   /**
    * The decimal format pattern defined by the total and fraction digit count.
    */
-  private DecimalFormat df;
+  private final FixedPointFormat df;
 
   /**
    * Construct a new Number adapter. The minimum and maximum inclusive values
@@ -123,7 +128,10 @@ public class AXmlAdapterInteger extends XmlAdapter<String, Integer> {
       /**
        * Require zeros on either side of the decimal point.
        */
-      this.df = new DecimalFormat(sb.toString());
+      final String decimalPattern = sb.toString();
+      this.df = new FixedPointFormat(() -> new DecimalFormat(decimalPattern));
+    } else {
+      this.df = null;
     }
   }
 
@@ -145,7 +153,7 @@ public class AXmlAdapterInteger extends XmlAdapter<String, Integer> {
      * scientific notation) number.
      */
     return v != null
-           ? df != null ? df.format(convert(v)) : new DecimalFormat("###").format(convert(v))
+           ? df != null ? df.format(convert(v)) : PLAIN.format(convert(v))
            : null;
   }
 
@@ -168,6 +176,18 @@ public class AXmlAdapterInteger extends XmlAdapter<String, Integer> {
            : null;
   }
 
+  /**
+   * Validate a bound type value without marshaling it.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid; the same error thrown by
+   *                   {@link #marshal(Integer)}.
+   */
+  @Override
+  public void validate(Integer v) throws Exception {
+    convert(v);
+  }
+
   /**
    * Internal method to perform the validation.
    *
@@ -51,16 +51,24 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  * constraint in the form [a .. b] meaning that the value is restricted to be
  * between a and b inclusive. They may also be followed by an additional unit in
  * parenthesis. Example: Sensitivity value: SN(5.2) [-140.00 .. -30.00] (dBm)
+ * <p>
+ * The digit bounds and output format are computed once in the constructor;
+ * values are range-checked with primitive arithmetic and formatted by a
+ * {@link FixedPointFormat} equivalent to the per-value DecimalFormat.
  *
  * @author Jesse Caulfield
  */
-public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
+public class AXmlAdapterNumber extends XmlAdapter<String, Number> implements IXmlTypeValidator<Number> {
 
   /**
    * "XmlAdapter". The standard adapter name prefix. This is used when
    * constructing an error message.
    */
   private static final String NAME_PREFIX = "XmlAdapter";
+  /**
+   * The BigInteger digit count estimation factor: log(2) / log(10).
+   */
+  private static final double DIGIT_FACTOR = Math.log(2) / Math.log(10);
 
   /**
    * The maximum number of total digits in the number, inclusive of fraction
@@ -85,6 +93,16 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
    */
   private final Integer maxInclusive;
 
+  /**
+   * The maximum value, calculated from the digit count if the maximum
+   * inclusive value is not set. See {@link #getMaxInclusive()}.
+   */
+  private final double maxValue;
+  /**
+   * The output format defined by the total and fraction digit count.
+   */
+  private final FixedPointFormat format;
+
   /**
    * Construct a new Number adapter. The minimum and maximum inclusive values
    * are not set, supporting unsigned, unbound numbers within the digit count.
@@ -117,6 +135,12 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
     this.fractionDigits = fractionDigits;
     this.minInclusive = minInclusive;
     this.maxInclusive = maxInclusive;
+    this.maxValue = maxInclusive != null
+                    ? maxInclusive
+                    : totalDigits != null
+                      ? Math.pow(10, (totalDigits - (fractionDigits != null ? fractionDigits : 0))) - 1
+                      : Integer.MAX_VALUE;
+    this.format = new FixedPointFormat(this::buildDecimalFormat);
   }
 
   /**
@@ -124,10 +148,9 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
    * digits and the input value. Produces a decimal format pattern defined by
    * the total and fraction digit count.
    *
-   * @param v the input value to marshal
    * @return a decimal format pattern
    */
-  private DecimalFormat buildDecimalFormat(Number v) {
+  private DecimalFormat buildDecimalFormat() {
     if (totalDigits == null || fractionDigits == null) {
       return new DecimalFormat("#");
     }
@@ -158,7 +181,8 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
      * If there is no configured decimal format then print a plain, normal (non
      * scientific notation) number.
      */
-    return buildDecimalFormat(convert(v)).format(v);
+    check(v);
+    return format.format(v);
   }
 
   /**
@@ -179,6 +203,18 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
                    : new BigInteger(v));
   }
 
+  /**
+   * Validate a bound type value without marshaling it.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid; the same error thrown by
+   *                   {@link #marshal(Number)}.
+   */
+  @Override
+  public void validate(Number v) throws Exception {
+    check(v);
+  }
+
   /**
    * Internal method to perform the validation.
    *
@@ -189,19 +225,41 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
    *                   ValidationEventHandler.
    */
   protected Number convert(Number v) throws Exception {
+    check(v);
+    if (v instanceof BigDecimal || v instanceof Double) {
+      /**
+       * Set the number precision to ensure it matches the required XML style
+       * pattern.
+       */
+      return new BigDecimal(v.doubleValue()).setScale((fractionDigits != null ? fractionDigits : 0), RoundingMode.HALF_UP);
+    }
+    /**
+     * Default fall through with whatever Number type was presented.
+     */
+    return v;
+  }
+
+  /**
+   * Internal method to validate the max/min values and the digit count.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid
+   */
+  private void check(Number v) throws Exception {
+    double value = v.doubleValue();
     /**
      * Validate the max/min values.
      */
-    if (minInclusive != null && v.doubleValue() < minInclusive) {
+    if (minInclusive != null && value < minInclusive) {
       throw new Exception("Minimum value violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + ": min " + minInclusive + " exceeded by " + v + ".");
     }
-    if (maxInclusive != null && v.doubleValue() > maxInclusive) {
+    if (maxInclusive != null && value > maxInclusive) {
       throw new Exception("Maximum value violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + ": max " + maxInclusive + " exceeded by " + v + ".");
     }
-    if (maxInclusive == null && v.doubleValue() > getMaxInclusive().doubleValue()) {
+    if (maxInclusive == null && value > maxValue) {
       throw new Exception("Maximum value violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "")
                           + " pattern "
-                          + buildDecimalFormat(v).toPattern()
+                          + format.toPattern()
                           + " exceeded.");
     }
     /**
@@ -212,19 +270,48 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
         throw new Exception("Maximum digits violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " " + totalDigits + " digits exceeded by \"" + v + "\".");
       }
     } else if (v instanceof BigDecimal || v instanceof Double) {
-      if (totalDigits != null && totalDigits < getDigitCount(BigInteger.valueOf(v.intValue()))) {
+      if (totalDigits != null && totalDigits < getDigitCount(intValue(v))) {
         throw new Exception("Maximum digits violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " " + totalDigits + " digits exceeded by \"" + v + "\".");
       }
-      /**
-       * Set the number precision to ensure it matches the required XML style
-       * pattern.
-       */
-      return new BigDecimal(v.doubleValue()).setScale((fractionDigits != null ? fractionDigits : 0), RoundingMode.HALF_UP);
     }
-    /**
-     * Default fall through with whatever Number type was presented.
-     */
-    return v;
+  }
+
+  /**
+   * Internal helper method to get the integer part of a BigDecimal or Double
+   * number. Equivalent to <code>Number.intValue()</code>, but avoids the
+   * BigInteger conversion of a BigDecimal having fraction digits.
+   *
+   * @param number a BigDecimal or Double number instance
+   * @return the integer value, truncated as per <code>intValue()</code>
+   */
+  private static int intValue(Number number) {
+    if (number instanceof BigDecimal) {
+      BigDecimal decimal = (BigDecimal) number;
+      if (decimal.scale() > 0 && decimal.scale() < 19) {
+        BigInteger unscaled = decimal.unscaledValue();
+        if (unscaled.bitLength() < 63) {
+          return (int) (unscaled.longValue() / FixedPointFormat.powerOfTen(decimal.scale()));
+        }
+      }
+    }
+    return number.intValue();
+  }
+
+  /**
+   * Internal helper method to get the number of digits from a long integer.
+   * Equivalent to {@link #getDigitCount(BigInteger)} for values of up to 62
+   * bits.
+   *
+   * @param number a long integer
+   * @return the total number of digits in the number.
+   */
+  private int getDigitCount(long number) {
+    int bitLength = 64 - Long.numberOfLeadingZeros(number < 0 ? ~number : number);
+    int digitCount = (int) (DIGIT_FACTOR * bitLength + 1);
+    if (FixedPointFormat.powerOfTen(digitCount - 1) > number) {
+      return digitCount - 1;
+    }
+    return digitCount;
   }
 
   /**
@@ -235,8 +322,10 @@ public class AXmlAdapterNumber extends XmlAdapter<String, Number> {
    * @return the total number of digits in the number.
    */
   private int getDigitCount(BigInteger number) {
-    double factor = Math.log(2) / Math.log(10);
-    int digitCount = (int) (factor * number.bitLength() + 1);
+    if (number.bitLength() < 63) {
+      return getDigitCount(number.longValue());
+    }
+    int digitCount = (int) (DIGIT_FACTOR * number.bitLength() + 1);
     if (BigInteger.TEN.pow(digitCount - 1).compareTo(number) > 0) {
       return digitCount - 1;
     }
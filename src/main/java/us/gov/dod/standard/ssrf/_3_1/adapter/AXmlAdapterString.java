@@ -16,6 +16,7 @@
 package us.gov.dod.standard.ssrf._3_1.adapter;
 
 import java.util.Locale;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
@@ -29,11 +30,12 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  * case characters).
  * <p>
  * This abstract adapter converts between a {@link java.lang.String} and a
- * {@link String}.
+ * {@link String}. Unmarshalled values are shared through the
+ * {@link StringPool}.
  *
  * @author Jesse Caulfield
  */
-public abstract class AXmlAdapterString extends XmlAdapter<String, String> {
+public abstract class AXmlAdapterString extends XmlAdapter<String, String> implements IXmlTypeValidator<String> {
 
   /**
    * "XmlAdapter". The standard adapter name prefix. This is used when
@@ -58,19 +60,18 @@ public abstract class AXmlAdapterString extends XmlAdapter<String, String> {
    * The REGEX pattern that the string must conform to.
    */
   private final String pattern;
+  /**
+   * A reusable matcher of the (compiled once) REGEX pattern, per thread. Null
+   * if there is no pattern.
+   */
+  private final ThreadLocal<Matcher> matcher;
 
   public AXmlAdapterString(Integer minLength, Integer maxLength) {
-    this.minLength = minLength;
-    this.maxLength = maxLength;
-    this.upperCase = false;
-    this.pattern = null;
+    this(minLength, maxLength, false, null);
   }
 
   public AXmlAdapterString(Integer minLength, Integer maxLength, String pattern) {
-    this.minLength = minLength;
-    this.maxLength = maxLength;
-    this.upperCase = false;
-    this.pattern = pattern;
+    this(minLength, maxLength, false, pattern);
   }
 
   public AXmlAdapterString(Integer minLength, Integer maxLength, boolean upperCase, String pattern) {
@@ -78,6 +79,12 @@ public abstract class AXmlAdapterString extends XmlAdapter<String, String> {
     this.maxLength = maxLength;
     this.upperCase = upperCase;
     this.pattern = pattern;
+    if (pattern != null) {
+      final Pattern compiled = Pattern.compile(pattern);
+      this.matcher = ThreadLocal.withInitial(() -> compiled.matcher(""));
+    } else {
+      this.matcher = null;
+    }
   }
 
   /**
@@ -109,7 +116,19 @@ public abstract class AXmlAdapterString extends XmlAdapter<String, String> {
    */
   @Override
   public String unmarshal(String v) throws Exception {
-    return convert(v);
+    return StringPool.intern(convert(v));
+  }
+
+  /**
+   * Validate a bound type value without marshaling it.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid; the same error thrown by
+   *                   {@link #marshal(String)}.
+   */
+  @Override
+  public void validate(String v) throws Exception {
+    check(v);
   }
 
   /**
@@ -122,6 +141,20 @@ public abstract class AXmlAdapterString extends XmlAdapter<String, String> {
    *                   ValidationEventHandler.
    */
   private String convert(String v) throws Exception {
+    check(v);
+    /**
+     * Convert to upper case if indicated.
+     */
+    return upperCase ? v.toUpperCase(Locale.getDefault()) : v;
+  }
+
+  /**
+   * Internal method to check the string length and pattern.
+   *
+   * @param v The value to be checked.
+   * @throws Exception if the value is not valid
+   */
+  private void check(String v) throws Exception {
     if (minLength != null && v.length() < minLength) {
       throw new Exception("Minimum length violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " min length " + minLength + " required.");
     }
@@ -132,14 +165,24 @@ public abstract class AXmlAdapterString extends XmlAdapter<String, String> {
      * If the string length is valid then validate the pattern if applicable.
      */
     if (pattern != null) {
-      if (!Pattern.compile(pattern).matcher(v).find()) {
+      if (!find(v)) {
         throw new Exception("String pattern violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " requires " + pattern + " received \"" + v + "\"");
       }
     }
-    /**
-     * Convert to upper case if indicated.
-     */
-    return upperCase ? v.toUpperCase(Locale.getDefault()) : v;
+  }
+
+  /**
+   * Determine if the string contains a match of the REGEX pattern, with the
+   * semantics of {@link Matcher#find()}.
+   * <p>
+   * Adapters with a fixed-format pattern may override this method with an
+   * equivalent hand-written matcher.
+   *
+   * @param v the string value. Must be non-null.
+   * @return TRUE if the string contains a match of the pattern
+   */
+  protected boolean find(String v) {
+    return matcher.get().reset(v).find();
   }
 
   /**
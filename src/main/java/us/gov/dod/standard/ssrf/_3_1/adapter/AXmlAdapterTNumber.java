@@ -54,7 +54,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  * @deprecated Values and are converted by type-specific adapters. This generic
  * adapter may be used in the future.
  */
-public class AXmlAdapterTNumber extends XmlAdapter<String, Number> {
+public class AXmlAdapterTNumber extends XmlAdapter<String, Number> implements IXmlTypeValidator<Number> {
 
   /**
    * "XmlAdapter". The standard adapter name prefix. This is used when
@@ -85,10 +85,15 @@ public class AXmlAdapterTNumber extends XmlAdapter<String, Number> {
    */
   private final Integer maxInclusive;
 
+  /**
+   * The plain number format used when the digit count is not configured.
+   */
+  private static final FixedPointFormat PLAIN = new FixedPointFormat(() -> new DecimalFormat("###"));
+
   /**
    * The decimal format pattern defined by the total and fraction digit count.
    */
-  private DecimalFormat df;
+  private final FixedPointFormat df;
 
   /**
    * Construct a new Number adapter. The minimum and maximum inclusive values
@@ -136,7 +141,10 @@ public class AXmlAdapterTNumber extends XmlAdapter<String, Number> {
       /**
        * Require zeros on either side of the decimal point.
        */
-      this.df = new DecimalFormat(sb.toString().replace("#.#", "0.0"));
+      final String decimalPattern = sb.toString().replace("#.#", "0.0");
+      this.df = new FixedPointFormat(() -> new DecimalFormat(decimalPattern));
+    } else {
+      this.df = null;
     }
   }
 
@@ -159,7 +167,7 @@ public class AXmlAdapterTNumber extends XmlAdapter<String, Number> {
      */
     return df != null
            ? df.format(convert(v))
-           : new DecimalFormat("###").format(convert(v));
+           : PLAIN.format(convert(v));
   }
 
   /**
@@ -178,6 +186,18 @@ public class AXmlAdapterTNumber extends XmlAdapter<String, Number> {
     return convert(v.contains(".") ? new BigDecimal(v) : new BigInteger(v));
   }
 
+  /**
+   * Validate a bound type value without marshaling it.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid; the same error thrown by
+   *                   {@link #marshal(Number)}.
+   */
+  @Override
+  public void validate(Number v) throws Exception {
+    convert(v);
+  }
+
   /**
    * Internal method to perform the validation.
    *
@@ -16,6 +16,7 @@
 package us.gov.dod.standard.ssrf._3_1.adapter;
 
 import java.util.Locale;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import us.gov.dod.standard.ssrf._3_1.metadata.domains.TString;
@@ -34,7 +35,7 @@ import us.gov.dod.standard.ssrf._3_1.metadata.domains.TString;
  *
  * @author Jesse Caulfield
  */
-public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> {
+public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> implements IXmlTypeValidator<TString> {
 
   /**
    * "XmlAdapter". The standard adapter name prefix. This is used when
@@ -59,19 +60,18 @@ public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> {
    * The REGEX pattern that the string must conform to.
    */
   private final String pattern;
+  /**
+   * A reusable matcher of the (compiled once) REGEX pattern, per thread. Null
+   * if there is no pattern.
+   */
+  private final ThreadLocal<Matcher> matcher;
 
   public AXmlAdapterTString(Integer minLength, Integer maxLength) {
-    this.minLength = minLength;
-    this.maxLength = maxLength;
-    this.upperCase = false;
-    this.pattern = null;
+    this(minLength, maxLength, false, null);
   }
 
   public AXmlAdapterTString(Integer minLength, Integer maxLength, String pattern) {
-    this.minLength = minLength;
-    this.maxLength = maxLength;
-    this.upperCase = false;
-    this.pattern = pattern;
+    this(minLength, maxLength, false, pattern);
   }
 
   public AXmlAdapterTString(Integer minLength, Integer maxLength, boolean upperCase, String pattern) {
@@ -79,6 +79,12 @@ public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> {
     this.maxLength = maxLength;
     this.upperCase = upperCase;
     this.pattern = pattern;
+    if (pattern != null) {
+      final Pattern compiled = Pattern.compile(pattern);
+      this.matcher = ThreadLocal.withInitial(() -> compiled.matcher(""));
+    } else {
+      this.matcher = null;
+    }
   }
 
   /**
@@ -110,7 +116,19 @@ public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> {
    */
   @Override
   public TString unmarshal(String v) throws Exception {
-    return new TString(convert(v));
+    return new TString(StringPool.intern(convert(v)));
+  }
+
+  /**
+   * Validate a bound type value without marshaling it.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid; the same error thrown by
+   *                   {@link #marshal(TString)}.
+   */
+  @Override
+  public void validate(TString v) throws Exception {
+    check(v.getValue());
   }
 
   /**
@@ -126,6 +144,23 @@ public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> {
     if (v == null) {
       return null;
     }
+    check(v);
+    /**
+     * Convert to upper case if indicated.
+     */
+    return upperCase ? v.toUpperCase(Locale.getDefault()) : v;
+  }
+
+  /**
+   * Internal method to check the string length and pattern.
+   *
+   * @param v The value to be checked. Can be null.
+   * @throws Exception if the value is not valid
+   */
+  private void check(String v) throws Exception {
+    if (v == null) {
+      return;
+    }
     if (minLength != null && v.length() < minLength) {
       throw new Exception("String length violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " [" + minLength + "-" + maxLength + "]" + " with length = " + v.length() + ".");
     }
@@ -136,14 +171,24 @@ public abstract class AXmlAdapterTString extends XmlAdapter<String, TString> {
      * If the string length is valid then validate the pattern if applicable.
      */
     if (pattern != null) {
-      if (!Pattern.compile(pattern).matcher(v).find()) {
+      if (!find(v)) {
         throw new Exception("String pattern violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " [" + pattern + "] for \"" + v + "\".");
       }
     }
-    /**
-     * Convert to upper case if indicated.
-     */
-    return upperCase ? v.toUpperCase(Locale.getDefault()) : v;
+  }
+
+  /**
+   * Determine if the string contains a match of the REGEX pattern, with the
+   * semantics of {@link Matcher#find()}.
+   * <p>
+   * Adapters with a fixed-format pattern may override this method with an
+   * equivalent hand-written matcher.
+   *
+   * @param v the string value. Must be non-null.
+   * @return TRUE if the string contains a match of the pattern
+   */
+  protected boolean find(String v) {
+    return matcher.get().reset(v).find();
   }
 
   /**
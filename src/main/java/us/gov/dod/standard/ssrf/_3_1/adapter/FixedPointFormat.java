@@ -0,0 +1,326 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-point number formatter producing exactly the same output as a
+ * DecimalFormat.
+ * <p>
+ * The SSRF number adapters format every value with a plain (no grouping, no
+ * exponent) DecimalFormat. Creating a DecimalFormat per call, and the
+ * formatter's own DigitList conversion, dominate the cost of marshaling
+ * frequency-heavy documents. This class reads the digit bounds, rounding mode
+ * and locale symbols from a prototype DecimalFormat once, then formats
+ * BigDecimal, BigInteger, Long, Integer, Short and Byte values of up to 18
+ * digits directly with long arithmetic.
+ * <p>
+ * Other values (Double, very large numbers) and prototypes this class does
+ * not emulate (grouping, exponent, multiplier or rounding modes other than
+ * HALF_UP and HALF_EVEN) are formatted by a per-thread copy of the prototype.
+ * <p>
+ * As with a new DecimalFormat the symbols follow the default FORMAT locale;
+ * the layout is rebuilt if the default locale changes.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+final class FixedPointFormat {
+
+  /**
+   * Powers of ten that fit in a long: 10^0 through 10^18.
+   */
+  private static final long[] POWERS_OF_TEN = new long[19];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  /**
+   * The prototype DecimalFormat factory.
+   */
+  private final Supplier<DecimalFormat> prototype;
+  /**
+   * The format layout for the current default locale.
+   */
+  private volatile Layout layout;
+
+  /**
+   * Construct a new fixed-point format.
+   *
+   * @param prototype a factory for the DecimalFormat whose output this format
+   *                  reproduces. Called once per default locale.
+   */
+  FixedPointFormat(Supplier<DecimalFormat> prototype) {
+    this.prototype = prototype;
+  }
+
+  /**
+   * Format a number. Equivalent to <code>format(number)</code> on a new
+   * prototype DecimalFormat.
+   *
+   * @param number the number. Must be non-null.
+   * @return the formatted number
+   */
+  String format(Number number) {
+    Layout current = getLayout();
+    if (current.fixedPoint) {
+      String formatted = current.format(number);
+      if (formatted != null) {
+        return formatted;
+      }
+    }
+    return current.decimalFormat.get().format(number);
+  }
+
+  /**
+   * Get the DecimalFormat pattern.
+   *
+   * @return the prototype pattern
+   */
+  String toPattern() {
+    return getLayout().pattern;
+  }
+
+  /**
+   * Internal method to get the layout for the current default locale.
+   *
+   * @return the format layout
+   */
+  private Layout getLayout() {
+    Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+    Layout current = layout;
+    if (current == null || !current.locale.equals(locale)) {
+      current = new Layout(locale, prototype.get());
+      layout = current;
+    }
+    return current;
+  }
+
+  /**
+   * Get the number of decimal digits in a non-negative long value.
+   *
+   * @param value the value
+   * @return the number of digits; zero if the value is zero
+   */
+  static int digitCount(long value) {
+    int count = 0;
+    while (count < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[count]) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Get a power of ten.
+   *
+   * @param exponent the exponent, zero through 18
+   * @return ten raised to the exponent
+   */
+  static long powerOfTen(int exponent) {
+    return POWERS_OF_TEN[exponent];
+  }
+
+  /**
+   * The digit bounds, rounding mode and symbols of a prototype DecimalFormat
+   * in one locale.
+   */
+  private static final class Layout {
+
+    private final Locale locale;
+    private final String pattern;
+    /**
+     * TRUE if the prototype is a plain fixed-point format that this class
+     * emulates.
+     */
+    private final boolean fixedPoint;
+    private final int minimumIntegerDigits;
+    private final int maximumIntegerDigits;
+    private final int minimumFractionDigits;
+    private final int maximumFractionDigits;
+    private final boolean halfEven;
+    private final char zeroDigit;
+    private final char decimalSeparator;
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    /**
+     * Per-thread copies of the prototype for values that are not emulated.
+     * DecimalFormat is not thread-safe.
+     */
+    private final ThreadLocal<DecimalFormat> decimalFormat;
+
+    /**
+     * Read the layout of a prototype DecimalFormat.
+     *
+     * @param locale        the locale in which the prototype was built
+     * @param decimalFormat the prototype
+     */
+    private Layout(Locale locale, DecimalFormat decimalFormat) {
+      this.locale = locale;
+      this.pattern = decimalFormat.toPattern();
+      this.fixedPoint = decimalFormat.getMultiplier() == 1
+                        && !(decimalFormat.isGroupingUsed() && decimalFormat.getGroupingSize() > 0)
+                        && !decimalFormat.isDecimalSeparatorAlwaysShown()
+                        && pattern.indexOf('E') < 0
+                        && (decimalFormat.getRoundingMode() == RoundingMode.HALF_UP
+                            || decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN);
+      this.minimumIntegerDigits = decimalFormat.getMinimumIntegerDigits();
+      this.maximumIntegerDigits = decimalFormat.getMaximumIntegerDigits();
+      this.minimumFractionDigits = decimalFormat.getMinimumFractionDigits();
+      this.maximumFractionDigits = decimalFormat.getMaximumFractionDigits();
+      this.halfEven = decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN;
+      DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+      this.zeroDigit = symbols.getZeroDigit();
+      this.decimalSeparator = symbols.getDecimalSeparator();
+      this.positivePrefix = decimalFormat.getPositivePrefix();
+      this.positiveSuffix = decimalFormat.getPositiveSuffix();
+      this.negativePrefix = decimalFormat.getNegativePrefix();
+      this.negativeSuffix = decimalFormat.getNegativeSuffix();
+      this.decimalFormat = ThreadLocal.withInitial(() -> (DecimalFormat) decimalFormat.clone());
+    }
+
+    /**
+     * Format a number with long arithmetic.
+     *
+     * @param number the number
+     * @return the formatted number, NULL if the number type or magnitude is
+     *         not supported
+     */
+    private String format(Number number) {
+      if (number instanceof BigDecimal) {
+        BigDecimal decimal = (BigDecimal) number;
+        BigInteger unscaled = decimal.unscaledValue();
+        int scale = decimal.scale();
+        if (unscaled.bitLength() > 62 || scale > 18) {
+          return null;
+        }
+        long unscaledValue = Math.abs(unscaled.longValue());
+        if (scale < 0) {
+          /**
+           * e.g. 1E+3. Scale up to an integer value.
+           */
+          if (-scale > 18 || unscaledValue > Long.MAX_VALUE / POWERS_OF_TEN[-scale]) {
+            return null;
+          }
+          unscaledValue *= POWERS_OF_TEN[-scale];
+          scale = 0;
+        }
+        return format(decimal.signum() < 0, unscaledValue, scale);
+      } else if (number instanceof BigInteger) {
+        BigInteger integer = (BigInteger) number;
+        if (integer.bitLength() > 62) {
+          return null;
+        }
+        return format(integer.signum() < 0, Math.abs(integer.longValue()), 0);
+      } else if (number instanceof Long
+                 || number instanceof Integer
+                 || number instanceof Short
+                 || number instanceof Byte) {
+        long value = number.longValue();
+        if (value == Long.MIN_VALUE) {
+          return null;
+        }
+        return format(value < 0, Math.abs(value), 0);
+      }
+      return null;
+    }
+
+    /**
+     * Format a fixed-point value. Follows the DecimalFormat (DigitList)
+     * algorithm: round to the maximum fraction digits, drop trailing fraction
+     * zeros, print the low-order integer digits padded to the minimum integer
+     * digits and the fraction digits padded to the minimum fraction digits.
+     * The sign is taken from the value before rounding.
+     *
+     * @param negative TRUE if the value is negative
+     * @param unscaled the absolute unscaled value
+     * @param scale    the number of fraction digits in the unscaled value, 0
+     *                 through 18
+     * @return the formatted value
+     */
+    private String format(boolean negative, long unscaled, int scale) {
+      if (scale > maximumFractionDigits) {
+        long divisor = POWERS_OF_TEN[scale - maximumFractionDigits];
+        long quotient = unscaled / divisor;
+        long remainder = unscaled % divisor;
+        long half = divisor / 2;
+        if (halfEven
+            ? remainder > half || (remainder == half && (quotient & 1) != 0)
+            : remainder >= half) {
+          quotient++;
+        }
+        unscaled = quotient;
+        scale = maximumFractionDigits;
+      }
+      while (scale > 0 && unscaled % 10 == 0) {
+        unscaled /= 10;
+        scale--;
+      }
+      long integer = unscaled / POWERS_OF_TEN[scale];
+      long fraction = unscaled % POWERS_OF_TEN[scale];
+      /**
+       * The number of integer digits to print.
+       */
+      int count = Math.max(minimumIntegerDigits, integer == 0 ? 0 : digitCount(integer));
+      if (count > maximumIntegerDigits) {
+        count = maximumIntegerDigits;
+        integer %= POWERS_OF_TEN[count];
+      }
+      boolean fractionPresent = minimumFractionDigits > 0 || scale > 0;
+      StringBuilder sb = new StringBuilder(count + Math.max(scale, minimumFractionDigits) + 4);
+      sb.append(negative ? negativePrefix : positivePrefix);
+      appendDigits(sb, integer, count);
+      if (!fractionPresent && count == 0) {
+        sb.append(zeroDigit);
+      }
+      if (fractionPresent) {
+        sb.append(decimalSeparator);
+        appendDigits(sb, fraction, scale);
+        for (int i = scale; i < minimumFractionDigits; i++) {
+          sb.append(zeroDigit);
+        }
+      }
+      return sb.append(negative ? negativeSuffix : positiveSuffix).toString();
+    }
+
+    /**
+     * Append a non-negative value, zero-padded to a fixed number of digits.
+     *
+     * @param sb     the string builder
+     * @param value  the value; must have no more than the indicated digits
+     * @param digits the number of digits to print
+     */
+    private void appendDigits(StringBuilder sb, long value, int digits) {
+      for (int i = digits - 1; i >= 0; i--) {
+        sb.append((char) (zeroDigit + (i < POWERS_OF_TEN.length ? value / POWERS_OF_TEN[i] % 10 : 0)));
+      }
+    }
+  }
+}
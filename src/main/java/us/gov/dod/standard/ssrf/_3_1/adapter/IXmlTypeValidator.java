@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+/**
+ * Interface describing an XmlAdapter that can validate a bound type value
+ * without marshaling it.
+ * <p>
+ * Validation throws exactly the same exception (type and message) that the
+ * adapter <code>marshal</code> method would throw for the same value, but
+ * does not build the marshalled String.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @param <BoundType> the bound (Java) type
+ * @since 3.1.0
+ */
+public interface IXmlTypeValidator<BoundType> {
+
+  /**
+   * Validate a bound type value.
+   *
+   * @param v The value to be validated.
+   * @throws Exception if the value is not valid; the same error thrown by the
+   *                   adapter <code>marshal</code> method.
+   */
+  void validate(BoundType v) throws Exception;
+}
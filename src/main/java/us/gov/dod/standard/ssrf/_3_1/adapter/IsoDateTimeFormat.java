@@ -0,0 +1,296 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * ISO 8601 (XML Schema) date and dateTime codec for the SSRF D and DT data
+ * types.
+ * <p>
+ * Dates are held as {@link LocalDate} and date/times as {@link Instant}
+ * (millisecond precision, UTC). Values are printed with cached, thread-safe
+ * DateTimeFormatters in the SSRF patterns "yyyy-MM-dd" and
+ * "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'".
+ * <p>
+ * Values are parsed by hand when they have the common four digit year layout
+ * (e.g. "2015-03-30", "2015-03-30Z", "2015-03-30T12:00:00.000Z",
+ * "2015-03-30T12:00:00-05:00"). Other layouts (e.g. signed or five digit
+ * years) are parsed with the ISO DateTimeFormatters. A date/time without a
+ * time zone is read as UTC, and the time zone of a date is ignored.
+ * <p>
+ * The Calendar and Date conversion methods support the Calendar getters and
+ * setters of the SSRF date types. Calendar values are converted in UTC.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class IsoDateTimeFormat {
+
+  /**
+   * UTC. The SSRF time zone.
+   */
+  private static final TimeZone TIMEZONE = TimeZone.getTimeZone("UTC");
+  /**
+   * "yyyy-MM-dd". The Date format.
+   */
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ROOT);
+  /**
+   * "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'". The DateTime format, printed in UTC.
+   */
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT).withZone(ZoneOffset.UTC);
+
+  /**
+   * Static utility class; do not instantiate.
+   */
+  private IsoDateTimeFormat() {
+  }
+
+  /**
+   * Print a date in the SSRF D format "yyyy-MM-dd".
+   *
+   * @param date the date. Must be non-null.
+   * @return the formatted date
+   */
+  public static String formatDate(LocalDate date) {
+    return DATE.format(date);
+  }
+
+  /**
+   * Print a date/time in the SSRF DT format "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'".
+   *
+   * @param dateTime the date/time. Must be non-null.
+   * @return the formatted date/time, in UTC
+   */
+  public static String formatDateTime(Instant dateTime) {
+    return DATE_TIME.format(dateTime);
+  }
+
+  /**
+   * Parse an XML Schema date value (e.g. "2015-03-30" or "2015-03-30Z").
+   *
+   * @param text the date text. Must be non-null.
+   * @return the date
+   * @throws java.time.DateTimeException if the text is not a valid date
+   */
+  public static LocalDate parseDate(String text) {
+    String value = text.trim();
+    if (value.length() >= 10
+        && value.charAt(4) == '-'
+        && value.charAt(7) == '-'
+        && isZone(value, 10)) {
+      int year = digits(value, 0, 4);
+      int month = digits(value, 5, 2);
+      int day = digits(value, 8, 2);
+      if (year >= 0 && month >= 0 && day >= 0) {
+        return LocalDate.of(year, month, day);
+      }
+    }
+    return LocalDate.from(DateTimeFormatter.ISO_DATE.parse(value));
+  }
+
+  /**
+   * Parse an XML Schema dateTime value (e.g. "2015-03-30T12:00:00.000Z"). The
+   * value is truncated to milliseconds. A value without a time zone is read as
+   * UTC.
+   *
+   * @param text the date/time text. Must be non-null.
+   * @return the date/time
+   * @throws java.time.DateTimeException if the text is not a valid date/time
+   */
+  public static Instant parseDateTime(String text) {
+    String value = text.trim();
+    if (value.length() >= 19
+        && value.charAt(4) == '-'
+        && value.charAt(7) == '-'
+        && value.charAt(10) == 'T'
+        && value.charAt(13) == ':'
+        && value.charAt(16) == ':') {
+      int year = digits(value, 0, 4);
+      int month = digits(value, 5, 2);
+      int day = digits(value, 8, 2);
+      int hour = digits(value, 11, 2);
+      int minute = digits(value, 14, 2);
+      int second = digits(value, 17, 2);
+      /**
+       * Read up to three fraction digits as milliseconds and skip the rest.
+       */
+      int index = 19;
+      int millis = 0;
+      if (index < value.length() && value.charAt(index) == '.') {
+        index++;
+        int start = index;
+        while (index < value.length() && value.charAt(index) >= '0' && value.charAt(index) <= '9') {
+          if (index - start < 3) {
+            millis = millis * 10 + value.charAt(index) - '0';
+          }
+          index++;
+        }
+        if (index == start) {
+          millis = -1;
+        }
+        for (int i = index - start; i < 3; i++) {
+          millis *= 10;
+        }
+      }
+      if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0 && millis >= 0
+          && isZone(value, index)) {
+        LocalDateTime localDateTime = LocalDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000);
+        return localDateTime.toInstant(parseZone(value, index));
+      }
+    }
+    TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+    Instant instant = parsed instanceof OffsetDateTime
+                      ? ((OffsetDateTime) parsed).toInstant()
+                      : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+    return Instant.ofEpochMilli(instant.toEpochMilli());
+  }
+
+  /**
+   * Convert a Calendar to a date. The date is read in UTC.
+   *
+   * @param calendar the calendar. Must be non-null.
+   * @return the UTC date
+   */
+  public static LocalDate toLocalDate(Calendar calendar) {
+    return toLocalDate(calendar.getTimeInMillis());
+  }
+
+  /**
+   * Convert a Date to a date. The date is read in UTC.
+   *
+   * @param date the date. Must be non-null.
+   * @return the UTC date
+   */
+  public static LocalDate toLocalDate(Date date) {
+    return toLocalDate(date.getTime());
+  }
+
+  /**
+   * Convert a Calendar to a date/time.
+   *
+   * @param calendar the calendar. Must be non-null.
+   * @return the date/time
+   */
+  public static Instant toInstant(Calendar calendar) {
+    return Instant.ofEpochMilli(calendar.getTimeInMillis());
+  }
+
+  /**
+   * Convert a date to a new UTC Calendar set to midnight.
+   *
+   * @param date the date. Must be non-null.
+   * @return a new Calendar instance
+   */
+  public static Calendar toCalendar(LocalDate date) {
+    Calendar calendar = new GregorianCalendar(TIMEZONE);
+    calendar.clear();
+    calendar.set(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth());
+    return calendar;
+  }
+
+  /**
+   * Convert a date/time to a new UTC Calendar.
+   *
+   * @param dateTime the date/time. Must be non-null.
+   * @return a new Calendar instance
+   */
+  public static Calendar toCalendar(Instant dateTime) {
+    Calendar calendar = new GregorianCalendar(TIMEZONE);
+    calendar.setTimeInMillis(dateTime.toEpochMilli());
+    return calendar;
+  }
+
+  /**
+   * Internal method to get the UTC date of an epoch millisecond value.
+   *
+   * @param epochMilli the epoch millisecond value
+   * @return the UTC date
+   */
+  private static LocalDate toLocalDate(long epochMilli) {
+    return LocalDate.ofEpochDay(Math.floorDiv(epochMilli, 86_400_000L));
+  }
+
+  /**
+   * Internal method to read a run of decimal digits.
+   *
+   * @param value  the text
+   * @param offset the index of the first digit
+   * @param length the number of digits
+   * @return the value, -1 if any character is not a digit
+   */
+  private static int digits(String value, int offset, int length) {
+    int result = 0;
+    for (int i = offset; i < offset + length; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      result = result * 10 + c - '0';
+    }
+    return result;
+  }
+
+  /**
+   * Internal method to determine if the text remaining from an index is
+   * empty, "Z" or a "+hh:mm" / "-hh:mm" time zone offset.
+   *
+   * @param value  the text
+   * @param offset the index of the time zone
+   * @return TRUE if the remaining text is a time zone or empty
+   */
+  private static boolean isZone(String value, int offset) {
+    int length = value.length() - offset;
+    if (length == 0) {
+      return true;
+    }
+    if (length == 1) {
+      return value.charAt(offset) == 'Z';
+    }
+    return length == 6
+           && (value.charAt(offset) == '+' || value.charAt(offset) == '-')
+           && value.charAt(offset + 3) == ':'
+           && digits(value, offset + 1, 2) >= 0
+           && digits(value, offset + 4, 2) >= 0;
+  }
+
+  /**
+   * Internal method to read a time zone validated by
+   * {@link #isZone(String, int)}. No time zone is read as UTC.
+   *
+   * @param value  the text
+   * @param offset the index of the time zone
+   * @return the time zone offset
+   */
+  private static ZoneOffset parseZone(String value, int offset) {
+    if (value.length() - offset != 6) {
+      return ZoneOffset.UTC;
+    }
+    int sign = value.charAt(offset) == '-' ? -1 : 1;
+    return ZoneOffset.ofHoursMinutes(sign * digits(value, offset + 1, 2), sign * digits(value, offset + 4, 2));
+  }
+}
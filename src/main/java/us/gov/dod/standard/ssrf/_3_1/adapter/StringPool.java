@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+/**
+ * Global interning pool for the short string values read by the SSRF string
+ * adapters.
+ * <p>
+ * SSRF documents repeat the same short codes and names (usage codes, station
+ * classes, agency names, Serial references) many thousands of times, and the
+ * XML parser creates a new String for every occurrence. The string adapters
+ * pass each unmarshalled value through {@link #intern(String)} so that equal
+ * values share one String instance for the life of the loaded graph.
+ * <p>
+ * Strings are immutable, so a shared value cannot be changed through one of
+ * the objects that holds it: setting a new value on a metadata wrapper simply
+ * replaces its reference. The wrapper objects themselves are never shared.
+ * <p>
+ * The pool is a fixed-size, direct-mapped table: a slot holds the most
+ * recently interned value that hashed to it, so the pool never grows and
+ * never pins more than {@link #SIZE} strings. Lookups never lock. Values longer
+ * than {@link #MAX_LENGTH} characters (e.g. free text MEMO fields) are not
+ * interned.
+ * <p>
+ * The pool may be disabled with the system property
+ * <code>us.gov.dod.standard.ssrf.internStrings=false</code>.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class StringPool {
+
+  /**
+   * "us.gov.dod.standard.ssrf.internStrings". The system property used to
+   * disable string interning.
+   */
+  public static final String ENABLED_PROPERTY = "us.gov.dod.standard.ssrf.internStrings";
+  /**
+   * 8,192. The number of pool slots. Must be a power of two.
+   */
+  public static final int SIZE = 8192;
+  /**
+   * 64. The maximum length of an interned value.
+   */
+  public static final int MAX_LENGTH = 64;
+
+  /**
+   * Indicator that interning is enabled. Default is TRUE.
+   */
+  private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+  /**
+   * The pooled values.
+   */
+  private static final String[] POOL = new String[SIZE];
+
+  /**
+   * Static utility class; do not instantiate.
+   */
+  private StringPool() {
+  }
+
+  /**
+   * Get the pooled instance of a string value.
+   *
+   * @param value the string value. Can be null.
+   * @return a shared instance equal to the value, or the value itself if it
+   *         is not (or cannot be) pooled
+   */
+  public static String intern(String value) {
+    if (!ENABLED || value == null || value.length() > MAX_LENGTH) {
+      return value;
+    }
+    int hash = value.hashCode();
+    int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+    String pooled = POOL[index];
+    if (value.equals(pooled)) {
+      return pooled;
+    }
+    POOL[index] = value;
+    return value;
+  }
+
+  /**
+   * Determine if string interning is enabled.
+   *
+   * @return TRUE if unmarshalled string values are pooled
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Empty the pool. Values already shared by loaded objects are not affected.
+   */
+  public static void clear() {
+    for (int i = 0; i < SIZE; i++) {
+      POOL[i] = null;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.time.Instant;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+/**
+ * SSRF DateTime type adapter for {@link Instant} values.
+ * <p>
+ * DT is a date / time value formatted in 20 to 24 characters as
+ * YYYY-MM-DDThh:mm:ss[.ddd]Z (year-
+ * month-day"T"hours:minutes:seconds.milliseconds"Z"), where the milliseconds
+ * part is optional. This format is compliant with the W3C Recommendation on
+ * XML Schema. Values are always printed in UTC with milliseconds.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class XmlAdapterInstant extends XmlAdapter<String, Instant> implements IXmlTypeValidator<Instant> {
+
+  /**
+   * Convert a bound type to a value type.
+   *
+   * @param v The value to be converted. Can be null.
+   * @return the converted value
+   */
+  @Override
+  public String marshal(Instant v) {
+    return v != null ? IsoDateTimeFormat.formatDateTime(v) : null;
+  }
+
+  /**
+   * Convert a value type to a bound type.
+   *
+   * @param v The value to be converted. Must be non-null.
+   * @return the converted value
+   */
+  @Override
+  public Instant unmarshal(String v) {
+    return IsoDateTimeFormat.parseDateTime(v);
+  }
+
+  /**
+   * Validate a bound type value without marshaling it. Any Instant value may
+   * be marshalled; this method does nothing.
+   *
+   * @param v The value to be validated.
+   */
+  @Override
+  public void validate(Instant v) {
+  }
+
+}
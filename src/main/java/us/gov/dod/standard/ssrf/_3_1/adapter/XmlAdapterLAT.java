@@ -16,9 +16,6 @@
 package us.gov.dod.standard.ssrf._3_1.adapter;
 
 import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * XML data type adapter for the SSRF Latitude data type.
@@ -53,10 +50,16 @@ public class XmlAdapterLAT extends AXmlAdapterNumber {
   private static final String PATTERN = "(((((([0-8][0-9]))([0-5][0-9]){2})(.[0-9]{1,2})?)|900000)(N|S))|X";
   /**
    * The REGEX pattern used to extract values from input strings. This is an
-   * expanded version of the validation pattern.
+   * expanded version of the validation pattern. It is matched by hand; see
+   * {@link #findHemisphere(String, int)}.
    */
   private static final String REGEX = "([0-8][0-9])([0-5][0-9])([0-5][0-9]\\.?([0-9]{1,2})?)(N|S)";
 
+  /**
+   * "00.##". The degrees, minutes and seconds output format.
+   */
+  private static final FixedPointFormat DMS = new FixedPointFormat(() -> new DecimalFormat("00.##"));
+
   /**
    * Construct a new adapter instance.
    * <p>
@@ -91,13 +94,14 @@ public class XmlAdapterLAT extends AXmlAdapterNumber {
      * Extract the DMS-encoded value. If the REGEX matches then validate the
      * number value.
      */
-    Matcher m = Pattern.compile(REGEX).matcher(v);
-    if (m.find()) {
-      return super.convert(DMStoDEC(Integer.valueOf(m.group(1)),
-                                    Integer.valueOf(m.group(2)),
-                                    Double.valueOf(m.group(3)),
-                                    m.group(5)));
-
+    for (int i = 0; i + 7 <= v.length(); i++) {
+      int hemisphere = findHemisphere(v, i);
+      if (hemisphere > 0) {
+        return super.convert(DMStoDEC(twoDigits(v, i),
+                                      twoDigits(v, i + 2),
+                                      Double.valueOf(v.substring(i + 4, hemisphere)),
+                                      v.substring(hemisphere, hemisphere + 1)));
+      }
     }
     throw new Exception("String pattern violation " + this.getClass().getSimpleName().replace(NAME_PREFIX, "") + " requires " + PATTERN + " received \"" + v + "\"");
   }
@@ -119,15 +123,78 @@ public class XmlAdapterLAT extends AXmlAdapterNumber {
      * Convert the number to run value checks, then format the output.
      */
     v = super.convert(v);
-    NumberFormat df = new DecimalFormat("00.##");
     return new StringBuilder()
-            .append(df.format(getDegrees(v)))
-            .append(df.format(getMinutes(v)))
-            .append(df.format(getSeconds(v)))
+            .append(DMS.format(getDegrees(v)))
+            .append(DMS.format(getMinutes(v)))
+            .append(DMS.format(getSeconds(v)))
             .append(getLatHemisphere(v))
             .toString();
   }
 
+  /**
+   * Internal method to match the REGEX pattern
+   * <code>([0-8][0-9])([0-5][0-9])([0-5][0-9]\.?([0-9]{1,2})?)(N|S)</code>
+   * at the indicated index. The degrees and minutes are two digits each and
+   * the seconds run from the index plus four to the hemisphere character.
+   * <p>
+   * The optional decimal point and fraction digits are matched greedily; the
+   * hemisphere character cannot be a point or a digit, so backtracking never
+   * finds a shorter match.
+   *
+   * @param v     the string value
+   * @param start the match start index
+   * @return the index of the hemisphere character, -1 if there is no match
+   */
+  private static int findHemisphere(String v, int start) {
+    if (!(v.charAt(start) >= '0' && v.charAt(start) <= '8'
+          && isDigit(v.charAt(start + 1))
+          && isSexagesimalDigit(v.charAt(start + 2))
+          && isDigit(v.charAt(start + 3))
+          && isSexagesimalDigit(v.charAt(start + 4))
+          && isDigit(v.charAt(start + 5)))) {
+      return -1;
+    }
+    int index = start + 6;
+    if (v.charAt(index) == '.') {
+      index++;
+    }
+    for (int fraction = 0; fraction < 2 && index < v.length() && isDigit(v.charAt(index)); fraction++) {
+      index++;
+    }
+    return index < v.length() && (v.charAt(index) == 'N' || v.charAt(index) == 'S') ? index : -1;
+  }
+
+  /**
+   * Internal method to match the character class <code>[0-9]</code>.
+   *
+   * @param c the character
+   * @return TRUE if the character is a digit
+   */
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * Internal method to match the character class <code>[0-5]</code>.
+   *
+   * @param c the character
+   * @return TRUE if the character is a digit zero through five
+   */
+  private static boolean isSexagesimalDigit(char c) {
+    return c >= '0' && c <= '5';
+  }
+
+  /**
+   * Internal method to read a two-digit number.
+   *
+   * @param v     the string value
+   * @param index the index of the first digit
+   * @return the number
+   */
+  private static int twoDigits(String v, int index) {
+    return (v.charAt(index) - '0') * 10 + (v.charAt(index + 1) - '0');
+  }
+
   /**
    * Convert a coordinate Degree/Minute/Second/Dir values to decimal degrees.
    *
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlSeeAlso;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+
+/**
+ * Registry of shared XmlAdapter instances.
+ * <p>
+ * SSRF declares about 200 XmlAdapter types, each attached to many fields.
+ * Every adapter is immutable (or keeps its formatter state per thread) and is
+ * therefore safe to share. This registry creates each adapter class once, on
+ * first use, and hands out the shared instance; validators, metadata types
+ * and the JAXB (un)marshallers all use the same instance.
+ * <p>
+ * {@link #validate(XmlAdapter, Object)} checks a value without building the
+ * marshalled String when the adapter implements {@link IXmlTypeValidator}.
+ * <p>
+ * {@link #register(Marshaller, Class)} and
+ * {@link #register(Unmarshaller, Class)} install the shared instances of every
+ * adapter reachable from a root class on a JAXB (un)marshaller. Otherwise the
+ * JAXB provider creates its own adapter instance per mapped field.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class XmlAdapterRegistry {
+
+  /**
+   * "us.gov.dod.standard.ssrf". The package of classes searched for adapters.
+   */
+  private static final String SSRF_PACKAGE = "us.gov.dod.standard.ssrf";
+
+  /**
+   * Shared adapter instances, keyed by adapter class type.
+   */
+  private static final ClassValue<XmlAdapter<?, ?>> ADAPTERS = new ClassValue<XmlAdapter<?, ?>>() {
+    @Override
+    protected XmlAdapter<?, ?> computeValue(Class<?> type) {
+      try {
+        return (XmlAdapter<?, ?>) type.getConstructor().newInstance();
+      } catch (ReflectiveOperationException ex) {
+        throw new IllegalStateException("XmlJavaTypeAdapter failed to instantiate: " + type.getName(), ex);
+      }
+    }
+  };
+
+  /**
+   * The adapter class types reachable from a root class type, keyed by root
+   * class type.
+   */
+  private static final ClassValue<Set<Class<? extends XmlAdapter>>> REACHABLE = new ClassValue<Set<Class<? extends XmlAdapter>>>() {
+    @Override
+    protected Set<Class<? extends XmlAdapter>> computeValue(Class<?> type) {
+      return Collections.unmodifiableSet(findAdapterTypes(type));
+    }
+  };
+
+  /**
+   * Static utility class; do not instantiate.
+   */
+  private XmlAdapterRegistry() {
+  }
+
+  /**
+   * Get the shared instance of an XmlAdapter class.
+   *
+   * @param <A>   the XmlAdapter class type
+   * @param clazz the XmlAdapter class
+   * @return the shared XmlAdapter instance
+   * @throws IllegalStateException if the adapter cannot be instantiated
+   */
+  @SuppressWarnings("unchecked")
+  public static <A extends XmlAdapter<?, ?>> A getAdapter(Class<A> clazz) {
+    return (A) ADAPTERS.get(clazz);
+  }
+
+  /**
+   * Validate a value against an XmlAdapter. If the adapter implements
+   * {@link IXmlTypeValidator} the value is validated without being
+   * marshalled, otherwise the value is marshalled and the result discarded.
+   *
+   * @param adapter the XmlAdapter
+   * @param value   the bound type value
+   * @throws Exception if the value is not valid; the adapter marshal error
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static void validate(XmlAdapter adapter, Object value) throws Exception {
+    if (adapter instanceof IXmlTypeValidator) {
+      ((IXmlTypeValidator) adapter).validate(value);
+    } else {
+      adapter.marshal(value);
+    }
+  }
+
+  /**
+   * Install the shared adapter instances reachable from a root class type on a
+   * marshaller.
+   *
+   * @param marshaller the marshaller
+   * @param clazz      the root class type (e.g. SSRF.class)
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static void register(Marshaller marshaller, Class<?> clazz) {
+    for (Class<? extends XmlAdapter> adapterType : REACHABLE.get(clazz)) {
+      marshaller.setAdapter((Class) adapterType, ADAPTERS.get(adapterType));
+    }
+  }
+
+  /**
+   * Install the shared adapter instances reachable from a root class type on
+   * an unmarshaller.
+   *
+   * @param unmarshaller the unmarshaller
+   * @param clazz        the root class type (e.g. SSRF.class)
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static void register(Unmarshaller unmarshaller, Class<?> clazz) {
+    for (Class<? extends XmlAdapter> adapterType : REACHABLE.get(clazz)) {
+      unmarshaller.setAdapter((Class) adapterType, ADAPTERS.get(adapterType));
+    }
+  }
+
+  /**
+   * Internal method to find the XmlAdapter class types declared on the fields
+   * of a root class type and every SSRF class type reachable from it (through
+   * field types, collection entry types, super classes and XmlSeeAlso).
+   *
+   * @param root the root class type
+   * @return the adapter class types, in discovery order
+   */
+  private static Set<Class<? extends XmlAdapter>> findAdapterTypes(Class<?> root) {
+    Set<Class<? extends XmlAdapter>> adapterTypes = new LinkedHashSet<>();
+    Set<Class<?>> visited = new HashSet<>();
+    Deque<Class<?>> pending = new ArrayDeque<>();
+    pending.add(root);
+    while (!pending.isEmpty()) {
+      Class<?> type = pending.poll();
+      if (!visited.add(type) || type.getPackage() == null || !type.getPackage().getName().startsWith(SSRF_PACKAGE)) {
+        continue;
+      }
+      if (type.getSuperclass() != null) {
+        pending.add(type.getSuperclass());
+      }
+      XmlSeeAlso xmlSeeAlso = type.getAnnotation(XmlSeeAlso.class);
+      if (xmlSeeAlso != null) {
+        for (Class<?> seeAlso : xmlSeeAlso.value()) {
+          pending.add(seeAlso);
+        }
+      }
+      for (Field field : type.getDeclaredFields()) {
+        XmlJavaTypeAdapter xmlJavaTypeAdapter = field.getAnnotation(XmlJavaTypeAdapter.class);
+        if (xmlJavaTypeAdapter != null) {
+          adapterTypes.add(xmlJavaTypeAdapter.value());
+        }
+        addTypes(field.getGenericType(), pending);
+      }
+    }
+    return adapterTypes;
+  }
+
+  /**
+   * Internal method to add the raw class types of a (possibly parameterized)
+   * type to a list.
+   *
+   * @param type    the field type
+   * @param pending the list of class types to visit
+   */
+  private static void addTypes(Type type, Deque<Class<?>> pending) {
+    if (type instanceof Class) {
+      pending.add((Class<?>) type);
+    } else if (type instanceof ParameterizedType) {
+      addTypes(((ParameterizedType) type).getRawType(), pending);
+      for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+        addTypes(argument, pending);
+      }
+    }
+  }
+}
@@ -17,12 +17,28 @@ package us.gov.dod.standard.ssrf._3_1.adapter;
 
 /**
  * XML data type adapter for the SSRF SERIAL data type.
+ * <p>
+ * The SERIAL pattern is matched by hand; see {@link #find(String)} and
+ * {@link #split(String)}.
  *
  * @author Jesse Caulfield
  * @version SSRF 3.1.0, 09/29/2014
  */
 public class XmlAdapterSERIAL extends AXmlAdapterString {
 
+  /**
+   * The maximum number of characters in the serial country part.
+   */
+  private static final int MAX_COUNTRY = 5;
+  /**
+   * The maximum number of characters in the serial organisation part.
+   */
+  private static final int MAX_ORGANISATION = 4;
+  /**
+   * The maximum number of characters in the serial number part.
+   */
+  private static final int MAX_SERIAL = 15;
+
   /**
    * Construct a new XmlAdapterSERIAL instance.
    * <p>
@@ -35,4 +51,163 @@ public class XmlAdapterSERIAL extends AXmlAdapterString {
     super(1, 29, false, "[A-Z0-9-]{1,5}:\\w{0,4}:[A-Z]{2}:\\S{1,15}");
   }
 
+  /**
+   * Determine if the string contains a SERIAL number. Equivalent to
+   * <code>find()</code> on the pattern
+   * <code>[A-Z0-9-]{1,5}:\w{0,4}:[A-Z]{2}:\S{1,15}</code>.
+   * <p>
+   * The organisation part may not contain a colon, so each colon in the
+   * string is tested as the first separator.
+   *
+   * @param v the string value. Must be non-null.
+   * @return TRUE if the string contains a SERIAL number
+   */
+  @Override
+  protected boolean find(String v) {
+    for (int colon = v.indexOf(':', 1); colon > 0; colon = v.indexOf(':', colon + 1)) {
+      if (!isCountryChar(v.charAt(colon - 1))) {
+        continue;
+      }
+      int separator = skipWordChars(v, colon + 1, MAX_ORGANISATION);
+      if (separator + 4 < v.length()
+          && v.charAt(separator) == ':'
+          && isUpperCase(v.charAt(separator + 1))
+          && isUpperCase(v.charAt(separator + 2))
+          && v.charAt(separator + 3) == ':'
+          && !isWhitespace(v.charAt(separator + 4))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Split a SERIAL number into its parts. Equivalent to <code>find()</code> on
+   * the anchored pattern
+   * <code>^([A-Z0-9-]{1,5}):(\w{0,4}):([A-Z]{2}):(\S{1,15})$</code>.
+   *
+   * @param value the SERIAL number. Must be non-null.
+   * @return a four-element array containing the country, organisation,
+   *         dataset type and serial number parts; NULL if the value is not a
+   *         SERIAL number
+   */
+  public static String[] split(String value) {
+    String[] parts = split(value, value.length());
+    /**
+     * "$" also matches before a final line terminator.
+     */
+    if (parts == null && value.endsWith("\r\n")) {
+      parts = split(value, value.length() - 2);
+    } else if (parts == null && !value.isEmpty() && isLineTerminator(value.charAt(value.length() - 1))) {
+      parts = split(value, value.length() - 1);
+    }
+    return parts;
+  }
+
+  /**
+   * Internal method to split a SERIAL number that ends at the indicated index.
+   *
+   * @param value the SERIAL number
+   * @param end   the end index (exclusive)
+   * @return the SERIAL number parts, NULL if the value is not a SERIAL number
+   */
+  private static String[] split(String value, int end) {
+    int country = 0;
+    while (country < end && country < MAX_COUNTRY && isCountryChar(value.charAt(country))) {
+      country++;
+    }
+    if (country == 0 || country == end || value.charAt(country) != ':') {
+      return null;
+    }
+    int organisation = skipWordChars(value, country + 1, MAX_ORGANISATION);
+    int datasetType = organisation + 3;
+    if (datasetType >= end
+        || value.charAt(organisation) != ':'
+        || !isUpperCase(value.charAt(organisation + 1))
+        || !isUpperCase(value.charAt(organisation + 2))
+        || value.charAt(datasetType) != ':') {
+      return null;
+    }
+    int serial = end - datasetType - 1;
+    if (serial < 1 || serial > MAX_SERIAL) {
+      return null;
+    }
+    for (int i = datasetType + 1; i < end; i++) {
+      if (isWhitespace(value.charAt(i))) {
+        return null;
+      }
+    }
+    return new String[]{value.substring(0, country),
+                        value.substring(country + 1, organisation),
+                        value.substring(organisation + 1, datasetType),
+                        value.substring(datasetType + 1, end)};
+  }
+
+  /**
+   * Internal method to skip word characters (<code>\w</code>).
+   *
+   * @param v     the string value
+   * @param from  the start index
+   * @param limit the maximum number of characters to skip
+   * @return the index of the first character not skipped
+   */
+  private static int skipWordChars(String v, int from, int limit) {
+    int i = from;
+    while (i < v.length() && i - from < limit && isWordChar(v.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Internal method to match the country part character class
+   * <code>[A-Z0-9-]</code>.
+   *
+   * @param c the character
+   * @return TRUE if the character matches
+   */
+  private static boolean isCountryChar(char c) {
+    return isUpperCase(c) || (c >= '0' && c <= '9') || c == '-';
+  }
+
+  /**
+   * Internal method to match the character class <code>[A-Z]</code>.
+   *
+   * @param c the character
+   * @return TRUE if the character matches
+   */
+  private static boolean isUpperCase(char c) {
+    return c >= 'A' && c <= 'Z';
+  }
+
+  /**
+   * Internal method to match the character class <code>\w</code>.
+   *
+   * @param c the character
+   * @return TRUE if the character matches
+   */
+  private static boolean isWordChar(char c) {
+    return isUpperCase(c) || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+  }
+
+  /**
+   * Internal method to match the character class <code>\s</code>.
+   *
+   * @param c the character
+   * @return TRUE if the character matches
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  /**
+   * Internal method to identify a line terminator, as recognized by the
+   * <code>$</code> boundary matcher.
+   *
+   * @param c the character
+   * @return TRUE if the character is a line terminator
+   */
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
 }
@@ -28,4 +28,27 @@ public class XmlAdapterDAYSOFWEEK extends AXmlAdapterString {
   public XmlAdapterDAYSOFWEEK() {
     super(1, 40, false, "(([0-7](-[0-7](/\\d+)?)?)|(\\*/\\d+))(,([0-7](-[0-7](/\\d+)?)?)|(,\\*/\\d+))*");
   }
+
+  /**
+   * Determine if the string contains a match of the DAYSOFWEEK pattern. The
+   * pattern is not anchored and its first (required) group matches a single
+   * day digit [0-7] or "*&#47;" followed by a digit, so <code>find()</code>
+   * succeeds if and only if the string contains either.
+   *
+   * @param v the string value. Must be non-null.
+   * @return TRUE if the string contains a day digit or an interval
+   */
+  @Override
+  protected boolean find(String v) {
+    for (int i = 0; i < v.length(); i++) {
+      char c = v.charAt(i);
+      if (c >= '0' && c <= '7') {
+        return true;
+      }
+      if (c == '*' && i + 2 < v.length() && v.charAt(i + 1) == '/' && v.charAt(i + 2) >= '0' && v.charAt(i + 2) <= '9') {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -28,4 +28,25 @@ public class XmlAdapterEMSDES extends AXmlAdapterString {
   public XmlAdapterEMSDES() {
     super(1, 5, false, "(A|B|C|D|F|G|H|J|K|L|M|N|P|Q|R|V|W|X|-)(0|1|2|3|7|8|9|X|-)(A|B|C|D|E|F|N|W|X|-)(A|B|C|D|E|F|G|H|J|K|L|M|N|W|X)?(C|F|N|T|W|X)?");
   }
+
+  /**
+   * Determine if the string contains a match of the EMSDES pattern. The
+   * pattern is not anchored and only its first three characters are
+   * required, so <code>find()</code> succeeds if and only if the string
+   * contains a valid emission class triplet.
+   *
+   * @param v the string value. Must be non-null.
+   * @return TRUE if the string contains an emission designator
+   */
+  @Override
+  protected boolean find(String v) {
+    for (int i = 0; i + 2 < v.length(); i++) {
+      if ("ABCDFGHJKLMNPQRVWX-".indexOf(v.charAt(i)) >= 0
+          && "0123789X-".indexOf(v.charAt(i + 1)) >= 0
+          && "ABCDEFNWX-".indexOf(v.charAt(i + 2)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -28,4 +28,23 @@ public class XmlAdapterHOURS extends AXmlAdapterString {
   public XmlAdapterHOURS() {
     super(1, 40, false, "(([12]?\\d(-[12]?\\d(/\\d+)?)?)|(\\*/\\d+))(,([12]?\\d(-[12]?\\d(/\\d+)?)?)|(,\\*/\\d+))*");
   }
+
+  /**
+   * Determine if the string contains a match of the HOURS pattern. The pattern
+   * is not anchored and every alternative of its first (required) group
+   * contains a digit, so <code>find()</code> succeeds if and only if the
+   * string contains a digit.
+   *
+   * @param v the string value. Must be non-null.
+   * @return TRUE if the string contains a digit
+   */
+  @Override
+  protected boolean find(String v) {
+    for (int i = 0; i < v.length(); i++) {
+      if (v.charAt(i) >= '0' && v.charAt(i) <= '9') {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -520,11 +520,7 @@ public class AllotFreq {
     if (locationRestrictionRef == null || locationRestrictionRef.isEmpty()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (locationRestrictionRef.contains(instance.getSerial())) {
-        getLocationRestriction().add(instance);
-      }
-    }
+    getLocationRestriction().addAll(root.getSerialIndex().findAll(locationRestrictionRef, Location.class));
   }//</editor-fold>
 
 }
@@ -328,23 +328,12 @@ public class POCInformation {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Contact instance : root.getContact()) {
-      if (serial.equals(instance.getSerial())) {
-        poc = instance;
-        return;
-      }
+    poc = root.getSerialIndex().find(serial, Contact.class);
+    if (poc == null) {
+      poc = root.getSerialIndex().find(serial, Organisation.class);
     }
-    for (Organisation instance : root.getOrganisation()) {
-      if (serial.equals(instance.getSerial())) {
-        poc = instance;
-        return;
-      }
-    }
-    for (Role instance : root.getRole()) {
-      if (serial.equals(instance.getSerial())) {
-        poc = instance;
-        return;
-      }
+    if (poc == null) {
+      poc = root.getSerialIndex().find(serial, Role.class);
     }
   }//</editor-fold>
 
@@ -317,12 +317,7 @@ public class AsgnAllotOwner {
     if (ownerOrgRef == null || !ownerOrgRef.isSetValue()) {
       return;
     }
-    for (Organisation instance : root.getOrganisation()) {
-      if (ownerOrgRef.equals(instance.getSerial())) {
-        ownerOrg = instance;
-        return;
-      }
-    }
+    ownerOrg = root.getSerialIndex().find(ownerOrgRef, Organisation.class);
   }//</editor-fold>
 
 }
@@ -1934,11 +1934,7 @@ public class Configuration {
     if (loadsetRef == null || loadsetRef.isEmpty()) {
       return;
     }
-    for (Loadset instance : root.getLoadset()) {
-      if (loadsetRef.contains(instance.getSerial())) {
-        getLoadset().add(instance);
-      }
-    }
+    getLoadset().addAll(root.getSerialIndex().findAll(loadsetRef, Loadset.class));
   }//</editor-fold>
 
 }
@@ -385,12 +385,7 @@ public class PairedFreq {
     if (assignmentRef == null || !assignmentRef.isSetValue()) {
       return;
     }
-    for (Assignment instance : root.getAssignment()) {
-      if (assignmentRef.equals(instance.getSerial())) {
-        assignment = instance;
-        return;
-      }
-    }
+    assignment = root.getSerialIndex().find(assignmentRef, Assignment.class);
   }//</editor-fold>
 
 }
@@ -268,12 +268,7 @@ public class RecordNote {
     if (noteRef == null || !noteRef.isSetValue()) {
       return;
     }
-    for (Note instance : root.getNote()) {
-      if (noteRef.equals(instance.getSerial())) {
-        note = instance;
-        return;
-      }
-    }
+    note = root.getSerialIndex().find(noteRef, Note.class);
   }//</editor-fold>
 
 }
@@ -425,23 +425,12 @@ public class StatusLog {
     if (pocRef == null || !pocRef.isSetValue()) {
       return;
     }
-    for (Contact instance : root.getContact()) {
-      if (pocRef.equals(instance.getSerial())) {
-        poc = instance;
-        return;
-      }
+    poc = root.getSerialIndex().find(pocRef, Contact.class);
+    if (poc == null) {
+      poc = root.getSerialIndex().find(pocRef, Organisation.class);
     }
-    for (Organisation instance : root.getOrganisation()) {
-      if (pocRef.equals(instance.getSerial())) {
-        poc = instance;
-        return;
-      }
-    }
-    for (Role instance : root.getRole()) {
-      if (pocRef.equals(instance.getSerial())) {
-        poc = instance;
-        return;
-      }
+    if (poc == null) {
+      poc = root.getSerialIndex().find(pocRef, Role.class);
     }
   }//</editor-fold>
 
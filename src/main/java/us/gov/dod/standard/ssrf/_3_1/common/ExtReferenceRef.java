@@ -319,11 +319,6 @@ public class ExtReferenceRef {
     if (value == null) {
       return;
     }
-    for (ExternalReference instance : root.getExternalReference()) {
-      if (value.equals(instance.getSerial().toString())) {
-        externalReference = instance;
-        return;
-      }
-    }
+    externalReference = root.getSerialIndex().find(value, ExternalReference.class);
   }//</editor-fold>
 }
@@ -329,29 +329,15 @@ public class Assets {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Transmitter instance : root.getTransmitter()) {
-      if (serial.equals(instance.getSerial())) {
-        asset = instance;
-        return;
-      }
+    asset = root.getSerialIndex().find(serial, Transmitter.class);
+    if (asset == null) {
+      asset = root.getSerialIndex().find(serial, Receiver.class);
     }
-    for (Receiver instance : root.getReceiver()) {
-      if (serial.equals(instance.getSerial())) {
-        asset = instance;
-        return;
-      }
+    if (asset == null) {
+      asset = root.getSerialIndex().find(serial, Antenna.class);
     }
-    for (Antenna instance : root.getAntenna()) {
-      if (serial.equals(instance.getSerial())) {
-        asset = instance;
-        return;
-      }
-    }
-    for (RFSystem instance : root.getRFSystem()) {
-      if (serial.equals(instance.getSerial())) {
-        asset = instance;
-        return;
-      }
+    if (asset == null) {
+      asset = root.getSerialIndex().find(serial, RFSystem.class);
     }
   }//</editor-fold>
 
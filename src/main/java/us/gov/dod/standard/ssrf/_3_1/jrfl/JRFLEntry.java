@@ -1496,17 +1496,9 @@ public class JRFLEntry {
     if (asgnAllotRef == null || !asgnAllotRef.isSetValue()) {
       return;
     }
-    for (Assignment instance : root.getAssignment()) {
-      if (asgnAllotRef.equals(instance.getSerial())) {
-        assignmentAllotment = instance;
-        return;
-      }
-    }
-    for (Allotment instance : root.getAllotment()) {
-      if (asgnAllotRef.equals(instance.getSerial())) {
-        assignmentAllotment = instance;
-        return;
-      }
+    assignmentAllotment = root.getSerialIndex().find(asgnAllotRef, Assignment.class);
+    if (assignmentAllotment == null) {
+      assignmentAllotment = root.getSerialIndex().find(asgnAllotRef, Allotment.class);
     }
   }//</editor-fold>
 
@@ -297,12 +297,7 @@ public class JRFLEntryLocation {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (serial.equals(instance.getSerial())) {
-        location = instance;
-        return;
-      }
-    }
+    location = root.getSerialIndex().find(serial, Location.class);
   }//</editor-fold>
 
 }
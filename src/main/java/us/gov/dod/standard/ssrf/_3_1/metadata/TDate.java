@@ -15,17 +15,17 @@
  */
 package us.gov.dod.standard.ssrf._3_1.metadata;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Objects;
-import java.util.TimeZone;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.XmlValue;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
-import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterDATE;
+import us.gov.dod.standard.ssrf._3_1.adapter.IsoDateTimeFormat;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterLocalDate;
 import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
 
 /**
@@ -39,25 +39,12 @@ import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
 @XmlType(name = "TDate", propOrder = {"value"})
 public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable<TDate> {
 
-  /**
-   * UTC. The default time zone.
-   */
-  private static final TimeZone TIMEZONE = TimeZone.getTimeZone("UTC");
-  /**
-   * "yyyy-MM-dd". The Date pattern.
-   * <p>
-   * D is a date value formatted in 10 characters as YYYY-MM-DD
-   * (year-month-day). This format is compliant with the W3C Recommendation on
-   * XML Schema.
-   */
-  private static final String PATTERN = "yyyy-MM-dd";
-
   /**
    * The value to which the metadata attributes are associated.
    */
   @XmlValue
-  @XmlJavaTypeAdapter(type = Calendar.class, value = XmlAdapterDATE.class)
-  protected Calendar value;
+  @XmlJavaTypeAdapter(type = LocalDate.class, value = XmlAdapterLocalDate.class)
+  protected LocalDate value;
 
   public TDate(Calendar value) {
     setValue(value);
@@ -67,6 +54,10 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
     setValue(value);
   }
 
+  public TDate(LocalDate value) {
+    setValue(value);
+  }
+
   /**
    * Zero argument constructor.
    */
@@ -80,7 +71,7 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
    */
   @Override
   public Calendar getValue() {
-    return (value != null ? (Calendar) value.clone() : null);
+    return (value != null ? IsoDateTimeFormat.toCalendar(value) : null);
   }
 
   /**
@@ -89,8 +80,7 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
    * @param value the date to set.
    */
   public final void setValue(Calendar value) {
-    this.value = (value != null ? (Calendar) value.clone() : null);
-    this.value.setTimeZone(TIMEZONE);
+    this.value = (value != null ? IsoDateTimeFormat.toLocalDate(value) : null);
   }
 
   /**
@@ -99,12 +89,25 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
    * @param value the date to set.
    */
   public final void setValue(Date value) {
-    if (value != null) {
-      this.value = Calendar.getInstance(TIMEZONE);
-      this.value.setTime(value);
-    } else {
-      this.value = null;
-    }
+    this.value = (value != null ? IsoDateTimeFormat.toLocalDate(value) : null);
+  }
+
+  /**
+   * Sets the value of the value property.
+   * <p>
+   * @param value the date to set.
+   */
+  public final void setValue(LocalDate value) {
+    this.value = value;
+  }
+
+  /**
+   * Gets the value of the value property as a {@link LocalDate}.
+   * <p>
+   * @return the date value. Null if not set.
+   */
+  public LocalDate getLocalDate() {
+    return value;
   }
 
   /**
@@ -138,12 +141,7 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
    */
   @Override
   public String toString() {
-    if (value != null) {
-      SimpleDateFormat sdf = new SimpleDateFormat(PATTERN);
-      sdf.setCalendar(value);
-      return sdf.format(value.getTime());
-    }
-    return null;
+    return value != null ? IsoDateTimeFormat.formatDate(value) : null;
   }
 
   //<editor-fold defaultstate="collapsed" desc="Hashcode Equals and Comparable">
@@ -173,7 +171,7 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
     if (getClass() != obj.getClass()) {
       return false;
     }
-    return Objects.equals(this.value, ((IMetadataType) obj).getValue());
+    return Objects.equals(this.value, ((TDate) obj).value);
   }
 
   /**
@@ -190,6 +188,6 @@ public class TDate extends AMetadata<TDate> implements IMetadataType, Comparable
     if (this.value == null) {
       return -1;
     }
-    return -1 * this.value.compareTo(o.getValue());
+    return -1 * this.value.compareTo(o.value);
   }//</editor-fold>
 }
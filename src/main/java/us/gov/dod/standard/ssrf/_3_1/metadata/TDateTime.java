@@ -15,17 +15,17 @@
  */
 package us.gov.dod.standard.ssrf._3_1.metadata;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Objects;
-import java.util.TimeZone;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.XmlValue;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
-import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterDATETIME;
+import us.gov.dod.standard.ssrf._3_1.adapter.IsoDateTimeFormat;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterInstant;
 import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
 
 /**
@@ -39,27 +39,12 @@ import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
 @XmlType(name = "TDateTime", propOrder = {"value"})
 public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Comparable<TDateTime> {
 
-  /**
-   * UTC. The default time zone.
-   */
-  private static final TimeZone TIMEZONE = TimeZone.getTimeZone("UTC");
-  /**
-   * "yyyy-MM-dd'T'HH:mm:ss.SSSZ". The DateTime pattern.
-   * <p>
-   * DT is a date / time value formatted in 20 to 24 characters as
-   * YYYY-MM-DDThh:mm:ss[.ddd]Z (year-
-   * month-day"T"hours:minutes:seconds.milliseconds"Z"), where the milliseconds
-   * part is optional. This format is compliant with the W3C Recommendation on
-   * XML Schema.
-   */
-  private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
-
   /**
    * The value to which the metadata attributes are associated.
    */
   @XmlValue
-  @XmlJavaTypeAdapter(type = Calendar.class, value = XmlAdapterDATETIME.class)
-  protected Calendar value;
+  @XmlJavaTypeAdapter(type = Instant.class, value = XmlAdapterInstant.class)
+  protected Instant value;
 
   public TDateTime(Calendar value) {
     setValue(value);
@@ -69,6 +54,10 @@ public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Co
     setValue(value);
   }
 
+  public TDateTime(Instant value) {
+    setValue(value);
+  }
+
   /**
    * Zero argument constructor.
    */
@@ -82,7 +71,7 @@ public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Co
    */
   @Override
   public Calendar getValue() {
-    return (value != null ? (Calendar) value.clone() : null);
+    return (value != null ? IsoDateTimeFormat.toCalendar(value) : null);
   }
 
   /**
@@ -91,8 +80,7 @@ public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Co
    * @param value datetime to set.
    */
   public final void setValue(Calendar value) {
-    this.value = (value != null ? (Calendar) value.clone() : null);
-    this.value.setTimeZone(TIMEZONE);
+    this.value = (value != null ? IsoDateTimeFormat.toInstant(value) : null);
   }
 
   /**
@@ -101,12 +89,25 @@ public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Co
    * @param value datetime to set.
    */
   public final void setValue(Date value) {
-    if (value != null) {
-      this.value = Calendar.getInstance(TIMEZONE);
-      this.value.setTime(value);
-    } else {
-      this.value = null;
-    }
+    this.value = (value != null ? value.toInstant() : null);
+  }
+
+  /**
+   * Sets the value of the value property.
+   * <p>
+   * @param value the date/time to set.
+   */
+  public final void setValue(Instant value) {
+    this.value = value;
+  }
+
+  /**
+   * Gets the value of the value property as an {@link Instant}.
+   * <p>
+   * @return the date/time value. Null if not set.
+   */
+  public Instant getInstant() {
+    return value;
   }
 
   /**
@@ -140,12 +141,7 @@ public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Co
    */
   @Override
   public String toString() {
-    if (value != null) {
-      SimpleDateFormat sdf = new SimpleDateFormat(PATTERN);
-      sdf.setCalendar(value);
-      return sdf.format(value.getTime());
-    }
-    return null;
+    return value != null ? IsoDateTimeFormat.formatDateTime(value) : null;
   }
 
   //<editor-fold defaultstate="collapsed" desc="Hashcode Equals and Comparable">
@@ -196,7 +192,7 @@ public class TDateTime extends AMetadata<TDateTime> implements IMetadataType, Co
     if (this.value == null) {
       return -1;
     }
-    return -1 * this.value.compareTo(obj.getValue());
+    return -1 * this.value.compareTo(obj.value);
   }
 //</editor-fold>
 }
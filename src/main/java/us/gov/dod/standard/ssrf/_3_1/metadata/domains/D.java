@@ -15,17 +15,17 @@
  */
 package us.gov.dod.standard.ssrf._3_1.metadata.domains;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Objects;
-import java.util.TimeZone;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.XmlValue;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
-import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterDATE;
+import us.gov.dod.standard.ssrf._3_1.adapter.IsoDateTimeFormat;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterLocalDate;
 import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
 
 /**
@@ -38,25 +38,12 @@ import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
 @XmlType(name = "D", propOrder = {"value"})
 public class D extends AMetadata<D> implements Comparable<D> {
 
-  /**
-   * UTC. The default time zone.
-   */
-  private static final TimeZone TIMEZONE = TimeZone.getTimeZone("UTC");
-  /**
-   * "yyyy-MM-dd". The Date pattern.
-   * <p>
-   * D is a date value formatted in 10 characters as YYYY-MM-DD
-   * (year-month-day). This format is compliant with the W3C Recommendation on
-   * XML Schema.
-   */
-  private static final String PATTERN = "yyyy-MM-dd";
-
   /**
    * The value property.
    */
   @XmlValue
-  @XmlJavaTypeAdapter(XmlAdapterDATE.class)
-  protected Calendar value;
+  @XmlJavaTypeAdapter(XmlAdapterLocalDate.class)
+  protected LocalDate value;
 
   /**
    * Construct a new, empty D instance.
@@ -82,13 +69,22 @@ public class D extends AMetadata<D> implements Comparable<D> {
     setValue(value);
   }
 
+  /**
+   * Construct a new D instance with the given initial value.
+   * <p>
+   * @param value The initial value.
+   */
+  public D(LocalDate value) {
+    setValue(value);
+  }
+
   /**
    * Gets the value of the value property.
    * <p>
    * @return the value of the value property.
    */
   public Calendar getValue() {
-    return (value != null ? (Calendar) value.clone() : null);
+    return (value != null ? IsoDateTimeFormat.toCalendar(value) : null);
   }
 
   /**
@@ -97,8 +93,7 @@ public class D extends AMetadata<D> implements Comparable<D> {
    * @param value the value to set
    */
   public final void setValue(Calendar value) {
-    this.value = (value != null ? (Calendar) value.clone() : null);
-    this.value.setTimeZone(TIMEZONE);
+    this.value = (value != null ? IsoDateTimeFormat.toLocalDate(value) : null);
   }
 
   /**
@@ -107,12 +102,25 @@ public class D extends AMetadata<D> implements Comparable<D> {
    * @param value the value to set
    */
   public final void setValue(Date value) {
-    if (value != null) {
-      this.value = Calendar.getInstance(TIMEZONE);
-      this.value.setTime(value);
-    } else {
-      this.value = null;
-    }
+    this.value = (value != null ? IsoDateTimeFormat.toLocalDate(value) : null);
+  }
+
+  /**
+   * Sets the value of the value property.
+   * <p>
+   * @param value the date to set.
+   */
+  public final void setValue(LocalDate value) {
+    this.value = value;
+  }
+
+  /**
+   * Gets the value of the value property as a {@link LocalDate}.
+   * <p>
+   * @return the date value. Null if not set.
+   */
+  public LocalDate getLocalDate() {
+    return value;
   }
 
   /**
@@ -144,12 +152,7 @@ public class D extends AMetadata<D> implements Comparable<D> {
    */
   @Override
   public String toString() {
-    if (value != null) {
-      SimpleDateFormat sdf = new SimpleDateFormat(PATTERN);
-      sdf.setCalendar(value);
-      return sdf.format(value.getTime());
-    }
-    return null;
+    return value != null ? IsoDateTimeFormat.formatDate(value) : null;
   }
 
   //<editor-fold defaultstate="collapsed" desc="Hashcode Equals and Comparable">
@@ -179,7 +182,7 @@ public class D extends AMetadata<D> implements Comparable<D> {
     if (getClass() != obj.getClass()) {
       return false;
     }
-    return Objects.equals(this.value, ((D) obj).getValue());
+    return Objects.equals(this.value, ((D) obj).value);
   }
 
   /**
@@ -196,6 +199,6 @@ public class D extends AMetadata<D> implements Comparable<D> {
     if (this.value == null) {
       return -1;
     }
-    return -1 * this.value.compareTo(obj.getValue());
+    return -1 * this.value.compareTo(obj.value);
   }//</editor-fold>
 }
@@ -15,17 +15,17 @@
  */
 package us.gov.dod.standard.ssrf._3_1.metadata.domains;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Objects;
-import java.util.TimeZone;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.XmlValue;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
-import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterDATETIME;
+import us.gov.dod.standard.ssrf._3_1.adapter.IsoDateTimeFormat;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterInstant;
 import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
 import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
 
@@ -39,27 +39,12 @@ import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
 @XmlType(name = "DT", propOrder = {"value"})
 public class DT extends AMetadata<DT> implements Comparable<DT> {
 
-  /**
-   * UTC. The default time zone.
-   */
-  private static final TimeZone TIMEZONE = TimeZone.getTimeZone("UTC");
-  /**
-   * "yyyy-MM-dd'T'HH:mm:ss.SSSZ". The DateTime pattern.
-   * <p>
-   * DT is a date / time value formatted in 20 to 24 characters as
-   * YYYY-MM-DDThh:mm:ss[.ddd]Z (year-
-   * month-day"T"hours:minutes:seconds.milliseconds"Z"), where the milliseconds
-   * part is optional. This format is compliant with the W3C Recommendation on
-   * XML Schema.
-   */
-  private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
-
   /**
    * The value property.
    */
   @XmlValue
-  @XmlJavaTypeAdapter(XmlAdapterDATETIME.class)
-  protected Calendar value;
+  @XmlJavaTypeAdapter(XmlAdapterInstant.class)
+  protected Instant value;
 
   /**
    * Construct a new, empty DT instance.
@@ -85,13 +70,22 @@ public class DT extends AMetadata<DT> implements Comparable<DT> {
     setValue(value);
   }
 
+  /**
+   * Construct a new DT instance with the given initial value.
+   * <p>
+   * @param value The initial value.
+   */
+  public DT(Instant value) {
+    setValue(value);
+  }
+
   /**
    * Gets the value of the value property.
    * <p>
    * @return the value of the value property.
    */
   public Calendar getValue() {
-    return (value != null ? (Calendar) value.clone() : null);
+    return (value != null ? IsoDateTimeFormat.toCalendar(value) : null);
   }
 
   /**
@@ -100,8 +94,7 @@ public class DT extends AMetadata<DT> implements Comparable<DT> {
    * @param value the value to set
    */
   public final void setValue(Calendar value) {
-    this.value = (value != null ? (Calendar) value.clone() : null);
-    this.value.setTimeZone(TIMEZONE);
+    this.value = (value != null ? IsoDateTimeFormat.toInstant(value) : null);
   }
 
   /**
@@ -110,12 +103,25 @@ public class DT extends AMetadata<DT> implements Comparable<DT> {
    * @param value the value to set
    */
   public final void setValue(Date value) {
-    if (value != null) {
-      this.value = Calendar.getInstance(TIMEZONE);
-      this.value.setTime(value);
-    } else {
-      this.value = null;
-    }
+    this.value = (value != null ? value.toInstant() : null);
+  }
+
+  /**
+   * Sets the value of the value property.
+   * <p>
+   * @param value the date/time to set.
+   */
+  public final void setValue(Instant value) {
+    this.value = value;
+  }
+
+  /**
+   * Gets the value of the value property as an {@link Instant}.
+   * <p>
+   * @return the date/time value. Null if not set.
+   */
+  public Instant getInstant() {
+    return value;
   }
 
   /**
@@ -149,12 +155,7 @@ public class DT extends AMetadata<DT> implements Comparable<DT> {
    */
   @Override
   public String toString() {
-    if (value != null) {
-      SimpleDateFormat sdf = new SimpleDateFormat(PATTERN);
-      sdf.setCalendar(value);
-      return sdf.format(value.getTime());
-    }
-    return null;
+    return value != null ? IsoDateTimeFormat.formatDateTime(value) : null;
   }
 
   //<editor-fold defaultstate="collapsed" desc="Hashcode Equals and Comparable">
@@ -184,7 +185,7 @@ public class DT extends AMetadata<DT> implements Comparable<DT> {
     if (getClass() != obj.getClass()) {
       return false;
     }
-    return Objects.equals(this.value, ((DT) obj).getValue());
+    return Objects.equals(this.value, ((DT) obj).value);
   }
 
   /**
@@ -201,6 +202,6 @@ public class DT extends AMetadata<DT> implements Comparable<DT> {
     if (this.value == null) {
       return -1;
     }
-    return -1 * this.value.compareTo(obj.getValue());
+    return -1 * this.value.compareTo(obj.value);
   }//</editor-fold>
 }
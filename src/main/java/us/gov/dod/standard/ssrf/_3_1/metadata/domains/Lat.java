@@ -23,6 +23,7 @@ import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.XmlValue;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterLAT;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
 import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
 
 /**
@@ -94,7 +95,7 @@ public class Lat extends AMetadata<Lat> implements Comparable<Lat> {
    * @throws Exception if the value fails to parse
    */
   public Lat(String value) throws Exception {
-    this.value = (BigDecimal) new XmlAdapterLAT().unmarshal(value);
+    this.value = (BigDecimal) XmlAdapterRegistry.getAdapter(XmlAdapterLAT.class).unmarshal(value);
   }
 
   /**
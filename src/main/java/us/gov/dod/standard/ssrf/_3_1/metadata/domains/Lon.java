@@ -23,6 +23,7 @@ import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.XmlValue;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterLON;
+import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterRegistry;
 import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
 
 /**
@@ -103,7 +104,7 @@ public class Lon extends AMetadata<Lon> implements Comparable<Lon> {
    * @throws Exception if the value fails to parse
    */
   public Lon(String value) throws Exception {
-    this.value = (BigDecimal) new XmlAdapterLON().unmarshal(value);
+    this.value = (BigDecimal) XmlAdapterRegistry.getAdapter(XmlAdapterLON.class).unmarshal(value);
   }
 
   /**
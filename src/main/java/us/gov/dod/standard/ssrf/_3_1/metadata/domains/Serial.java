@@ -18,12 +18,12 @@ package us.gov.dod.standard.ssrf._3_1.metadata.domains;
 import java.math.BigInteger;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import javax.xml.bind.annotation.*;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import us.gov.dod.standard.ssrf.EDatasetType;
+import us.gov.dod.standard.ssrf.ISerialGenerator;
+import us.gov.dod.standard.ssrf.SSRFUtility;
+import us.gov.dod.standard.ssrf.SequenceSerialGenerator;
 import us.gov.dod.standard.ssrf._3_1.Common;
 import us.gov.dod.standard.ssrf._3_1.adapter.XmlAdapterSERIAL;
 import us.gov.dod.standard.ssrf._3_1.metadata.AMetadata;
@@ -71,7 +71,8 @@ import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCY;
 public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
 
   /**
-   * The SERIAL number string pattern.
+   * The SERIAL number string pattern. This is matched by hand; see
+   * {@link XmlAdapterSERIAL#split(String)}.
    */
   private static final String PATTERN = "^([A-Z0-9-]{1,5}):(\\w{0,4}):([A-Z]{2}):(\\S{1,15})$";
 
@@ -127,8 +128,8 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
    * <p>
    * Format is S15
    * <p>
-   * <em>Developer note</em>: If the serial is set to NULL then a random serial
-   * number is assigned.
+   * <em>Developer note</em>: If the serial is set to NULL then the next serial
+   * from the active {@link ISerialGenerator} is assigned.
    */
   @XmlTransient
   private String serial;
@@ -157,7 +158,9 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
    * Get a Serial instance for the indicated class instance.
    * <p>
    * The local is set to the current system default. The serial is
-   * programmatically set to a time-sequenced, UUID-based 15-character snippet.
+   * programmatically set by the active {@link ISerialGenerator}; by default a
+   * node identifier plus a sequence number (see
+   * {@link SequenceSerialGenerator}).
    * The organisation is left blank and may be set by th user.
    * <p>
    * @param clazz a SSRF class type that extends Common
@@ -166,39 +169,39 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
    *                                  Common
    */
   public static Serial getInstance(Class<? extends Common<?>> clazz) {
-    return new Serial()
-            .withLocale(Locale.getDefault())
-            .withDatasetType(clazz)
-            .withSerial(uuidSnippet());
-  }
-
-  /**
-   * Internal helper method to generate a 15-character UUID-based alphanumeric
-   * snippet.
-   * <p>
-   * @return a 15-character UUID-based alphanumeric String
-   */
-  private static String uuidSnippet() {
-    /**
-     * The following sequence generates a (almost) guaranteed unique text
-     * snippet.
-     */
-    return UUID.randomUUID().toString().replaceAll("-", "").substring(0, 14);
+    Serial instance = new Serial();
+    instance.country = ListCCY.fromLocale(Locale.getDefault());
+    instance.datasetType = EDatasetType.fromInstance(clazz);
+    instance.serial = SSRFUtility.getSerialGenerator().nextSerial(instance.datasetType);
+    instance.format();
+    return instance;
   }
 
   /**
    * Internal method to build the internal SERIAL number value.
+   * <p>
+   * A value that has not been parsed into its components (e.g. just read from
+   * XML) is left unchanged. Otherwise if no serial identifier is set the next
+   * serial is taken from the active {@link ISerialGenerator}.
    */
   private void format() {
-    StringBuilder sb = new StringBuilder();
-    sb.append(country != null ? country.name() : "")
-            .append(":")
+    if (country == null && organisation == null && datasetType == null && serial == null) {
+      return;
+    }
+    if (serial == null) {
+      serial = SSRFUtility.getSerialGenerator().nextSerial(datasetType);
+    }
+    String countryName = country != null ? country.name() : "";
+    String datasetName = datasetType != null ? datasetType.name() : "";
+    this.value = new StringBuilder(countryName.length() + (organisation != null ? organisation.length() : 0) + serial.length() + 6)
+            .append(countryName)
+            .append(':')
             .append(organisation != null ? organisation : "")
-            .append(":")
-            .append(datasetType != null ? datasetType.name() : "")
-            .append(":")
-            .append(serial != null ? serial : uuidSnippet());
-    this.value = sb.toString();
+            .append(':')
+            .append(datasetName)
+            .append(':')
+            .append(serial)
+            .toString();
   }
 
   /**
@@ -210,12 +213,16 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
    */
   private void parse() throws IllegalArgumentException {
     if (value != null && !value.isEmpty()) {
-      Matcher m = Pattern.compile(PATTERN).matcher(value);
-      if (m.find()) {
-        setCountry(ListCCY.valueOf(m.group(1)));
-        setOrganisation(m.group(2));
-        setDatasetType(EDatasetType.valueOf(m.group(3)));
-        setSerial(m.group(4));
+      String[] parts = XmlAdapterSERIAL.split(value);
+      if (parts != null) {
+        /**
+         * The parts are bounded by the SERIAL pattern and the value is already
+         * in canonical form, so set the components without reformatting.
+         */
+        this.country = ListCCY.valueOf(parts[0]);
+        this.organisation = parts[1];
+        this.datasetType = EDatasetType.valueOf(parts[2]);
+        this.serial = parts[3];
       } else {
         throw new IllegalArgumentException("SERIAL format error " + PATTERN + " for \"" + value + "\"");
       }
@@ -259,6 +266,15 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
     format();
   }
 
+  /**
+   * Get the instantiating class type.
+   * <p>
+   * @return the enumerated dataset class type
+   */
+  public EDatasetType getDatasetType() {
+    return datasetType;
+  }
+
   /**
    * Set the Serial number Country part (REQUIRED).
    * <p>
@@ -275,10 +291,19 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
    * @param locale the data source country
    */
   public void setLocale(Locale locale) {
-    this.country = ListCCY.valueOf(locale.getISO3Country());
+    this.country = ListCCY.fromLocale(locale);
     format();
   }
 
+  /**
+   * Get the Serial number Country part (REQUIRED).
+   * <p>
+   * @return the data source country
+   */
+  public ListCCY getCountry() {
+    return country;
+  }
+
   /**
    * Set the serial number Organisation code (OPTIONAL).
    * <p>
@@ -292,6 +317,15 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
     format();
   }
 
+  /**
+   * Get the serial number Organization code (OPTIONAL).
+   * <p>
+   * @return the organisation serial value. May be null.
+   */
+  public String getOrganisation() {
+    return organisation;
+  }
+
   /**
    * Set the serial number Serial identifier component. This returns part 4 of
    * the SSRF SERIAL number.
@@ -366,13 +400,12 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
   /**
    * Gets the SSRF SERIAL number value.
    * <p>
-   * Calls {@link #format()} first to ensure the returned value reflects the
+   * The value is rebuilt by every component setter, so it always reflects the
    * most recent changes to the serial components.
    * <p>
    * @return the value of the value property.
    */
   public String getValue() {
-    format();
     return value;
   }
 
@@ -529,8 +562,7 @@ public class Serial extends AMetadata<Serial> implements Comparable<Serial> {
   /**
    * Gets the SSRF SERIAL number value.
    * <p>
-   * Calls {@link #format()} first to ensure the returned value reflects the
-   * most recent changes to the serial components.
+   * The value reflects the most recent changes to the serial components.
    * <p>
    * This is a shortcut to {@link #getValue()}.
    * <p>
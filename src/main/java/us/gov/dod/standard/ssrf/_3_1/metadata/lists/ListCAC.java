@@ -40,6 +40,11 @@ public enum ListCAC {
   DELETE_CODE("Delete Code"),
   @XmlEnumValue("Delete List")
   DELETE_LIST("Delete List");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAC> LOOKUP = ListLookup.of(ListCAC.class);
+
   private final String value;
 
   ListCAC(String v) {
@@ -51,12 +56,7 @@ public enum ListCAC {
   }
 
   public static ListCAC fromValue(String v) {
-    for (ListCAC c : ListCAC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
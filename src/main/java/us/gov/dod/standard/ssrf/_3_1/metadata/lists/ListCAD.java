@@ -48,6 +48,11 @@ public enum ListCAD {
   TRACKING("Tracking"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAD> LOOKUP = ListLookup.of(ListCAD.class);
+
   private final String value;
 
   ListCAD(String v) {
@@ -59,12 +64,7 @@ public enum ListCAD {
   }
 
   public static ListCAD fromValue(String v) {
-    for (ListCAD c : ListCAD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -86,6 +86,11 @@ public enum ListCAF {
   YAGI_ELEMENT("Yagi Element"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAF> LOOKUP = ListLookup.of(ListCAF.class);
+
   private final String value;
 
   ListCAF(String v) {
@@ -97,12 +102,7 @@ public enum ListCAF {
   }
 
   public static ListCAF fromValue(String v) {
-    for (ListCAF c : ListCAF.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -76,6 +76,11 @@ public enum ListCAL {
   WAVEGUIDE_SEMIRIGID("Waveguide Semirigid"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAL> LOOKUP = ListLookup.of(ListCAL.class);
+
   private final String value;
 
   ListCAL(String v) {
@@ -87,12 +92,7 @@ public enum ListCAL {
   }
 
   public static ListCAL fromValue(String v) {
-    for (ListCAL c : ListCAL.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
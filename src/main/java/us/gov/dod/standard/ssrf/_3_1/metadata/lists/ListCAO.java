@@ -2215,6 +2215,11 @@ public enum ListCAO {
   @XmlEnumValue("Other")
   OTHER("Other", "If selected, a clarifying remark SHOULD be entered");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAO> LOOKUP = ListLookup.of(ListCAO.class);
+
   private final String value;
   private final String properName;
 
@@ -2236,12 +2241,7 @@ public enum ListCAO {
   }
 
   public static ListCAO fromValue(String v) {
-    for (ListCAO c : ListCAO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
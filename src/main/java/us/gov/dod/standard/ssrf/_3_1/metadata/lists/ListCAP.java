@@ -48,6 +48,11 @@ public enum ListCAP {
   VV("VV"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAP> LOOKUP = ListLookup.of(ListCAP.class);
+
   private final String value;
 
   ListCAP(String v) {
@@ -66,12 +71,11 @@ public enum ListCAP {
    * @return the matching ListCAP value
    */
   public static ListCAP fromValue(String v) {
-    for (ListCAP c : ListCAP.values()) {
-      if (c.value.equalsIgnoreCase(v)) {
-        return c;
-      }
+    ListCAP c = LOOKUP.getIgnoreCase(v);
+    if (c == null) {
+      throw new IllegalArgumentException(v);
     }
-    throw new IllegalArgumentException(v);
+    return c;
   }
 
 }
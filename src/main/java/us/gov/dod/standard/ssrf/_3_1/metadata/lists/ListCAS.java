@@ -76,6 +76,11 @@ public enum ListCAS {
   @XmlEnumValue("Other")
   OTHER("Other");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAS> LOOKUP = ListLookup.of(ListCAS.class);
+
   private final String value;
 
   ListCAS(String v) {
@@ -87,12 +92,7 @@ public enum ListCAS {
   }
 
   public static ListCAS fromValue(String v) {
-    for (ListCAS c : ListCAS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -410,6 +410,11 @@ public enum ListCAT {
   YAGI_UNIDIRECTIONAL_ARRAY("Yagi-Unidirectional Array"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAT> LOOKUP = ListLookup.of(ListCAT.class);
+
   private final String value;
 
   ListCAT(String v) {
@@ -421,12 +426,7 @@ public enum ListCAT {
   }
 
   public static ListCAT fromValue(String v) {
-    for (ListCAT c : ListCAT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
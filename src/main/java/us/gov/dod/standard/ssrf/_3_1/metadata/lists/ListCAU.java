@@ -45,6 +45,11 @@ public enum ListCAU {
   RECEIVE_ONLY("Receive Only"),
   @XmlEnumValue("Transmit-Receive")
   TRANSMIT_RECEIVE("Transmit-Receive");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAU> LOOKUP = ListLookup.of(ListCAU.class);
+
   private final String value;
 
   ListCAU(String v) {
@@ -56,12 +61,7 @@ public enum ListCAU {
   }
 
   public static ListCAU fromValue(String v) {
-    for (ListCAU c : ListCAU.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -52,6 +52,11 @@ public enum ListCAV {
    */
 //  @XmlEnumValue("Exclude")  EXCLUDE("Exclude");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCAV> LOOKUP = ListLookup.of(ListCAV.class);
+
   private final String value;
 
   ListCAV(String v) {
@@ -63,12 +68,7 @@ public enum ListCAV {
   }
 
   public static ListCAV fromValue(String v) {
-    for (ListCAV c : ListCAV.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -53,6 +53,11 @@ public enum ListCBD {
   SINGLE_SYMMETRICAL_LOBE("Single Symmetrical Lobe"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCBD> LOOKUP = ListLookup.of(ListCBD.class);
+
   private final String value;
 
   ListCBD(String v) {
@@ -64,12 +69,7 @@ public enum ListCBD {
   }
 
   public static ListCBD fromValue(String v) {
-    for (ListCBD c : ListCBD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -62,6 +62,11 @@ public enum ListCBO {
   YES("Yes"),
   @XmlEnumValue("No")
   NO("No");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCBO> LOOKUP = ListLookup.of(ListCBO.class);
+
   private final String value;
 
   ListCBO(String v) {
@@ -73,12 +78,7 @@ public enum ListCBO {
   }
 
   public static ListCBO fromValue(String v) {
-    for (ListCBO c : ListCBO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -50,6 +50,11 @@ public enum ListCCD {
   TEMPORARY_ASSIGNMENT_ONLY("Temporary Assignment Only"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCCD> LOOKUP = ListLookup.of(ListCCD.class);
+
   private final String value;
 
   ListCCD(String v) {
@@ -61,12 +66,7 @@ public enum ListCCD {
   }
 
   public static ListCCD fromValue(String v) {
-    for (ListCCD c : ListCCD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
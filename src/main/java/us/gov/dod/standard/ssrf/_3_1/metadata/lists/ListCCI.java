@@ -54,6 +54,11 @@ public enum ListCCI {
   SUBJECT_MATTER_EXPERT("Subject Matter Expert"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCCI> LOOKUP = ListLookup.of(ListCCI.class);
+
   private final String value;
 
   ListCCI(String v) {
@@ -65,12 +70,7 @@ public enum ListCCI {
   }
 
   public static ListCCI fromValue(String v) {
-    for (ListCCI c : ListCCI.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -15,7 +15,9 @@
  */
 package us.gov.dod.standard.ssrf._3_1.metadata.lists;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import javax.xml.bind.annotation.XmlEnum;
 import javax.xml.bind.annotation.XmlEnumValue;
 import javax.xml.bind.annotation.XmlType;
@@ -82,6 +84,20 @@ public enum ListCCL {
   @XmlEnumValue("T")
   TOP_SECRET("T");
 
+  /**
+   * The enumerated instances indexed by every leading substring of their
+   * name. Where names share a prefix the first declared is indexed.
+   */
+  private static final Map<String, ListCCL> PREFIXES = new HashMap<>();
+
+  static {
+    for (ListCCL value : values()) {
+      for (int i = 0; i <= value.name().length(); i++) {
+        PREFIXES.putIfAbsent(value.name().substring(0, i), value);
+      }
+    }
+  }
+
   private final String value;
 
   private ListCCL(String value) {
@@ -103,12 +119,8 @@ public enum ListCCL {
    * @return an enumerated instance
    */
   public static ListCCL fromValue(String v) {
-    for (ListCCL value : values()) {
-      if (value.name().startsWith(v.toUpperCase(Locale.getDefault()))) {
-        return value;
-      }
-    }
-    return valueOf(v);
+    ListCCL value = PREFIXES.get(v.toUpperCase(Locale.getDefault()));
+    return value != null ? value : valueOf(v);
   }
 
 }
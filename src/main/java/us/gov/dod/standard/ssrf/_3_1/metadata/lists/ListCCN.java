@@ -52,6 +52,11 @@ public enum ListCCN {
   TYPE_N("Type N"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCCN> LOOKUP = ListLookup.of(ListCCN.class);
+
   private final String value;
 
   ListCCN(String v) {
@@ -63,12 +68,7 @@ public enum ListCCN {
   }
 
   public static ListCCN fromValue(String v) {
-    for (ListCCN c : ListCCN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
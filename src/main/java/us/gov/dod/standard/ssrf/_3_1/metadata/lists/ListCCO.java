@@ -55,6 +55,11 @@ public enum ListCCO {
   NARROW_BEAM("Narrow Beam"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCCO> LOOKUP = ListLookup.of(ListCCO.class);
+
   private final String value;
 
   ListCCO(String v) {
@@ -66,12 +71,7 @@ public enum ListCCO {
   }
 
   public static ListCCO fromValue(String v) {
-    for (ListCCO c : ListCCO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -50,6 +50,11 @@ public enum ListCCT {
   SELECTIVITY_RF("Selectivity-RF"),
   @XmlEnumValue("Tx RF Spectrum")
   TX_RF_SPECTRUM("Tx RF Spectrum");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCCT> LOOKUP = ListLookup.of(ListCCT.class);
+
   private final String value;
 
   ListCCT(String v) {
@@ -61,12 +66,7 @@ public enum ListCCT {
   }
 
   public static ListCCT fromValue(String v) {
-    for (ListCCT c : ListCCT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
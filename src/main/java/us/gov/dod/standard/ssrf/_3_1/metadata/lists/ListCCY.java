@@ -15,6 +15,9 @@
  */
 package us.gov.dod.standard.ssrf._3_1.metadata.lists;
 
+import java.util.AbstractMap;
+import java.util.Locale;
+import java.util.Map;
 import javax.xml.bind.annotation.XmlEnum;
 import javax.xml.bind.annotation.XmlEnumValue;
 import javax.xml.bind.annotation.XmlType;
@@ -866,6 +869,15 @@ public enum ListCCY {
    */
   ZWE("ZWE");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCCY> LOOKUP = ListLookup.of(ListCCY.class);
+  /**
+   * The most recently used locale and its country code.
+   */
+  private static volatile Map.Entry<Locale, ListCCY> localeCountry;
+
   private final String value;
 
   ListCCY(String v) {
@@ -877,12 +889,24 @@ public enum ListCCY {
   }
 
   public static ListCCY fromValue(String v) {
-    for (ListCCY c : ListCCY.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
+    return LOOKUP.fromValue(v);
+  }
+
+  /**
+   * Get the country code of a locale. The code of the most recently used
+   * locale is cached, as <code>Locale.getISO3Country()</code> reads a resource
+   * table.
+   *
+   * @param locale the locale
+   * @return the country code
+   */
+  public static ListCCY fromLocale(Locale locale) {
+    Map.Entry<Locale, ListCCY> cached = localeCountry;
+    if (cached == null || !cached.getKey().equals(locale)) {
+      cached = new AbstractMap.SimpleImmutableEntry<>(locale, ListCCY.valueOf(locale.getISO3Country()));
+      localeCountry = cached;
     }
-    throw new IllegalArgumentException(v);
+    return cached.getValue();
   }
 
 }
@@ -38,6 +38,11 @@ public enum ListCDD {
   RELATED("Related"),
   @XmlEnumValue("Superseded")
   SUPERSEDED("Superseded");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCDD> LOOKUP = ListLookup.of(ListCDD.class);
+
   private final String value;
 
   ListCDD(String v) {
@@ -49,12 +54,7 @@ public enum ListCDD {
   }
 
   public static ListCDD fromValue(String v) {
-    for (ListCDD c : ListCDD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
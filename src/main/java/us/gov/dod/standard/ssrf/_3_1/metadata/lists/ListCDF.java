@@ -56,6 +56,11 @@ public enum ListCDF {
   SPLIT_PHASE_MANCHESTER("Split Phase (Manchester)"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCDF> LOOKUP = ListLookup.of(ListCDF.class);
+
   private final String value;
 
   ListCDF(String v) {
@@ -67,12 +72,7 @@ public enum ListCDF {
   }
 
   public static ListCDF fromValue(String v) {
-    for (ListCDF c : ListCDF.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
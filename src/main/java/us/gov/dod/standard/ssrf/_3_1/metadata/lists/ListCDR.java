@@ -48,6 +48,11 @@ public enum ListCDR {
   MISSING_REFS("Missing Refs"),
   @XmlEnumValue("Data Retired")
   DATA_RETIRED("Data Retired");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCDR> LOOKUP = ListLookup.of(ListCDR.class);
+
   private final String value;
 
   ListCDR(String v) {
@@ -59,12 +64,7 @@ public enum ListCDR {
   }
 
   public static ListCDR fromValue(String v) {
-    for (ListCDR c : ListCDR.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -38,6 +38,11 @@ public enum ListCDS {
   EXACTLY("Exactly"),
   @XmlEnumValue("Minimum")
   MINIMUM("Minimum");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCDS> LOOKUP = ListLookup.of(ListCDS.class);
+
   private final String value;
 
   ListCDS(String v) {
@@ -49,12 +54,7 @@ public enum ListCDS {
   }
 
   public static ListCDS fromValue(String v) {
-    for (ListCDS c : ListCDS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -36,6 +36,11 @@ public enum ListCEA {
   SPECIFIC("Specific"),
   @XmlEnumValue("Typical")
   TYPICAL("Typical");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCEA> LOOKUP = ListLookup.of(ListCEA.class);
+
   private final String value;
 
   ListCEA(String v) {
@@ -47,12 +52,7 @@ public enum ListCEA {
   }
 
   public static ListCEA fromValue(String v) {
-    for (ListCEA c : ListCEA.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -356,6 +356,11 @@ public enum ListCEF {
   @XmlEnumValue("Other")
   OTHER("Other");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCEF> LOOKUP = ListLookup.of(ListCEF.class);
+
   private final String value;
 
   ListCEF(String v) {
@@ -367,12 +372,7 @@ public enum ListCEF {
   }
 
   public static ListCEF fromValue(String v) {
-    for (ListCEF c : ListCEF.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
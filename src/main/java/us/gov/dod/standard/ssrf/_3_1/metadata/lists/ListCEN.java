@@ -45,6 +45,11 @@ public enum ListCEN {
   EMITTER_ID("Emitter ID"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCEN> LOOKUP = ListLookup.of(ListCEN.class);
+
   private final String value;
 
   ListCEN(String v) {
@@ -56,12 +61,7 @@ public enum ListCEN {
   }
 
   public static ListCEN fromValue(String v) {
-    for (ListCEN c : ListCEN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -168,6 +168,11 @@ public enum ListCET {
   SPECIAL_OPERATIONS_CRAFT("Special Operations Craft"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCET> LOOKUP = ListLookup.of(ListCET.class);
+
   private final String value;
 
   ListCET(String v) {
@@ -179,12 +184,7 @@ public enum ListCET {
   }
 
   public static ListCET fromValue(String v) {
-    for (ListCET c : ListCET.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -48,6 +48,11 @@ public enum ListCFD {
   ROUTE_PLANNED("Route-Planned"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFD> LOOKUP = ListLookup.of(ListCFD.class);
+
   private final String value;
 
   ListCFD(String v) {
@@ -59,12 +64,7 @@ public enum ListCFD {
   }
 
   public static ListCFD fromValue(String v) {
-    for (ListCFD c : ListCFD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
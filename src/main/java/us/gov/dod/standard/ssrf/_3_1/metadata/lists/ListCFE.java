@@ -42,6 +42,11 @@ public enum ListCFE {
   WEAPON_CLASS("Weapon Class"),
   @XmlEnumValue("Unit")
   UNIT("Unit");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFE> LOOKUP = ListLookup.of(ListCFE.class);
+
   private final String value;
 
   ListCFE(String v) {
@@ -53,12 +58,7 @@ public enum ListCFE {
   }
 
   public static ListCFE fromValue(String v) {
-    for (ListCFE c : ListCFE.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
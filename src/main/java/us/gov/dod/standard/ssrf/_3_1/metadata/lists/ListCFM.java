@@ -36,6 +36,11 @@ public enum ListCFM {
   MULTICHANNEL("Multichannel"),
   @XmlEnumValue("Per Channel ")
   PER_CHANNEL("Per Channel ");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFM> LOOKUP = ListLookup.of(ListCFM.class);
+
   private final String value;
 
   ListCFM(String v) {
@@ -47,12 +52,7 @@ public enum ListCFM {
   }
 
   public static ListCFM fromValue(String v) {
-    for (ListCFM c : ListCFM.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
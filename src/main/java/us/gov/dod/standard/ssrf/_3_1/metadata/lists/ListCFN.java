@@ -769,6 +769,11 @@ public enum ListCFN {
   OTHER_OPS_SURVEY("OTHER OPS - SURVEY"),
   @XmlEnumValue("OTHER OPS - TEST AND MEASUREMENT")
   OTHER_OPS_TEST_AND_MEASUREMENT("OTHER OPS - TEST AND MEASUREMENT");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFN> LOOKUP = ListLookup.of(ListCFN.class);
+
   private final String value;
 
   ListCFN(String v) {
@@ -780,12 +785,7 @@ public enum ListCFN {
   }
 
   public static ListCFN fromValue(String v) {
-    for (ListCFN c : ListCFN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
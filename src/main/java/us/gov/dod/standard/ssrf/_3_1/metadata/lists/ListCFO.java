@@ -38,6 +38,11 @@ public enum ListCFO {
   HZ("Hz"),
   @XmlEnumValue("ppm")
   PPM("ppm");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFO> LOOKUP = ListLookup.of(ListCFO.class);
+
   private final String value;
 
   ListCFO(String v) {
@@ -49,12 +54,7 @@ public enum ListCFO {
   }
 
   public static ListCFO fromValue(String v) {
-    for (ListCFO c : ListCFO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -39,6 +39,11 @@ public enum ListCFR {
   PARENT("Parent"),
   @XmlEnumValue("Sibling")
   SIBLING("Sibling");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFR> LOOKUP = ListLookup.of(ListCFR.class);
+
   private final String value;
 
   ListCFR(String v) {
@@ -50,12 +55,7 @@ public enum ListCFR {
   }
 
   public static ListCFR fromValue(String v) {
-    for (ListCFR c : ListCFR.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -42,6 +42,11 @@ public enum ListCFT {
   RELATED("Related"),
   @XmlEnumValue("Reporting")
   REPORTING("Reporting");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCFT> LOOKUP = ListLookup.of(ListCFT.class);
+
   private final String value;
 
   ListCFT(String v) {
@@ -53,12 +58,7 @@ public enum ListCFT {
   }
 
   public static ListCFT fromValue(String v) {
-    for (ListCFT c : ListCFT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
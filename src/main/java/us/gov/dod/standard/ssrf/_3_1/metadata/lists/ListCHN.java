@@ -40,6 +40,11 @@ public enum ListCHN {
   NUFAS_ASSIGNED("NUFAS-assigned"),
   @XmlEnumValue("User-assigned")
   USER_ASSIGNED("User-assigned");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCHN> LOOKUP = ListLookup.of(ListCHN.class);
+
   private final String value;
 
   ListCHN(String v) {
@@ -51,12 +56,7 @@ public enum ListCHN {
   }
 
   public static ListCHN fromValue(String v) {
-    for (ListCHN c : ListCHN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -76,6 +76,11 @@ public enum ListCIC {
   TRANSPORT("Transport"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCIC> LOOKUP = ListLookup.of(ListCIC.class);
+
   private final String value;
 
   ListCIC(String v) {
@@ -87,12 +92,7 @@ public enum ListCIC {
   }
 
   public static ListCIC fromValue(String v) {
-    for (ListCIC c : ListCIC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -78,6 +78,11 @@ public enum ListCIN {
   WATER("Water"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCIN> LOOKUP = ListLookup.of(ListCIN.class);
+
   private final String value;
 
   ListCIN(String v) {
@@ -89,12 +94,7 @@ public enum ListCIN {
   }
 
   public static ListCIN fromValue(String v) {
-    for (ListCIN c : ListCIN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
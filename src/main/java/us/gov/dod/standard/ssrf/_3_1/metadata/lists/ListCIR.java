@@ -50,6 +50,11 @@ public enum ListCIR {
   REQUIRED("Required"),
   @XmlEnumValue("Unfavourable")
   UNFAVOURABLE("Unfavourable");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCIR> LOOKUP = ListLookup.of(ListCIR.class);
+
   private final String value;
 
   ListCIR(String v) {
@@ -61,12 +66,7 @@ public enum ListCIR {
   }
 
   public static ListCIR fromValue(String v) {
-    for (ListCIR c : ListCIR.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -42,6 +42,11 @@ public enum ListCJ1 {
   JAMMING("Jamming"),
   @XmlEnumValue("Meaconing")
   MEACONING("Meaconing");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCJ1> LOOKUP = ListLookup.of(ListCJ1.class);
+
   private final String value;
 
   ListCJ1(String v) {
@@ -53,12 +58,7 @@ public enum ListCJ1 {
   }
 
   public static ListCJ1 fromValue(String v) {
-    for (ListCJ1 c : ListCJ1.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -359,6 +359,11 @@ public enum ListCLC {
   WORKS("Works"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCLC> LOOKUP = ListLookup.of(ListCLC.class);
+
   private final String value;
 
   ListCLC(String v) {
@@ -370,12 +375,7 @@ public enum ListCLC {
   }
 
   public static ListCLC fromValue(String v) {
-    for (ListCLC c : ListCLC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
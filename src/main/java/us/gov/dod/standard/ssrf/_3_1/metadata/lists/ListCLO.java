@@ -38,6 +38,11 @@ public enum ListCLO {
   LO_ABOVE_RF("LO above RF"),
   @XmlEnumValue("LO below RF")
   LO_BELOW_RF("LO below RF");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCLO> LOOKUP = ListLookup.of(ListCLO.class);
+
   private final String value;
 
   ListCLO(String v) {
@@ -49,12 +54,7 @@ public enum ListCLO {
   }
 
   public static ListCLO fromValue(String v) {
-    for (ListCLO c : ListCLO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -60,6 +60,11 @@ public enum ListCLS {
   TOTAL_LAUNCH_FAILURE("Total Launch Failure"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCLS> LOOKUP = ListLookup.of(ListCLS.class);
+
   private final String value;
 
   ListCLS(String v) {
@@ -71,12 +76,7 @@ public enum ListCLS {
   }
 
   public static ListCLS fromValue(String v) {
-    for (ListCLS c : ListCLS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
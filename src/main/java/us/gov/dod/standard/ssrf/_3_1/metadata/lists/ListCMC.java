@@ -96,6 +96,11 @@ public enum ListCMC {
   WARSHIPS("Warships"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCMC> LOOKUP = ListLookup.of(ListCMC.class);
+
   private final String value;
 
   ListCMC(String v) {
@@ -107,12 +112,7 @@ public enum ListCMC {
   }
 
   public static ListCMC fromValue(String v) {
-    for (ListCMC c : ListCMC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -182,6 +182,11 @@ public enum ListCMO {
   @XmlEnumValue("Other")
   OTHER("Other");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCMO> LOOKUP = ListLookup.of(ListCMO.class);
+
   private final String value;
 
   ListCMO(String v) {
@@ -193,12 +198,7 @@ public enum ListCMO {
   }
 
   public static ListCMO fromValue(String v) {
-    for (ListCMO c : ListCMO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -40,6 +40,11 @@ public enum ListCNU {
   NICKNAME("Nickname"),
   @XmlEnumValue("Pennant Number")
   PENNANT_NUMBER("Pennant Number");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCNU> LOOKUP = ListLookup.of(ListCNU.class);
+
   private final String value;
 
   ListCNU(String v) {
@@ -51,12 +56,7 @@ public enum ListCNU {
   }
 
   public static ListCNU fromValue(String v) {
-    for (ListCNU c : ListCNU.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
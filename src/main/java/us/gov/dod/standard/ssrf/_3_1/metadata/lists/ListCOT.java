@@ -93,6 +93,11 @@ public enum ListCOT {
   YTTRIUM_IRON_GARNET("Yttrium Iron Garnet"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCOT> LOOKUP = ListLookup.of(ListCOT.class);
+
   private final String value;
 
   ListCOT(String v) {
@@ -104,12 +109,7 @@ public enum ListCOT {
   }
 
   public static ListCOT fromValue(String v) {
-    for (ListCOT c : ListCOT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
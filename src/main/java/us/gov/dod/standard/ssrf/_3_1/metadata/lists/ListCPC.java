@@ -49,6 +49,11 @@ public enum ListCPC {
    */
   @XmlEnumValue("Taboo")
   TABOO("Taboo");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCPC> LOOKUP = ListLookup.of(ListCPC.class);
+
   private final String value;
 
   ListCPC(String v) {
@@ -60,12 +65,7 @@ public enum ListCPC {
   }
 
   public static ListCPC fromValue(String v) {
-    for (ListCPC c : ListCPC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -42,6 +42,11 @@ public enum ListCPI {
   OUTSIDE_NATIONAL_BOUNDARIES("Outside National Boundaries"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCPI> LOOKUP = ListLookup.of(ListCPI.class);
+
   private final String value;
 
   ListCPI(String v) {
@@ -53,12 +58,7 @@ public enum ListCPI {
   }
 
   public static ListCPI fromValue(String v) {
-    for (ListCPI c : ListCPI.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
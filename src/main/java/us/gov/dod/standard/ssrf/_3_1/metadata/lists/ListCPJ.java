@@ -42,6 +42,11 @@ public enum ListCPJ {
   OPLAN("OPLAN"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCPJ> LOOKUP = ListLookup.of(ListCPJ.class);
+
   private final String value;
 
   ListCPJ(String v) {
@@ -53,12 +58,7 @@ public enum ListCPJ {
   }
 
   public static ListCPJ fromValue(String v) {
-    for (ListCPJ c : ListCPJ.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -76,6 +76,11 @@ public enum ListCPO {
   @XmlEnumValue("Other")
   OTHER("Other");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCPO> LOOKUP = ListLookup.of(ListCPO.class);
+
   private final String value;
 
   ListCPO(String v) {
@@ -87,12 +92,7 @@ public enum ListCPO {
   }
 
   public static ListCPO fromValue(String v) {
-    for (ListCPO c : ListCPO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -45,6 +45,11 @@ public enum ListCPS {
   PERMITTED("Permitted"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCPS> LOOKUP = ListLookup.of(ListCPS.class);
+
   private final String value;
 
   ListCPS(String v) {
@@ -56,12 +61,7 @@ public enum ListCPS {
   }
 
   public static ListCPS fromValue(String v) {
-    for (ListCPS c : ListCPS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
   /**
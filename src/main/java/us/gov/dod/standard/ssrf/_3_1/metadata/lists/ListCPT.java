@@ -40,6 +40,11 @@ public enum ListCPT {
   @XmlEnumValue("Mean")
   MEAN("Mean"),
   PEP("PEP");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCPT> LOOKUP = ListLookup.of(ListCPT.class);
+
   private final String value;
 
   ListCPT(String v) {
@@ -51,12 +56,7 @@ public enum ListCPT {
   }
 
   public static ListCPT fromValue(String v) {
-    for (ListCPT c : ListCPT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
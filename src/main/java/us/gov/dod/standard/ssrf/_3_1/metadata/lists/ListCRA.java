@@ -43,6 +43,11 @@ public enum ListCRA {
   NON_FM_PULSE("Non-FM Pulse"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCRA> LOOKUP = ListLookup.of(ListCRA.class);
+
   private final String value;
 
   ListCRA(String v) {
@@ -54,12 +59,7 @@ public enum ListCRA {
   }
 
   public static ListCRA fromValue(String v) {
-    for (ListCRA c : ListCRA.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
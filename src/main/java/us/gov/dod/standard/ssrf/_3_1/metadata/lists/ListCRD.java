@@ -37,6 +37,11 @@ public enum ListCRD {
   CLOCKWISE("Clockwise"),
   @XmlEnumValue("Counter-Clockwise")
   COUNTER_CLOCKWISE("Counter-Clockwise");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCRD> LOOKUP = ListLookup.of(ListCRD.class);
+
   private final String value;
 
   ListCRD(String v) {
@@ -48,12 +53,7 @@ public enum ListCRD {
   }
 
   public static ListCRD fromValue(String v) {
-    for (ListCRD c : ListCRD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
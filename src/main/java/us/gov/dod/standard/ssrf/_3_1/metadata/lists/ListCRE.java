@@ -82,6 +82,11 @@ public enum ListCRE {
   SPECTRUM_SUPPORT_CERTIFICATION("Spectrum Support Certification"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCRE> LOOKUP = ListLookup.of(ListCRE.class);
+
   private final String value;
 
   ListCRE(String v) {
@@ -93,12 +98,7 @@ public enum ListCRE {
   }
 
   public static ListCRE fromValue(String v) {
-    for (ListCRE c : ListCRE.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -82,6 +82,11 @@ public enum ListCRS {
   TROUGH("Trough"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCRS> LOOKUP = ListLookup.of(ListCRS.class);
+
   private final String value;
 
   ListCRS(String v) {
@@ -93,12 +98,7 @@ public enum ListCRS {
   }
 
   public static ListCRS fromValue(String v) {
-    for (ListCRS c : ListCRS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
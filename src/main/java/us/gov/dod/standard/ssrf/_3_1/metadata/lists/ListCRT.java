@@ -60,6 +60,11 @@ public enum ListCRT {
   TUNED_RADIO_FREQUENCY("Tuned Radio Frequency"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCRT> LOOKUP = ListLookup.of(ListCRT.class);
+
   private final String value;
 
   ListCRT(String v) {
@@ -71,12 +76,7 @@ public enum ListCRT {
   }
 
   public static ListCRT fromValue(String v) {
-    for (ListCRT c : ListCRT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -45,6 +45,11 @@ public enum ListCSE {
   S_N("S/N"),
   @XmlEnumValue("(S+N)/N")
   _S_N_N("(S+N)/N");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSE> LOOKUP = ListLookup.of(ListCSE.class);
+
   private final String value;
 
   ListCSE(String v) {
@@ -56,12 +61,7 @@ public enum ListCSE {
   }
 
   public static ListCSE fromValue(String v) {
-    for (ListCSE c : ListCSE.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
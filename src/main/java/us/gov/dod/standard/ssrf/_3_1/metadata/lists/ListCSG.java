@@ -44,6 +44,11 @@ public enum ListCSG {
   EXPERIMENTAL("Experimental"),
   @XmlEnumValue("Operational")
   OPERATIONAL("Operational");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSG> LOOKUP = ListLookup.of(ListCSG.class);
+
   private final String value;
 
   ListCSG(String v) {
@@ -55,12 +60,7 @@ public enum ListCSG {
   }
 
   public static ListCSG fromValue(String v) {
-    for (ListCSG c : ListCSG.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
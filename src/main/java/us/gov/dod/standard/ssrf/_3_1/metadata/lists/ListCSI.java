@@ -36,6 +36,11 @@ public enum ListCSI {
   LOWER_SIDEBAND("Lower sideband"),
   @XmlEnumValue("Upper sideband")
   UPPER_SIDEBAND("Upper sideband");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSI> LOOKUP = ListLookup.of(ListCSI.class);
+
   private final String value;
 
   ListCSI(String v) {
@@ -47,12 +52,7 @@ public enum ListCSI {
   }
 
   public static ListCSI fromValue(String v) {
-    for (ListCSI c : ListCSI.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
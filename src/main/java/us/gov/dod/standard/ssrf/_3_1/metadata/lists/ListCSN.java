@@ -146,6 +146,16 @@ public enum ListCSN {
 
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value and by name.
+   */
+  private static final ListLookup<ListCSN> LOOKUP = ListLookup.of(ListCSN.class);
+  /**
+   * The enumerated instances sorted by reverse name length, for the longest
+   * name match in {@link #parse(String)}.
+   */
+  private static final List<ListCSN> BY_NAME_LENGTH = sortByNameLength();
+
   private final String value;
 
   ListCSN(String v) {
@@ -173,10 +183,14 @@ public enum ListCSN {
      * First try an exact match with the provided VALUE (also try NAME for
      * maximum flexibility).
      */
-    for (ListCSN listCSN : ListCSN.values()) {
-      if (listCSN.value().equalsIgnoreCase(value) || listCSN.name().equalsIgnoreCase(value)) {
-        return listCSN;
-      }
+    ListCSN byValue = LOOKUP.getIgnoreCase(value);
+    ListCSN byName = LOOKUP.getNameIgnoreCase(value);
+    if (byValue != null || byName != null) {
+      /**
+       * Prefer the first declared if the value and name match different
+       * entries.
+       */
+      return byValue == null || (byName != null && byName.ordinal() < byValue.ordinal()) ? byName : byValue;
     }
     /**
      * Next try to match a longer name, possibly with a qualifier attached.
@@ -208,35 +222,43 @@ public enum ListCSN {
     /**
      * First try to match the name directly.
      */
-    for (ListCSN csn : ListCSN.values()) {
-      if (csn.name().equalsIgnoreCase(name.trim().replaceAll("[\\W\\s]", "_"))) {
-        return csn;
-      }
+    ListCSN match = LOOKUP.getNameIgnoreCase(name.trim().replaceAll("[\\W\\s]", "_"));
+    if (match != null) {
+      return match;
     }
     /**
      * If a name match fails then search for a match from longest to shortest.
      * This assumes the "name" field contains extra junk descriptions and the
-     * allocation is buried somewhere within. Sort by reverse name length
+     * allocation is buried somewhere within. Names are sorted by reverse name
+     * length.
+     * <p>
+     * Replace all non-word and whitespace characters with underscore, then try
+     * to match the name.
      */
+    String query = name.replaceAll("[\\W\\s]", "_").toLowerCase();
+    for (ListCSN c : BY_NAME_LENGTH) {
+      if (query.startsWith(c.name().toLowerCase())) {
+        return c;
+      }
+    }
+    throw new IllegalArgumentException("ListCSN name not recognized: \"" + name + "\"");
+  }
+
+  /**
+   * Internal method to sort the enumerated instances by reverse name length.
+   * <p>
+   * @return an unmodifiable list, longest name first
+   */
+  private static List<ListCSN> sortByNameLength() {
     List<ListCSN> csn = new ArrayList<>(Arrays.asList(ListCSN.values()));
     Collections.sort(csn, new Comparator<ListCSN>() {
 
                @Override
                public int compare(ListCSN o1, ListCSN o2) {
-                 return o1.name().length() > o2.name().length() ? -1 : 1;
+                 return Integer.compare(o2.name().length(), o1.name().length());
                }
              });
-    /**
-     * Replace all non-word and whitespace characters with underscore, then try
-     * to match the name.
-     */
-    String query = name.replaceAll("[\\W\\s]", "_");
-    for (ListCSN c : csn) {
-      if (query.toLowerCase().matches("^" + c.name().toLowerCase() + ".*$")) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException("ListCSN name not recognized: \"" + name + "\"");
+    return Collections.unmodifiableList(csn);
   }
 
   /**
@@ -76,6 +76,11 @@ public enum ListCSP {
   NON_GEO("Non-GEO"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSP> LOOKUP = ListLookup.of(ListCSP.class);
+
   private final String value;
 
   ListCSP(String v) {
@@ -87,12 +92,7 @@ public enum ListCSP {
   }
 
   public static ListCSP fromValue(String v) {
-    for (ListCSP c : ListCSP.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -110,6 +110,11 @@ public enum ListCSR {
   OTHER("Other"),
   @XmlEnumValue("Unknown")
   UNKNOWN("Unknown");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSR> LOOKUP = ListLookup.of(ListCSR.class);
+
   private final String value;
 
   ListCSR(String v) {
@@ -121,12 +126,7 @@ public enum ListCSR {
   }
 
   public static ListCSR fromValue(String v) {
-    for (ListCSR c : ListCSR.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
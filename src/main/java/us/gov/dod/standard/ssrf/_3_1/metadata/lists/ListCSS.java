@@ -54,6 +54,11 @@ public enum ListCSS {
   TIME_HOPPED("Time hopped"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSS> LOOKUP = ListLookup.of(ListCSS.class);
+
   private final String value;
 
   ListCSS(String v) {
@@ -65,12 +70,7 @@ public enum ListCSS {
   }
 
   public static ListCSS fromValue(String v) {
-    for (ListCSS c : ListCSS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
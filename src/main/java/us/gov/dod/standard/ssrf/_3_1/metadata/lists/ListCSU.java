@@ -40,6 +40,11 @@ public enum ListCSU {
   INACTIVE("Inactive"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCSU> LOOKUP = ListLookup.of(ListCSU.class);
+
   private final String value;
 
   ListCSU(String v) {
@@ -51,12 +56,7 @@ public enum ListCSU {
   }
 
   public static ListCSU fromValue(String v) {
-    for (ListCSU c : ListCSU.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
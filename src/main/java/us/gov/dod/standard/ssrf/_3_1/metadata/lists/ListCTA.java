@@ -44,6 +44,11 @@ public enum ListCTA {
   NATIONAL("Footnote-National"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCTA> LOOKUP = ListLookup.of(ListCTA.class);
+
   private final String value;
 
   ListCTA(String v) {
@@ -55,12 +60,7 @@ public enum ListCTA {
   }
 
   public static ListCTA fromValue(String v) {
-    for (ListCTA c : ListCTA.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
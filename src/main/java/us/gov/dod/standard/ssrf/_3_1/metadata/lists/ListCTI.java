@@ -48,6 +48,11 @@ public enum ListCTI {
   ONCE("Once"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCTI> LOOKUP = ListLookup.of(ListCTI.class);
+
   private final String value;
 
   ListCTI(String v) {
@@ -59,12 +64,7 @@ public enum ListCTI {
   }
 
   public static ListCTI fromValue(String v) {
-    for (ListCTI c : ListCTI.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -123,6 +123,11 @@ public enum ListCTN {
   VOLTAGE_TUNED_YIG("Voltage Tuned Yig"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCTN> LOOKUP = ListLookup.of(ListCTN.class);
+
   private final String value;
 
   ListCTN(String v) {
@@ -134,12 +139,7 @@ public enum ListCTN {
   }
 
   public static ListCTN fromValue(String v) {
-    for (ListCTN c : ListCTN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
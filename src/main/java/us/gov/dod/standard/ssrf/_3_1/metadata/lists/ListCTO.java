@@ -43,6 +43,11 @@ public enum ListCTO {
   MILITARY("Military"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCTO> LOOKUP = ListLookup.of(ListCTO.class);
+
   private final String value;
 
   ListCTO(String v) {
@@ -54,12 +59,7 @@ public enum ListCTO {
   }
 
   public static ListCTO fromValue(String v) {
-    for (ListCTO c : ListCTO.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
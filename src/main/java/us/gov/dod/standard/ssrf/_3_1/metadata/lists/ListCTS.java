@@ -38,6 +38,11 @@ public enum ListCTS {
   FOR_REVIEW("For Review"),
   @XmlEnumValue("Pending")
   PENDING("Pending");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCTS> LOOKUP = ListLookup.of(ListCTS.class);
+
   private final String value;
 
   ListCTS(String v) {
@@ -49,12 +54,7 @@ public enum ListCTS {
   }
 
   public static ListCTS fromValue(String v) {
-    for (ListCTS c : ListCTS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -51,6 +51,11 @@ public enum ListCTU {
   FIXED_OR_RANDOM("Fixed or Random"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCTU> LOOKUP = ListLookup.of(ListCTU.class);
+
   private final String value;
 
   ListCTU(String v) {
@@ -62,12 +67,7 @@ public enum ListCTU {
   }
 
   public static ListCTU fromValue(String v) {
-    for (ListCTU c : ListCTU.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
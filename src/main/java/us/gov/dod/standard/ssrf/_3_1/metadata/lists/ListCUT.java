@@ -45,6 +45,11 @@ public enum ListCUT {
   CANCELLED_REJECTED("Cancelled/Rejected"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListCUT> LOOKUP = ListLookup.of(ListCUT.class);
+
   private final String value;
 
   ListCUT(String v) {
@@ -56,12 +61,7 @@ public enum ListCUT {
   }
 
   public static ListCUT fromValue(String v) {
-    for (ListCUT c : ListCUT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
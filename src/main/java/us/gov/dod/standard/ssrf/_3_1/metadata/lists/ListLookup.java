@@ -0,0 +1,261 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.metadata.lists;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Precomputed code lookup table for an enumerated (pick-list) type.
+ * <p>
+ * Each SSRF list enum exposes its XML enumerated value through a
+ * <code>value()</code> method and resolves it with <code>fromValue</code>.
+ * This class indexes the enum constants once, by value and by name (each also
+ * by upper-case), so that a code is resolved with a single hash lookup instead of
+ * a scan of (a copy of) <code>values()</code>.
+ * <p>
+ * Tables are built on first use and shared; use {@link #of(Class)} to get the
+ * table of an enum type. Enum types without a <code>value()</code> method are
+ * indexed by name. Instances are immutable and thread-safe.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @param <E> the enum type
+ * @since 3.1.0
+ */
+public final class ListLookup<E extends Enum<E>> {
+
+  /**
+   * The lookup tables, keyed by enum type.
+   */
+  private static final ClassValue<ListLookup<?>> LOOKUPS = new ClassValue<ListLookup<?>>() {
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected ListLookup<?> computeValue(Class<?> type) {
+      return new ListLookup(type);
+    }
+  };
+
+  /**
+   * The enum type.
+   */
+  private final Class<E> type;
+  /**
+   * The enum constants indexed by XML enumerated value. Where two constants
+   * share a value the first declared is indexed.
+   */
+  private final Map<String, E> values;
+  /**
+   * The enum constants indexed by upper-case XML enumerated value.
+   */
+  private final Map<String, E> valuesIgnoreCase;
+  /**
+   * The enum constants indexed by name.
+   */
+  private final Map<String, E> names;
+  /**
+   * The enum constants indexed by upper-case name.
+   */
+  private final Map<String, E> namesIgnoreCase;
+
+  /**
+   * Build a new lookup table.
+   *
+   * @param type the enum type
+   */
+  private ListLookup(Class<E> type) {
+    if (!type.isEnum()) {
+      throw new IllegalArgumentException(type.getName() + " is not an enum type.");
+    }
+    this.type = type;
+    Method valueMethod = findValueMethod(type);
+    E[] constants = type.getEnumConstants();
+    Map<String, E> valueMap = new HashMap<>(constants.length * 2);
+    Map<String, E> valueIgnoreCaseMap = new HashMap<>(constants.length * 2);
+    Map<String, E> nameMap = new HashMap<>(constants.length * 2);
+    Map<String, E> nameIgnoreCaseMap = new HashMap<>(constants.length * 2);
+    for (E constant : constants) {
+      String value = valueMethod != null ? invoke(valueMethod, constant) : constant.name();
+      if (value != null) {
+        valueMap.putIfAbsent(value, constant);
+        valueIgnoreCaseMap.putIfAbsent(value.toUpperCase(Locale.ROOT), constant);
+      }
+      nameMap.put(constant.name(), constant);
+      nameIgnoreCaseMap.putIfAbsent(constant.name().toUpperCase(Locale.ROOT), constant);
+    }
+    this.values = Collections.unmodifiableMap(valueMap);
+    this.valuesIgnoreCase = Collections.unmodifiableMap(valueIgnoreCaseMap);
+    this.names = Collections.unmodifiableMap(nameMap);
+    this.namesIgnoreCase = Collections.unmodifiableMap(nameIgnoreCaseMap);
+  }
+
+  /**
+   * Get the shared lookup table of an enum type.
+   *
+   * @param <E>  the enum type
+   * @param type the enum class
+   * @return the lookup table
+   * @throws IllegalArgumentException if the type is not an enum
+   */
+  @SuppressWarnings("unchecked")
+  public static <E extends Enum<E>> ListLookup<E> of(Class<E> type) {
+    return (ListLookup<E>) LOOKUPS.get(type);
+  }
+
+  /**
+   * Get the enum type.
+   *
+   * @return the enum class
+   */
+  public Class<E> getType() {
+    return type;
+  }
+
+  /**
+   * Get the enum constant with the specified XML enumerated value.
+   *
+   * @param value the XML enumerated value. Case sensitive.
+   * @return the enum constant, NULL if not found
+   */
+  public E get(String value) {
+    return value != null ? values.get(value) : null;
+  }
+
+  /**
+   * Get the enum constant with the specified XML enumerated value, ignoring
+   * case.
+   *
+   * @param value the XML enumerated value. Case insensitive.
+   * @return the enum constant, NULL if not found
+   */
+  public E getIgnoreCase(String value) {
+    return value != null ? valuesIgnoreCase.get(value.toUpperCase(Locale.ROOT)) : null;
+  }
+
+  /**
+   * Get the enum constant with the specified name, ignoring case.
+   *
+   * @param name the enum constant name. Case insensitive.
+   * @return the enum constant, NULL if not found
+   */
+  public E getNameIgnoreCase(String name) {
+    return name != null ? namesIgnoreCase.get(name.toUpperCase(Locale.ROOT)) : null;
+  }
+
+  /**
+   * Get the enum constant with the specified name or XML enumerated value.
+   * The name is tried first.
+   *
+   * @param nameOrValue the enum constant name or XML enumerated value
+   * @return the enum constant, NULL if not found
+   */
+  public E resolve(String nameOrValue) {
+    if (nameOrValue == null) {
+      return null;
+    }
+    E constant = names.get(nameOrValue);
+    return constant != null ? constant : values.get(nameOrValue);
+  }
+
+  /**
+   * Returns the enum constant with the specified XML enumerated value.
+   * Equivalent to the <code>fromValue</code> method of the enum type.
+   *
+   * @param value the XML enumerated value. Case sensitive.
+   * @return the enum constant
+   * @throws IllegalArgumentException if the value is not found
+   */
+  public E fromValue(String value) {
+    E constant = get(value);
+    if (constant == null) {
+      throw new IllegalArgumentException(value);
+    }
+    return constant;
+  }
+
+  /**
+   * Returns the enum constants with the specified XML enumerated values, in
+   * the same order. This is the bulk equivalent of
+   * {@link #fromValue(String)}.
+   *
+   * @param values the XML enumerated values. Case sensitive.
+   * @return a new list of enum constants
+   * @throws IllegalArgumentException if a value is not found
+   */
+  public List<E> fromValues(Collection<String> values) {
+    List<E> constants = new ArrayList<>(values.size());
+    for (String value : values) {
+      constants.add(fromValue(value));
+    }
+    return constants;
+  }
+
+  /**
+   * Resolve a collection of XML enumerated values, skipping values that are
+   * not found. Importers may use this to read a list of codes leniently.
+   *
+   * @param values the XML enumerated values. Case sensitive.
+   * @return a new map of the resolved values to their enum constants, in
+   *         iteration order
+   */
+  public Map<String, E> resolveValues(Collection<String> values) {
+    Map<String, E> resolved = new LinkedHashMap<>(values.size() * 2);
+    for (String value : values) {
+      E constant = get(value);
+      if (constant != null) {
+        resolved.put(value, constant);
+      }
+    }
+    return resolved;
+  }
+
+  /**
+   * Internal method to find the public <code>value()</code> method of a list
+   * enum.
+   *
+   * @param type the enum type
+   * @return the value method, NULL if not declared
+   */
+  private static Method findValueMethod(Class<?> type) {
+    try {
+      Method method = type.getMethod("value");
+      return method.getReturnType() == String.class ? method : null;
+    } catch (NoSuchMethodException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Internal method to read the XML enumerated value of an enum constant.
+   *
+   * @param valueMethod the value method
+   * @param constant    the enum constant
+   * @return the XML enumerated value
+   */
+  private static String invoke(Method valueMethod, Enum<?> constant) {
+    try {
+      return (String) valueMethod.invoke(constant);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Failed to read " + constant.getDeclaringClass().getName() + "." + constant.name() + " value.", ex);
+    }
+  }
+}
@@ -59,6 +59,11 @@ public enum ListUCH {
   DATA_ERRORS("DATA ERRORS"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUCH> LOOKUP = ListLookup.of(ListUCH.class);
+
   private final String value;
 
   ListUCH(String v) {
@@ -70,12 +75,7 @@ public enum ListUCH {
   }
 
   public static ListUCH fromValue(String v) {
-    for (ListUCH c : ListUCH.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
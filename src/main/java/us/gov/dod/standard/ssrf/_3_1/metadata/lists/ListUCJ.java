@@ -46,6 +46,11 @@ public enum ListUCJ {
   DO_D_JOINT_CHIEFS_OF_STAFF("DoD Joint Chiefs of Staff"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUCJ> LOOKUP = ListLookup.of(ListUCJ.class);
+
   private final String value;
 
   ListUCJ(String v) {
@@ -57,12 +62,7 @@ public enum ListUCJ {
   }
 
   public static ListUCJ fromValue(String v) {
-    for (ListUCJ c : ListUCJ.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
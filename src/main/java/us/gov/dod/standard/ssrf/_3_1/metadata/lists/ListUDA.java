@@ -48,6 +48,11 @@ public enum ListUDA {
   RADIO_ASTRONOMY_DATA_FROM_THE_NATIONAL_RESEARCH_COUNCIL("Radio Astronomy data from the National Research Council"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUDA> LOOKUP = ListLookup.of(ListUDA.class);
+
   private final String value;
 
   ListUDA(String v) {
@@ -59,12 +64,7 @@ public enum ListUDA {
   }
 
   public static ListUDA fromValue(String v) {
-    for (ListUDA c : ListUDA.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
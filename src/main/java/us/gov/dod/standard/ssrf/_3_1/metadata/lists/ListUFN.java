@@ -657,6 +657,11 @@ public enum ListUFN {
   WIRELESS_MIKE("WIRELESS MIKE"),
   @XmlEnumValue("WOLVERINE (Assault Bridge)")
   WOLVERINE_ASSAULT_BRIDGE("WOLVERINE (Assault Bridge)");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUFN> LOOKUP = ListLookup.of(ListUFN.class);
+
   private final String value;
 
   ListUFN(String v) {
@@ -668,12 +673,7 @@ public enum ListUFN {
   }
 
   public static ListUFN fromValue(String v) {
-    for (ListUFN c : ListUFN.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -57,6 +57,11 @@ public enum ListUFU {
   @XmlEnumValue("TRANSMIT/RECEIVE")
   TRANSMIT_RECEIVE("TRANSMIT/RECEIVE"),
   UPLINK("UPLINK");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUFU> LOOKUP = ListLookup.of(ListUFU.class);
+
   private final String value;
 
   ListUFU(String v) {
@@ -68,12 +73,7 @@ public enum ListUFU {
   }
 
   public static ListUFU fromValue(String v) {
-    for (ListUFU c : ListUFU.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
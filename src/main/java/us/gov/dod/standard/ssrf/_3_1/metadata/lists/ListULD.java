@@ -36,6 +36,11 @@ public enum ListULD {
   NEGATIVE("Negative"),
   @XmlEnumValue("Positive")
   POSITIVE("Positive");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListULD> LOOKUP = ListLookup.of(ListULD.class);
+
   private final String value;
 
   ListULD(String v) {
@@ -47,12 +52,7 @@ public enum ListULD {
   }
 
   public static ListULD fromValue(String v) {
-    for (ListULD c : ListULD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
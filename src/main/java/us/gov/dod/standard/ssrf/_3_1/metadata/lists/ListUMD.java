@@ -40,6 +40,11 @@ public enum ListUMD {
   ANALOG("Analog"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUMD> LOOKUP = ListLookup.of(ListUMD.class);
+
   private final String value;
 
   ListUMD(String v) {
@@ -51,12 +56,7 @@ public enum ListUMD {
   }
 
   public static ListUMD fromValue(String v) {
-    for (ListUMD c : ListUMD.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -43,6 +43,11 @@ public enum ListUNS {
   NATO_STOCK_NUMBER("NATO  Stock Number"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUNS> LOOKUP = ListLookup.of(ListUNS.class);
+
   private final String value;
 
   ListUNS(String v) {
@@ -54,12 +59,7 @@ public enum ListUNS {
   }
 
   public static ListUNS fromValue(String v) {
-    for (ListUNS c : ListUNS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
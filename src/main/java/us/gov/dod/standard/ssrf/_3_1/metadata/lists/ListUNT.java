@@ -49,6 +49,11 @@ public enum ListUNT {
   RETIRED("Retired"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUNT> LOOKUP = ListLookup.of(ListUNT.class);
+
   private final String value;
 
   ListUNT(String v) {
@@ -60,12 +65,7 @@ public enum ListUNT {
   }
 
   public static ListUNT fromValue(String v) {
-    for (ListUNT c : ListUNT.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
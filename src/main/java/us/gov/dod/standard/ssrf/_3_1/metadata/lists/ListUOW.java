@@ -54,6 +54,11 @@ public enum ListUOW {
   REQUESTOR("Requestor"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUOW> LOOKUP = ListLookup.of(ListUOW.class);
+
   private final String value;
 
   ListUOW(String v) {
@@ -65,12 +70,7 @@ public enum ListUOW {
   }
 
   public static ListUOW fromValue(String v) {
-    for (ListUOW c : ListUOW.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -40,6 +40,11 @@ public enum ListUPF {
   AIR_GROUND_AIR_POOL("Air/ground/air pool"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUPF> LOOKUP = ListLookup.of(ListUPF.class);
+
   private final String value;
 
   ListUPF(String v) {
@@ -51,12 +56,7 @@ public enum ListUPF {
   }
 
   public static ListUPF fromValue(String v) {
-    for (ListUPF c : ListUPF.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
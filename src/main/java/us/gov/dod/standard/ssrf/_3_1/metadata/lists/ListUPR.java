@@ -48,6 +48,11 @@ public enum ListUPR {
   PRIORITY_7_MISCELLANEOUS("Priority 7 Miscellaneous"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUPR> LOOKUP = ListLookup.of(ListUPR.class);
+
   private final String value;
 
   ListUPR(String v) {
@@ -59,12 +64,7 @@ public enum ListUPR {
   }
 
   public static ListUPR fromValue(String v) {
-    for (ListUPR c : ListUPR.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
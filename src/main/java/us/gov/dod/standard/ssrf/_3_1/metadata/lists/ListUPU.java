@@ -41,6 +41,11 @@ public enum ListUPU {
   SPACE_DIVERSITY("Space Diversity"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUPU> LOOKUP = ListLookup.of(ListUPU.class);
+
   private final String value;
 
   ListUPU(String v) {
@@ -52,12 +57,7 @@ public enum ListUPU {
   }
 
   public static ListUPU fromValue(String v) {
-    for (ListUPU c : ListUPU.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
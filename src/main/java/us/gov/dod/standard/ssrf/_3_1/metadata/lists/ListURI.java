@@ -42,6 +42,11 @@ public enum ListURI {
   MARINE_ASSIGNMENT_GROUP_MAG_APPLICATION("Marine Assignment Group (MAG) Application"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListURI> LOOKUP = ListLookup.of(ListURI.class);
+
   private final String value;
 
   ListURI(String v) {
@@ -53,12 +58,7 @@ public enum ListURI {
   }
 
   public static ListURI fromValue(String v) {
-    for (ListURI c : ListURI.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -40,6 +40,11 @@ public enum ListUS2 {
   USING("Using"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUS2> LOOKUP = ListLookup.of(ListUS2.class);
+
   private final String value;
 
   ListUS2(String v) {
@@ -51,12 +56,7 @@ public enum ListUS2 {
   }
 
   public static ListUS2 fromValue(String v) {
-    for (ListUS2 c : ListUS2.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
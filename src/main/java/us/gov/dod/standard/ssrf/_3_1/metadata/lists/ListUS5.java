@@ -42,6 +42,11 @@ public enum ListUS5 {
   ASSOCIATED_WEAPON("Associated Weapon"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUS5> LOOKUP = ListLookup.of(ListUS5.class);
+
   private final String value;
 
   ListUS5(String v) {
@@ -53,12 +58,7 @@ public enum ListUS5 {
   }
 
   public static ListUS5 fromValue(String v) {
-    for (ListUS5 c : ListUS5.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -48,6 +48,11 @@ public enum ListUS7 {
   UNMODULATED("Unmodulated"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUS7> LOOKUP = ListLookup.of(ListUS7.class);
+
   private final String value;
 
   ListUS7(String v) {
@@ -59,12 +64,7 @@ public enum ListUS7 {
   }
 
   public static ListUS7 fromValue(String v) {
-    for (ListUS7 c : ListUS7.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
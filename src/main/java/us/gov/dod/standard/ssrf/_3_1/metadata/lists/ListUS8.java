@@ -38,6 +38,11 @@ public enum ListUS8 {
   SECONDARY("Secondary"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUS8> LOOKUP = ListLookup.of(ListUS8.class);
+
   private final String value;
 
   ListUS8(String v) {
@@ -49,12 +54,7 @@ public enum ListUS8 {
   }
 
   public static ListUS8 fromValue(String v) {
-    for (ListUS8 c : ListUS8.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
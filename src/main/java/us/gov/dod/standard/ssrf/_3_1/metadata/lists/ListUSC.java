@@ -1781,6 +1781,11 @@ public enum ListUSC {
    */
   XT("XT");
 
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUSC> LOOKUP = ListLookup.of(ListUSC.class);
+
   private final String value;
 
   ListUSC(String v) {
@@ -1792,12 +1797,7 @@ public enum ListUSC {
   }
 
   public static ListUSC fromValue(String v) {
-    for (ListUSC c : ListUSC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
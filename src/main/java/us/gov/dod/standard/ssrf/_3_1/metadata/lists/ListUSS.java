@@ -44,6 +44,11 @@ public enum ListUSS {
   SQUARE("Square"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUSS> LOOKUP = ListLookup.of(ListUSS.class);
+
   private final String value;
 
   ListUSS(String v) {
@@ -55,12 +60,7 @@ public enum ListUSS {
   }
 
   public static ListUSS fromValue(String v) {
-    for (ListUSS c : ListUSS.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -90,6 +90,11 @@ public enum ListUST {
   UNAPPROVED_BY("UNAPPROVED BY"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUST> LOOKUP = ListLookup.of(ListUST.class);
+
   private final String value;
 
   ListUST(String v) {
@@ -101,12 +106,7 @@ public enum ListUST {
   }
 
   public static ListUST fromValue(String v) {
-    for (ListUST c : ListUST.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -40,6 +40,11 @@ public enum ListUSX {
   FREQUENCY_MODULATION_FM("Frequency Modulation (FM)"),
   @XmlEnumValue("Phase Modulation (PM)")
   PHASE_MODULATION_PM("Phase Modulation (PM)");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUSX> LOOKUP = ListLookup.of(ListUSX.class);
+
   private final String value;
 
   ListUSX(String v) {
@@ -51,12 +56,7 @@ public enum ListUSX {
   }
 
   public static ListUSX fromValue(String v) {
-    for (ListUSX c : ListUSX.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -38,6 +38,11 @@ public enum ListUSY {
   NON_COHERENT("Non-Coherent"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUSY> LOOKUP = ListLookup.of(ListUSY.class);
+
   private final String value;
 
   ListUSY(String v) {
@@ -49,12 +54,7 @@ public enum ListUSY {
   }
 
   public static ListUSY fromValue(String v) {
-    for (ListUSY c : ListUSY.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -40,6 +40,11 @@ public enum ListUTM {
   TEST("Test"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUTM> LOOKUP = ListLookup.of(ListUTM.class);
+
   private final String value;
 
   ListUTM(String v) {
@@ -51,12 +56,7 @@ public enum ListUTM {
   }
 
   public static ListUTM fromValue(String v) {
-    for (ListUTM c : ListUTM.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -56,6 +56,11 @@ public enum ListUTY {
   RADIO_DETERMINATION("Radio Determination"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUTY> LOOKUP = ListLookup.of(ListUTY.class);
+
   private final String value;
 
   ListUTY(String v) {
@@ -67,12 +72,7 @@ public enum ListUTY {
   }
 
   public static ListUTY fromValue(String v) {
-    for (ListUTY c : ListUTY.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
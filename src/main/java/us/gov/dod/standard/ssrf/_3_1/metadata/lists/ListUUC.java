@@ -48,6 +48,11 @@ public enum ListUUC {
   REQUIRED_FOR_PEACETIME_ONLY("Required for peacetime only"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUUC> LOOKUP = ListLookup.of(ListUUC.class);
+
   private final String value;
 
   ListUUC(String v) {
@@ -59,12 +64,7 @@ public enum ListUUC {
   }
 
   public static ListUUC fromValue(String v) {
-    for (ListUUC c : ListUUC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
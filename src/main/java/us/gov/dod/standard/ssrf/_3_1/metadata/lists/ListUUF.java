@@ -42,6 +42,11 @@ public enum ListUUF {
   OCCASIONAL_WORKWEEK("Occasional, workweek"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUUF> LOOKUP = ListLookup.of(ListUUF.class);
+
   private final String value;
 
   ListUUF(String v) {
@@ -53,12 +58,7 @@ public enum ListUUF {
   }
 
   public static ListUUF fromValue(String v) {
-    for (ListUUF c : ListUUF.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
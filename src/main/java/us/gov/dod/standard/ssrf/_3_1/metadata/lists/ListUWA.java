@@ -49,6 +49,11 @@ public enum ListUWA {
   MASKING("Masking"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUWA> LOOKUP = ListLookup.of(ListUWA.class);
+
   private final String value;
 
   ListUWA(String v) {
@@ -60,12 +65,7 @@ public enum ListUWA {
   }
 
   public static ListUWA fromValue(String v) {
-    for (ListUWA c : ListUWA.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
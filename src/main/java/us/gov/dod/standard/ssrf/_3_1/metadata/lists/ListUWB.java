@@ -41,6 +41,11 @@ public enum ListUWB {
   PARTIALLY_EFFECTIVE("Partially Effective"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUWB> LOOKUP = ListLookup.of(ListUWB.class);
+
   private final String value;
 
   ListUWB(String v) {
@@ -52,12 +57,7 @@ public enum ListUWB {
   }
 
   public static ListUWB fromValue(String v) {
-    for (ListUWB c : ListUWB.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
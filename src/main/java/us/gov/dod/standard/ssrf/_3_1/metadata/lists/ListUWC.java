@@ -40,6 +40,11 @@ public enum ListUWC {
   DENIED("Denied"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUWC> LOOKUP = ListLookup.of(ListUWC.class);
+
   private final String value;
 
   ListUWC(String v) {
@@ -51,12 +56,7 @@ public enum ListUWC {
   }
 
   public static ListUWC fromValue(String v) {
-    for (ListUWC c : ListUWC.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -40,6 +40,11 @@ public enum ListUWE {
   MEDIUM("Medium"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUWE> LOOKUP = ListLookup.of(ListUWE.class);
+
   private final String value;
 
   ListUWE(String v) {
@@ -51,12 +56,7 @@ public enum ListUWE {
   }
 
   public static ListUWE fromValue(String v) {
-    for (ListUWE c : ListUWE.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
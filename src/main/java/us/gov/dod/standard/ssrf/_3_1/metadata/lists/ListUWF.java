@@ -50,6 +50,11 @@ public enum ListUWF {
   TROOPS_NOT_IN_REGION("Troops Not in Region"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUWF> LOOKUP = ListLookup.of(ListUWF.class);
+
   private final String value;
 
   ListUWF(String v) {
@@ -61,12 +66,7 @@ public enum ListUWF {
   }
 
   public static ListUWF fromValue(String v) {
-    for (ListUWF c : ListUWF.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
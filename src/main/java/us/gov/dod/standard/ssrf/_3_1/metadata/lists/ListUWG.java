@@ -40,6 +40,11 @@ public enum ListUWG {
   NONE("None"),
   @XmlEnumValue("Other")
   OTHER("Other");
+  /**
+   * The enumerated instances indexed by XML enumerated value.
+   */
+  private static final ListLookup<ListUWG> LOOKUP = ListLookup.of(ListUWG.class);
+
   private final String value;
 
   ListUWG(String v) {
@@ -51,12 +56,7 @@ public enum ListUWG {
   }
 
   public static ListUWG fromValue(String v) {
-    for (ListUWG c : ListUWG.values()) {
-      if (c.value.equals(v)) {
-        return c;
-      }
-    }
-    throw new IllegalArgumentException(v);
+    return LOOKUP.fromValue(v);
   }
 
 }
@@ -344,12 +344,7 @@ public class RxAntModeRef {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Antenna instance : root.getAntenna()) {
-      if (serial.equals(instance.getSerial())) {
-        antenna = instance;
-        return;
-      }
-    }
+    antenna = root.getSerialIndex().find(serial, Antenna.class);
   }//</editor-fold>
 
 }
@@ -374,12 +374,7 @@ public class RxRef {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Receiver instance : root.getReceiver()) {
-      if (serial.equals(instance.getSerial())) {
-        receiver = instance;
-        return;
-      }
-    }
+    receiver = root.getSerialIndex().find(serial, Receiver.class);
   }//</editor-fold>
 
 }
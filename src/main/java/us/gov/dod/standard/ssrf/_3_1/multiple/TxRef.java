@@ -378,12 +378,7 @@ public class TxRef {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Transmitter instance : root.getTransmitter()) {
-      if (serial.equals(instance.getSerial())) {
-        transmitter = instance;
-        return;
-      }
-    }
+    transmitter = root.getSerialIndex().find(serial, Transmitter.class);
   }//</editor-fold>
 
 }
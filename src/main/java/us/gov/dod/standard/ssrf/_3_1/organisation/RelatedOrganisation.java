@@ -331,12 +331,7 @@ public class RelatedOrganisation {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (Organisation instance : root.getOrganisation()) {
-      if (serial.equals(instance.getSerial())) {
-        organisation = instance;
-        return;
-      }
-    }
+    organisation = root.getSerialIndex().find(serial, Organisation.class);
   }//</editor-fold>
 
 }
@@ -1122,23 +1122,11 @@ public class JammingPlan {
    * @since 3.1.0
    */
   public void postLoad(SSRF root) {
-    if (startLocationRef == null || !startLocationRef.isSetValue()) {
-      return;
+    if (startLocationRef != null && startLocationRef.isSetValue()) {
+      startLocation = root.getSerialIndex().find(startLocationRef, Location.class);
     }
-    for (Location instance : root.getLocation()) {
-      if (startLocationRef.equals(instance.getSerial())) {
-        startLocation = instance;
-        return;
-      }
-    }
-    if (stopLocationRef == null || !stopLocationRef.isSetValue()) {
-      return;
-    }
-    for (Location instance : root.getLocation()) {
-      if (stopLocationRef.equals(instance.getSerial())) {
-        stopLocation = instance;
-        return;
-      }
+    if (stopLocationRef != null && stopLocationRef.isSetValue()) {
+      stopLocation = root.getSerialIndex().find(stopLocationRef, Location.class);
     }
   }//</editor-fold>
 
@@ -981,23 +981,11 @@ public class JammingTarget {
    * @since 3.1.0
    */
   public void postLoad(SSRF root) {
-    if (loadsetRef == null || !loadsetRef.isSetValue()) {
-      return;
+    if (loadsetRef != null && loadsetRef.isSetValue()) {
+      loadset = root.getSerialIndex().find(loadsetRef, Loadset.class);
     }
-    for (Loadset instance : root.getLoadset()) {
-      if (loadsetRef.equals(instance.getSerial())) {
-        loadset = instance;
-        return;
-      }
-    }
-    if (locationRef == null || !locationRef.isSetValue()) {
-      return;
-    }
-    for (Location instance : root.getLocation()) {
-      if (locationRef.equals(instance.getSerial())) {
-        location = instance;
-        return;
-      }
+    if (locationRef != null && locationRef.isSetValue()) {
+      location = root.getSerialIndex().find(locationRef, Location.class);
     }
   }//</editor-fold>
 
@@ -264,12 +264,7 @@ public class RelatedSystem {
     if (serial == null || !serial.isSetValue()) {
       return;
     }
-    for (RFSystem instance : root.getRFSystem()) {
-      if (serial.equals(instance.getSerial())) {
-        rfSystem = instance;
-        return;
-      }
-    }
+    rfSystem = root.getSerialIndex().find(serial, RFSystem.class);
   }//</editor-fold>
 
 }
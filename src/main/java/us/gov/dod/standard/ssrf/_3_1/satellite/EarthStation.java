@@ -317,12 +317,7 @@ public class EarthStation {
     if (locationRef == null || !locationRef.isSetValue()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (locationRef.equals(instance.getSerial())) {
-        location = instance;
-        return;
-      }
-    }
+    location = root.getSerialIndex().find(locationRef, Location.class);
   }//</editor-fold>
 
 }
@@ -267,17 +267,9 @@ public class StageLocation {
     if (locSatRef == null || !locSatRef.isSetValue()) {
       return;
     }
-    for (Location instance : root.getLocation()) {
-      if (locSatRef.equals(instance.getSerial())) {
-        locSat = instance;
-        return;
-      }
-    }
-    for (Satellite instance : root.getSatellite()) {
-      if (locSatRef.equals(instance.getSerial())) {
-        locSat = instance;
-        return;
-      }
+    locSat = root.getSerialIndex().find(locSatRef, Location.class);
+    if (locSat == null) {
+      locSat = root.getSerialIndex().find(locSatRef, Satellite.class);
     }
   }//</editor-fold>
 
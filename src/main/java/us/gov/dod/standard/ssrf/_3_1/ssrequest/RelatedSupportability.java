@@ -318,12 +318,7 @@ public class RelatedSupportability {
     if (ssRequestRef == null || !ssRequestRef.isSetValue()) {
       return;
     }
-    for (SSRequest instance : root.getSSRequest()) {
-      if (ssRequestRef.equals(instance.getSerial())) {
-        ssRequest = instance;
-        return;
-      }
-    }
+    ssRequest = root.getSerialIndex().find(ssRequestRef, SSRequest.class);
   }//</editor-fold>
 
 }
@@ -804,11 +804,7 @@ public class Allocation {
     if (channelPlanRef == null || channelPlanRef.isEmpty()) {
       return;
     }
-    for (ChannelPlan instance : root.getChannelPlan()) {
-      if (channelPlanRef.contains(instance.getSerial())) {
-        getChannelPlan().add(instance);
-      }
-    }
+    getChannelPlan().addAll(root.getSerialIndex().findAll(channelPlanRef, ChannelPlan.class));
   }//</editor-fold>
 
 }
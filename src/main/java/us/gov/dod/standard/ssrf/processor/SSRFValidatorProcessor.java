@@ -0,0 +1,597 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor generating a compile-time validator for each SSRF data
+ * type.
+ * <p>
+ * {@code SSRFUtility.validate} and {@code SSRFUtility.evaluate} inspect every
+ * object in a SSRF tree by reflection: each visit lists the declared and
+ * inherited fields, scans their annotations for "required" flags and
+ * XmlJavaTypeAdapter declarations, and instantiates the adapter to check the
+ * value. This processor performs the same inspection once, at compile time,
+ * and writes a {@code <ClassName>_Validator} source file into the package of
+ * each concrete {@code @XmlType} class. The generated code reads fields
+ * through their public getters (or directly, for a non-private field declared
+ * in the same package whose getter returns a different type), calls the
+ * adapters held in static fields and recurses only into fields that may hold
+ * SSRF types. Collection fields are read directly, or through their getter
+ * only once the "isSet" method confirms the collection exists, so that
+ * validation never modifies the instance.
+ * <p>
+ * A validator is NOT generated for abstract or generic classes, for classes
+ * outside the {@code _3_1} data model (including the adapter package) or for
+ * classes where a relevant field cannot be read as described above. Those
+ * classes are handled by the reflective path.
+ * <p>
+ * This processor is compiled in a first compiler pass and applied to the data
+ * model in a second pass (see the maven-compiler-plugin configuration). It
+ * deliberately refers to JAXB annotations by name so that it has no compile
+ * dependency on the data model.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+@SupportedAnnotationTypes("javax.xml.bind.annotation.XmlType")
+public class SSRFValidatorProcessor extends AbstractProcessor {
+
+  /**
+   * "_Validator". The generated validator class name suffix. This must match
+   * {@code ValidatorRegistry.VALIDATOR_SUFFIX}.
+   */
+  private static final String VALIDATOR_SUFFIX = "_Validator";
+
+  /**
+   * "us.gov.dod.standard.ssrf". The SSRF top level package.
+   */
+  private static final String SSRF_PACKAGE = "us.gov.dod.standard.ssrf";
+  /**
+   * The SSRF data model package. Validators are generated for classes in this
+   * package and its sub-packages.
+   */
+  private static final String MODEL_PACKAGE = SSRF_PACKAGE + "._3_1";
+  /**
+   * The XmlAdapter package. Adapters are not data types.
+   */
+  private static final String ADAPTER_PACKAGE = MODEL_PACKAGE + ".adapter";
+  /**
+   * The security classification list type.
+   */
+  private static final String LIST_CCL = MODEL_PACKAGE + ".metadata.lists.ListCCL";
+  /**
+   * The generated validator base class.
+   */
+  private static final String BASE_CLASS = SSRF_PACKAGE + ".AValidator";
+  /**
+   * The evaluation receiver type.
+   */
+  private static final String EVALUATION = BASE_CLASS + ".Evaluation";
+
+  private static final String XML_ATTRIBUTE = "javax.xml.bind.annotation.XmlAttribute";
+  private static final String XML_ELEMENT = "javax.xml.bind.annotation.XmlElement";
+  private static final String XML_ELEMENT_REF = "javax.xml.bind.annotation.XmlElementRef";
+  private static final String XML_VALUE = "javax.xml.bind.annotation.XmlValue";
+  private static final String XML_JAVA_TYPE_ADAPTER = "javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (!isCandidate(element)) {
+          continue;
+        }
+        TypeElement typeElement = (TypeElement) element;
+        List<FieldModel> fieldModels = buildFieldModels(typeElement);
+        if (fieldModels == null) {
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No validator generated for " + typeElement.getQualifiedName() + "; using reflection.");
+          continue;
+        }
+        try {
+          writeValidator(typeElement, fieldModels);
+        } catch (IOException ex) {
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write validator: " + ex.getMessage(), typeElement);
+        }
+      }
+    }
+    /**
+     * Do not claim the XmlType annotation; other processors may use it.
+     */
+    return false;
+  }
+
+  /**
+   * Internal method to determine if a validator should be generated for an
+   * annotated element.
+   *
+   * @param element the annotated element
+   * @return TRUE for public, concrete, non-generic, top-level data model classes
+   */
+  private boolean isCandidate(Element element) {
+    if (element.getKind() != ElementKind.CLASS) {
+      return false;
+    }
+    TypeElement typeElement = (TypeElement) element;
+    if (!typeElement.getModifiers().contains(Modifier.PUBLIC)
+        || typeElement.getModifiers().contains(Modifier.ABSTRACT)
+        || typeElement.getNestingKind() != NestingKind.TOP_LEVEL
+        || !typeElement.getTypeParameters().isEmpty()) {
+      return false;
+    }
+    String packageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+    return packageName.startsWith(MODEL_PACKAGE) && !packageName.startsWith(ADAPTER_PACKAGE);
+  }
+
+  /**
+   * Internal method to inspect the declared and inherited fields of a class
+   * and build the validation model of each relevant field.
+   *
+   * @param typeElement the class type
+   * @return the relevant fields, or NULL if a relevant field cannot be read
+   *         through a public getter or directly
+   */
+  private List<FieldModel> buildFieldModels(TypeElement typeElement) {
+    Elements elements = processingEnv.getElementUtils();
+    Types types = processingEnv.getTypeUtils();
+    TypeMirror collectionType = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+    /**
+     * Public, non-static, no-argument methods including inherited methods.
+     */
+    Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(typeElement))) {
+      if (method.getModifiers().contains(Modifier.PUBLIC)
+          && !method.getModifiers().contains(Modifier.STATIC)
+          && method.getParameters().isEmpty()) {
+        methods.put(method.getSimpleName().toString().toLowerCase(), method);
+      }
+    }
+    List<FieldModel> fieldModels = new ArrayList<>();
+    TypeElement clazzType = typeElement;
+    while (clazzType != null && !clazzType.getQualifiedName().contentEquals("java.lang.Object")) {
+      for (VariableElement field : ElementFilter.fieldsIn(clazzType.getEnclosedElements())) {
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+          continue;
+        }
+        FieldModel fieldModel = new FieldModel();
+        fieldModel.name = field.getSimpleName().toString();
+        TypeMirror erasure = types.erasure(field.asType());
+        fieldModel.typeSimpleName = simpleName(erasure);
+        fieldModel.listCCL = erasure.toString().equals(LIST_CCL);
+        fieldModel.collection = types.isAssignable(erasure, collectionType);
+        fieldModel.recurse = fieldModel.collection
+                             ? mayHoldModelType(elementType(field.asType()))
+                             : mayHoldModelType(field.asType());
+        fieldModel.required = isRequired(field);
+        fieldModel.adapter = findAdapter(field);
+        /**
+         * Skip fields the reflective validator would ignore: not required, not
+         * classified, no adapter and no SSRF content. Collection adapters are
+         * never applied.
+         */
+        if (!fieldModel.required && !fieldModel.listCCL && !fieldModel.recurse && (fieldModel.adapter == null || fieldModel.collection)) {
+          continue;
+        }
+        boolean fieldAccessible = !field.getModifiers().contains(Modifier.PRIVATE)
+                                  && elements.getPackageOf(clazzType).equals(elements.getPackageOf(typeElement));
+        ExecutableElement getter = methods.get("get" + fieldModel.name.toLowerCase());
+        ExecutableElement isSet = methods.get("isset" + fieldModel.name.toLowerCase());
+        if (fieldModel.collection) {
+          /**
+           * Collection getters lazily create an empty collection; calling one
+           * would modify the instance being validated. Read the field
+           * directly, or call the getter only once "isSet" confirms that the
+           * collection exists. Otherwise fall back to the reflective path.
+           */
+          if (fieldAccessible) {
+            fieldModel.accessor = fieldModel.name;
+          } else if (getter != null && types.isSameType(types.erasure(getter.getReturnType()), erasure)
+                     && isSet != null && isSet.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            fieldModel.accessor = getter.getSimpleName().toString() + "()";
+            fieldModel.isSet = isSet.getSimpleName().toString();
+          } else {
+            return null;
+          }
+        } else if (getter != null && types.isSameType(types.erasure(getter.getReturnType()), erasure)) {
+          fieldModel.accessor = getter.getSimpleName().toString() + "()";
+        } else if (fieldAccessible) {
+          /**
+           * e.g. a java.time value exposed through a Calendar getter.
+           */
+          fieldModel.accessor = fieldModel.name;
+        } else {
+          return null;
+        }
+        if (fieldModel.adapter != null && !fieldModel.collection) {
+          TypeElement adapterElement = elements.getTypeElement(fieldModel.adapter);
+          if (adapterElement == null || !adapterElement.getModifiers().contains(Modifier.PUBLIC)) {
+            return null;
+          }
+        }
+        fieldModels.add(fieldModel);
+      }
+      TypeMirror superclass = clazzType.getSuperclass();
+      clazzType = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+    return fieldModels;
+  }
+
+  /**
+   * Internal method to get the element type of a collection type.
+   *
+   * @param type a (possibly parameterized) collection type
+   * @return the first type argument, or NULL if the collection is raw
+   */
+  private TypeMirror elementType(TypeMirror type) {
+    if (type.getKind() == TypeKind.DECLARED) {
+      List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+      if (!typeArguments.isEmpty()) {
+        TypeMirror typeArgument = typeArguments.get(0);
+        if (typeArgument.getKind() == TypeKind.WILDCARD) {
+          return ((WildcardType) typeArgument).getExtendsBound();
+        }
+        return typeArgument;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to determine if a field of the indicated type may hold an
+   * object instance the validator must recurse into. Enumerations and
+   * non-SSRF concrete types (String, BigDecimal, Calendar, etc.) are skipped
+   * by the reflective validator and are therefore skipped here.
+   *
+   * @param type the field type. NULL indicates an unknown type.
+   * @return TRUE if the field value may be a SSRF data type
+   */
+  private boolean mayHoldModelType(TypeMirror type) {
+    if (type == null) {
+      return true;
+    }
+    switch (type.getKind()) {
+      case DECLARED:
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (typeElement.getKind() == ElementKind.ENUM) {
+          return false;
+        }
+        String name = typeElement.getQualifiedName().toString();
+        return name.startsWith(SSRF_PACKAGE + ".")
+               || name.equals("java.lang.Object")
+               || typeElement.getKind() == ElementKind.INTERFACE;
+      case TYPEVAR:
+      case WILDCARD:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Internal method to determine if a field is required. This mirrors
+   * {@code SSRFUtility.isRequired}: the first XmlAttribute, XmlElement,
+   * XmlElementRef or XmlValue annotation determines the result.
+   *
+   * @param field the field
+   * @return TRUE if the field is required
+   */
+  private boolean isRequired(VariableElement field) {
+    for (AnnotationMirror annotationMirror : field.getAnnotationMirrors()) {
+      String name = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      if (name.equals(XML_VALUE)) {
+        return true;
+      }
+      if (name.equals(XML_ATTRIBUTE) || name.equals(XML_ELEMENT) || name.equals(XML_ELEMENT_REF)) {
+        Object required = getAnnotationValue(annotationMirror, "required");
+        return Boolean.TRUE.equals(required);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Internal method to get the XmlJavaTypeAdapter class name declared on a
+   * field.
+   *
+   * @param field the field
+   * @return the adapter fully qualified class name, NULL if not present
+   */
+  private String findAdapter(VariableElement field) {
+    for (AnnotationMirror annotationMirror : field.getAnnotationMirrors()) {
+      String name = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      if (name.equals(XML_JAVA_TYPE_ADAPTER)) {
+        Object value = getAnnotationValue(annotationMirror, "value");
+        if (value instanceof DeclaredType) {
+          return ((TypeElement) ((DeclaredType) value).asElement()).getQualifiedName().toString();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to read an annotation element value, including defaults.
+   *
+   * @param annotationMirror the annotation
+   * @param elementName      the annotation element name
+   * @return the element value, NULL if not found
+   */
+  private Object getAnnotationValue(AnnotationMirror annotationMirror, String elementName) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(annotationMirror).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(elementName)) {
+        return entry.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to get the simple name of an erased type, matching
+   * {@code Class.getSimpleName()}.
+   *
+   * @param erasure an erased type
+   * @return the type simple name
+   */
+  private String simpleName(TypeMirror erasure) {
+    if (erasure.getKind() == TypeKind.DECLARED) {
+      return ((DeclaredType) erasure).asElement().getSimpleName().toString();
+    }
+    return erasure.toString();
+  }
+
+  /**
+   * Internal method to write the validator source file for a class.
+   *
+   * @param typeElement the class type
+   * @param fieldModels the relevant fields
+   * @throws IOException if the source file cannot be written
+   */
+  private void writeValidator(TypeElement typeElement, List<FieldModel> fieldModels) throws IOException {
+    String packageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+    String className = typeElement.getSimpleName().toString();
+    String validatorName = className + VALIDATOR_SUFFIX;
+    StringBuilder sb = new StringBuilder();
+    sb.append("package ").append(packageName).append(";\n\n");
+    sb.append("/**\n * SSRF validator for {@link ").append(className).append("}.\n * <p>\n * Generated by ").append(getClass().getName()).append(". Do not edit.\n */\n");
+    sb.append("public final class ").append(validatorName).append(" extends ").append(BASE_CLASS).append("<").append(className).append("> {\n\n");
+    /**
+     * Adapter instances. XmlAdapter implementations in the SSRF library are
+     * stateless and may be shared.
+     */
+    Map<String, String> adapterFields = new LinkedHashMap<>();
+    for (FieldModel fieldModel : fieldModels) {
+      if (fieldModel.adapter != null && !fieldModel.collection && !adapterFields.containsKey(fieldModel.adapter)) {
+        String adapterField = "ADAPTER_" + adapterFields.size();
+        adapterFields.put(fieldModel.adapter, adapterField);
+        sb.append("  private static final javax.xml.bind.annotation.adapters.XmlAdapter<Object, Object> ").append(adapterField)
+                .append(" = adapter(").append(fieldModel.adapter).append(".class);\n");
+      }
+    }
+    if (!adapterFields.isEmpty()) {
+      sb.append("\n");
+    }
+    sb.append("  public ").append(validatorName).append("() {\n    super(").append(className).append(".class);\n  }\n\n");
+    /**
+     * validate(): throws on the first error.
+     */
+    sb.append("  @Override\n");
+    sb.append("  public void validate(").append(className).append(" instance, ").append(LIST_CCL).append(" cls) throws Exception {\n");
+    appendClassification(sb, fieldModels, "      validateClassification(cls, instance.%s);\n");
+    int index = 0;
+    for (FieldModel fieldModel : fieldModels) {
+      String value = "value" + index++;
+      List<String> statements = new ArrayList<>();
+      if (fieldModel.collection) {
+        if (fieldModel.recurse) {
+          statements.add("validateEntries(" + value + ", cls);");
+        }
+      } else {
+        if (fieldModel.recurse) {
+          statements.add("validateValue(" + value + ", cls);");
+        }
+        if (fieldModel.adapter != null) {
+          statements.add("validateAdapter(" + adapterFields.get(fieldModel.adapter) + ", " + value + ");");
+        }
+      }
+      appendField(sb, fieldModel, value, "throw required(\"" + fieldModel.name + "\");", statements);
+    }
+    sb.append("  }\n\n");
+    /**
+     * evaluate(): reports every error and each child value to the evaluation.
+     */
+    String path = "\"" + className + ".";
+    sb.append("  @Override\n");
+    sb.append("  public ").append(LIST_CCL).append(" evaluate(").append(className).append(" instance, ").append(LIST_CCL).append(" cls, String parentPath, boolean collectionEntry, ").append(EVALUATION).append(" evaluation) {\n");
+    sb.append("    if (parentPath == null) {\n      parentPath = \"").append(className).append("\";\n    }\n");
+    appendClassification(sb, fieldModels, "      evaluateClassification(cls, instance.%s, parentPath, \"%s\", evaluation);\n");
+    index = 0;
+    for (FieldModel fieldModel : fieldModels) {
+      String value = "value" + index++;
+      List<String> statements = new ArrayList<>();
+      if (fieldModel.collection) {
+        if (fieldModel.recurse) {
+          statements.add("evaluateEntries(" + value + ", cls, " + path + fieldModel.name + "\", evaluation);");
+        }
+      } else {
+        if (fieldModel.recurse) {
+          statements.add("evaluateValue(" + value + ", cls, " + path + fieldModel.name + "\", evaluation);");
+        }
+        if (fieldModel.adapter != null) {
+          statements.add("evaluateAdapter(" + adapterFields.get(fieldModel.adapter) + ", " + value + ", parentPath, \"" + fieldModel.name + "\", evaluation);");
+        }
+      }
+      appendField(sb, fieldModel, value,
+                  "evaluation.error(" + path + fieldModel.name + "\", required(instance, parentPath, collectionEntry, \"" + fieldModel.typeSimpleName + "\", \"" + fieldModel.name + "\"));",
+                  statements);
+    }
+    sb.append("    return cls;\n");
+    sb.append("  }\n}\n");
+
+    JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(packageName + "." + validatorName, typeElement);
+    try (Writer writer = sourceFile.openWriter()) {
+      writer.write(sb.toString());
+    }
+  }
+
+  /**
+   * Internal method to append the classification check. If a parent
+   * classification is provided each ListCCL field is compared against it,
+   * otherwise the (last) ListCCL field becomes the classification for
+   * subordinate objects.
+   *
+   * @param sb          the source buffer
+   * @param fieldModels the relevant fields
+   * @param check       the check statement format (accessor, field name)
+   */
+  private void appendClassification(StringBuilder sb, List<FieldModel> fieldModels, String check) {
+    List<FieldModel> classified = new ArrayList<>();
+    for (FieldModel fieldModel : fieldModels) {
+      if (fieldModel.listCCL) {
+        classified.add(fieldModel);
+      }
+    }
+    if (classified.isEmpty()) {
+      return;
+    }
+    sb.append("    if (cls != null) {\n");
+    for (FieldModel fieldModel : classified) {
+      sb.append(String.format(check, fieldModel.accessor, fieldModel.name));
+    }
+    sb.append("    } else {\n");
+    for (FieldModel fieldModel : classified) {
+      sb.append("      cls = instance.").append(fieldModel.accessor).append(";\n");
+    }
+    sb.append("    }\n");
+  }
+
+  /**
+   * Internal method to append the check of a single field: read the value,
+   * report it if required and not set, otherwise apply the statements.
+   * <p>
+   * Collection fields are read directly or guarded by their "isSet" method so
+   * that the collection getter (which lazily creates an empty collection) is
+   * never called on an unset field. A required value is reported as missing
+   * if it is null or an empty collection, as in the reflective path.
+   *
+   * @param sb         the source buffer
+   * @param fieldModel the field
+   * @param value      the local variable name
+   * @param required   the statement reporting a missing required value
+   * @param statements the statements applied to a non-null value
+   */
+  private void appendField(StringBuilder sb, FieldModel fieldModel, String value, String required, List<String> statements) {
+    if (!fieldModel.required && statements.isEmpty()) {
+      return;
+    }
+    if (fieldModel.collection) {
+      sb.append("    java.util.Collection<?> ").append(value).append(" = ");
+      if (fieldModel.isSet != null) {
+        sb.append("instance.").append(fieldModel.isSet).append("() ? instance.").append(fieldModel.accessor).append(" : null;\n");
+      } else {
+        sb.append("instance.").append(fieldModel.accessor).append(";\n");
+      }
+    } else {
+      sb.append("    Object ").append(value).append(" = instance.").append(fieldModel.accessor).append(";\n");
+    }
+    if (fieldModel.required) {
+      sb.append("    if (isMissing(").append(value).append(")) {\n      ").append(required).append("\n    }");
+      if (!statements.isEmpty()) {
+        sb.append(" else {\n");
+      }
+    } else {
+      sb.append("    if (").append(value).append(" != null) {\n");
+    }
+    for (String statement : statements) {
+      sb.append("      ").append(statement).append("\n");
+    }
+    if (!statements.isEmpty()) {
+      sb.append("    }");
+    }
+    sb.append("\n");
+  }
+
+  /**
+   * The compile-time validation model of a single field.
+   */
+  private static class FieldModel {
+
+    /**
+     * The field name.
+     */
+    private String name;
+    /**
+     * The field type simple name (used in error messages).
+     */
+    private String typeSimpleName;
+    /**
+     * The field accessor expression: the public getter call (e.g.
+     * "getValue()") or the field name.
+     */
+    private String accessor;
+    /**
+     * The public "isSet" method name guarding a collection getter accessor.
+     * Null if the accessor is a direct field read.
+     */
+    private String isSet;
+    /**
+     * Indicator that the field is required.
+     */
+    private boolean required;
+    /**
+     * Indicator that the field is a ListCCL classification.
+     */
+    private boolean listCCL;
+    /**
+     * Indicator that the field is a Collection.
+     */
+    private boolean collection;
+    /**
+     * Indicator that the field value (or collection entries) may be a SSRF
+     * type and must be validated recursively.
+     */
+    private boolean recurse;
+    /**
+     * The XmlJavaTypeAdapter fully qualified class name. May be null.
+     */
+    private String adapter;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf.validator;
+
+import java.util.Objects;
+
+/**
+ * A single SSRF configuration error.
+ * <p>
+ * An error identifies the top-level record containing the error (by its
+ * serial number), the offending field and a pretty-print message. The message
+ * is identical to the message reported by
+ * {@link us.gov.dod.standard.ssrf.SSRFUtility#evaluate(Object)} for the same
+ * condition.
+ * <p>
+ * Errors are ordered by message, then serial, then field.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class SSRFError implements Comparable<SSRFError> {
+
+  /**
+   * The serial number of the top-level record (e.g. a Contact or Assignment)
+   * containing the error. Null if the error is not within a record.
+   */
+  private final String serial;
+  /**
+   * The class and field name (e.g. "Contact.firstName").
+   */
+  private final String field;
+  /**
+   * The pretty-print error message.
+   */
+  private final String message;
+
+  /**
+   * Construct a new SSRF configuration error.
+   *
+   * @param serial  the record serial number. May be null.
+   * @param field   the class and field name
+   * @param message the pretty-print error message
+   */
+  public SSRFError(String serial, String field, String message) {
+    this.serial = serial;
+    this.field = field;
+    this.message = message;
+  }
+
+  /**
+   * Get the serial number of the top-level record containing the error.
+   *
+   * @return the record serial number, NULL if the error is not within a
+   *         record
+   */
+  public String getSerial() {
+    return serial;
+  }
+
+  /**
+   * Get the class and field name (e.g. "Contact.firstName").
+   *
+   * @return the class and field name
+   */
+  public String getField() {
+    return field;
+  }
+
+  /**
+   * Get the pretty-print error message.
+   *
+   * @return the error message
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public int compareTo(SSRFError o) {
+    int compare = message.compareTo(o.message);
+    if (compare == 0) {
+      compare = compareNullable(serial, o.serial);
+    }
+    return compare != 0 ? compare : compareNullable(field, o.field);
+  }
+
+  /**
+   * Internal method to compare two nullable strings. Null sorts first.
+   *
+   * @param a the first string
+   * @param b the second string
+   * @return the comparison
+   */
+  private static int compareNullable(String a, String b) {
+    if (a == null || b == null) {
+      return a == null ? (b == null ? 0 : -1) : 1;
+    }
+    return a.compareTo(b);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 37 * hash + Objects.hashCode(this.serial);
+    hash = 37 * hash + Objects.hashCode(this.field);
+    hash = 37 * hash + Objects.hashCode(this.message);
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final SSRFError other = (SSRFError) obj;
+    return Objects.equals(this.serial, other.serial)
+      && Objects.equals(this.field, other.field)
+      && Objects.equals(this.message, other.message);
+  }
+
+  @Override
+  public String toString() {
+    return serial != null ? serial + " " + message : message;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf.validator;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when a SSRF configuration fails to validate for export.
+ * <p>
+ * The exception carries every configuration error found, so there is no need
+ * to re-evaluate the SSRF instance to retrieve them.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFValidationException extends Exception {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The configuration errors, sorted.
+   */
+  private final List<SSRFError> errors;
+
+  /**
+   * Construct a new validation exception.
+   *
+   * @param errors the configuration errors
+   */
+  public SSRFValidationException(List<SSRFError> errors) {
+    super("Invalid SSRF configuration. " + errors.size() + " error(s). First: " + (errors.isEmpty() ? "none" : errors.get(0)));
+    this.errors = Collections.unmodifiableList(errors);
+  }
+
+  /**
+   * Get the configuration errors.
+   *
+   * @return a non-null, unmodifiable, sorted list of configuration errors
+   */
+  public List<SSRFError> getErrors() {
+    return errors;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf.validator;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import us.gov.dod.standard.ssrf.AValidator;
+
+/**
+ * Lookup of compile-time generated SSRF validators.
+ * <p>
+ * The generated validator for a class <code>a.b.Foo</code> is named
+ * <code>a.b.Foo_Validator</code>. The lookup result (including "no validator")
+ * is cached per class type, so the cost of a lookup after the first is a
+ * single {@link ClassValue} read.
+ * <p>
+ * Generated validators may be disabled (forcing the reflective path) with the
+ * system property <code>us.gov.dod.standard.ssrf.generatedValidators=false</code>.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public final class ValidatorRegistry {
+
+  private static final Logger logger = Logger.getLogger(ValidatorRegistry.class.getName());
+
+  /**
+   * "_Validator". The generated validator class name suffix, as written by the
+   * {@code SSRFValidatorProcessor}.
+   */
+  public static final String VALIDATOR_SUFFIX = "_Validator";
+
+  /**
+   * "us.gov.dod.standard.ssrf.generatedValidators". The system property used
+   * to disable generated validators.
+   */
+  public static final String ENABLED_PROPERTY = "us.gov.dod.standard.ssrf.generatedValidators";
+
+  /**
+   * Indicator that generated validators are enabled. Default is TRUE.
+   */
+  private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+  /**
+   * Generated validator instances, keyed by class type. Classes without a
+   * generated validator map to a NULL value.
+   */
+  private static final ClassValue<AValidator<?>> VALIDATORS = new ClassValue<AValidator<?>>() {
+    @Override
+    protected AValidator<?> computeValue(Class<?> type) {
+      return ENABLED ? loadValidator(type) : null;
+    }
+  };
+
+  /**
+   * Static utility class; do not instantiate.
+   */
+  private ValidatorRegistry() {
+  }
+
+  /**
+   * Get the generated validator for a class type.
+   *
+   * @param <T>  the class type
+   * @param type the class type
+   * @return the generated validator, NULL if none is available
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> AValidator<T> getValidator(Class<T> type) {
+    return (AValidator<T>) VALIDATORS.get(type);
+  }
+
+  /**
+   * Internal method to load and instantiate a generated validator.
+   *
+   * @param type the class type
+   * @return a validator instance, NULL if not found or not loadable
+   */
+  private static AValidator<?> loadValidator(Class<?> type) {
+    try {
+      Class<?> validatorClass = Class.forName(type.getName() + VALIDATOR_SUFFIX, true, type.getClassLoader());
+      return (AValidator<?>) validatorClass.getConstructor().newInstance();
+    } catch (ClassNotFoundException ex) {
+      return null;
+    } catch (ReflectiveOperationException | ClassCastException | LinkageError ex) {
+      logger.log(Level.WARNING, "Generated validator for {0} failed to load: {1}", new Object[]{type.getName(), ex.getMessage()});
+      return null;
+    }
+  }
+}
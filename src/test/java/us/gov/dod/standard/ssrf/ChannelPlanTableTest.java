@@ -0,0 +1,243 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.ChannelPlan;
+import us.gov.dod.standard.ssrf._3_1.channelplan.Channel;
+import us.gov.dod.standard.ssrf._3_1.channelplan.ChannelFreq;
+
+/**
+ * Verify the {@link ChannelPlanTable} channel numbering and nearest frequency
+ * snapping against a linear scan of the channel frequencies, including
+ * channels sharing a frequency, channels without a frequency and ties between
+ * two equally near frequencies.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class ChannelPlanTableTest {
+
+  /**
+   * The number of random queries tested against each table.
+   */
+  private static final int COUNT = 300;
+  /**
+   * 25 kHz in millihertz. The channel frequencies fall on this grid.
+   */
+  private static final long STEP = 25_000_000L;
+  /**
+   * 100 MHz in millihertz. The lowest channel frequency.
+   */
+  private static final long BASE = 100_000_000_000L;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(24);
+
+  @Test
+  public void testNumbering() {
+    /**
+     * Every plan size up to 70 channels exercises each merge width of the
+     * stable sort, with many channels sharing their lowest frequency.
+     */
+    for (int size = 0; size <= 70; size++) {
+      ChannelPlan channelPlan = randomChannelPlan(size, 1 + random.nextInt(3 * size + 1));
+      ChannelPlanTable table = ChannelPlanTable.of(channelPlan);
+      List<Channel> expected = new ArrayList<>(channelPlan.getChannel());
+      Collections.sort(expected, (a, b) -> Long.compare(lowest(a), lowest(b)));
+      assertEquals(expected.size(), table.size());
+      for (int c = 0; c < table.size(); c++) {
+        Channel channel = table.getChannel(c);
+        assertSame(size + " channels, channel " + c, expected.get(c), channel);
+        List<Long> freqs = freqs(channel);
+        assertEquals(freqs.size(), table.getFreqCount(c));
+        if (freqs.isEmpty()) {
+          assertNull(table.getFreq(c));
+        } else {
+          assertEquals(0, toFreq(freqs.get(0)).compareTo(table.getFreq(c)));
+        }
+        for (int n = 0; n < freqs.size(); n++) {
+          assertEquals(0, toFreq(freqs.get(n)).compareTo(table.getFreq(c, n)));
+          assertEquals(toFreq(freqs.get(n)).doubleValue(), table.getFreqMHz(c, n), 0);
+        }
+        /**
+         * A Name shared by several channels finds the lowest numbered one.
+         */
+        int first = c;
+        for (int d = 0; d < c; d++) {
+          if (channel.getName().getValue().equals(expected.get(d).getName().getValue())) {
+            first = d;
+            break;
+          }
+        }
+        assertEquals(first, table.findChannel(channel.getName().getValue()));
+      }
+      assertEquals(-1, table.findChannel("No such channel"));
+    }
+  }
+
+  @Test
+  public void testSnap() {
+    for (int t = 0; t < 50; t++) {
+      ChannelPlan channelPlan = randomChannelPlan(random.nextInt(60), 1 + random.nextInt(400));
+      ChannelPlanTable table = ChannelPlanTable.of(channelPlan);
+      double[] batch = new double[COUNT];
+      int[] batchExpected = new int[COUNT];
+      double batchTolerance = random.nextInt(4) * STEP / 2 / 1e9;
+      for (int q = 0; q < COUNT; q++) {
+        /**
+         * Query on a half-step grid: on a channel frequency or half way between
+         * two, so that exact matches and ties occur.
+         */
+        long freq = BASE + (random.nextInt(1000) - 100) * STEP / 2;
+        long tolerance = random.nextBoolean() ? random.nextInt(4) * STEP / 2 : random.nextInt((int) (5 * STEP));
+        int expected = nearest(table, freq, tolerance);
+        String message = "table " + t + " freq " + toFreq(freq) + " tolerance " + toFreq(tolerance);
+        assertEquals(message, expected, table.snap(toFreq(freq), toFreq(tolerance)));
+        assertEquals(message, expected, table.snap(freq / 1e9, tolerance / 1e9));
+        BigDecimal snapped = table.snapFreq(toFreq(freq), toFreq(tolerance));
+        if (expected < 0) {
+          assertNull(message, snapped);
+        } else {
+          assertEquals(message, 0, snapped.compareTo(toFreq(nearestFreq(table, freq))));
+        }
+        assertEquals(message, nearest(table, freq, 0), table.findChannel(toFreq(freq)));
+        batch[q] = freq / 1e9;
+        batchExpected[q] = nearest(table, freq, (long) (batchTolerance * 1e9));
+      }
+      assertArrayEquals(batchExpected, table.snap(batch, batchTolerance));
+    }
+  }
+
+  /**
+   * Internal method to find by linear scan the channel nearest to a frequency
+   * within a tolerance: the lower of two equally near frequencies, then the
+   * lowest channel number having that frequency.
+   *
+   * @param table     the table
+   * @param freq      the frequency (millihertz)
+   * @param tolerance the tolerance (millihertz)
+   * @return the channel number, -1 if none
+   */
+  private static int nearest(ChannelPlanTable table, long freq, long tolerance) {
+    int best = -1;
+    long bestFreq = 0;
+    long bestDistance = Long.MAX_VALUE;
+    for (int c = 0; c < table.size(); c++) {
+      for (long channelFreq : freqs(table.getChannel(c))) {
+        long distance = Math.abs(channelFreq - freq);
+        if (distance < bestDistance || distance == bestDistance && channelFreq < bestFreq) {
+          best = c;
+          bestFreq = channelFreq;
+          bestDistance = distance;
+        }
+      }
+    }
+    return bestDistance <= tolerance ? best : -1;
+  }
+
+  /**
+   * Internal method to find by linear scan the channel frequency nearest to a
+   * frequency, the lower of two equally near.
+   *
+   * @param table the table
+   * @param freq  the frequency (millihertz)
+   * @return the channel frequency (millihertz)
+   */
+  private static long nearestFreq(ChannelPlanTable table, long freq) {
+    long best = 0;
+    long bestDistance = Long.MAX_VALUE;
+    for (int c = 0; c < table.size(); c++) {
+      for (long channelFreq : freqs(table.getChannel(c))) {
+        long distance = Math.abs(channelFreq - freq);
+        if (distance < bestDistance || distance == bestDistance && channelFreq < best) {
+          best = channelFreq;
+          bestDistance = distance;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Internal method to build a random channel plan. Each channel has zero to
+   * four frequencies on a 25 kHz grid above 100 MHz; some channels share a
+   * Name.
+   *
+   * @param size  the number of channels
+   * @param steps the number of grid steps the frequencies span
+   * @return a new channel plan
+   */
+  private ChannelPlan randomChannelPlan(int size, int steps) {
+    ChannelPlan channelPlan = new ChannelPlan();
+    for (int i = 0; i < size; i++) {
+      Channel channel = new Channel().withName("Channel " + (random.nextInt(8) == 0 ? random.nextInt(i + 1) : i));
+      int count = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(4);
+      for (int n = 0; n < count; n++) {
+        channel.withChannelFreq(new ChannelFreq(toFreq(BASE + random.nextInt(steps) * STEP)));
+      }
+      /**
+       * The Channel Name and frequencies form its identity in the plan.
+       */
+      channel.withUser("User " + i);
+      channelPlan.withChannel(channel);
+    }
+    return channelPlan;
+  }
+
+  /**
+   * Internal method to read the distinct frequencies of a channel.
+   *
+   * @param channel the channel
+   * @return the frequencies (millihertz), in ascending order
+   */
+  private static List<Long> freqs(Channel channel) {
+    TreeSet<Long> freqs = new TreeSet<>();
+    for (ChannelFreq channelFreq : channel.getChannelFreq()) {
+      freqs.add(channelFreq.getValue().movePointRight(9).longValueExact());
+    }
+    return new ArrayList<>(freqs);
+  }
+
+  /**
+   * Internal method to read the lowest frequency of a channel.
+   *
+   * @return the frequency (millihertz), Long.MAX_VALUE if none
+   */
+  private static long lowest(Channel channel) {
+    List<Long> freqs = freqs(channel);
+    return freqs.isEmpty() ? Long.MAX_VALUE : freqs.get(0);
+  }
+
+  /**
+   * Internal method to convert millihertz to MHz.
+   */
+  private static BigDecimal toFreq(long units) {
+    return BigDecimal.valueOf(units, 9);
+  }
+}
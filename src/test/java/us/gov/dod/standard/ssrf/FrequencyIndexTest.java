@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.Allotment;
+import us.gov.dod.standard.ssrf._3_1.allotment.AllotFreq;
+
+/**
+ * Verify the {@link FrequencyIndex} overlap and nearest queries against a
+ * linear scan of the same frequency ranges, for every index size up to a few
+ * implicit tree levels and for larger random indexes.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class FrequencyIndexTest {
+
+  /**
+   * The number of random queries tested against each index.
+   */
+  private static final int COUNT = 200;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(20);
+
+  @Test
+  public void testEverySize() {
+    /**
+     * Every size up to 130 rows covers complete and incomplete implicit trees
+     * on both sides of each power of two.
+     */
+    for (int size = 0; size <= 130; size++) {
+      verify(buildRanges(size, 200, 20));
+    }
+  }
+
+  @Test
+  public void testRandom() {
+    for (int i = 0; i < 10; i++) {
+      /**
+       * Mostly narrow ranges, with a few wide ones spanning many sub-trees.
+       */
+      verify(buildRanges(500 + random.nextInt(2000), 20000, random.nextBoolean() ? 10 : 2000));
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    FrequencyIndex index = FrequencyIndex.of(Collections.<Allotment>emptyList());
+    assertEquals(0, index.size());
+    assertTrue(index.findOverlapping(BigDecimal.ZERO, BigDecimal.TEN).isEmpty());
+    assertNull(index.findNearest(BigDecimal.ONE));
+  }
+
+  /**
+   * Internal method to compare the index queries with a linear scan of the
+   * ranges. Query bounds fall on the same half-MHz grid as the ranges so that
+   * ranges touching a query bound are tested.
+   *
+   * @param ranges the ranges, each {minimum, maximum} in half MHz units
+   */
+  private void verify(List<int[]> ranges) {
+    List<AllotFreq> elements = new ArrayList<>();
+    List<Allotment> records = new ArrayList<>();
+    int extent = 0;
+    for (int[] range : ranges) {
+      AllotFreq allotFreq = new AllotFreq().withFreqMin(range[0] / 2.0);
+      if (range[1] != range[0] || random.nextBoolean()) {
+        allotFreq.withFreqMax(range[1] / 2.0);
+      }
+      elements.add(allotFreq);
+      records.add(new Allotment().withAllotFreq(allotFreq));
+      extent = Math.max(extent, range[1]);
+    }
+    FrequencyIndex index = FrequencyIndex.of(records);
+    assertEquals(ranges.size(), index.size());
+    for (int q = 0; q < COUNT; q++) {
+      int from = random.nextInt(extent + 20) - 10;
+      int to = random.nextInt(4) == 0 ? from : from + random.nextInt(1 + random.nextInt(extent + 1));
+      /**
+       * Overlap: every range reaching the query, in ascending minimum order.
+       */
+      Set<Object> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (int i = 0; i < ranges.size(); i++) {
+        if (ranges.get(i)[0] <= to && ranges.get(i)[1] >= from) {
+          expected.add(elements.get(i));
+        }
+      }
+      Set<Object> actual = Collections.newSetFromMap(new IdentityHashMap<>());
+      BigDecimal previous = null;
+      List<FrequencyIndex.Entry> found = random.nextBoolean()
+                                         ? index.findOverlapping(toFreq(from), toFreq(to))
+                                         : index.findOverlapping(toFreq(to), toFreq(from));
+      for (FrequencyIndex.Entry entry : found) {
+        assertTrue(ranges.size() + " rows [" + from + ", " + to + "] duplicate " + entry, actual.add(entry.getElement()));
+        assertTrue(previous == null || previous.compareTo(entry.getFreqMin()) <= 0);
+        previous = entry.getFreqMin();
+      }
+      assertEquals(ranges.size() + " rows [" + from + ", " + to + "]", expected, actual);
+      if (from == to) {
+        assertEquals(found.size(), index.findContaining(toFreq(from)).size());
+      }
+      /**
+       * Nearest: any range at the least distance from the point.
+       */
+      if (!ranges.isEmpty()) {
+        long point = FrequencyIndex.toIndexUnits(toFreq(from), RoundingMode.HALF_EVEN);
+        long best = Long.MAX_VALUE;
+        for (int[] range : ranges) {
+          best = Math.min(best, distance(point, toUnits(range[0]), toUnits(range[1])));
+        }
+        FrequencyIndex.Entry nearest = index.findNearest(toFreq(from));
+        assertEquals(ranges.size() + " rows nearest " + from, best,
+                     distance(point,
+                              FrequencyIndex.toIndexUnits(nearest.getFreqMin(), RoundingMode.HALF_EVEN),
+                              FrequencyIndex.toIndexUnits(nearest.getFreqMax(), RoundingMode.HALF_EVEN)));
+      }
+    }
+  }
+
+  /**
+   * Internal method to build random ranges on a half MHz grid. About one in
+   * eight ranges is a single frequency and some ranges are duplicated.
+   *
+   * @param size   the number of ranges
+   * @param extent the greatest range minimum
+   * @param width  the greatest range width
+   * @return the ranges, each {minimum, maximum} in half MHz units
+   */
+  private List<int[]> buildRanges(int size, int extent, int width) {
+    List<int[]> ranges = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      if (i > 0 && random.nextInt(10) == 0) {
+        ranges.add(ranges.get(random.nextInt(i)).clone());
+        continue;
+      }
+      int min = random.nextInt(extent + 1);
+      ranges.add(new int[]{min, random.nextInt(8) == 0 ? min : min + random.nextInt(width + 1)});
+    }
+    return ranges;
+  }
+
+  /**
+   * Internal method to compute the distance from a point to a closed range.
+   *
+   * @param point the point
+   * @param min   the range minimum
+   * @param max   the range maximum
+   * @return zero if the range contains the point
+   */
+  private static long distance(long point, long min, long max) {
+    return Math.max(0, Math.max(min - point, point - max));
+  }
+
+  /**
+   * Internal method to convert half MHz units to a frequency.
+   *
+   * @param halves the frequency in half MHz units
+   * @return the frequency (MHz)
+   */
+  private static BigDecimal toFreq(int halves) {
+    return BigDecimal.valueOf(halves).divide(BigDecimal.valueOf(2));
+  }
+
+  /**
+   * Internal method to convert half MHz units to index units.
+   *
+   * @param halves the frequency in half MHz units
+   * @return the frequency in millihertz
+   */
+  private static long toUnits(int halves) {
+    return FrequencyIndex.toIndexUnits(toFreq(halves), RoundingMode.HALF_EVEN);
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.JRFL;
+import us.gov.dod.standard.ssrf._3_1.Location;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntry;
+import us.gov.dod.standard.ssrf._3_1.jrfl.JRFLEntryLocation;
+import us.gov.dod.standard.ssrf._3_1.location.Point;
+
+/**
+ * Verify the {@link JRFLChecker} time pattern matching against a minute by
+ * minute scan, and the position-only query against a linear scan.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class JRFLCheckerTest {
+
+  /**
+   * The number of random time patterns tested.
+   */
+  private static final int COUNT = 2000;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(25);
+
+  @Test
+  public void testTimePattern() {
+    for (int i = 0; i < COUNT; i++) {
+      /**
+       * A random pattern on the minute, hour, day and month fields. The sets
+       * hold the values each field allows.
+       */
+      JRFLEntry entry = new JRFLEntry().withFreqMin(100.0);
+      Set<Integer> minutes = null, hours = null, daysOfWeek = null, daysOfMonth = null, months = null;
+      if (random.nextBoolean()) {
+        minutes = new HashSet<>();
+        entry.withMinutes(randomPattern(0, 59, minutes));
+      }
+      if (random.nextBoolean() || minutes == null) {
+        hours = new HashSet<>();
+        entry.withHours(randomPattern(0, 23, hours));
+      }
+      if (random.nextInt(3) == 0) {
+        daysOfWeek = new HashSet<>();
+        entry.withDaysOfWeek(randomPattern(0, 7, daysOfWeek));
+        if (daysOfWeek.contains(7)) {
+          daysOfWeek.add(0);
+        }
+      }
+      if (random.nextInt(4) == 0) {
+        daysOfMonth = new HashSet<>();
+        entry.withDaysOfMonth(randomPattern(1, 31, daysOfMonth));
+      }
+      if (random.nextInt(4) == 0) {
+        months = new HashSet<>();
+        entry.withMonths(randomPattern(1, 12, months));
+      }
+      int duration = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(300);
+      if (duration > 0) {
+        entry.withDuration(duration);
+      }
+      /**
+       * Without a duration each occurrence lasts one unit of the finest field.
+       */
+      int length = duration > 0 ? duration : minutes != null ? 1 : 60;
+      LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0).plusMinutes(random.nextInt(525600));
+      LocalDateTime end = start.plusMinutes(1 + random.nextInt(random.nextBoolean() ? 120 : 5000));
+      boolean expected = false;
+      for (LocalDateTime time = start.minusMinutes(length); time.isBefore(end) && !expected; time = time.plusMinutes(1)) {
+        expected = (minutes == null ? time.getMinute() == 0 : minutes.contains(time.getMinute()))
+                   && (hours == null || hours.contains(time.getHour()))
+                   && (daysOfWeek == null || daysOfWeek.contains(time.getDayOfWeek().getValue() % 7))
+                   && (daysOfMonth == null || daysOfMonth.contains(time.getDayOfMonth()))
+                   && (months == null || months.contains(time.getMonthValue()))
+                   && time.plusMinutes(length).isAfter(start);
+      }
+      JRFLChecker checker = JRFLChecker.of(Stream.of(new JRFL().withJRFLEntry(entry)));
+      JRFLChecker.Proposal proposal = new JRFLChecker.Proposal()
+              .withFreq(new BigDecimal("100"), null)
+              .withTime(start.toInstant(ZoneOffset.UTC), end.toInstant(ZoneOffset.UTC));
+      assertEquals(entry.getMinutes() + " " + entry.getHours() + " " + entry.getDaysOfWeek() + " " + entry.getDaysOfMonth()
+                   + " " + entry.getMonths() + " duration " + duration + " from " + start + " to " + end,
+                   expected, !checker.check(proposal).isEmpty());
+    }
+  }
+
+  @Test
+  public void testYears() {
+    /**
+     * Years that cannot be read or are out of range allow any year.
+     */
+    JRFL jrfl = new JRFL().withJRFLEntry(new JRFLEntry().withFreqMin(100.0).withYears("2021"),
+                                         new JRFLEntry().withFreqMin(100.0).withYears("2019-2020"),
+                                         new JRFLEntry().withFreqMin(100.0).withYears("1850"),
+                                         new JRFLEntry().withFreqMin(100.0).withYears("abc"));
+    JRFLChecker checker = JRFLChecker.of(Stream.of(jrfl));
+    JRFLChecker.Proposal proposal = new JRFLChecker.Proposal()
+            .withFreq(new BigDecimal("100"), null)
+            .withTime(Instant.parse("2020-06-01T00:00:00Z"), Instant.parse("2020-07-01T00:00:00Z"));
+    assertEquals(3, checker.check(proposal).size());
+  }
+
+  @Test
+  public void testPosition() {
+    /**
+     * Every tenth entry has no location and is protected everywhere; the last
+     * entry refers to an unresolved Location.
+     */
+    JRFL jrfl = new JRFL();
+    List<JRFLEntry> located = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      JRFLEntry entry = new JRFLEntry().withFreqMin(100.0 + i);
+      if (i % 10 != 0) {
+        Location location = new Location();
+        location.getPoint().add(new Point().withLat(random.nextDouble() * 20).withLon(random.nextDouble() * 20));
+        entry.withJRFLEntryLocation(new JRFLEntryLocation().withLocation(location));
+        located.add(entry);
+      }
+      jrfl.getJRFLEntry().add(entry);
+    }
+    JRFLEntry unresolved = new JRFLEntry().withFreqMin(5.0).withJRFLEntryLocation(new JRFLEntryLocation());
+    jrfl.getJRFLEntry().add(unresolved);
+    JRFLChecker checker = JRFLChecker.of(Stream.of(jrfl));
+    assertEquals(1, checker.getUnresolvedEntries().size());
+    assertSame(unresolved, checker.getUnresolvedEntries().get(0));
+    for (int i = 0; i < 50; i++) {
+      double lat = random.nextDouble() * 20;
+      double lon = random.nextDouble() * 20;
+      /**
+       * The entries without a resolved location, plus each located entry that
+       * conflicts when its own frequency is also proposed.
+       */
+      int expected = 2000 / 10 + 1;
+      for (JRFLEntry entry : located) {
+        JRFLChecker.Proposal single = new JRFLChecker.Proposal()
+                .withFreq(BigDecimal.valueOf(entry.getFreqMin().getValue().doubleValue()), null)
+                .withPosition(lat, lon, 150);
+        if (!checker.check(single).isEmpty()) {
+          expected++;
+        }
+      }
+      assertEquals(lat + ", " + lon, expected, checker.check(new JRFLChecker.Proposal().withPosition(lat, lon, 150)).size());
+    }
+  }
+
+  /**
+   * Internal method to build a random time pattern field: values, ranges,
+   * stepped ranges and intervals.
+   *
+   * @param min    the minimum value
+   * @param max    the maximum value
+   * @param values the set receiving the values the pattern allows
+   * @return the pattern
+   */
+  private String randomPattern(int min, int max, Set<Integer> values) {
+    List<String> tokens = new ArrayList<>();
+    int count = 1 + random.nextInt(3);
+    for (int i = 0; i < count; i++) {
+      int first = min + random.nextInt(max - min + 1);
+      int last = first + random.nextInt(max - first + 1);
+      int step = 1 + random.nextInt(5);
+      switch (random.nextInt(4)) {
+        case 0:
+          tokens.add(Integer.toString(first));
+          values.add(first);
+          break;
+        case 1:
+          tokens.add(first + "-" + last);
+          for (int n = first; n <= last; n++) {
+            values.add(n);
+          }
+          break;
+        case 2:
+          tokens.add(first + "-" + last + "/" + step);
+          for (int n = first; n <= last; n += step) {
+            values.add(n);
+          }
+          break;
+        default:
+          tokens.add("*/" + step);
+          for (int n = min; n <= max; n += step) {
+            values.add(n);
+          }
+      }
+    }
+    return String.join(",", tokens);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.Location;
+import us.gov.dod.standard.ssrf._3_1.Role;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Serial;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+
+/**
+ * Verify that {@link ParallelValidator} reports the same errors as the
+ * sequential {@link SSRFUtility} walk at several parallelism levels.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class ParallelValidatorTest {
+
+  /**
+   * The number of random messages tested.
+   */
+  private static final int COUNT = 20;
+  /**
+   * The parallelism levels tested.
+   */
+  private static final int[] PARALLELISM = {1, 4, 8};
+
+  @Test
+  public void testEvaluate() {
+    for (int seed = 0; seed < COUNT; seed++) {
+      SSRF ssrf = SSRFUtility.prepare(buildMessage(seed, 1 + seed % 10));
+      for (int parallelism : PARALLELISM) {
+        ParallelValidator parallelValidator = new ParallelValidator(parallelism);
+        try {
+          assertEquals("seed " + seed + " parallelism " + parallelism, SSRFUtility.evaluate(ssrf), parallelValidator.evaluate(ssrf));
+        } finally {
+          parallelValidator.shutdown();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testValidate() {
+    for (int seed = 0; seed < COUNT; seed++) {
+      /**
+       * Every other message is valid.
+       */
+      SSRF ssrf = SSRFUtility.prepare(buildMessage(seed, seed % 2 == 0 ? 0 : 1 + seed % 10));
+      String expected = validate(ssrf, 0);
+      assertEquals("seed " + seed, seed % 2 == 0, expected == null);
+      for (int parallelism : PARALLELISM) {
+        assertEquals("seed " + seed + " parallelism " + parallelism, expected, validate(ssrf, parallelism));
+        ParallelValidator parallelValidator = new ParallelValidator(parallelism);
+        try {
+          assertEquals(expected == null, parallelValidator.isValid(ssrf));
+        } finally {
+          parallelValidator.shutdown();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    ParallelValidator parallelValidator = new ParallelValidator(4);
+    try {
+      SSRF ssrf = new SSRF();
+      assertEquals(SSRFUtility.evaluate(ssrf), parallelValidator.evaluate(ssrf));
+      assertNull(validate(ssrf, 4));
+      assertTrue(parallelValidator.isValid(ssrf));
+    } finally {
+      parallelValidator.shutdown();
+    }
+    assertFalse(SSRFUtility.evaluate(SSRFUtility.prepare(buildMessage(0, 1))).isEmpty());
+  }
+
+  /**
+   * Internal method to validate a message and get the error thrown.
+   *
+   * @param ssrf        the SSRF message
+   * @param parallelism the parallelism level. Zero validates with the
+   *                    sequential {@link SSRFUtility#validate(Object)}.
+   * @return the error message, NULL if the message validates OK
+   */
+  private static String validate(SSRF ssrf, int parallelism) {
+    ParallelValidator parallelValidator = parallelism > 0 ? new ParallelValidator(parallelism) : null;
+    try {
+      if (parallelValidator != null) {
+        parallelValidator.validate(ssrf);
+      } else {
+        SSRFUtility.validate(ssrf);
+      }
+      return null;
+    } catch (Exception exception) {
+      return exception.getClass().getName() + ": " + exception.getMessage();
+    } finally {
+      if (parallelValidator != null) {
+        parallelValidator.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Internal method to build a random message of Location and Role records,
+   * with the indicated number of invalid records. Each invalid record has an
+   * over-long name, a missing name or a field classified above the record.
+   *
+   * @param seed    the random seed
+   * @param invalid the number of invalid records
+   * @return a new SSRF message
+   */
+  private static SSRF buildMessage(long seed, int invalid) {
+    Random random = new Random(seed);
+    SSRF ssrf = new SSRF();
+    int records = 200 + random.nextInt(200);
+    boolean[] invalidRecords = new boolean[records];
+    for (int i = 0; i < invalid; i++) {
+      invalidRecords[random.nextInt(records)] = true;
+    }
+    ListCCL[] values = ListCCL.values();
+    for (int i = 0; i < records; i++) {
+      ListCCL cls = values[random.nextInt(values.length - 1)];
+      String name = (i % 3 == 0 ? "Role " : "Location ") + i;
+      ListCCL nameCls = cls;
+      if (invalidRecords[i]) {
+        switch (random.nextInt(3)) {
+          case 0:
+            name = new String(new char[101]).replace('\0', 'x');
+            break;
+          case 1:
+            name = null;
+            break;
+          default:
+            nameCls = values[cls.ordinal() + 1 + random.nextInt(values.length - cls.ordinal() - 1)];
+        }
+      }
+      Serial serial = new Serial(String.format("USA::%s:%05d", i % 3 == 0 ? "JA" : "LO", i)).withCls(cls);
+      if (i % 3 == 0) {
+        Role role = new Role().withSerial(serial).withCls(cls);
+        role.getEntryDateTime().withCls(cls);
+        if (name != null) {
+          role.withName(name.substring(0, Math.min(name.length(), 51)));
+          role.getName().withCls(nameCls);
+        }
+        ssrf.getRole().add(role);
+      } else {
+        Location location = new Location().withSerial(serial).withCls(cls);
+        location.getEntryDateTime().withCls(cls);
+        if (name != null) {
+          location.withName(name);
+          location.getName().withCls(nameCls);
+        }
+        ssrf.getLocation().add(location);
+      }
+    }
+    return ssrf;
+  }
+}
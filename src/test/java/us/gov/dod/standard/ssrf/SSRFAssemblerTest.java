@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.Location;
+import us.gov.dod.standard.ssrf._3_1.Role;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Serial;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+import us.gov.dod.standard.ssrf.validator.SSRFError;
+
+/**
+ * Verify that the {@link SSRFAssembler} single traversal produces the same
+ * message and the same errors as applying properties, preparing and then
+ * evaluating in separate passes.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFAssemblerTest {
+
+  /**
+   * The number of random messages tested.
+   */
+  private static final int COUNT = 50;
+
+  @Test
+  public void testAssemble() {
+    SSRFProperties properties = new SSRFProperties();
+    for (int seed = 0; seed < COUNT; seed++) {
+      /**
+       * Assemble one copy of the message and prepare then evaluate another.
+       */
+      SSRF assembled = buildMessage(seed);
+      List<SSRFError> errors = SSRFAssembler.assemble(assembled, properties);
+      Set<String> messages = new TreeSet<>();
+      for (SSRFError error : errors) {
+        messages.add(error.getMessage());
+      }
+      SSRF sequential = buildMessage(seed);
+      SSRFUtility.setProperties(properties, sequential);
+      SSRFUtility.prepare(sequential);
+      assertEquals("seed " + seed, SSRFUtility.evaluate(sequential), messages);
+      assertFalse("seed " + seed, messages.isEmpty());
+      /**
+       * The referenced records are copied into the root.
+       */
+      assertEquals("seed " + seed, serials(sequential.getRole()), serials(assembled.getRole()));
+      assertEquals("seed " + seed, serials(sequential.getLocation()), serials(assembled.getLocation()));
+    }
+  }
+
+  /**
+   * Internal method to build a random message of Location records referring
+   * to Role records and to other Locations. Some referenced records are not in
+   * the message, and some records are incomplete, over-long or classified
+   * below a field or a referenced record.
+   *
+   * @param seed the random seed. The same seed builds the same message.
+   * @return a new SSRF message
+   */
+  private static SSRF buildMessage(long seed) {
+    Random random = new Random(seed);
+    SSRF ssrf = new SSRF();
+    List<Role> roles = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Role role = new Role().withSerial(buildSerial("JA", i)).withCls(ListCCL.UNCLASSIFIED);
+      if (random.nextBoolean()) {
+        role.withName("Role " + i);
+        role.getName().withCls(ListCCL.UNCLASSIFIED);
+      }
+      role.getEntryDateTime().withCls(ListCCL.UNCLASSIFIED);
+      roles.add(role);
+    }
+    List<Location> locations = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      Location location = new Location().withSerial(buildSerial("LO", i));
+      location.getEntryDateTime().withCls(ListCCL.UNCLASSIFIED);
+      switch (random.nextInt(4)) {
+        case 0:
+          break;
+        case 1:
+          location.withName(new String(new char[101]).replace('\0', 'x'));
+          break;
+        default:
+          location.withName("Location " + i);
+      }
+      if (location.getName() != null) {
+        location.getName().withCls(random.nextInt(5) == 0 ? ListCCL.CONFIDENTIAL : ListCCL.UNCLASSIFIED);
+      }
+      location.withCls(random.nextBoolean() ? ListCCL.RESTRICTED : ListCCL.UNCLASSIFIED);
+      if (random.nextBoolean()) {
+        location.withOwnerRole(roles.get(random.nextInt(roles.size())));
+      }
+      if (i > 0 && random.nextBoolean()) {
+        location.getLocation().add(locations.get(random.nextInt(i)));
+      }
+      if (random.nextInt(3) > 0) {
+        ssrf.getLocation().add(location);
+      }
+      locations.add(location);
+    }
+    return ssrf;
+  }
+
+  /**
+   * Internal method to build a classified serial number.
+   *
+   * @param type  the dataset type code
+   * @param index the record index
+   * @return a new serial number
+   */
+  private static Serial buildSerial(String type, int index) {
+    return new Serial(String.format("USA::%s:%05d", type, index)).withCls(ListCCL.UNCLASSIFIED);
+  }
+
+  /**
+   * Internal method to list the serial numbers of a collection of records.
+   *
+   * @param records the records
+   * @return the sorted serial numbers
+   */
+  private static Set<String> serials(Collection<? extends Common<?>> records) {
+    Set<String> serials = new TreeSet<>();
+    for (Common<?> record : records) {
+      serials.add(record.getSerial().getValue());
+    }
+    return serials;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Verify that {@link SSRFRecordReader} releases its input when it cannot be
+ * constructed.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFRecordReaderTest {
+
+  @Test
+  public void testConstructorClosesStream() throws Exception {
+    for (String document : new String[]{"<Foo/>", "<?xml version=\"1.0\"?><", ""}) {
+      ClosingInputStream inputStream = new ClosingInputStream(document);
+      try {
+        new SSRFRecordReader(inputStream).close();
+        fail("\"" + document + "\" should not be read");
+      } catch (XMLStreamException exception) {
+        assertTrue("\"" + document + "\" stream not closed", inputStream.closed);
+      }
+    }
+  }
+
+  /**
+   * An input stream recording that it was closed.
+   */
+  private static class ClosingInputStream extends ByteArrayInputStream {
+
+    private boolean closed;
+
+    public ClosingInputStream(String document) {
+      super(document.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.Contact;
+import us.gov.dod.standard.ssrf._3_1.Location;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCCL;
+
+/**
+ * Verify that records written by {@link SSRFRecordWriter} read back with
+ * {@link SSRFRecordReader} and {@link SSRF#fromXml(String)}.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SSRFRecordWriterTest {
+
+  /**
+   * The number of records written.
+   */
+  private static final int COUNT = 20;
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    for (SSRFMarshalOptions options : new SSRFMarshalOptions[]{SSRFMarshalOptions.getDefault(), SSRFMarshalOptions.getFormatted()}) {
+      List<String> serials = new ArrayList<>();
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      try (SSRFRecordWriter writer = new SSRFRecordWriter(outputStream, null, options)) {
+        for (int i = 0; i < COUNT; i++) {
+          Location location = buildLocation("Location " + i);
+          writer.write(location);
+          serials.add(location.getSerial().getValue());
+        }
+        assertEquals(COUNT, writer.getCount());
+      }
+      String xml = outputStream.toString("UTF-8");
+      /**
+       * The namespaces are declared on the root element only.
+       */
+      assertEquals(xml, 3, xml.split("xmlns:", -1).length - 1);
+      /**
+       * Read back one record at a time.
+       */
+      List<String> read = new ArrayList<>();
+      try (SSRFRecordReader reader = new SSRFRecordReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))) {
+        while (reader.hasNext()) {
+          Common<?> record = reader.next();
+          assertTrue(record instanceof Location);
+          read.add(record.getSerial().getValue());
+        }
+      }
+      assertEquals(serials, read);
+      /**
+       * Read back the whole message.
+       */
+      SSRF ssrf = SSRF.fromXml(xml);
+      assertEquals(COUNT, ssrf.getLocation().size());
+      for (Location location : ssrf.getLocation()) {
+        assertTrue(location.getSerial().getValue(), serials.contains(location.getSerial().getValue()));
+      }
+    }
+  }
+
+  @Test
+  public void testMarshallerReset() throws Exception {
+    new SSRFRecordWriter(new ByteArrayOutputStream()).close();
+    /**
+     * A pooled marshaller returned by a writer declares the namespaces again.
+     */
+    String xml = new SSRF().withLocation(buildLocation("Location")).toXML();
+    assertTrue(xml, xml.contains("xmlns:s="));
+  }
+
+  @Test
+  public void testRecordOrder() throws Exception {
+    try (SSRFRecordWriter writer = new SSRFRecordWriter(new ByteArrayOutputStream())) {
+      writer.write(buildLocation("Location"));
+      try {
+        writer.write(new Contact());
+        fail("Contact records must be written before Location records");
+      } catch (IllegalStateException exception) {
+        assertEquals(1, writer.getCount());
+      }
+      writer.write(buildLocation("Location"));
+      assertEquals(2, writer.getCount());
+    }
+  }
+
+  @Test
+  public void testConstructorClosesStream() throws Exception {
+    FailingOutputStream outputStream = new FailingOutputStream();
+    try {
+      new SSRFRecordWriter(outputStream, null, SSRFMarshalOptions.getDefault().withBufferSize(1)).close();
+      fail("The root element should not be written");
+    } catch (IOException exception) {
+      assertTrue("stream not closed", outputStream.closed);
+    }
+  }
+
+  /**
+   * Internal method to build a valid Location record. The classification of
+   * each metadata field is set as SSRF requires.
+   *
+   * @param name the location name
+   * @return a new Location
+   */
+  private static Location buildLocation(String name) {
+    Location location = new Location().withName(name).withCls(ListCCL.UNCLASSIFIED);
+    location.getName().withCls(ListCCL.UNCLASSIFIED);
+    location.getSerial().withCls(ListCCL.UNCLASSIFIED);
+    location.getEntryDateTime().withCls(ListCCL.UNCLASSIFIED);
+    assertFalse(location.getSerial().getValue().isEmpty());
+    return location;
+  }
+
+  /**
+   * An output stream that cannot be written, recording that it was closed.
+   */
+  private static class FailingOutputStream extends OutputStream {
+
+    private boolean closed;
+
+    @Override
+    public void write(int b) throws IOException {
+      throw new IOException("Write failed");
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.Assignment;
+import us.gov.dod.standard.ssrf._3_1.metadata.domains.Serial;
+
+/**
+ * Verify that the {@link SSRF#getSerialIndex() serial index} follows datasets
+ * added to and removed from the reference root after it was first built.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SerialIndexTest {
+
+  @Test
+  public void testPostLoadRecordAfterAdd() {
+    Assignment t1 = buildAssignment(1);
+    SSRF ref = new SSRF().withAssignment(t1);
+    Assignment a1 = buildAssignment(11);
+    a1.getRelatedRef().add(t1.getSerial());
+    SSRFUtility.postLoadRecord(a1, ref);
+    assertEquals(1, a1.getRelated().size());
+    assertSame(t1, a1.getRelated().iterator().next());
+    /**
+     * A record added to the reference root after the index was built.
+     */
+    Assignment t2 = buildAssignment(2);
+    ref.withAssignment(t2);
+    Assignment a2 = buildAssignment(12);
+    a2.getRelatedRef().add(t2.getSerial());
+    SSRFUtility.postLoadRecord(a2, ref);
+    assertFalse(a2.getRelated().isEmpty());
+    assertSame(t2, a2.getRelated().iterator().next());
+  }
+
+  @Test
+  public void testRemove() {
+    Assignment t1 = buildAssignment(1);
+    Assignment t2 = buildAssignment(2);
+    SSRF ref = new SSRF().withAssignment(t1, t2);
+    SerialIndex index = ref.getSerialIndex();
+    assertEquals(2, index.size());
+    assertTrue(index.isCurrent(ref));
+    assertSame(index, ref.getSerialIndex());
+    ref.getAssignment().remove(t2);
+    assertFalse(index.isCurrent(ref));
+    assertNull(ref.getSerialIndex().find(t2.getSerial()));
+    assertSame(t1, ref.getSerialIndex().find(t1.getSerial(), Assignment.class));
+  }
+
+  @Test
+  public void testReplace() {
+    Assignment t1 = buildAssignment(1);
+    Assignment t2 = buildAssignment(2);
+    SSRF ref = new SSRF().withAssignment(t1);
+    ref.getSerialIndex();
+    /**
+     * Replacing a dataset keeps the count; the index is rebuilt explicitly.
+     */
+    ref.getAssignment().remove(t1);
+    ref.getAssignment().add(t2);
+    assertNull(ref.getSerialIndex().find(t2.getSerial()));
+    assertSame(t2, ref.buildSerialIndex().find(t2.getSerial()));
+  }
+
+  /**
+   * Internal method to build an Assignment with a known serial number.
+   *
+   * @param index the record index
+   * @return a new Assignment
+   */
+  private static Assignment buildAssignment(int index) {
+    return new Assignment().withSerial(new Serial(String.format("USA::AS:%05d", index)));
+  }
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.Common;
+import us.gov.dod.standard.ssrf._3_1.Location;
+import us.gov.dod.standard.ssrf._3_1.location.Ellipse;
+import us.gov.dod.standard.ssrf._3_1.location.Point;
+import us.gov.dod.standard.ssrf._3_1.location.Polygon;
+import us.gov.dod.standard.ssrf._3_1.location.PolygonPoint;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCBO;
+
+/**
+ * Verify the {@link SpatialIndex} radius and box queries against a linear
+ * scan: Points against the haversine distance, Polygons and Ellipses against
+ * a dense sampling of their perimeter, with excluded shapes and with areas
+ * crossing the 180th meridian.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class SpatialIndexTest {
+
+  /**
+   * The number of random queries tested against each index.
+   */
+  private static final int COUNT = 300;
+  /**
+   * The length of one degree of a great circle (km).
+   */
+  private static final double KM_PER_DEGREE = SpatialIndex.EARTH_RADIUS_KM * Math.PI / 180;
+  /**
+   * 1 km. The absolute error allowed between the index and the sampled
+   * perimeter distances; a further 2% is allowed for the local projection.
+   */
+  private static final double TOLERANCE_KM = 1.0;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(21);
+
+  @Test
+  public void testPoints() {
+    /**
+     * Sizes on both sides of the R-tree node capacity (16) and its square
+     * build packed trees of one, two and three levels.
+     */
+    for (int size : new int[]{0, 1, 15, 16, 17, 255, 256, 257, 3000}) {
+      List<Location> locations = new ArrayList<>();
+      List<double[]> points = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        double[] point = randomPosition();
+        points.add(point);
+        locations.add(new Location().withPoint(new Point().withLat(point[0]).withLon(point[1])));
+      }
+      SpatialIndex index = SpatialIndex.of(locations);
+      assertEquals(size, index.size());
+      for (int q = 0; q < COUNT; q++) {
+        double[] query = size > 0 && random.nextInt(10) == 0 ? points.get(random.nextInt(size)) : randomPosition();
+        double radius = random.nextInt(10) == 0 ? 0 : random.nextDouble() * 500;
+        Set<Object> found = verifyLinear(index, query[0], query[1], radius);
+        for (int i = 0; i < size; i++) {
+          double distance = haversine(query[0], query[1], points.get(i)[0], points.get(i)[1]);
+          if (Math.abs(distance - radius) > 1e-6) {
+            assertEquals(size + " points " + query[0] + ", " + query[1] + " radius " + radius + " point " + points.get(i)[0] + ", " + points.get(i)[1],
+                         distance <= radius, found.contains(locations.get(i)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBoxes() {
+    List<Location> locations = new ArrayList<>();
+    List<double[]> points = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      double[] point = randomPosition();
+      points.add(point);
+      locations.add(new Location().withPoint(new Point().withLat(point[0]).withLon(point[1])));
+    }
+    SpatialIndex index = SpatialIndex.of(locations);
+    for (int q = 0; q < COUNT; q++) {
+      /**
+       * About a third of the boxes cross the 180th meridian (west &gt; east).
+       */
+      double[] corner = randomPosition();
+      double south = corner[0];
+      double north = Math.min(90, south + random.nextDouble() * 20);
+      double west = corner[1];
+      double east = normalize(west + random.nextDouble() * 30);
+      Set<Object> found = identitySet();
+      for (SpatialIndex.Entry entry : index.findIntersecting(south, west, north, east)) {
+        assertTrue(entry.toString(), found.add(entry.getRecord()));
+      }
+      for (int i = 0; i < points.size(); i++) {
+        double lat = points.get(i)[0];
+        double lon = points.get(i)[1];
+        boolean inside = lat >= south && lat <= north && (west <= east ? lon >= west && lon <= east : lon >= west || lon <= east);
+        assertEquals("[" + south + ", " + west + ", " + north + ", " + east + "] point " + lat + ", " + lon,
+                     inside, found.contains(locations.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void testShapes() {
+    for (int round = 0; round < 3; round++) {
+      /**
+       * The areas gather in clusters 400 km across, one of them on the 180th
+       * meridian, so that queries meet several areas.
+       */
+      List<double[]> clusters = new ArrayList<>();
+      clusters.add(new double[]{random.nextDouble() * 120 - 60, 180});
+      for (int i = 0; i < 4; i++) {
+        clusters.add(new double[]{random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180});
+      }
+      List<Area> areas = new ArrayList<>();
+      List<Location> locations = new ArrayList<>();
+      for (int i = 0; i < 150; i++) {
+        double[] cluster = clusters.get(random.nextInt(clusters.size()));
+        Area area = randomArea(offset(cluster[0], cluster[1], random.nextDouble() * 200, random.nextDouble() * 360));
+        areas.add(area);
+        locations.add(area.location);
+      }
+      SpatialIndex index = SpatialIndex.of(locations);
+      Map<Location, SpatialIndex.Entry> entries = new IdentityHashMap<>();
+      for (SpatialIndex.Entry entry : index.getEntries()) {
+        entries.put(entry.getLocation(), entry);
+      }
+      assertEquals(areas.size(), entries.size());
+      int compared = 0;
+      for (int q = 0; q < COUNT; q++) {
+        /**
+         * Query near an area: at its centre, inside it or up to 150 km away.
+         */
+        Area target = areas.get(random.nextInt(areas.size()));
+        double[] query = random.nextInt(8) == 0
+                         ? new double[]{target.lat, target.lon}
+                         : offset(target.lat, target.lon, random.nextDouble() * 150, random.nextDouble() * 360);
+        double radius = random.nextInt(5) == 0 ? 0 : random.nextDouble() * 100;
+        Set<Object> found = verifyLinear(index, query[0], query[1], radius);
+        for (Area area : areas) {
+          double centre = haversine(query[0], query[1], area.lat, area.lon);
+          if (centre - area.extent > radius + TOLERANCE_KM) {
+            assertFalse(found.contains(area.location));
+            continue;
+          }
+          double expected = area.distanceKm(query[0], query[1]);
+          if (Double.isNaN(expected)) {
+            continue;
+          }
+          double tolerance = TOLERANCE_KM + 0.02 * expected;
+          String message = area + " from " + query[0] + ", " + query[1] + " radius " + radius;
+          assertEquals(message, expected, entries.get(area.location).distanceKm(query[0], query[1]), tolerance);
+          if (Math.abs(expected - radius) > tolerance) {
+            assertEquals(message, expected <= radius, found.contains(area.location));
+          }
+          compared++;
+        }
+      }
+      assertTrue("too few distances compared: " + compared, compared > 3 * COUNT);
+    }
+  }
+
+  @Test
+  public void testAntimeridian() {
+    /**
+     * A square of about 22 km straddling the 180th meridian, listed with
+     * longitudes on both sides.
+     */
+    Location square = new Location().withPolygon(buildPolygon(false, new double[]{-0.1, -0.1, 0.1, 0.1}, new double[]{179.9, -179.9, -179.9, 179.9}));
+    Location ellipse = new Location().withEllipse(new Ellipse().withLat(10.0).withLon(-179.95).withSemiMajorAxis(30.0).withSemiMinorAxis(10.0).withAzimuth(90.0));
+    SpatialIndex index = SpatialIndex.of(java.util.Arrays.asList(square, ellipse));
+    for (double lon : new double[]{180, -180, 179.95, -179.95}) {
+      assertEquals(Collections.singletonList(square), records(index.findWithin(0, lon, 0)));
+    }
+    for (double lon : new double[]{179.85, -179.75, 179.9}) {
+      assertEquals(Collections.singletonList(ellipse), records(index.findWithin(10, lon, 0)));
+    }
+    assertTrue(index.findWithin(0, 179.5, 0).isEmpty());
+    assertEquals(1, index.findWithin(0, 179.5, 50).size());
+    assertEquals(1, index.findWithin(0, -179.5, 50).size());
+    assertEquals(2, index.findIntersecting(-1, 179.95, 11, -179.95).size());
+    assertEquals(2, index.findIntersecting(-1, 179.0, 11, 179.95).size());
+    assertEquals(2, index.findIntersecting(-1, -179.95, 11, -179.0).size());
+    assertEquals(1, index.findIntersecting(-1, -179.95, 1, -179.0).size());
+    assertTrue(index.findIntersecting(-1, 170, 11, 179.0).isEmpty());
+  }
+
+  /**
+   * Internal method to compare a radius query with a linear scan of the index
+   * rows, and to check the rows are returned nearest first.
+   *
+   * @param index    the index
+   * @param lat      the query latitude
+   * @param lon      the query longitude
+   * @param radiusKm the query radius
+   * @return the datasets found
+   */
+  private static Set<Object> verifyLinear(SpatialIndex index, double lat, double lon, double radiusKm) {
+    Set<Object> found = identitySet();
+    double previous = 0;
+    for (SpatialIndex.Entry entry : index.findWithin(lat, lon, radiusKm)) {
+      double distance = entry.distanceKm(lat, lon);
+      assertTrue(entry.toString(), distance >= previous);
+      assertTrue(entry.toString(), found.add(entry.getRecord()));
+      previous = distance;
+    }
+    Set<Object> expected = identitySet();
+    for (SpatialIndex.Entry entry : index.getEntries()) {
+      if (entry.distanceKm(lat, lon) <= radiusKm) {
+        expected.add(entry.getRecord());
+      }
+    }
+    assertEquals(lat + ", " + lon + " radius " + radiusKm, expected, found);
+    return found;
+  }
+
+  /**
+   * Internal method to build a random position between latitudes 75 S and 75
+   * N. One position in three lies within a degree of the 180th meridian.
+   *
+   * @return the position {lat, lon}
+   */
+  private double[] randomPosition() {
+    double lat = random.nextDouble() * 150 - 75;
+    double lon = random.nextInt(3) == 0 ? normalize(179 + random.nextDouble() * 2) : random.nextDouble() * 360 - 180;
+    return new double[]{lat, lon};
+  }
+
+  /**
+   * Internal method to build a random Location of one or two included shapes
+   * (Polygons and Ellipses up to 60 km across) around a centre, with an
+   * optional excluded shape at the centre.
+   *
+   * @param centre the centre {lat, lon}
+   * @return the area
+   */
+  private Area randomArea(double[] centre) {
+    double lat = centre[0];
+    double lon = centre[1];
+    Area area = new Area(lat, lon);
+    int shapes = 1 + random.nextInt(2);
+    for (int i = 0; i < shapes; i++) {
+      double[] shapeCentre = i == 0 ? centre : offset(lat, lon, random.nextDouble() * 40, random.nextDouble() * 360);
+      double size = 5 + random.nextDouble() * 25;
+      area.add(random.nextBoolean() ? randomPolygon(false, shapeCentre, size) : randomEllipse(false, shapeCentre, size));
+    }
+    if (random.nextBoolean()) {
+      double size = 1 + random.nextDouble() * 3;
+      area.add(random.nextBoolean() ? randomPolygon(true, centre, size) : randomEllipse(true, centre, size));
+    }
+    return area;
+  }
+
+  /**
+   * Internal method to build a random star-shaped Polygon around a centre.
+   * The PolygonPoint sequence follows the vertex angle.
+   *
+   * @param excluded the Polygon Excluded value
+   * @param centre   the centre {lat, lon}
+   * @param size     the greatest distance of a vertex from the centre (km)
+   * @return the reference shape, holding the Polygon
+   */
+  private RefShape randomPolygon(boolean excluded, double[] centre, double size) {
+    int sides = 3 + random.nextInt(6);
+    double[] angles = new double[sides];
+    for (int i = 0; i < sides; i++) {
+      angles[i] = (i + 0.2 + 0.6 * random.nextDouble()) * 360 / sides;
+    }
+    double[] lat = new double[sides];
+    double[] lon = new double[sides];
+    for (int i = 0; i < sides; i++) {
+      double[] vertex = offset(centre[0], centre[1], size * (0.4 + 0.6 * random.nextDouble()), angles[i]);
+      lat[i] = vertex[0];
+      lon[i] = vertex[1];
+    }
+    return new RefPolygon(buildPolygon(excluded, lat, lon), excluded, lat, lon, centre, size);
+  }
+
+  /**
+   * Internal method to build a random Ellipse around a centre.
+   *
+   * @param excluded the Ellipse Excluded value
+   * @param centre   the centre {lat, lon}
+   * @param size     the semi-major axis (km)
+   * @return the reference shape, holding the Ellipse
+   */
+  private RefShape randomEllipse(boolean excluded, double[] centre, double size) {
+    double minor = size * (0.2 + 0.8 * random.nextDouble());
+    double azimuth = random.nextDouble() * 180;
+    Ellipse ellipse = new Ellipse().withLat(centre[0]).withLon(centre[1]).withSemiMajorAxis(size).withSemiMinorAxis(minor).withAzimuth(azimuth);
+    if (excluded) {
+      ellipse.withExcluded(ListCBO.YES);
+    }
+    return new RefEllipse(ellipse, excluded, centre, size, minor, azimuth);
+  }
+
+  /**
+   * Internal method to build a Polygon, adding the PolygonPoints in reverse
+   * sequence order.
+   *
+   * @param excluded the Polygon Excluded value
+   * @param lat      the vertex latitudes
+   * @param lon      the vertex longitudes
+   * @return a new Polygon
+   */
+  private static Polygon buildPolygon(boolean excluded, double[] lat, double[] lon) {
+    Polygon polygon = new Polygon();
+    for (int i = lat.length - 1; i >= 0; i--) {
+      polygon.withPolygonPoint(new PolygonPoint().withLat(lat[i]).withLon(lon[i]).withSequence(BigInteger.valueOf(i)));
+    }
+    if (excluded) {
+      polygon.withExcluded(ListCBO.YES);
+    }
+    return polygon;
+  }
+
+  /**
+   * Internal method to move a position by a distance along a bearing, in a
+   * local flat projection.
+   *
+   * @param lat     the latitude
+   * @param lon     the longitude
+   * @param km      the distance (km)
+   * @param bearing the bearing (degrees clockwise from north)
+   * @return the new position {lat, lon}
+   */
+  private static double[] offset(double lat, double lon, double km, double bearing) {
+    double x = km * Math.sin(Math.toRadians(bearing));
+    double y = km * Math.cos(Math.toRadians(bearing));
+    return new double[]{lat + y / KM_PER_DEGREE, normalize(lon + x / KM_PER_DEGREE / Math.cos(Math.toRadians(lat)))};
+  }
+
+  /**
+   * Internal method to calculate the haversine distance between two
+   * positions.
+   *
+   * @return the distance (km)
+   */
+  private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLon = Math.toRadians(lon2 - lon1);
+    double h = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+    return 2 * SpatialIndex.EARTH_RADIUS_KM * Math.atan2(Math.sqrt(h), Math.sqrt(1 - h));
+  }
+
+  /**
+   * Internal method to normalize a longitude to [-180, 180).
+   */
+  private static double normalize(double degrees) {
+    double d = ((degrees + 180) % 360 + 360) % 360 - 180;
+    return d;
+  }
+
+  /**
+   * Internal method to list the datasets of a list of rows.
+   */
+  private static List<Common<?>> records(List<SpatialIndex.Entry> entries) {
+    List<Common<?>> records = new ArrayList<>();
+    for (SpatialIndex.Entry entry : entries) {
+      records.add(entry.getRecord());
+    }
+    return records;
+  }
+
+  /**
+   * Internal method to build a new identity set.
+   */
+  private static Set<Object> identitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * A Location and the reference shapes it was built from.
+   */
+  private static class Area {
+
+    private final Location location = new Location();
+    private final double lat, lon;
+    private final List<RefShape> included = new ArrayList<>();
+    private final List<RefShape> excluded = new ArrayList<>();
+    /**
+     * The greatest distance from the centre to an included shape (km).
+     */
+    private double extent;
+
+    public Area(double lat, double lon) {
+      this.lat = lat;
+      this.lon = lon;
+    }
+
+    /**
+     * Add a shape to the area and its Location.
+     */
+    private void add(RefShape shape) {
+      (shape.excluded ? excluded : included).add(shape);
+      if (shape.element instanceof Polygon) {
+        location.withPolygon((Polygon) shape.element);
+      } else {
+        location.withEllipse((Ellipse) shape.element);
+      }
+      if (!shape.excluded) {
+        extent = Math.max(extent, haversine(lat, lon, shape.lat, shape.lon) + shape.size);
+      }
+    }
+
+    /**
+     * Calculate the distance from a position to the area: to the nearest
+     * included shape or, inside an excluded shape, to its boundary.
+     *
+     * @return the distance (km), NaN if the position is too near a shape
+     *         boundary to tell whether it is inside
+     */
+    private double distanceKm(double lat, double lon) {
+      double distance = Double.POSITIVE_INFINITY;
+      for (RefShape shape : included) {
+        double boundary = shape.boundaryKm(lat, lon);
+        if (boundary < TOLERANCE_KM) {
+          return Double.NaN;
+        }
+        distance = Math.min(distance, shape.contains(lat, lon) ? 0 : boundary);
+      }
+      for (RefShape shape : excluded) {
+        double boundary = shape.boundaryKm(lat, lon);
+        if (boundary < TOLERANCE_KM) {
+          return Double.NaN;
+        }
+        if (shape.contains(lat, lon)) {
+          distance = Math.max(distance, boundary);
+        }
+      }
+      return distance;
+    }
+
+    @Override
+    public String toString() {
+      return "Area " + lat + ", " + lon + " included " + included + " excluded " + excluded;
+    }
+  }
+
+  /**
+   * A reference shape, measured by sampling its perimeter.
+   */
+  private static abstract class RefShape {
+
+    /**
+     * The Polygon or Ellipse.
+     */
+    protected final Object element;
+    protected final boolean excluded;
+    protected final double lat, lon;
+    /**
+     * The greatest distance from the centre to the perimeter (km).
+     */
+    protected final double size;
+
+    public RefShape(Object element, boolean excluded, double[] centre, double size) {
+      this.element = element;
+      this.excluded = excluded;
+      this.lat = centre[0];
+      this.lon = centre[1];
+      this.size = size;
+    }
+
+    /**
+     * Determine if the shape contains a position.
+     */
+    abstract boolean contains(double lat, double lon);
+
+    /**
+     * Calculate the least haversine distance from a position to the perimeter
+     * samples.
+     */
+    abstract double boundaryKm(double lat, double lon);
+  }
+
+  /**
+   * A reference Polygon. Each edge is sampled every 100 m or less.
+   */
+  private static class RefPolygon extends RefShape {
+
+    private final double[] vertexLat, vertexLon;
+
+    public RefPolygon(Polygon polygon, boolean excluded, double[] lat, double[] lon, double[] centre, double size) {
+      super(polygon, excluded, centre, size);
+      this.vertexLat = lat;
+      this.vertexLon = lon;
+    }
+
+    @Override
+    boolean contains(double lat, double lon) {
+      boolean inside = false;
+      for (int i = 0, j = vertexLat.length - 1; i < vertexLat.length; j = i++) {
+        double xi = normalize(vertexLon[i] - lon);
+        double xj = normalize(vertexLon[j] - lon);
+        double yi = vertexLat[i] - lat;
+        double yj = vertexLat[j] - lat;
+        if ((yi > 0) != (yj > 0) && xj - yj * (xi - xj) / (yi - yj) > 0) {
+          inside = !inside;
+        }
+      }
+      return inside;
+    }
+
+    @Override
+    double boundaryKm(double lat, double lon) {
+      double distance = Double.POSITIVE_INFINITY;
+      for (int i = 0, j = vertexLat.length - 1; i < vertexLat.length; j = i++) {
+        double dLon = normalize(vertexLon[i] - vertexLon[j]);
+        int samples = 1 + (int) (10 * haversine(vertexLat[j], vertexLon[j], vertexLat[i], vertexLon[i]));
+        for (int s = 0; s <= samples; s++) {
+          double f = (double) s / samples;
+          distance = Math.min(distance, haversine(lat, lon, vertexLat[j] + f * (vertexLat[i] - vertexLat[j]), vertexLon[j] + f * dLon));
+        }
+      }
+      return distance;
+    }
+
+    @Override
+    public String toString() {
+      return "Polygon " + java.util.Arrays.toString(vertexLat) + " " + java.util.Arrays.toString(vertexLon);
+    }
+  }
+
+  /**
+   * A reference Ellipse. The perimeter is sampled every 100 m or less.
+   */
+  private static class RefEllipse extends RefShape {
+
+    private final double major, minor, azimuth;
+
+    public RefEllipse(Ellipse ellipse, boolean excluded, double[] centre, double major, double minor, double azimuth) {
+      super(ellipse, excluded, centre, major);
+      this.major = major;
+      this.minor = minor;
+      this.azimuth = Math.toRadians(azimuth);
+    }
+
+    @Override
+    boolean contains(double lat, double lon) {
+      double x = normalize(lon - this.lon) * Math.cos(Math.toRadians(this.lat)) * KM_PER_DEGREE;
+      double y = (lat - this.lat) * KM_PER_DEGREE;
+      double s = x * Math.sin(azimuth) + y * Math.cos(azimuth);
+      double t = x * Math.cos(azimuth) - y * Math.sin(azimuth);
+      return (s / major) * (s / major) + (t / minor) * (t / minor) <= 1;
+    }
+
+    @Override
+    double boundaryKm(double lat, double lon) {
+      double distance = Double.POSITIVE_INFINITY;
+      int samples = (int) (20 * Math.PI * major);
+      for (int i = 0; i < samples; i++) {
+        double angle = 2 * Math.PI * i / samples;
+        double s = major * Math.cos(angle);
+        double t = minor * Math.sin(angle);
+        double x = s * Math.sin(azimuth) + t * Math.cos(azimuth);
+        double y = s * Math.cos(azimuth) - t * Math.sin(azimuth);
+        distance = Math.min(distance, haversine(lat, lon, this.lat + y / KM_PER_DEGREE, this.lon + x / KM_PER_DEGREE / Math.cos(Math.toRadians(this.lat))));
+      }
+      return distance;
+    }
+
+    @Override
+    public String toString() {
+      return "Ellipse " + lat + ", " + lon + " " + major + " x " + minor + " at " + Math.toDegrees(azimuth);
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.TOA;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCAO;
+import us.gov.dod.standard.ssrf._3_1.metadata.lists.ListCSN;
+import us.gov.dod.standard.ssrf._3_1.toa.Allocation;
+import us.gov.dod.standard.ssrf._3_1.toa.Country;
+import us.gov.dod.standard.ssrf._3_1.toa.Footnote;
+import us.gov.dod.standard.ssrf._3_1.toa.FreqBand;
+
+/**
+ * Verify the {@link TOAIndex.Table} edge and gap slots against a linear scan
+ * of the FreqBand ranges, at every band edge, between edges and outside the
+ * table.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class TOAIndexTest {
+
+  /**
+   * The number of random tables tested.
+   */
+  private static final int COUNT = 200;
+  /**
+   * 4. The probes per MHz. The band edges fall on a half MHz grid, so the
+   * probes hit every edge and the middle of every gap.
+   */
+  private static final int PROBES_PER_MHZ = 4;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(23);
+
+  @Test
+  public void testSlots() {
+    for (int t = 0; t < COUNT; t++) {
+      /**
+       * One or two TOAs of the same Administration compile into one table.
+       */
+      List<TOA> toas = new ArrayList<>();
+      List<FreqBand> freqBands = new ArrayList<>();
+      int count = 1 + random.nextInt(2);
+      for (int i = 0; i < count; i++) {
+        TOA toa = new TOA().withAdministration("Adm");
+        int bands = random.nextInt(40);
+        for (int b = 0; b < bands; b++) {
+          toa.withFreqBand(randomFreqBand());
+        }
+        freqBands.addAll(toa.getFreqBand());
+        toas.add(toa);
+      }
+      TOAIndex.Table table = TOAIndex.of(toas.stream()).getTable(" adm");
+      assertNotNull(table);
+      double[] freqs = new double[102 * PROBES_PER_MHZ + 1];
+      for (int k = 0; k < freqs.length; k++) {
+        freqs[k] = (k - PROBES_PER_MHZ) / (double) PROBES_PER_MHZ;
+      }
+      List<List<TOAIndex.Band>> classified = table.classify(freqs);
+      for (int k = 0; k < freqs.length; k++) {
+        BigDecimal freq = BigDecimal.valueOf(freqs[k]);
+        List<TOAIndex.Band> found = table.findBands(freq);
+        assertSame(found, classified.get(k));
+        /**
+         * The bands whose closed range holds the frequency, in ascending order
+         * of minimum then maximum frequency.
+         */
+        List<FreqBand> actual = new ArrayList<>();
+        TOAIndex.Band previous = null;
+        for (TOAIndex.Band band : found) {
+          actual.add(band.getFreqBand());
+          if (previous != null) {
+            int order = previous.getFreqMin().compareTo(band.getFreqMin());
+            assertTrue(band.toString(), order < 0 || order == 0 && previous.getFreqMax().compareTo(band.getFreqMax()) <= 0);
+          }
+          previous = band;
+        }
+        List<FreqBand> expected = new ArrayList<>();
+        for (FreqBand freqBand : freqBands) {
+          BigDecimal first = freqBand.getFreqMin().getValue();
+          BigDecimal last = freqBand.isSetFreqMax() ? freqBand.getFreqMax().getValue() : first;
+          if (first.min(last).compareTo(freq) <= 0 && first.max(last).compareTo(freq) >= 0) {
+            expected.add(freqBand);
+          }
+        }
+        assertEquals("table " + t + " at " + freq + " MHz", new HashSet<>(expected), new HashSet<>(actual));
+        assertEquals("table " + t + " at " + freq + " MHz", expected.size(), actual.size());
+      }
+    }
+  }
+
+  @Test
+  public void testSingleFrequency() {
+    /**
+     * A single frequency band is in force at its edge only; a band ending
+     * where another starts shares the edge.
+     */
+    FreqBand single = new FreqBand().withFreqMin(10.0);
+    FreqBand low = new FreqBand().withFreqMin(5.0).withFreqMax(10.0);
+    FreqBand high = new FreqBand().withFreqMin(10.0).withFreqMax(15.0);
+    TOAIndex.Table table = TOAIndex.of(Stream.of(new TOA().withAdministration("ADM").withFreqBand(single, low, high))).getTable("ADM");
+    assertEquals(3, table.findBands(new BigDecimal("10")).size());
+    assertEquals(Arrays.asList(low), freqBands(table.findBands(new BigDecimal("9.999999999"))));
+    assertEquals(Arrays.asList(high), freqBands(table.findBands(new BigDecimal("10.000000001"))));
+    assertEquals(Arrays.asList(low), freqBands(table.findBands(new BigDecimal("5"))));
+    assertEquals(Arrays.asList(high), freqBands(table.findBands(new BigDecimal("15"))));
+    assertTrue(table.findBands(new BigDecimal("4.999999999")).isEmpty());
+    assertTrue(table.findBands(new BigDecimal("15.000000001")).isEmpty());
+  }
+
+  @Test
+  public void testJurisdictions() {
+    Footnote footnote = new Footnote().withIdx(BigInteger.ONE).withText("Footnote");
+    FreqBand freqBand = new FreqBand().withFreqMin(100.0).withFreqMax(200.0).withFootnotes(BigInteger.ONE, BigInteger.TEN)
+            .withAllocation(new Allocation().withAllocatedService(ListCSN.LAND_MOBILE).withFootnotes(BigInteger.ONE));
+    TOA toa = new TOA().withAdministration("adm").withCountry(new Country().withValue(ListCAO.AFG)).withFootnote(footnote).withFreqBand(freqBand);
+    TOAIndex index = TOAIndex.of(Stream.of(toa, new TOA().withCountry(new Country().withValue(ListCAO.FF))));
+    assertEquals(new HashSet<>(Arrays.asList("ADM", "AFG", "FF")), index.getJurisdictions());
+    assertEquals(Arrays.asList(freqBand), freqBands(index.findBands("afg", new BigDecimal("150"))));
+    assertEquals(Arrays.asList(freqBand), freqBands(index.findBands("ADM", new BigDecimal("150"))));
+    TOAIndex.Band band = index.findBands("AFG", new BigDecimal("150")).get(0);
+    assertEquals(Arrays.asList(footnote), band.getFootnotes());
+    assertEquals(1, index.findServices("AFG", new BigDecimal("200")).size());
+    assertEquals(ListCSN.LAND_MOBILE.value(), index.findServices("AFG", new BigDecimal("200")).get(0).getAllocatedService());
+    assertEquals(Arrays.asList(footnote), index.findServices("AFG", new BigDecimal("200")).get(0).getFootnotes());
+    /**
+     * A TOA without FreqBand compiles to an empty table.
+     */
+    assertTrue(index.findBands("FF", new BigDecimal("150")).isEmpty());
+    assertNull(index.getTable("USA"));
+    assertTrue(index.findServices("USA", new BigDecimal("150")).isEmpty());
+  }
+
+  /**
+   * Internal method to build a random FreqBand on a half MHz grid between 0
+   * and 100 MHz. About one band in six is a single frequency and some bands
+   * are listed with their minimum and maximum frequencies swapped.
+   *
+   * @return a new FreqBand
+   */
+  private FreqBand randomFreqBand() {
+    int min = random.nextInt(201);
+    FreqBand freqBand = new FreqBand().withFreqMin(min / 2.0);
+    if (random.nextInt(6) > 0) {
+      int max = Math.min(200, min + random.nextInt(1 + random.nextInt(60)));
+      if (random.nextInt(10) == 0) {
+        freqBand.withFreqMin(max / 2.0).withFreqMax(min / 2.0);
+      } else {
+        freqBand.withFreqMax(max / 2.0);
+      }
+    }
+    return freqBand;
+  }
+
+  /**
+   * Internal method to list the FreqBands of compiled bands.
+   */
+  private static List<FreqBand> freqBands(List<TOAIndex.Band> bands) {
+    List<FreqBand> freqBands = new ArrayList<>();
+    for (TOAIndex.Band band : bands) {
+      freqBands.add(band.getFreqBand());
+    }
+    return freqBands;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Verify that {@link FixedPointFormat} output is identical to the prototype
+ * DecimalFormat, byte for byte, for the layouts used by the SSRF number
+ * adapters.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class FixedPointFormatTest {
+
+  /**
+   * The number of random values tested per layout.
+   */
+  private static final int COUNT = 20000;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(13);
+
+  @Test
+  public void testNumberLayouts() {
+    /**
+     * The AXmlAdapterNumber layouts: UN(x.y) and SN(x.y) types, e.g. FreqM
+     * (16, 9), dBW (5, 2), Az (5, 2).
+     */
+    int[][] digits = {{16, 9}, {5, 2}, {6, 3}, {9, 1}, {11, 9}, {4, 1}, {3, 2}};
+    for (int[] digit : digits) {
+      final int totalDigits = digit[0];
+      final int fractionDigits = digit[1];
+      assertFormat("N(" + totalDigits + "." + fractionDigits + ")", () -> {
+                 DecimalFormat decimalFormat = new DecimalFormat();
+                 decimalFormat.setMaximumFractionDigits(fractionDigits);
+                 decimalFormat.setMinimumFractionDigits(1);
+                 decimalFormat.setMaximumIntegerDigits(totalDigits - fractionDigits - 1);
+                 decimalFormat.setMinimumIntegerDigits(1);
+                 decimalFormat.setRoundingMode(RoundingMode.HALF_UP);
+                 decimalFormat.setGroupingUsed(false);
+                 return decimalFormat;
+               });
+    }
+  }
+
+  @Test
+  public void testPatternLayouts() {
+    /**
+     * The pattern layouts of the integer, LAT and LON adapters.
+     */
+    for (final String pattern : new String[]{"#", "###", "######", "00.##", "000"}) {
+      assertFormat(pattern, () -> new DecimalFormat(pattern));
+    }
+  }
+
+  @Test
+  public void testHalfEven() {
+    assertFormat("HALF_EVEN", () -> {
+             DecimalFormat decimalFormat = new DecimalFormat("0.00");
+             decimalFormat.setRoundingMode(RoundingMode.HALF_EVEN);
+             return decimalFormat;
+           });
+  }
+
+  @Test
+  public void testDigitCount() {
+    assertEquals(0, FixedPointFormat.digitCount(0));
+    for (int exponent = 0; exponent < 19; exponent++) {
+      long power = FixedPointFormat.powerOfTen(exponent);
+      assertEquals(exponent + 1, FixedPointFormat.digitCount(power));
+      if (power > 1) {
+        assertEquals(exponent, FixedPointFormat.digitCount(power - 1));
+      }
+    }
+  }
+
+  /**
+   * Internal method to compare the fixed-point output with a new prototype
+   * DecimalFormat.
+   *
+   * @param name      the layout name, for the failure message
+   * @param prototype the DecimalFormat factory
+   */
+  private void assertFormat(String name, Supplier<DecimalFormat> prototype) {
+    FixedPointFormat format = new FixedPointFormat(prototype);
+    DecimalFormat decimalFormat = prototype.get();
+    for (Number number : buildNumbers()) {
+      assertEquals(name + " " + number.getClass().getSimpleName() + " " + number,
+                   decimalFormat.format(number),
+                   format.format(number));
+    }
+  }
+
+  /**
+   * Internal method to build the test values: edge cases plus random values of
+   * every supported type, at every scale and with half-way fraction digits.
+   *
+   * @return the test values
+   */
+  private List<Number> buildNumbers() {
+    List<Number> numbers = new ArrayList<>();
+    for (String text : new String[]{"0", "-0", "0.0", "0.5", "-0.5", "1.5", "2.5", "-2.5", "0.005", "0.015", "0.025",
+                                    "9.995", "99.995", "999999999.9999999995", "123456789012345678", "-123456789012345678",
+                                    "1E+3", "1.5E-7", "12345678901234567890.5", "0.000000000000000000001"}) {
+      numbers.add(new BigDecimal(text));
+    }
+    numbers.add(Long.MAX_VALUE);
+    numbers.add(Long.MIN_VALUE);
+    numbers.add(Integer.MIN_VALUE);
+    numbers.add((short) -7);
+    numbers.add((byte) 42);
+    numbers.add(BigInteger.ZERO);
+    numbers.add(BigInteger.TEN.pow(30).negate());
+    for (int i = 0; i < COUNT; i++) {
+      long unscaled = random.nextLong() / FixedPointFormat.powerOfTen(random.nextInt(19));
+      int scale = random.nextInt(14) - 2;
+      numbers.add(BigDecimal.valueOf(unscaled, scale));
+      /**
+       * A value ending in 5 one digit past the fraction digits tests rounding.
+       */
+      numbers.add(BigDecimal.valueOf(unscaled / 10 * 10 + 5, scale));
+      numbers.add(BigInteger.valueOf(unscaled));
+      numbers.add(unscaled);
+      numbers.add((int) unscaled);
+    }
+    return numbers;
+  }
+}
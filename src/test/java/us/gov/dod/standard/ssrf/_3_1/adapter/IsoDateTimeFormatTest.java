@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Verify that {@link IsoDateTimeFormat} prints as the SimpleDateFormat it
+ * replaced and that its hand-written parser agrees with the ISO
+ * DateTimeFormatters.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class IsoDateTimeFormatTest {
+
+  /**
+   * The number of random values tested.
+   */
+  private static final int COUNT = 50000;
+  /**
+   * 1900-01-01T00:00:00Z.
+   */
+  private static final long MIN_EPOCH_MILLI = -2208988800000L;
+  /**
+   * 2100-01-01T00:00:00Z.
+   */
+  private static final long MAX_EPOCH_MILLI = 4102444800000L;
+
+  /**
+   * Random values, reproducible.
+   */
+  private final Random random = new Random(14);
+
+  @Test
+  public void testFormatDate() {
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    simpleDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    for (int i = 0; i < COUNT; i++) {
+      LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(randomEpochMilli(), 86_400_000L));
+      Calendar calendar = IsoDateTimeFormat.toCalendar(date);
+      assertEquals(date.toString(), simpleDateFormat.format(calendar.getTime()), IsoDateTimeFormat.formatDate(date));
+      assertEquals(date.toString(), date, IsoDateTimeFormat.toLocalDate(calendar));
+      assertEquals(date.toString(), date, IsoDateTimeFormat.parseDate(IsoDateTimeFormat.formatDate(date)));
+    }
+  }
+
+  @Test
+  public void testFormatDateTime() {
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    simpleDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    for (int i = 0; i < COUNT; i++) {
+      Instant dateTime = Instant.ofEpochMilli(randomEpochMilli());
+      assertEquals(dateTime.toString(), simpleDateFormat.format(new Date(dateTime.toEpochMilli())), IsoDateTimeFormat.formatDateTime(dateTime));
+      assertEquals(dateTime.toString(), dateTime, IsoDateTimeFormat.toInstant(IsoDateTimeFormat.toCalendar(dateTime)));
+      assertEquals(dateTime.toString(), dateTime, IsoDateTimeFormat.parseDateTime(IsoDateTimeFormat.formatDateTime(dateTime)));
+    }
+  }
+
+  @Test
+  public void testParseDate() {
+    for (int i = 0; i < COUNT; i++) {
+      String text = String.format("%04d-%02d-%02d", 1900 + random.nextInt(201), 1 + random.nextInt(12), 1 + random.nextInt(31)) + randomZone();
+      assertEquals(text, parseDate(text), parse(text, false));
+    }
+    for (String text : new String[]{"+12015-03-30", "2015-03-30+01:00", " 2015-03-30 ", "2015-3-30", "2015-03-30T", "2015-00-01", "0000-01-01"}) {
+      assertEquals(text, parseDate(text), parse(text, false));
+    }
+  }
+
+  @Test
+  public void testParseDateTime() {
+    for (int i = 0; i < COUNT; i++) {
+      StringBuilder sb = new StringBuilder(String.format("%04d-%02d-%02dT%02d:%02d:%02d",
+                                                        1900 + random.nextInt(201),
+                                                        1 + random.nextInt(12),
+                                                        1 + random.nextInt(31),
+                                                        random.nextInt(25),
+                                                        random.nextInt(60),
+                                                        random.nextInt(61)));
+      int fractionDigits = random.nextInt(11) - 1;
+      if (fractionDigits >= 0) {
+        sb.append('.');
+        for (int j = 0; j < fractionDigits; j++) {
+          sb.append((char) ('0' + random.nextInt(10)));
+        }
+      }
+      String text = sb.append(randomZone()).toString();
+      assertEquals(text, parseDateTime(text), parse(text, true));
+    }
+    for (String text : new String[]{"2015-03-30T12:00Z", "+12015-03-30T12:00:00Z", "2015-03-30T12:00:00.5+14:00", "2015-03-30T24:00:00Z", "2015-03-30T12:00:00z"}) {
+      assertEquals(text, parseDateTime(text), parse(text, true));
+    }
+  }
+
+  /**
+   * Internal method to parse a date with the ISO DateTimeFormatter.
+   *
+   * @param text the date text
+   * @return the date, or the exception class if the text is not a date
+   */
+  private static Object parseDate(String text) {
+    try {
+      return LocalDate.from(DateTimeFormatter.ISO_DATE.parse(text.trim()));
+    } catch (DateTimeException exception) {
+      return DateTimeException.class;
+    }
+  }
+
+  /**
+   * Internal method to parse a date/time with the ISO DateTimeFormatter,
+   * reading a value without a time zone as UTC and truncating to milliseconds.
+   *
+   * @param text the date/time text
+   * @return the date/time, or the exception class if the text is not a
+   *         date/time
+   */
+  private static Object parseDateTime(String text) {
+    try {
+      TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(text.trim(), OffsetDateTime::from, LocalDateTime::from);
+      Instant instant = parsed instanceof OffsetDateTime
+                        ? ((OffsetDateTime) parsed).toInstant()
+                        : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+      return Instant.ofEpochMilli(instant.toEpochMilli());
+    } catch (DateTimeException exception) {
+      return DateTimeException.class;
+    }
+  }
+
+  /**
+   * Internal method to parse a value with {@link IsoDateTimeFormat}.
+   *
+   * @param text     the text
+   * @param dateTime TRUE to parse a date/time, FALSE to parse a date
+   * @return the parsed value, or the exception class if the text cannot be
+   *         parsed
+   */
+  private static Object parse(String text, boolean dateTime) {
+    try {
+      return dateTime ? IsoDateTimeFormat.parseDateTime(text) : IsoDateTimeFormat.parseDate(text);
+    } catch (DateTimeException exception) {
+      return DateTimeException.class;
+    }
+  }
+
+  /**
+   * Internal method to get a random time zone suffix: none, "Z" or an offset,
+   * some out of range.
+   *
+   * @return a time zone suffix
+   */
+  private String randomZone() {
+    switch (random.nextInt(4)) {
+      case 0:
+        return "";
+      case 1:
+        return "Z";
+      default:
+        return String.format("%s%02d:%02d", random.nextBoolean() ? "+" : "-", random.nextInt(20), random.nextInt(4) * 15);
+    }
+  }
+
+  /**
+   * Internal method to get a random epoch millisecond value from 1900 to 2100.
+   *
+   * @return an epoch millisecond value
+   */
+  private long randomEpochMilli() {
+    return MIN_EPOCH_MILLI + (long) (random.nextDouble() * (MAX_EPOCH_MILLI - MIN_EPOCH_MILLI));
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Verify that the hand-written SERIAL, LAT and LON matchers agree with the
+ * regular expressions they replace.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class XmlAdapterPatternTest {
+
+  /**
+   * The number of random strings tested per matcher.
+   */
+  private static final int COUNT = 100000;
+
+  /**
+   * The SERIAL pattern.
+   */
+  private static final Pattern SERIAL = Pattern.compile("[A-Z0-9-]{1,5}:\\w{0,4}:[A-Z]{2}:\\S{1,15}");
+  /**
+   * The anchored SERIAL pattern previously used to split a serial number.
+   */
+  private static final Pattern SERIAL_PARTS = Pattern.compile("^([A-Z0-9-]{1,5}):(\\w{0,4}):([A-Z]{2}):(\\S{1,15})$");
+  /**
+   * The LAT DMS pattern.
+   */
+  private static final Pattern LAT = Pattern.compile("([0-8][0-9])([0-5][0-9])([0-5][0-9]\\.?([0-9]{1,2})?)(N|S)");
+  /**
+   * The LON DMS pattern.
+   */
+  private static final Pattern LON = Pattern.compile("((0[0-9][0-9])|(1[0-9][0-9]))([0-5][0-9])([0-5][0-9]\\.?([0-9]{1,2})?)(E|W)");
+
+  /**
+   * Random strings, reproducible.
+   */
+  private final Random random = new Random(12);
+
+  @Test
+  public void testSerialFind() {
+    XmlAdapterSERIAL adapter = new XmlAdapterSERIAL();
+    for (int i = 0; i < COUNT; i++) {
+      String value = randomSerial();
+      assertEquals("\"" + value + "\"", SERIAL.matcher(value).find(), adapter.find(value));
+    }
+  }
+
+  @Test
+  public void testSerialSplit() {
+    for (int i = 0; i < COUNT; i++) {
+      String value = randomSerial();
+      Matcher matcher = SERIAL_PARTS.matcher(value);
+      String[] expected = matcher.find()
+                          ? new String[]{matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4)}
+                          : null;
+      assertArrayEquals("\"" + value + "\"", expected, XmlAdapterSERIAL.split(value));
+    }
+  }
+
+  @Test
+  public void testLatitude() throws Exception {
+    XmlAdapterLAT adapter = new XmlAdapterLAT();
+    assertNull(adapter.unmarshal("X"));
+    for (int i = 0; i < COUNT; i++) {
+      String value = randomCoordinate(6, "NS");
+      Matcher matcher = LAT.matcher(value);
+      if (matcher.find()) {
+        Double expected = toDecimal(Integer.valueOf(matcher.group(1)),
+                                    Integer.valueOf(matcher.group(2)),
+                                    Double.valueOf(matcher.group(3)),
+                                    matcher.group(5));
+        assertUnmarshal(adapter, value, expected);
+      } else {
+        assertPatternViolation(adapter, value);
+      }
+    }
+  }
+
+  @Test
+  public void testLongitude() throws Exception {
+    XmlAdapterLON adapter = new XmlAdapterLON();
+    assertNull(adapter.unmarshal("X"));
+    for (int i = 0; i < COUNT; i++) {
+      String value = randomCoordinate(7, "EW");
+      Matcher matcher = LON.matcher(value);
+      if (matcher.find()) {
+        Double expected = toDecimal(Integer.valueOf(matcher.group(1)),
+                                    Integer.valueOf(matcher.group(4)),
+                                    Double.valueOf(matcher.group(5)),
+                                    matcher.group(7));
+        assertUnmarshal(adapter, value, expected);
+      } else {
+        assertPatternViolation(adapter, value);
+      }
+    }
+  }
+
+  /**
+   * Internal method to assert that a coordinate adapter binds a matching value
+   * as the previous regex conversion did: the same number, or the same range
+   * error (the unpointed seconds group admits values such as "3790").
+   *
+   * @param adapter  the adapter
+   * @param value    the value
+   * @param expected the decimal degrees read by the regex
+   */
+  private static void assertUnmarshal(AXmlAdapterNumber adapter, String value, Double expected) {
+    Object converted;
+    try {
+      converted = adapter.convert(expected);
+    } catch (Exception exception) {
+      converted = exception.getMessage();
+    }
+    Object actual;
+    try {
+      actual = adapter.unmarshal(value);
+    } catch (Exception exception) {
+      actual = exception.getMessage();
+    }
+    assertEquals("\"" + value + "\"", converted, actual);
+  }
+
+  /**
+   * Internal method to assert that a coordinate adapter rejects a value that
+   * does not match its pattern.
+   *
+   * @param adapter the adapter
+   * @param value   the value
+   */
+  private static void assertPatternViolation(AXmlAdapterNumber adapter, String value) {
+    try {
+      adapter.unmarshal(value);
+      fail("\"" + value + "\" should not match");
+    } catch (Exception exception) {
+      assertTrue(exception.getMessage(), exception.getMessage().startsWith("String pattern violation"));
+    }
+  }
+
+  /**
+   * Internal method to convert DMS values to decimal degrees, as the
+   * coordinate adapters do.
+   *
+   * @param deg       the degrees
+   * @param min       the minutes
+   * @param sec       the seconds
+   * @param direction the hemisphere
+   * @return the decimal degrees
+   */
+  private static Double toDecimal(int deg, int min, double sec, String direction) {
+    double decimalDegree = deg + (min + (sec / 60)) / 60;
+    return ("S".equals(direction) || "W".equals(direction) ? -1 : 1) * decimalDegree;
+  }
+
+  /**
+   * Internal method to build a random string that is, is close to, or contains
+   * a SERIAL number.
+   *
+   * @return a random string
+   */
+  private String randomSerial() {
+    String[] parts = {random(1 + random.nextInt(6), "AZ09-a:"),
+                      random(random.nextInt(6), "aZ_9:-"),
+                      random(random.nextInt(4), "AZa:"),
+                      random(random.nextInt(17), "A1-: \t\n\r")};
+    StringBuilder sb = new StringBuilder(random(random.nextInt(3), "A :"));
+    for (int i = 0; i < parts.length; i++) {
+      sb.append(parts[i]);
+      if (i < parts.length - 1 && random.nextInt(10) > 0) {
+        sb.append(':');
+      }
+    }
+    if (random.nextInt(4) == 0) {
+      sb.append(random(1 + random.nextInt(3), "\n\r A"));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Internal method to build a random string that is, is close to, or contains
+   * a DMS coordinate.
+   *
+   * @param digits      the number of leading (degree, minute and second)
+   *                    digits
+   * @param hemispheres the hemisphere characters
+   * @return a random string
+   */
+  private String randomCoordinate(int digits, String hemispheres) {
+    StringBuilder sb = new StringBuilder(random(random.nextInt(3), "19.N X"));
+    sb.append(random(digits - 1 + random.nextInt(3), "0123456789"));
+    if (random.nextBoolean()) {
+      sb.append('.');
+    }
+    sb.append(random(random.nextInt(4), "0123456789"));
+    sb.append(random(random.nextInt(3), hemispheres + ".X"));
+    return sb.toString();
+  }
+
+  /**
+   * Internal method to build a random string.
+   *
+   * @param length   the string length
+   * @param alphabet the characters to choose from
+   * @return a random string
+   */
+  private String random(int length, String alphabet) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
+}
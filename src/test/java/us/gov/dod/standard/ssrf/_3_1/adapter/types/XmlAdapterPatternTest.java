@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 Key Bridge LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package us.gov.dod.standard.ssrf._3_1.adapter.types;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import us.gov.dod.standard.ssrf._3_1.adapter.AXmlAdapterString;
+
+/**
+ * Verify that the hand-written HOURS, DAYSOFWEEK, DAYSOFMONTH and EMSDES
+ * matchers agree with <code>find()</code> on the regular expressions they
+ * replace.
+ *
+ * @author Key Bridge LLC &lt;developer@keybridge.ch&gt;
+ * @since 3.1.0
+ */
+public class XmlAdapterPatternTest {
+
+  /**
+   * The number of random strings tested per matcher.
+   */
+  private static final int COUNT = 100000;
+  /**
+   * The characters of the time pattern strings.
+   */
+  private static final String TIME_ALPHABET = "0123456789-,/* x";
+
+  /**
+   * Random strings, reproducible.
+   */
+  private final Random random = new Random(12);
+
+  @Test
+  public void testHours() {
+    assertFind(new XmlAdapterHOURS(),
+               "(([12]?\\d(-[12]?\\d(/\\d+)?)?)|(\\*/\\d+))(,([12]?\\d(-[12]?\\d(/\\d+)?)?)|(,\\*/\\d+))*",
+               TIME_ALPHABET);
+  }
+
+  @Test
+  public void testDaysOfWeek() {
+    assertFind(new XmlAdapterDAYSOFWEEK(),
+               "(([0-7](-[0-7](/\\d+)?)?)|(\\*/\\d+))(,([0-7](-[0-7](/\\d+)?)?)|(,\\*/\\d+))*",
+               "0789-,/* x");
+  }
+
+  @Test
+  public void testDaysOfMonth() {
+    assertFind(new XmlAdapterDAYSOFMONTH(),
+               "(([123]?\\d(-[123]?\\d(/\\d+)?)?)|(\\*/\\d+))(,([123]?\\d(-[123]?\\d(/\\d+)?)?)|(,\\*/\\d+))*",
+               TIME_ALPHABET);
+  }
+
+  @Test
+  public void testEmissionDesignator() {
+    assertFind(new XmlAdapterEMSDES(),
+               "(A|B|C|D|F|G|H|J|K|L|M|N|P|Q|R|V|W|X|-)(0|1|2|3|7|8|9|X|-)(A|B|C|D|E|F|N|W|X|-)(A|B|C|D|E|F|G|H|J|K|L|M|N|W|X)?(C|F|N|T|W|X)?",
+               "ABEFNPTWXZ01479-a");
+  }
+
+  /**
+   * Internal method to compare an adapter's pattern validation with
+   * <code>find()</code> on its regular expression.
+   *
+   * @param adapter  the adapter
+   * @param regex    the regular expression the adapter replaced
+   * @param alphabet the characters of the random test strings
+   */
+  private void assertFind(AXmlAdapterString adapter, String regex, String alphabet) {
+    Pattern pattern = Pattern.compile(regex);
+    for (int i = 0; i < COUNT; i++) {
+      StringBuilder sb = new StringBuilder();
+      int length = 1 + random.nextInt(adapter.getMaxLength());
+      for (int j = 0; j < length; j++) {
+        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      String value = sb.toString();
+      assertEquals("\"" + value + "\"", pattern.matcher(value).find(), isValid(adapter, value));
+    }
+  }
+
+  /**
+   * Internal method to validate a string with an adapter.
+   *
+   * @param adapter the adapter
+   * @param value   the value
+   * @return TRUE if the adapter accepts the value
+   */
+  private static boolean isValid(AXmlAdapterString adapter, String value) {
+    try {
+      adapter.validate(value);
+      return true;
+    } catch (Exception exception) {
+      return false;
+    }
+  }
+}